@@ -90,6 +90,8 @@ class HttpClientStreamableHttpTransportAutoConfiguration {
 				var customizer = new OAuth2AuthorizationCodeSyncHttpRequestCustomizer(oAuth2AuthorizedClientManager,
 						clientRegistrationRepository, registrationId);
 				customizer.disableDynamicClientRegistration(false);
+				// Authorizations are not cached: there is no authorization error handler
+				// here to invalidate them when the server rejects a token
 				transport.httpRequestCustomizer(customizer);
 			};
 		}
@@ -19,6 +19,7 @@ package org.springaicommunity.mcp.security.client.boot;
 import io.modelcontextprotocol.client.McpClient;
 import org.springaicommunity.mcp.security.client.sync.AuthenticationMcpTransportContextProvider;
 import org.springaicommunity.mcp.security.client.sync.oauth2.metadata.McpMetadataDiscoveryService;
+import org.springaicommunity.mcp.security.client.sync.oauth2.registration.AuthorizationServerMetadataCache;
 import org.springaicommunity.mcp.security.client.sync.oauth2.registration.DefaultMcpOAuth2ClientManager;
 import org.springaicommunity.mcp.security.client.sync.oauth2.registration.DynamicClientRegistrationService;
 import org.springaicommunity.mcp.security.client.sync.oauth2.registration.InMemoryMcpClientRegistrationRepository;
@@ -29,6 +30,7 @@ import org.springaicommunity.mcp.security.common.url.DefaultUrlValidator;
 import org.springaicommunity.mcp.security.common.url.UrlValidator;
 
 import org.springframework.ai.mcp.customizer.McpClientCustomizer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -37,6 +39,7 @@ import org.springframework.boot.security.oauth2.client.autoconfigure.OAuth2Clien
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.web.client.RestClient;
 
 /**
  * Configurations for MCP OAuth2 Client support. Creates an
@@ -92,8 +95,16 @@ class McpOAuth2ClientConfigurations {
 
 		@Bean
 		@ConditionalOnMissingBean
-		DynamicClientRegistrationService dynamicClientRegistrationService(UrlValidator urlValidator) {
-			return new DynamicClientRegistrationService(urlValidator);
+		AuthorizationServerMetadataCache authorizationServerMetadataCache() {
+			return new AuthorizationServerMetadataCache();
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		DynamicClientRegistrationService dynamicClientRegistrationService(UrlValidator urlValidator,
+				AuthorizationServerMetadataCache authorizationServerMetadataCache) {
+			return new DynamicClientRegistrationService(RestClient.create(), urlValidator,
+					authorizationServerMetadataCache);
 		}
 
 	}
@@ -109,9 +120,11 @@ class McpOAuth2ClientConfigurations {
 		DefaultMcpOAuth2ClientManager mcpOAuth2ClientManager(
 				McpClientRegistrationRepository mcpClientRegistrationRepository,
 				DynamicClientRegistrationService dynamicClientRegistrationService,
-				McpMetadataDiscoveryService mcpMetadataDiscoveryService, UrlValidator urlValidator) {
+				McpMetadataDiscoveryService mcpMetadataDiscoveryService, UrlValidator urlValidator,
+				ObjectProvider<AuthorizationServerMetadataCache> authorizationServerMetadataCache) {
 			return new DefaultMcpOAuth2ClientManager(mcpClientRegistrationRepository, dynamicClientRegistrationService,
-					mcpMetadataDiscoveryService, urlValidator);
+					mcpMetadataDiscoveryService, urlValidator,
+					authorizationServerMetadataCache.getIfAvailable(AuthorizationServerMetadataCache::new));
 		}
 
 		@Bean
@@ -19,6 +19,7 @@ package org.springaicommunity.mcp.security.client.boot;
 import io.modelcontextprotocol.client.McpClient;
 import org.junit.jupiter.api.Test;
 import org.springaicommunity.mcp.security.client.sync.oauth2.metadata.McpMetadataDiscoveryService;
+import org.springaicommunity.mcp.security.client.sync.oauth2.registration.AuthorizationServerMetadataCache;
 import org.springaicommunity.mcp.security.client.sync.oauth2.registration.DefaultMcpOAuth2ClientManager;
 import org.springaicommunity.mcp.security.client.sync.oauth2.registration.DynamicClientRegistrationService;
 import org.springaicommunity.mcp.security.client.sync.oauth2.registration.InMemoryMcpClientRegistrationRepository;
@@ -105,6 +106,7 @@ class McpOAuth2ClientAutoConfigurationTests {
 			.run(context -> {
 				assertThat(context).hasSingleBean(McpMetadataDiscoveryService.class);
 				assertThat(context).hasSingleBean(DynamicClientRegistrationService.class);
+				assertThat(context).hasSingleBean(AuthorizationServerMetadataCache.class);
 			});
 	}
 
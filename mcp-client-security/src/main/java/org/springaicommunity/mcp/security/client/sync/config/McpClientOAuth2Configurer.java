@@ -16,8 +16,9 @@
 
 package org.springaicommunity.mcp.security.client.sync.config;
 
-import java.util.HashMap;
-import java.util.List;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Consumer;
 
@@ -25,8 +26,8 @@ import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springaicommunity.mcp.security.client.sync.oauth2.metadata.McpMetadataDiscoveryService;
+import org.springaicommunity.mcp.security.client.sync.oauth2.registration.AuthorizationServerMetadataCache;
 import org.springaicommunity.mcp.security.client.sync.oauth2.registration.DefaultMcpOAuth2ClientManager;
-import org.springaicommunity.mcp.security.client.sync.oauth2.registration.DynamicClientRegistrationRequest;
 import org.springaicommunity.mcp.security.client.sync.oauth2.registration.DynamicClientRegistrationService;
 import org.springaicommunity.mcp.security.client.sync.oauth2.registration.InMemoryMcpClientRegistrationRepository;
 import org.springaicommunity.mcp.security.client.sync.oauth2.registration.McpClientRegistrationRepository;
@@ -39,6 +40,7 @@ import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -49,7 +51,6 @@ import org.springframework.security.oauth2.client.registration.ClientRegistratio
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.oauth2.client.web.DefaultOAuth2AuthorizationRequestResolver;
 import org.springframework.security.oauth2.client.web.OAuth2AuthorizationRequestRedirectFilter;
-import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
 import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
 import org.springframework.util.Assert;
@@ -57,6 +58,7 @@ import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
 
 /**
  * Configurer for OAuth2 support for MCP clients.
@@ -69,7 +71,7 @@ public class McpClientOAuth2Configurer extends AbstractHttpConfigurer<McpClientO
 
 	private Customizer<OAuth2ClientConfigurer<HttpSecurity>> oauth2ClientCustomizer = Customizer.withDefaults();
 
-	private final Map<String, String> mcpRegistrations = new HashMap<>();
+	private final Map<String, String> mcpRegistrations = new LinkedHashMap<>();
 
 	public @Nullable String baseUrl = null;
 
@@ -77,6 +79,12 @@ public class McpClientOAuth2Configurer extends AbstractHttpConfigurer<McpClientO
 
 	private @Nullable UrlValidator urlValidator = null;
 
+	private int registrationParallelism = 4;
+
+	private Duration registrationTimeout = Duration.ofSeconds(30);
+
+	private boolean awaitRegistrations = true;
+
 	public McpClientOAuth2Configurer() {
 		this.canListenForWebServerInitialized = ClassUtils.isPresent(
 				"org.springframework.boot.web.server.servlet.context.ServletWebServerInitializedEvent",
@@ -137,6 +145,11 @@ public class McpClientOAuth2Configurer extends AbstractHttpConfigurer<McpClientO
 	 * server starts. This is required to infer the correct base URL for all redirect URLs
 	 * when dynamically registering clients. This may lead to a race-condition if an MCP
 	 * Client is called before the dynamic clients are registered.
+	 * <p>
+	 * Clients are registered concurrently, see {@link #registrationParallelism(int)}. A
+	 * registration that fails or times out does not fail startup: the client is
+	 * registered just in time instead, when the MCP server first responds with a
+	 * {@code 401}.
 	 * @param registrationId the id used for
 	 * {@link ClientRegistration#getRegistrationId()}
 	 * @param mcpServerUrl the URL of the MCP server
@@ -171,6 +184,46 @@ public class McpClientOAuth2Configurer extends AbstractHttpConfigurer<McpClientO
 		return this;
 	}
 
+	/**
+	 * The maximum number of MCP clients registered concurrently on startup. Defaults to
+	 * {@code 4}.
+	 * @param registrationParallelism the maximum number of concurrent registrations
+	 * @return The {@link McpClientOAuth2Configurer} for further configuration
+	 */
+	public McpClientOAuth2Configurer registrationParallelism(int registrationParallelism) {
+		Assert.isTrue(registrationParallelism > 0, "registrationParallelism must be positive");
+		this.registrationParallelism = registrationParallelism;
+		return this;
+	}
+
+	/**
+	 * How long the registration of a single MCP client may take on startup, discovery
+	 * included, before startup stops waiting for it. The same duration is used as the
+	 * connect and read timeout of the HTTP clients used for discovery and registration,
+	 * unless a {@link McpMetadataDiscoveryService} or a
+	 * {@link DynamicClientRegistrationService} bean is provided. Defaults to 30 seconds.
+	 * @param registrationTimeout the timeout of each registration
+	 * @return The {@link McpClientOAuth2Configurer} for further configuration
+	 */
+	public McpClientOAuth2Configurer registrationTimeout(Duration registrationTimeout) {
+		Assert.notNull(registrationTimeout, "registrationTimeout cannot be null");
+		Assert.isTrue(registrationTimeout.isPositive(), "registrationTimeout must be positive");
+		this.registrationTimeout = registrationTimeout;
+		return this;
+	}
+
+	/**
+	 * Whether startup waits for MCP clients to be registered. When {@code false}, clients
+	 * are registered in the background, and MCP servers called before their client is
+	 * registered trigger a just-in-time registration. Defaults to {@code true}.
+	 * @param awaitRegistrations whether to wait for registrations on startup
+	 * @return The {@link McpClientOAuth2Configurer} for further configuration
+	 */
+	public McpClientOAuth2Configurer awaitRegistrations(boolean awaitRegistrations) {
+		this.awaitRegistrations = awaitRegistrations;
+		return this;
+	}
+
 	private void registerMcpClients(HttpSecurity http, ClientRegistrationRepository repository,
 			McpOAuth2ClientManager clientManager) {
 		if (this.mcpRegistrations.isEmpty()) {
@@ -184,13 +237,15 @@ public class McpClientOAuth2Configurer extends AbstractHttpConfigurer<McpClientO
 							+ "or by not using spring.security.oauth2.client.registration.* properties. "
 							+ "Alternatively, consider providing your own McpClientRegistrationRepository bean.");
 		}
+		var registrar = new StartupMcpClientRegistrar(clientManager, this.registrationParallelism,
+				this.registrationTimeout);
 		if (this.baseUrl != null) {
-			doRegisterMcpClients(clientManager, this.baseUrl, this.mcpRegistrations);
+			doRegisterMcpClients(registrar, this.baseUrl);
 		}
 		else if (this.canListenForWebServerInitialized) {
 			var context = http.getSharedObject(ApplicationContext.class);
 			if (context instanceof ConfigurableApplicationContext configurableContext) {
-				registerClientsOnServerStartup(configurableContext, clientManager, this.mcpRegistrations);
+				registerClientsOnServerStartup(configurableContext, registrar);
 			}
 			else {
 				throw new IllegalStateException(
@@ -204,16 +259,12 @@ public class McpClientOAuth2Configurer extends AbstractHttpConfigurer<McpClientO
 		}
 	}
 
-	private static void doRegisterMcpClients(McpOAuth2ClientManager clientManager, String baseUrl,
-			Map<String, String> registrations) {
-		for (var entry : registrations.entrySet()) {
-			var registrationId = entry.getKey();
-			var mcpServerUrl = entry.getValue();
-			var registration = DynamicClientRegistrationRequest.builder()
-				.grantTypes(List.of(AuthorizationGrantType.AUTHORIZATION_CODE))
-				.redirectUris(List.of(baseUrl + "/authorize/oauth2/code/" + registrationId))
-				.build();
-			clientManager.registerMcpClient(registrationId, mcpServerUrl, registration);
+	private void doRegisterMcpClients(StartupMcpClientRegistrar registrar, String baseUrl) {
+		if (this.awaitRegistrations) {
+			registrar.registerAll(baseUrl, this.mcpRegistrations);
+		}
+		else {
+			registrar.registerAllInBackground(baseUrl, this.mcpRegistrations);
 		}
 	}
 
@@ -255,7 +306,8 @@ public class McpClientOAuth2Configurer extends AbstractHttpConfigurer<McpClientO
 		}
 		if (clientRegistrationRepository instanceof McpClientRegistrationRepository mcpRepo) {
 			return new DefaultMcpOAuth2ClientManager(mcpRepo, getDynamicClientRegistrationService(http),
-					getMcpMetadataDiscovery(http), getUrlValidator(http));
+					getMcpMetadataDiscovery(http), getUrlValidator(http),
+					getAuthorizationServerMetadataCache(http));
 		}
 		throw new IllegalStateException(
 				"Cannot create a DefaultMcpOAuth2ClientManager: the ClientRegistrationRepository is not an McpClientRegistrationRepository. "
@@ -268,7 +320,7 @@ public class McpClientOAuth2Configurer extends AbstractHttpConfigurer<McpClientO
 		if (discovery == null) {
 			discovery = getOptionalBean(http, McpMetadataDiscoveryService.class);
 			if (discovery == null) {
-				discovery = new McpMetadataDiscoveryService(getUrlValidator(http));
+				discovery = new McpMetadataDiscoveryService(createRestClient(), getUrlValidator(http));
 			}
 			http.setSharedObject(McpMetadataDiscoveryService.class, discovery);
 		}
@@ -281,13 +333,38 @@ public class McpClientOAuth2Configurer extends AbstractHttpConfigurer<McpClientO
 		if (clientRegistrationService == null) {
 			clientRegistrationService = getOptionalBean(http, DynamicClientRegistrationService.class);
 			if (clientRegistrationService == null) {
-				clientRegistrationService = new DynamicClientRegistrationService(getUrlValidator(http));
+				clientRegistrationService = new DynamicClientRegistrationService(createRestClient(),
+						getUrlValidator(http), getAuthorizationServerMetadataCache(http));
 			}
 			http.setSharedObject(DynamicClientRegistrationService.class, clientRegistrationService);
 		}
 		return clientRegistrationService;
 	}
 
+	/**
+	 * Registrations are not interrupted when they time out, since that could leave a
+	 * client registered with the authorization server but not stored. Bound their HTTP
+	 * calls instead.
+	 */
+	private RestClient createRestClient() {
+		var httpClient = HttpClient.newBuilder().connectTimeout(this.registrationTimeout).build();
+		var requestFactory = new JdkClientHttpRequestFactory(httpClient);
+		requestFactory.setReadTimeout(this.registrationTimeout);
+		return RestClient.builder().requestFactory(requestFactory).build();
+	}
+
+	private AuthorizationServerMetadataCache getAuthorizationServerMetadataCache(HttpSecurity http) {
+		AuthorizationServerMetadataCache metadataCache = http.getSharedObject(AuthorizationServerMetadataCache.class);
+		if (metadataCache == null) {
+			metadataCache = getOptionalBean(http, AuthorizationServerMetadataCache.class);
+			if (metadataCache == null) {
+				metadataCache = new AuthorizationServerMetadataCache();
+			}
+			http.setSharedObject(AuthorizationServerMetadataCache.class, metadataCache);
+		}
+		return metadataCache;
+	}
+
 	private UrlValidator getUrlValidator(HttpSecurity http) {
 		var urlValidator = this.urlValidator;
 		var sharedUrlValidator = http.getSharedObject(UrlValidator.class);
@@ -325,13 +402,13 @@ public class McpClientOAuth2Configurer extends AbstractHttpConfigurer<McpClientO
 	 * Delay the registration of clients until the server has started. This allows us to
 	 * get the port of the running server for redirect urls.
 	 */
-	private static void registerClientsOnServerStartup(ConfigurableApplicationContext context,
-			McpOAuth2ClientManager clientManager, Map<String, String> registrations) {
+	private void registerClientsOnServerStartup(ConfigurableApplicationContext context,
+			StartupMcpClientRegistrar registrar) {
 		context.addApplicationListener(event -> {
 			if (event instanceof org.springframework.boot.web.server.servlet.context.ServletWebServerInitializedEvent webServerEvent) {
 				var port = webServerEvent.getWebServer().getPort();
 				var baseUrl = "http://localhost:" + port;
-				doRegisterMcpClients(clientManager, baseUrl, registrations);
+				doRegisterMcpClients(registrar, baseUrl);
 			}
 		});
 	}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.client.sync.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.mcp.security.client.sync.oauth2.registration.DynamicClientRegistrationRequest;
+import org.springaicommunity.mcp.security.client.sync.oauth2.registration.McpOAuth2ClientManager;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.util.Assert;
+
+/**
+ * Registers the OAuth2 clients of several MCP servers when the application starts.
+ * <p>
+ * Registrations run concurrently, at most {@code parallelism} at a time, and each one is
+ * given {@code timeout} to complete, after which it is no longer waited for. Timed out
+ * registrations are not interrupted, since interrupting a dynamic client registration
+ * midway could leave a client registered with the authorization server but never
+ * stored. They keep running, and keep counting against {@code parallelism}, until their
+ * HTTP calls complete or hit their own connect and read timeouts. Failed and timed out
+ * registrations are logged rather than rethrown, so that one unreachable MCP server does
+ * not fail startup. The client is then registered just in time, on the first
+ * {@code 401} response of the MCP server, see
+ * {@link McpOAuth2ClientManager#registerMcpClient(String, String, String, DynamicClientRegistrationRequest)}.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+final class StartupMcpClientRegistrar {
+
+	private static final Logger log = LoggerFactory.getLogger(StartupMcpClientRegistrar.class);
+
+	private final McpOAuth2ClientManager clientManager;
+
+	private final int parallelism;
+
+	private final Duration timeout;
+
+	private final SimpleAsyncTaskExecutor executor;
+
+	StartupMcpClientRegistrar(McpOAuth2ClientManager clientManager, int parallelism, Duration timeout) {
+		Assert.notNull(clientManager, "clientManager cannot be null");
+		Assert.isTrue(parallelism > 0, "parallelism must be positive");
+		Assert.notNull(timeout, "timeout cannot be null");
+		Assert.isTrue(timeout.isPositive(), "timeout must be positive");
+		this.clientManager = clientManager;
+		this.parallelism = parallelism;
+		this.timeout = timeout;
+		this.executor = new SimpleAsyncTaskExecutor("mcp-client-registration-");
+		this.executor.setDaemon(true);
+	}
+
+	/**
+	 * Register all clients, and wait until each registration has completed, failed or
+	 * timed out.
+	 * @param baseUrl the base URL of the application, for redirect URIs
+	 * @param registrations the MCP server URLs, keyed by registration id
+	 */
+	void registerAll(String baseUrl, Map<String, String> registrations) {
+		List<CompletableFuture<Boolean>> results = new ArrayList<>();
+		var permits = new Semaphore(this.parallelism);
+		for (var entry : registrations.entrySet()) {
+			permits.acquireUninterruptibly();
+			results.add(register(baseUrl, entry.getKey(), entry.getValue(), permits::release));
+		}
+		var registered = results.stream().filter(CompletableFuture::join).count();
+		log.debug("Registered {} of {} MCP clients", registered, registrations.size());
+	}
+
+	/**
+	 * Register all clients in the background, without waiting for them.
+	 * @param baseUrl the base URL of the application, for redirect URIs
+	 * @param registrations the MCP server URLs, keyed by registration id
+	 */
+	void registerAllInBackground(String baseUrl, Map<String, String> registrations) {
+		this.executor.execute(() -> registerAll(baseUrl, registrations));
+	}
+
+	/**
+	 * Start the registration of a single client. The returned future completes with
+	 * {@code true} once the client is registered, or {@code false} if the registration
+	 * failed or timed out; it never completes exceptionally. The {@code onFinished}
+	 * callback runs once the registration itself has finished, which may be after a
+	 * timeout.
+	 */
+	private CompletableFuture<Boolean> register(String baseUrl, String registrationId, String mcpServerUrl,
+			Runnable onFinished) {
+		var result = new CompletableFuture<Boolean>();
+		var registrationRequest = DynamicClientRegistrationRequest.builder()
+			.grantTypes(List.of(AuthorizationGrantType.AUTHORIZATION_CODE))
+			.redirectUris(List.of(baseUrl + "/authorize/oauth2/code/" + registrationId))
+			.build();
+		this.executor.execute(() -> {
+			CompletableFuture.delayedExecutor(this.timeout.toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+				if (result.complete(false)) {
+					log.warn("Registration of MCP client [{}] for [{}] timed out after {}, "
+							+ "it will be retried on first use", registrationId, mcpServerUrl, this.timeout);
+				}
+			});
+			try {
+				this.clientManager.registerMcpClient(registrationId, mcpServerUrl, registrationRequest);
+				if (result.complete(true)) {
+					log.debug("Registered MCP client [{}] for [{}]", registrationId, mcpServerUrl);
+				}
+			}
+			catch (RuntimeException ex) {
+				if (result.complete(false)) {
+					log.warn("Could not register MCP client [{}] for [{}], it will be retried on first use: {}",
+							registrationId, mcpServerUrl, ex.getMessage());
+				}
+			}
+			finally {
+				onFinished.run();
+			}
+		});
+		return result;
+	}
+
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.client.sync.oauth2.http.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2ClientCredentialsGrantRequest;
+import org.springframework.security.oauth2.client.endpoint.RestClientClientCredentialsTokenResponseClient;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.util.Assert;
+
+/**
+ * Holds the {@code client_credentials} access token of a single client registration,
+ * pre-rendered as a {@code Bearer} {@code Authorization} header value.
+ * <p>
+ * The token is refreshed ahead of its expiry: once a configurable fraction of its
+ * lifetime has elapsed, the current token keeps being served while a new one is
+ * requested in the background. Only the first request, and requests made after the token
+ * has expired, wait for the authorization server. Concurrent refreshes are coalesced, so
+ * that at most one token request is in flight at any time.
+ *
+ * @author Daniel Garnier-Moiroux
+ * @see OAuth2ClientCredentialsSyncHttpRequestCustomizer
+ */
+public class ClientCredentialsTokenHolder {
+
+	private static final Logger log = LoggerFactory.getLogger(ClientCredentialsTokenHolder.class);
+
+	private static final Duration FAILED_REFRESH_RETRY_DELAY = Duration.ofSeconds(10);
+
+	private final ClientRegistrationRepository clientRegistrationRepository;
+
+	private final String clientRegistrationId;
+
+	private final AtomicReference<@Nullable CompletableFuture<CachedToken>> refreshInProgress = new AtomicReference<>();
+
+	private volatile @Nullable CachedToken token;
+
+	private OAuth2AccessTokenResponseClient<OAuth2ClientCredentialsGrantRequest> accessTokenResponseClient;
+
+	private double refreshRatio = 0.8;
+
+	private Executor refreshExecutor;
+
+	private Clock clock = Clock.systemUTC();
+
+	public ClientCredentialsTokenHolder(ClientRegistrationRepository clientRegistrationRepository,
+			String clientRegistrationId) {
+		Assert.notNull(clientRegistrationRepository, "clientRegistrationRepository cannot be null");
+		Assert.hasText(clientRegistrationId, "clientRegistrationId cannot be empty");
+		this.clientRegistrationRepository = clientRegistrationRepository;
+		this.clientRegistrationId = clientRegistrationId;
+		this.accessTokenResponseClient = new RestClientClientCredentialsTokenResponseClient();
+		var executor = new SimpleAsyncTaskExecutor("mcp-token-refresh-");
+		executor.setDaemon(true);
+		this.refreshExecutor = executor;
+	}
+
+	/**
+	 * Return the {@code Authorization} header value, {@code Bearer <token>}, obtaining a
+	 * new access token if there is no valid one.
+	 * @return the {@code Authorization} header value
+	 */
+	public String getAuthorizationHeader() {
+		var token = this.token;
+		if (token != null) {
+			var now = this.clock.instant();
+			if (now.isBefore(token.refreshAt())) {
+				return token.authorizationHeader();
+			}
+			if (now.isBefore(token.expiresAt())) {
+				refreshInBackground();
+				return token.authorizationHeader();
+			}
+		}
+		log.debug("No valid access token for client [{}], requesting one", this.clientRegistrationId);
+		return await(refresh(false)).authorizationHeader();
+	}
+
+	public String getClientRegistrationId() {
+		return this.clientRegistrationId;
+	}
+
+	/**
+	 * Set the client used to request access tokens. Defaults to a
+	 * {@link RestClientClientCredentialsTokenResponseClient}.
+	 * @param accessTokenResponseClient the access token response client
+	 */
+	public void setAccessTokenResponseClient(
+			OAuth2AccessTokenResponseClient<OAuth2ClientCredentialsGrantRequest> accessTokenResponseClient) {
+		Assert.notNull(accessTokenResponseClient, "accessTokenResponseClient cannot be null");
+		this.accessTokenResponseClient = accessTokenResponseClient;
+	}
+
+	/**
+	 * Set the fraction of the token lifetime after which a new token is requested in the
+	 * background. Defaults to {@code 0.8}.
+	 * @param refreshRatio a fraction of the token lifetime, in {@code (0, 1]}
+	 */
+	public void setRefreshRatio(double refreshRatio) {
+		Assert.isTrue(refreshRatio > 0 && refreshRatio <= 1, "refreshRatio must be in (0, 1]");
+		this.refreshRatio = refreshRatio;
+	}
+
+	/**
+	 * Set the executor used to refresh tokens ahead of their expiry. Defaults to daemon
+	 * threads created on demand.
+	 * @param refreshExecutor the executor
+	 */
+	public void setRefreshExecutor(Executor refreshExecutor) {
+		Assert.notNull(refreshExecutor, "refreshExecutor cannot be null");
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private void refreshInBackground() {
+		refresh(true).whenComplete((token, ex) -> {
+			if (ex != null) {
+				var current = this.token;
+				var retryAt = this.clock.instant().plus(FAILED_REFRESH_RETRY_DELAY);
+				if (current != null && retryAt.isBefore(current.expiresAt())) {
+					this.token = new CachedToken(current.authorizationHeader(), retryAt, current.expiresAt());
+				}
+				log.warn("Could not refresh access token for client [{}], keeping the current one: {}",
+						this.clientRegistrationId, ex.getMessage());
+			}
+		});
+	}
+
+	/**
+	 * Start a refresh, unless one is already in progress, in which case return it. A
+	 * synchronous refresh runs on the calling thread.
+	 */
+	private CompletableFuture<CachedToken> refresh(boolean background) {
+		while (true) {
+			var inProgress = this.refreshInProgress.get();
+			if (inProgress != null) {
+				return inProgress;
+			}
+			var future = new CompletableFuture<CachedToken>();
+			if (this.refreshInProgress.compareAndSet(null, future)) {
+				Runnable refresh = () -> {
+					try {
+						var token = fetchToken();
+						this.token = token;
+						future.complete(token);
+					}
+					catch (RuntimeException ex) {
+						future.completeExceptionally(ex);
+					}
+					finally {
+						this.refreshInProgress.compareAndSet(future, null);
+					}
+				};
+				if (background) {
+					try {
+						this.refreshExecutor.execute(refresh);
+					}
+					catch (RuntimeException ex) {
+						this.refreshInProgress.compareAndSet(future, null);
+						future.completeExceptionally(ex);
+					}
+				}
+				else {
+					refresh.run();
+				}
+				return future;
+			}
+		}
+	}
+
+	private CachedToken await(CompletableFuture<CachedToken> refresh) {
+		try {
+			return refresh.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw ex;
+		}
+	}
+
+	private CachedToken fetchToken() {
+		var clientRegistration = this.clientRegistrationRepository.findByRegistrationId(this.clientRegistrationId);
+		if (clientRegistration == null) {
+			throw new IllegalArgumentException(
+					"Client registration [" + this.clientRegistrationId + "] does not exist");
+		}
+		if (!AuthorizationGrantType.CLIENT_CREDENTIALS.equals(clientRegistration.getAuthorizationGrantType())) {
+			throw new IllegalArgumentException("Client registration [" + this.clientRegistrationId
+					+ "] does not use the client_credentials grant type");
+		}
+		var tokenResponse = this.accessTokenResponseClient
+			.getTokenResponse(new OAuth2ClientCredentialsGrantRequest(clientRegistration));
+		log.debug("Obtained access token for client [{}]", this.clientRegistrationId);
+		return toCachedToken(tokenResponse.getAccessToken());
+	}
+
+	private CachedToken toCachedToken(OAuth2AccessToken accessToken) {
+		var authorizationHeader = "Bearer " + accessToken.getTokenValue();
+		var expiresAt = accessToken.getExpiresAt();
+		if (expiresAt == null) {
+			return new CachedToken(authorizationHeader, Instant.MAX, Instant.MAX);
+		}
+		var issuedAt = accessToken.getIssuedAt();
+		if (issuedAt == null) {
+			issuedAt = this.clock.instant();
+		}
+		var lifetime = Duration.between(issuedAt, expiresAt);
+		var refreshAt = issuedAt.plusMillis((long) (lifetime.toMillis() * this.refreshRatio));
+		return new CachedToken(authorizationHeader, refreshAt, expiresAt);
+	}
+
+	private record CachedToken(String authorizationHeader, Instant refreshAt, Instant expiresAt) {
+
+	}
+
+}
@@ -18,6 +18,9 @@ package org.springaicommunity.mcp.security.client.sync.oauth2.http.client;
 
 import java.net.URI;
 import java.net.http.HttpRequest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -25,9 +28,11 @@ import io.modelcontextprotocol.client.transport.customizer.McpSyncHttpClientRequ
 import io.modelcontextprotocol.common.McpTransportContext;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springaicommunity.mcp.security.client.sync.AuthenticationMcpTransportContextProvider;
+import org.springaicommunity.mcp.security.common.cache.BoundedCache;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
@@ -35,8 +40,10 @@ import org.springframework.security.oauth2.client.ClientAuthorizationRequiredExc
 import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.util.Assert;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 /**
@@ -57,6 +64,15 @@ import org.springframework.web.context.request.ServletRequestAttributes;
  * request is sent without a token. The MCP server will respond with an HTTP 401, and
  * {@link OAuth2SyncAuthorizationErrorHandler} will handle that response to perform
  * dynamic client registration before retrying.
+ * <p>
+ * When {@link #setCacheAuthorizations(boolean) enabled}, the {@code Authorization}
+ * header is cached per principal once the token has been obtained and its scopes
+ * checked, so that subsequent requests skip the {@link OAuth2AuthorizedClientManager}.
+ * A cached header is reused for the same {@link Authentication} and
+ * {@link ClientRegistration} instances, until the token is about to expire. Entries
+ * must be {@link #invalidate(McpTransportContext) invalidated} whenever the client is
+ * re-authorized, which {@link OAuth2HttpClientTransportCustomizer} takes care of. The
+ * number of cached principals is bounded, see {@link BoundedCache}.
  *
  * @author Daniel Garnier-Moiroux
  * @see OAuth2SyncAuthorizationErrorHandler
@@ -65,14 +81,29 @@ public class OAuth2AuthorizationCodeSyncHttpRequestCustomizer implements McpSync
 
 	private static final Logger log = LoggerFactory.getLogger(OAuth2AuthorizationCodeSyncHttpRequestCustomizer.class);
 
+	/**
+	 * Same as the default clock skew of Spring Security's authorized client providers,
+	 * so that the token is refreshed through the {@link OAuth2AuthorizedClientManager}.
+	 */
+	private static final Duration CLOCK_SKEW = Duration.ofSeconds(60);
+
+	private static final int MAX_CACHED_AUTHORIZATIONS = 1024;
+
 	private final OAuth2AuthorizedClientManager authorizedClientManager;
 
 	private final String clientRegistrationId;
 
 	private final ClientRegistrationRepository clientRegistrationRepository;
 
+	private final BoundedCache<String, CachedAuthorization> authorizations = new BoundedCache<>(
+			MAX_CACHED_AUTHORIZATIONS, (cached) -> !this.clock.instant().isBefore(cached.refreshAt()));
+
 	private boolean supportDynamicClientRegistration = true;
 
+	private boolean cacheAuthorizations = false;
+
+	private Clock clock = Clock.systemUTC();
+
 	public OAuth2AuthorizationCodeSyncHttpRequestCustomizer(OAuth2AuthorizedClientManager authorizedClientManager,
 			ClientRegistrationRepository clientRegistrationRepository, String clientRegistrationId) {
 		this.authorizedClientManager = authorizedClientManager;
@@ -91,14 +122,6 @@ public class OAuth2AuthorizationCodeSyncHttpRequestCustomizer implements McpSync
 			return;
 		}
 
-		OAuth2AuthorizeRequest authorizeRequest = OAuth2AuthorizeRequest
-			.withClientRegistrationId(this.clientRegistrationId)
-			.principal(authentication)
-			.attribute(HttpServletRequest.class.getName(), requestAttributes.getRequest())
-			.attribute(HttpServletResponse.class.getName(), requestAttributes.getResponse())
-			.build();
-		log.debug("Requesting access token for client [{}]", this.clientRegistrationId);
-
 		var registration = this.clientRegistrationRepository.findByRegistrationId(this.clientRegistrationId);
 		if (registration == null && this.supportDynamicClientRegistration) {
 			log.debug("Client [{}] does not exist. It may be dynamically registered at a later point, skipping.",
@@ -111,6 +134,21 @@ public class OAuth2AuthorizationCodeSyncHttpRequestCustomizer implements McpSync
 
 		}
 
+		var cached = getCachedAuthorization(authentication, registration);
+		if (cached != null) {
+			log.debug("Reusing access token for client [{}]", this.clientRegistrationId);
+			builder.header(HttpHeaders.AUTHORIZATION, cached.authorizationHeader());
+			return;
+		}
+
+		OAuth2AuthorizeRequest authorizeRequest = OAuth2AuthorizeRequest
+			.withClientRegistrationId(this.clientRegistrationId)
+			.principal(authentication)
+			.attribute(HttpServletRequest.class.getName(), requestAttributes.getRequest())
+			.attribute(HttpServletResponse.class.getName(), requestAttributes.getResponse())
+			.build();
+		log.debug("Requesting access token for client [{}]", this.clientRegistrationId);
+
 		OAuth2AuthorizedClient authorizedClient = this.authorizedClientManager.authorize(authorizeRequest);
 		if (authorizedClient == null) {
 			throw new IllegalArgumentException(
@@ -126,6 +164,7 @@ public class OAuth2AuthorizationCodeSyncHttpRequestCustomizer implements McpSync
 			// has scopes - otherwise they are not requested in the first place.
 			log.debug("Existing token scopes {} do not match requested scopes {}. Requesting a new token.",
 					authorizedClient.getAccessToken().getScopes(), scopes);
+			this.authorizations.remove(authentication.getName());
 			throw new ClientAuthorizationRequiredException(this.clientRegistrationId);
 		}
 		else {
@@ -133,11 +172,78 @@ public class OAuth2AuthorizationCodeSyncHttpRequestCustomizer implements McpSync
 		}
 		OAuth2AccessToken accessToken = authorizedClient.getAccessToken();
 		log.debug("Adding token to header");
-		builder.header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken.getTokenValue());
+		var authorizationHeader = "Bearer " + accessToken.getTokenValue();
+		cacheAuthorization(authentication, registration, accessToken, authorizationHeader);
+		builder.header(HttpHeaders.AUTHORIZATION, authorizationHeader);
+	}
+
+	/**
+	 * Whether to cache the {@code Authorization} header per principal, so that repeated
+	 * requests skip the {@link OAuth2AuthorizedClientManager}. Only enable when
+	 * {@link #invalidate(McpTransportContext)} is called every time the client is
+	 * re-authorized, for example from
+	 * {@link OAuth2SyncAuthorizationErrorHandler#setAuthorizationRequiredHandler}.
+	 * Defaults to {@code false}.
+	 * @param cacheAuthorizations whether to cache authorizations
+	 */
+	public void setCacheAuthorizations(boolean cacheAuthorizations) {
+		this.cacheAuthorizations = cacheAuthorizations;
+		if (!cacheAuthorizations) {
+			this.authorizations.clear();
+		}
+	}
+
+	/**
+	 * Remove the cached authorization of the principal in the given context, if any, so
+	 * that the next request goes through the {@link OAuth2AuthorizedClientManager}.
+	 * @param context the transport context of the request being re-authorized
+	 */
+	public void invalidate(McpTransportContext context) {
+		if (context.get(AuthenticationMcpTransportContextProvider.AUTHENTICATION_KEY) instanceof Authentication auth) {
+			this.authorizations.remove(auth.getName());
+		}
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private @Nullable CachedAuthorization getCachedAuthorization(Authentication authentication,
+			ClientRegistration registration) {
+		if (!this.cacheAuthorizations) {
+			return null;
+		}
+		var cached = this.authorizations.get(authentication.getName());
+		if (cached == null) {
+			return null;
+		}
+		if (cached.authentication() != authentication || cached.clientRegistration() != registration
+				|| !this.clock.instant().isBefore(cached.refreshAt())) {
+			this.authorizations.remove(authentication.getName(), cached);
+			return null;
+		}
+		return cached;
+	}
+
+	private void cacheAuthorization(Authentication authentication, ClientRegistration registration,
+			OAuth2AccessToken accessToken, String authorizationHeader) {
+		if (!this.cacheAuthorizations) {
+			return;
+		}
+		var expiresAt = accessToken.getExpiresAt();
+		var refreshAt = (expiresAt != null) ? expiresAt.minus(CLOCK_SKEW) : Instant.MAX;
+		this.authorizations.put(authentication.getName(),
+				new CachedAuthorization(authentication, registration, refreshAt, authorizationHeader));
 	}
 
 	public void disableDynamicClientRegistration(boolean disableDynamicClientRegistration) {
 		this.supportDynamicClientRegistration = !disableDynamicClientRegistration;
 	}
 
+	private record CachedAuthorization(Authentication authentication, ClientRegistration clientRegistration,
+			Instant refreshAt, String authorizationHeader) {
+
+	}
+
 }
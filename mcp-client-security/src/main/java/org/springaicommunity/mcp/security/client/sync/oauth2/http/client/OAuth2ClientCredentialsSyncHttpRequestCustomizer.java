@@ -21,6 +21,7 @@ import java.net.http.HttpRequest;
 
 import io.modelcontextprotocol.client.transport.customizer.McpSyncHttpClientRequestCustomizer;
 import io.modelcontextprotocol.common.McpTransportContext;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,6 +29,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.security.oauth2.client.AuthorizedClientServiceOAuth2AuthorizedClientManager;
 import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
 import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.util.Assert;
 
 /**
  * Adds an OAuth2 access token to outgoing MCP client HTTP requests using the
@@ -43,6 +45,10 @@ import org.springframework.security.oauth2.core.OAuth2AccessToken;
  * <p>
  * The resolved access token is added as a {@code Bearer} token in the
  * {@code Authorization} header of each outgoing MCP request.
+ * <p>
+ * When created with a {@link ClientCredentialsTokenHolder}, the header is served from
+ * the holder, which refreshes the token in the background before it expires, so that
+ * requests do not wait for the authorization server.
  *
  * @author Daniel Garnier-Moiroux
  */
@@ -50,25 +56,47 @@ public class OAuth2ClientCredentialsSyncHttpRequestCustomizer implements McpSync
 
 	private static final Logger log = LoggerFactory.getLogger(OAuth2ClientCredentialsSyncHttpRequestCustomizer.class);
 
-	private final AuthorizedClientServiceOAuth2AuthorizedClientManager authorizedClientManager;
+	private final @Nullable AuthorizedClientServiceOAuth2AuthorizedClientManager authorizedClientManager;
+
+	private final @Nullable ClientCredentialsTokenHolder tokenHolder;
 
 	private final String clientRegistrationId;
 
 	public OAuth2ClientCredentialsSyncHttpRequestCustomizer(
 			AuthorizedClientServiceOAuth2AuthorizedClientManager authorizedClientManager, String clientRegistrationId) {
 		this.authorizedClientManager = authorizedClientManager;
+		this.tokenHolder = null;
 		this.clientRegistrationId = clientRegistrationId;
 	}
 
+	/**
+	 * Create a customizer serving the {@code Authorization} header from a
+	 * {@link ClientCredentialsTokenHolder}, which refreshes tokens ahead of their expiry.
+	 * @param tokenHolder the token holder
+	 */
+	public OAuth2ClientCredentialsSyncHttpRequestCustomizer(ClientCredentialsTokenHolder tokenHolder) {
+		Assert.notNull(tokenHolder, "tokenHolder cannot be null");
+		this.authorizedClientManager = null;
+		this.tokenHolder = tokenHolder;
+		this.clientRegistrationId = tokenHolder.getClientRegistrationId();
+	}
+
 	@Override
 	public void customize(HttpRequest.Builder builder, String method, URI endpoint, String body,
 			McpTransportContext context) {
+		var tokenHolder = this.tokenHolder;
+		if (tokenHolder != null) {
+			builder.header(HttpHeaders.AUTHORIZATION, tokenHolder.getAuthorizationHeader());
+			return;
+		}
+		var authorizedClientManager = this.authorizedClientManager;
+		Assert.state(authorizedClientManager != null, "authorizedClientManager cannot be null");
 		OAuth2AuthorizeRequest authorizeRequest = OAuth2AuthorizeRequest
 			.withClientRegistrationId(this.clientRegistrationId)
 			.principal("mcp-client-service")
 			.build();
 		log.debug("Requesting access token");
-		var authorizedClient = this.authorizedClientManager.authorize(authorizeRequest);
+		var authorizedClient = authorizedClientManager.authorize(authorizeRequest);
 		if (authorizedClient == null) {
 			throw new IllegalArgumentException("Authorization not supported for " + this.clientRegistrationId);
 		}
@@ -39,7 +39,9 @@ import org.springframework.util.ReflectionUtils;
  * For each MCP client connection, this customizer applies an
  * {@link OAuth2AuthorizationCodeSyncHttpRequestCustomizer} (to attach a Bearer token to
  * outgoing requests) and an {@link OAuth2SyncAuthorizationErrorHandler} (to handle HTTP
- * 401/403 responses, including dynamic client registration).
+ * 401/403 responses, including dynamic client registration). The request customizer
+ * caches authorizations, and the error handler invalidates them when the client needs to
+ * be re-authorized.
  * <p>
  * The OAuth2 client {@code registrationId} to use for each transport can be configured in
  * two ways:
@@ -143,6 +145,8 @@ public class OAuth2HttpClientTransportCustomizer
 		// TODO: make manager nullable...?
 		var errorHandler = new OAuth2SyncAuthorizationErrorHandler(this.mcpOAuth2ClientManager, registrationId,
 				mcpServerUrl);
+		requestCustomizer.setCacheAuthorizations(true);
+		errorHandler.setAuthorizationRequiredHandler(requestCustomizer::invalidate);
 
 		transportBuilder.httpRequestCustomizer(requestCustomizer)
 			.authorizationErrorHandler(McpHttpClientAuthorizationErrorHandler.fromSync(errorHandler));
@@ -18,6 +18,7 @@ package org.springaicommunity.mcp.security.client.sync.oauth2.http.client;
 
 import java.net.http.HttpResponse;
 import java.util.List;
+import java.util.function.Consumer;
 
 import io.modelcontextprotocol.client.transport.customizer.McpHttpClientAuthorizationErrorHandler;
 import io.modelcontextprotocol.common.McpTransportContext;
@@ -71,6 +72,9 @@ public class OAuth2SyncAuthorizationErrorHandler implements McpHttpClientAuthori
 
 	private String fallbackBaseUrl = "http://localhost:8080";
 
+	private Consumer<McpTransportContext> authorizationRequiredHandler = (context) -> {
+	};
+
 	/**
 	 * Create an {@code OAuth2SyncAuthorizationErrorHandler} that will perform dynamic
 	 * client registration with the {@code authorization_code} grant type and a default
@@ -116,6 +120,19 @@ public class OAuth2SyncAuthorizationErrorHandler implements McpHttpClientAuthori
 		this.fallbackBaseUrl = fallbackBaseUrl;
 	}
 
+	/**
+	 * Set a callback invoked before the client is re-authorized, that is, right before
+	 * throwing a {@link ClientAuthorizationRequiredException}. Typically used to
+	 * invalidate cached authorizations, with
+	 * {@link OAuth2AuthorizationCodeSyncHttpRequestCustomizer#invalidate}. Defaults to a
+	 * no-op.
+	 * @param authorizationRequiredHandler the callback, receiving the transport context
+	 */
+	public void setAuthorizationRequiredHandler(Consumer<McpTransportContext> authorizationRequiredHandler) {
+		Assert.notNull(authorizationRequiredHandler, "authorizationRequiredHandler must not be null");
+		this.authorizationRequiredHandler = authorizationRequiredHandler;
+	}
+
 	@Override
 	public boolean handle(HttpResponse.ResponseInfo responseInfo, McpTransportContext context) {
 		var wwwAuthenticateHeader = responseInfo.headers().firstValue("www-authenticate").orElse(null);
@@ -126,7 +143,7 @@ public class OAuth2SyncAuthorizationErrorHandler implements McpHttpClientAuthori
 			handleUnauthorized(wwwAuthenticateHeader, context);
 		}
 		else if (responseInfo.statusCode() == HttpStatus.FORBIDDEN.value()) {
-			handleForbidden(wwwAuthenticateHeader);
+			handleForbidden(wwwAuthenticateHeader, context);
 		}
 
 		return false;
@@ -138,14 +155,16 @@ public class OAuth2SyncAuthorizationErrorHandler implements McpHttpClientAuthori
 		this.mcpOAuth2ClientManager.registerMcpClient(this.registrationId, this.mcpServerUrl, wwwAuthenticateHeader,
 				registrationRequest);
 		log.debug("Client [{}] registered, triggering authorization", this.registrationId);
+		this.authorizationRequiredHandler.accept(context);
 		// client changed, retry
 		throw new ClientAuthorizationRequiredException(this.registrationId);
 	}
 
-	private void handleForbidden(String wwwAuthenticateHeader) {
+	private void handleForbidden(String wwwAuthenticateHeader, McpTransportContext context) {
 		log.debug("Handling 403 Forbidden for client [{}]", this.registrationId);
 		if (this.mcpOAuth2ClientManager.updateMcpClient(this.registrationId, wwwAuthenticateHeader)) {
 			log.debug("Client [{}] scopes updated, triggering re-authorization", this.registrationId);
+			this.authorizationRequiredHandler.accept(context);
 			// client changed, retry
 			throw new ClientAuthorizationRequiredException(this.registrationId);
 		}
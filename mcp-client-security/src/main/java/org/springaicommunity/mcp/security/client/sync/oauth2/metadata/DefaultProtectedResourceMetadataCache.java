@@ -0,0 +1,310 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.client.sync.oauth2.metadata;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.mcp.security.common.cache.BoundedCache;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.core.converter.ClaimConversionService;
+import org.springframework.util.Assert;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Default {@link ProtectedResourceMetadataCache}, caching documents per URL in memory.
+ * <p>
+ * Documents are fresh for the duration given by the {@code Cache-Control: max-age}
+ * directive, or else the {@code Expires} header, or else a default time-to-live.
+ * Documents served with {@code no-store} or {@code no-cache} are not cached. Once a
+ * document is no longer fresh, it is still served for the {@code stale-while-revalidate}
+ * duration of the response, or a default, while it is fetched again in the background.
+ * Missing documents, answered with {@code 404} or {@code 401}, are cached for a short
+ * time, so that discovery does not probe the same URL over and over.
+ * <p>
+ * The number of cached URLs is bounded, see {@link BoundedCache}.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public final class DefaultProtectedResourceMetadataCache implements ProtectedResourceMetadataCache {
+
+	private static final Logger log = LoggerFactory.getLogger(DefaultProtectedResourceMetadataCache.class);
+
+	private static final Pattern MAX_AGE_PATTERN = Pattern.compile("(?:^|,)\\s*max-age\\s*=\\s*\"?(\\d+)\"?");
+
+	private static final Pattern STALE_WHILE_REVALIDATE_PATTERN = Pattern
+		.compile("(?:^|,)\\s*stale-while-revalidate\\s*=\\s*\"?(\\d+)\"?");
+
+	private static final Pattern NO_CACHE_PATTERN = Pattern.compile("(?:^|,)\\s*(?:no-store|no-cache)\\s*(?:,|=|$)");
+
+	private static final int DEFAULT_MAX_ENTRIES = 256;
+
+	private static final TypeDescriptor LIST_STRING_TYPE = TypeDescriptor.collection(List.class,
+			TypeDescriptor.valueOf(String.class));
+
+	private final ClaimConversionService claimConversionService = ClaimConversionService.getSharedInstance();
+
+	private final BoundedCache<String, Entry> entries;
+
+	private final RestClient restClient;
+
+	private Duration defaultTimeToLive = Duration.ofMinutes(5);
+
+	private Duration maxTimeToLive = Duration.ofHours(24);
+
+	private Duration notFoundTimeToLive = Duration.ofSeconds(30);
+
+	private Duration staleWhileRevalidate = Duration.ofMinutes(5);
+
+	private Executor refreshExecutor;
+
+	private Clock clock = Clock.systemUTC();
+
+	public DefaultProtectedResourceMetadataCache() {
+		this(RestClient.create());
+	}
+
+	public DefaultProtectedResourceMetadataCache(RestClient restClient) {
+		this(restClient, DEFAULT_MAX_ENTRIES);
+	}
+
+	public DefaultProtectedResourceMetadataCache(RestClient restClient, int maxEntries) {
+		Assert.notNull(restClient, "restClient cannot be null");
+		Assert.isTrue(maxEntries > 0, "maxEntries must be positive");
+		this.restClient = restClient;
+		this.entries = new BoundedCache<>(maxEntries, (entry) -> !this.clock.instant().isBefore(entry.staleUntil));
+		var executor = new SimpleAsyncTaskExecutor("mcp-metadata-refresh-");
+		executor.setDaemon(true);
+		this.refreshExecutor = executor;
+	}
+
+	@Override
+	public @Nullable ProtectedResourceMetadata get(String resourceMetadataUrl) {
+		var now = this.clock.instant();
+		var entry = this.entries.get(resourceMetadataUrl);
+		if (entry != null) {
+			if (now.isBefore(entry.freshUntil)) {
+				return entry.metadata;
+			}
+			if (now.isBefore(entry.staleUntil)) {
+				refreshInBackground(resourceMetadataUrl, entry);
+				return entry.metadata;
+			}
+		}
+		entry = fetch(resourceMetadataUrl, now);
+		store(resourceMetadataUrl, entry, now);
+		return entry.metadata;
+	}
+
+	@Override
+	public void evict(String resourceMetadataUrl) {
+		this.entries.remove(resourceMetadataUrl);
+	}
+
+	/**
+	 * Set how long documents are fresh when the response has neither a
+	 * {@code Cache-Control: max-age} directive nor an {@code Expires} header. Defaults to
+	 * 5 minutes.
+	 * @param defaultTimeToLive the default time-to-live
+	 */
+	public void setDefaultTimeToLive(Duration defaultTimeToLive) {
+		Assert.notNull(defaultTimeToLive, "defaultTimeToLive cannot be null");
+		this.defaultTimeToLive = defaultTimeToLive;
+	}
+
+	/**
+	 * Set the maximum time documents are fresh, whatever the response headers say.
+	 * Defaults to 24 hours.
+	 * @param maxTimeToLive the maximum time-to-live
+	 */
+	public void setMaxTimeToLive(Duration maxTimeToLive) {
+		Assert.notNull(maxTimeToLive, "maxTimeToLive cannot be null");
+		this.maxTimeToLive = maxTimeToLive;
+	}
+
+	/**
+	 * Set how long missing documents are remembered. Defaults to 30 seconds.
+	 * @param notFoundTimeToLive the time-to-live of negative entries
+	 */
+	public void setNotFoundTimeToLive(Duration notFoundTimeToLive) {
+		Assert.notNull(notFoundTimeToLive, "notFoundTimeToLive cannot be null");
+		this.notFoundTimeToLive = notFoundTimeToLive;
+	}
+
+	/**
+	 * Set how long stale documents are served while being refreshed in the background,
+	 * when the response has no {@code stale-while-revalidate} directive. Defaults to 5
+	 * minutes.
+	 * @param staleWhileRevalidate the default stale-while-revalidate duration
+	 */
+	public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+		Assert.notNull(staleWhileRevalidate, "staleWhileRevalidate cannot be null");
+		this.staleWhileRevalidate = staleWhileRevalidate;
+	}
+
+	/**
+	 * Set the executor used to refresh stale documents. Defaults to daemon threads
+	 * created on demand.
+	 * @param refreshExecutor the executor
+	 */
+	public void setRefreshExecutor(Executor refreshExecutor) {
+		Assert.notNull(refreshExecutor, "refreshExecutor cannot be null");
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private void refreshInBackground(String resourceMetadataUrl, Entry entry) {
+		if (!entry.refreshing.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			this.refreshExecutor.execute(() -> {
+				try {
+					var now = this.clock.instant();
+					store(resourceMetadataUrl, fetch(resourceMetadataUrl, now), now);
+				}
+				catch (RuntimeException ex) {
+					log.debug("Could not refresh protected resource metadata [{}]: {}", resourceMetadataUrl,
+							ex.getMessage());
+					entry.refreshing.set(false);
+				}
+			});
+		}
+		catch (RejectedExecutionException ex) {
+			entry.refreshing.set(false);
+		}
+	}
+
+	private Entry fetch(String resourceMetadataUrl, Instant now) {
+		try {
+			log.debug("Reading protected resource metadata [{}]", resourceMetadataUrl);
+			var typeRef = new ParameterizedTypeReference<Map<String, Object>>() {
+			};
+			var response = this.restClient.get().uri(resourceMetadataUrl).retrieve().toEntity(typeRef);
+			var body = response.getBody();
+			if (body == null) {
+				log.debug("Protected resource metadata body is null for [{}]", resourceMetadataUrl);
+				return new Entry(null, now.plus(this.notFoundTimeToLive), now.plus(this.notFoundTimeToLive));
+			}
+			log.debug("Got Protected Resource Metadata: {}", body);
+			var metadata = convert(body);
+			var headers = response.getHeaders();
+			var freshUntil = now.plus(getTimeToLive(headers, now));
+			var staleUntil = freshUntil.equals(now) ? now : freshUntil.plus(getStaleWhileRevalidate(headers));
+			return new Entry(metadata, freshUntil, staleUntil);
+		}
+		catch (HttpClientErrorException.NotFound | HttpClientErrorException.Unauthorized e) {
+			log.debug("Could not get protected resource metadata from [{}]: {}", resourceMetadataUrl, e.getMessage());
+			return new Entry(null, now.plus(this.notFoundTimeToLive), now.plus(this.notFoundTimeToLive));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private ProtectedResourceMetadata convert(Map<String, Object> response) {
+		var resourceClaim = response.get("resource");
+		if (resourceClaim == null) {
+			throw new IllegalStateException("Resource claim in Protected Resource Metadata should not be null");
+		}
+		var scopesSupported = response.get("scopes_supported") != null
+				? (List<String>) this.claimConversionService.convert(response.get("scopes_supported"), LIST_STRING_TYPE)
+				: null;
+		var authorizationServers = response.get("authorization_servers") != null
+				? (List<String>) this.claimConversionService.convert(response.get("authorization_servers"),
+						LIST_STRING_TYPE)
+				: null;
+		return new ProtectedResourceMetadata(resourceClaim.toString(), authorizationServers, scopesSupported);
+	}
+
+	private void store(String resourceMetadataUrl, Entry entry, Instant now) {
+		if (!now.isBefore(entry.staleUntil)) {
+			this.entries.remove(resourceMetadataUrl);
+			return;
+		}
+		this.entries.put(resourceMetadataUrl, entry);
+	}
+
+	private Duration getTimeToLive(HttpHeaders headers, Instant now) {
+		var cacheControl = getCacheControl(headers);
+		if (NO_CACHE_PATTERN.matcher(cacheControl).find()) {
+			return Duration.ZERO;
+		}
+		Duration timeToLive;
+		var maxAge = MAX_AGE_PATTERN.matcher(cacheControl);
+		if (maxAge.find()) {
+			timeToLive = Duration.ofSeconds(Long.parseLong(maxAge.group(1)));
+		}
+		else if (headers.getExpires() >= 0) {
+			timeToLive = Duration.between(now, Instant.ofEpochMilli(headers.getExpires()));
+			timeToLive = timeToLive.isNegative() ? Duration.ZERO : timeToLive;
+		}
+		else {
+			timeToLive = this.defaultTimeToLive;
+		}
+		return (timeToLive.compareTo(this.maxTimeToLive) > 0) ? this.maxTimeToLive : timeToLive;
+	}
+
+	private Duration getStaleWhileRevalidate(HttpHeaders headers) {
+		var staleWhileRevalidate = STALE_WHILE_REVALIDATE_PATTERN.matcher(getCacheControl(headers));
+		if (staleWhileRevalidate.find()) {
+			return Duration.ofSeconds(Long.parseLong(staleWhileRevalidate.group(1)));
+		}
+		return this.staleWhileRevalidate;
+	}
+
+	private static String getCacheControl(HttpHeaders headers) {
+		var cacheControl = headers.getCacheControl();
+		return (cacheControl != null) ? cacheControl.toLowerCase(Locale.ROOT) : "";
+	}
+
+	private static final class Entry {
+
+		private final @Nullable ProtectedResourceMetadata metadata;
+
+		private final Instant freshUntil;
+
+		private final Instant staleUntil;
+
+		private final AtomicBoolean refreshing = new AtomicBoolean();
+
+		private Entry(@Nullable ProtectedResourceMetadata metadata, Instant freshUntil, Instant staleUntil) {
+			this.metadata = metadata;
+			this.freshUntil = freshUntil;
+			this.staleUntil = staleUntil;
+		}
+
+	}
+
+}
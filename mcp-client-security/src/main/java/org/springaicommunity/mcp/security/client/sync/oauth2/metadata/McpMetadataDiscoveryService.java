@@ -16,20 +16,27 @@
 
 package org.springaicommunity.mcp.security.client.sync.oauth2.metadata;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springaicommunity.mcp.security.common.cache.BoundedCache;
 import org.springaicommunity.mcp.security.common.url.DefaultUrlValidator;
 import org.springaicommunity.mcp.security.common.url.InvalidUrlException;
 import org.springaicommunity.mcp.security.common.url.UrlValidator;
 
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.core.convert.TypeDescriptor;
-import org.springframework.security.oauth2.core.converter.ClaimConversionService;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.util.Assert;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -38,8 +45,13 @@ import org.springframework.web.util.UriComponentsBuilder;
  * Service to obtain metadata from an MCP server, from WWW-Authenticate headers on
  * unauthorized calls and from OAuth2 Protected Resource Metadata endpoint.
  * <p>
- * Uses a RestClient internally to perform HTTP requests, and extracts the result as a
- * {@link Map}.
+ * Uses a RestClient internally to perform HTTP requests. Protected Resource Metadata
+ * documents are fetched through a {@link ProtectedResourceMetadataCache}, by default a
+ * {@link DefaultProtectedResourceMetadataCache}, so that they are not read on every call.
+ * <p>
+ * By default, metadata URLs are probed one after the other. With
+ * {@link #setConcurrentProbing(boolean)}, they are probed all at once, and the results
+ * are still considered in the priority order of the specification.
  *
  * @author Daniel Garnier-Moiroux
  * @see <a href="https://datatracker.ietf.org/doc/html/rfc9728">RFC9728 - Protected
@@ -58,10 +70,18 @@ public class McpMetadataDiscoveryService {
 
 	private static final String WELL_KNOWN_PATH_SEGMENT = "/.well-known/oauth-protected-resource";
 
-	private final TypeDescriptor LIST_STRING_TYPE = TypeDescriptor.collection(List.class,
-			TypeDescriptor.valueOf(String.class));
+	private static final int MAX_KNOWN_SERVERS = 256;
+
+	private final ProtectedResourceMetadataCache metadataCache;
+
+	private @Nullable Executor probeExecutor;
 
-	private final ClaimConversionService claimConversionService = ClaimConversionService.getSharedInstance();
+	private Duration discoveryTimeout = Duration.ofSeconds(30);
+
+	private boolean wellKnownFirst = false;
+
+	private final BoundedCache<String, WwwAuthenticateParameters> knownParameters = new BoundedCache<>(
+			MAX_KNOWN_SERVERS, (parameters) -> false);
 
 	public McpMetadataDiscoveryService() {
 		this(new DefaultUrlValidator());
@@ -72,14 +92,52 @@ public class McpMetadataDiscoveryService {
 	}
 
 	public McpMetadataDiscoveryService(RestClient restClient, UrlValidator urlValidator) {
+		this(restClient, urlValidator, new DefaultProtectedResourceMetadataCache(restClient));
+	}
+
+	public McpMetadataDiscoveryService(RestClient restClient, UrlValidator urlValidator,
+			ProtectedResourceMetadataCache metadataCache) {
+		Assert.notNull(metadataCache, "metadataCache cannot be null");
 		this.restClient = restClient;
 		this.urlValidator = urlValidator;
+		this.metadataCache = metadataCache;
 	}
 
 	/**
-	 * Get metadata from the WWW-authenticate header on an unauthorized request.
+	 * Get metadata from the WWW-authenticate header on an unauthorized request. Once the
+	 * preflight request of a server succeeds, its outcome is remembered, as well as
+	 * parameters passed to {@link #rememberWwwAuthenticateParameters}. Failed preflight
+	 * requests are not remembered, so that they are retried on the next call. The number
+	 * of remembered servers is bounded, see {@link BoundedCache}.
 	 */
 	public @Nullable WwwAuthenticateParameters getWwwAuthenticateParameters(String serverUrl) {
+		var cached = this.knownParameters.get(serverUrl);
+		if (cached != null) {
+			log.debug("Using known www-authenticate parameters for {}", serverUrl);
+			return cached;
+		}
+		var authenticateParameters = fetchWwwAuthenticateParameters(serverUrl);
+		if (authenticateParameters != null) {
+			this.knownParameters.put(serverUrl, authenticateParameters);
+		}
+		return authenticateParameters;
+	}
+
+	/**
+	 * Remember the parameters of a WWW-Authenticate header received from the MCP server,
+	 * for example on a {@code 401} response to an actual MCP request, so that discovery
+	 * does not need to send a preflight request to obtain them.
+	 * @param serverUrl the URL of the MCP server
+	 * @param wwwAuthenticateParameters the parameters of the WWW-Authenticate header
+	 */
+	public void rememberWwwAuthenticateParameters(String serverUrl,
+			WwwAuthenticateParameters wwwAuthenticateParameters) {
+		Assert.hasText(serverUrl, "serverUrl cannot be empty");
+		Assert.notNull(wwwAuthenticateParameters, "wwwAuthenticateParameters cannot be null");
+		this.knownParameters.put(serverUrl, wwwAuthenticateParameters);
+	}
+
+	private @Nullable WwwAuthenticateParameters fetchWwwAuthenticateParameters(String serverUrl) {
 		log.debug("Getting www-authenticate parameter");
 		try {
 			log.debug("Getting WWW-authenticate header for {}", serverUrl);
@@ -109,37 +167,47 @@ public class McpMetadataDiscoveryService {
 	 * Protected Resource Metadata document.
 	 */
 	public McpMetadata getMcpMetadata(String mcpServerUrl) {
+		var known = this.knownParameters.get(mcpServerUrl);
+		if (known != null) {
+			return getMcpMetadata(mcpServerUrl, known);
+		}
+		if (this.wellKnownFirst) {
+			var metadata = getWellKnownMetadata(mcpServerUrl);
+			if (metadata != null) {
+				return new McpMetadata(null, metadata);
+			}
+			log.debug("No well-known protected resource metadata for [{}], sending preflight request", mcpServerUrl);
+			return getMcpMetadata(mcpServerUrl, getWwwAuthenticateParameters(mcpServerUrl));
+		}
+		var probeExecutor = this.probeExecutor;
+		if (probeExecutor != null) {
+			var wwwAuthenticateParameters = new AtomicReference<@Nullable WwwAuthenticateParameters>();
+			Callable<@Nullable ProtectedResourceMetadata> wwwAuthenticateProbe = () -> {
+				var parameters = getWwwAuthenticateParameters(mcpServerUrl);
+				wwwAuthenticateParameters.set(parameters);
+				return getWwwAuthenticateMetadata(mcpServerUrl, parameters);
+			};
+			var metadata = probeConcurrently(probeExecutor, mcpServerUrl, wwwAuthenticateProbe);
+			return new McpMetadata(wwwAuthenticateParameters.get(), metadata);
+		}
 		var wwwAuthenticateParameters = getWwwAuthenticateParameters(mcpServerUrl);
 		return getMcpMetadata(mcpServerUrl, wwwAuthenticateParameters);
 	}
 
 	public McpMetadata getMcpMetadata(String mcpServerUrl,
 			@Nullable WwwAuthenticateParameters wwwAuthenticateParameters) {
-		ProtectedResourceMetadata metadata = null;
-		if (wwwAuthenticateParameters != null) {
-			metadata = getProtectedResourceMetadata(wwwAuthenticateParameters.getResourceMetadata());
-			if (metadata != null && !metadata.resource().equals(mcpServerUrl)) {
-				throw new IllegalStateException("Resource identifier [%s] does not match MCP Server url [%s]"
-					.formatted(metadata.resource(), mcpServerUrl));
-			}
+		var probeExecutor = this.probeExecutor;
+		if (probeExecutor != null) {
+			var metadata = probeConcurrently(probeExecutor, mcpServerUrl,
+					() -> getWwwAuthenticateMetadata(mcpServerUrl, wwwAuthenticateParameters));
+			return new McpMetadata(wwwAuthenticateParameters, metadata);
 		}
-		var rootUrl = UriComponentsBuilder.fromUriString(mcpServerUrl).replacePath(null).toUriString();
-		var path = UriComponentsBuilder.fromUriString(mcpServerUrl).build().getPath();
+		var metadata = getWwwAuthenticateMetadata(mcpServerUrl, wwwAuthenticateParameters);
 		if (metadata == null) {
-			var candidateUrl = computeWellKnownProtectedResourceUrl(rootUrl, path);
-			metadata = getProtectedResourceMetadata(candidateUrl);
-			if (metadata != null && !metadata.resource().equals(mcpServerUrl)) {
-				throw new IllegalStateException("Resource identifier [%s] does not match MCP Server url [%s]"
-					.formatted(metadata.resource(), mcpServerUrl));
-			}
+			metadata = getPathWellKnownMetadata(mcpServerUrl);
 		}
 		if (metadata == null) {
-			var candidateUrl = computeWellKnownProtectedResourceUrl(rootUrl, null);
-			metadata = getProtectedResourceMetadata(candidateUrl);
-			if (metadata != null && !metadata.resource().equals(rootUrl)) {
-				throw new IllegalStateException("Resource identifier [%s] does not match MCP Server root url [%s]"
-					.formatted(metadata.resource(), mcpServerUrl));
-			}
+			metadata = getRootWellKnownMetadata(mcpServerUrl);
 		}
 		if (metadata == null) {
 			throw new IllegalStateException("Could not find protected resource metadata");
@@ -147,6 +215,96 @@ public class McpMetadataDiscoveryService {
 		return new McpMetadata(wwwAuthenticateParameters, metadata);
 	}
 
+	/**
+	 * Probe metadata URLs on the executor, all at once. Results are considered in the
+	 * priority order of the specification: {@code resource_metadata} from the
+	 * WWW-Authenticate header first, then the well-known URL with the MCP server path,
+	 * then the root well-known URL. The first document found wins, and the probes that
+	 * are still running are cancelled.
+	 */
+	private ProtectedResourceMetadata probeConcurrently(Executor probeExecutor, String mcpServerUrl,
+			Callable<@Nullable ProtectedResourceMetadata> wwwAuthenticateProbe) {
+		List<FutureTask<@Nullable ProtectedResourceMetadata>> probes = List.of(new FutureTask<>(wwwAuthenticateProbe),
+				new FutureTask<>(() -> getPathWellKnownMetadata(mcpServerUrl)),
+				new FutureTask<>(() -> getRootWellKnownMetadata(mcpServerUrl)));
+		var deadline = System.nanoTime() + this.discoveryTimeout.toNanos();
+		try {
+			for (var probe : probes) {
+				probeExecutor.execute(probe);
+			}
+			for (var probe : probes) {
+				var metadata = probe.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+				if (metadata != null) {
+					return metadata;
+				}
+			}
+		}
+		catch (TimeoutException ex) {
+			throw new IllegalStateException("Timed out discovering protected resource metadata for [%s] after %s"
+				.formatted(mcpServerUrl, this.discoveryTimeout));
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted discovering protected resource metadata", ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException("Could not discover protected resource metadata", ex.getCause());
+		}
+		finally {
+			probes.forEach((probe) -> probe.cancel(true));
+		}
+		throw new IllegalStateException("Could not find protected resource metadata");
+	}
+
+	private @Nullable ProtectedResourceMetadata getWellKnownMetadata(String mcpServerUrl) {
+		try {
+			var metadata = getPathWellKnownMetadata(mcpServerUrl);
+			return (metadata != null) ? metadata : getRootWellKnownMetadata(mcpServerUrl);
+		}
+		catch (IllegalStateException ex) {
+			log.debug("Could not use well-known protected resource metadata for [{}]: {}", mcpServerUrl,
+					ex.getMessage());
+			return null;
+		}
+	}
+
+	private @Nullable ProtectedResourceMetadata getWwwAuthenticateMetadata(String mcpServerUrl,
+			@Nullable WwwAuthenticateParameters wwwAuthenticateParameters) {
+		if (wwwAuthenticateParameters == null) {
+			return null;
+		}
+		var metadata = getProtectedResourceMetadata(wwwAuthenticateParameters.getResourceMetadata());
+		if (metadata != null && !metadata.resource().equals(mcpServerUrl)) {
+			throw new IllegalStateException("Resource identifier [%s] does not match MCP Server url [%s]"
+				.formatted(metadata.resource(), mcpServerUrl));
+		}
+		return metadata;
+	}
+
+	private @Nullable ProtectedResourceMetadata getPathWellKnownMetadata(String mcpServerUrl) {
+		var rootUrl = UriComponentsBuilder.fromUriString(mcpServerUrl).replacePath(null).toUriString();
+		var path = UriComponentsBuilder.fromUriString(mcpServerUrl).build().getPath();
+		var metadata = getProtectedResourceMetadata(computeWellKnownProtectedResourceUrl(rootUrl, path));
+		if (metadata != null && !metadata.resource().equals(mcpServerUrl)) {
+			throw new IllegalStateException("Resource identifier [%s] does not match MCP Server url [%s]"
+				.formatted(metadata.resource(), mcpServerUrl));
+		}
+		return metadata;
+	}
+
+	private @Nullable ProtectedResourceMetadata getRootWellKnownMetadata(String mcpServerUrl) {
+		var rootUrl = UriComponentsBuilder.fromUriString(mcpServerUrl).replacePath(null).toUriString();
+		var metadata = getProtectedResourceMetadata(computeWellKnownProtectedResourceUrl(rootUrl, null));
+		if (metadata != null && !metadata.resource().equals(rootUrl)) {
+			throw new IllegalStateException("Resource identifier [%s] does not match MCP Server root url [%s]"
+				.formatted(metadata.resource(), mcpServerUrl));
+		}
+		return metadata;
+	}
+
 	/**
 	 * Get Protected Resource Metadata document.
 	 * @param mcpServerUrl The URL of the MCP server, used for validation
@@ -179,33 +337,60 @@ public class McpMetadataDiscoveryService {
 		catch (InvalidUrlException e) {
 			throw new IllegalStateException("Invalid MCP resource metadata url: " + e.getMessage(), e);
 		}
-		try {
-			log.debug("Reading protected resource metadata [{}]", resourceMetadataUrl);
-			var typeRef = new ParameterizedTypeReference<Map<String, Object>>() {
-			};
-			var response = restClient.get().uri(resourceMetadataUrl).retrieve().body(typeRef);
-			if (response == null) {
-				log.debug("Protected resource metadata body is null for [{}]", resourceMetadataUrl);
-				return null;
-			}
-			log.debug("Got Protected Resource Metadata: {}", response);
-			if (response.get("resource") == null) {
-				throw new IllegalStateException("Resource claim in Protected Resource Metadata should not be null");
-			}
-			String resource = response.get("resource").toString();
-			var scopesSupported = response.get("scopes_supported") != null
-					? (List<String>) claimConversionService.convert(response.get("scopes_supported"), LIST_STRING_TYPE)
-					: null;
-			var authorizationServers = response.get("authorization_servers") != null
-					? (List<String>) claimConversionService.convert(response.get("authorization_servers"),
-							LIST_STRING_TYPE)
-					: null;
-			return new ProtectedResourceMetadata(resource, authorizationServers, scopesSupported);
-		}
-		catch (HttpClientErrorException.NotFound | HttpClientErrorException.Unauthorized e) {
-			log.debug("Could not get protected resource metadata from [{}]: {}", resourceMetadataUrl, e.getMessage());
+		return this.metadataCache.get(resourceMetadataUrl);
+	}
+
+	/**
+	 * Probe the metadata URLs concurrently rather than one after the other, so that
+	 * discovery against a slow server costs a single round trip instead of three or four.
+	 * Probes run on daemon threads created on demand, unless an executor is set with
+	 * {@link #setProbeExecutor(Executor)}. Defaults to {@code false}.
+	 * @param concurrentProbing whether to probe metadata URLs concurrently
+	 */
+	public void setConcurrentProbing(boolean concurrentProbing) {
+		if (!concurrentProbing) {
+			this.probeExecutor = null;
 		}
-		return null;
+		else if (this.probeExecutor == null) {
+			var executor = new SimpleAsyncTaskExecutor("mcp-metadata-probe-");
+			executor.setDaemon(true);
+			this.probeExecutor = executor;
+		}
+	}
+
+	/**
+	 * Probe the metadata URLs concurrently on the given executor, for example
+	 * {@code Executors.newVirtualThreadPerTaskExecutor()} on Java 21 and later. The
+	 * executor must run at least three tasks at once.
+	 * @param probeExecutor the executor running the probes
+	 * @see #setConcurrentProbing(boolean)
+	 */
+	public void setProbeExecutor(Executor probeExecutor) {
+		Assert.notNull(probeExecutor, "probeExecutor cannot be null");
+		this.probeExecutor = probeExecutor;
+	}
+
+	/**
+	 * Start discovery from the well-known Protected Resource Metadata URLs, and only send
+	 * the WWW-Authenticate preflight request to the MCP server when they do not yield a
+	 * document. This saves a round trip per server, but the {@code scope} parameter of
+	 * the WWW-Authenticate header is then unknown, and dynamic client registration falls
+	 * back to {@code scopes_supported}. Defaults to {@code false}.
+	 * @param wellKnownFirst whether to try the well-known URLs before the preflight
+	 */
+	public void setWellKnownFirst(boolean wellKnownFirst) {
+		this.wellKnownFirst = wellKnownFirst;
+	}
+
+	/**
+	 * Set the maximum duration of a whole discovery, when probing concurrently. Defaults
+	 * to 30 seconds.
+	 * @param discoveryTimeout the discovery timeout
+	 */
+	public void setDiscoveryTimeout(Duration discoveryTimeout) {
+		Assert.notNull(discoveryTimeout, "discoveryTimeout cannot be null");
+		Assert.isTrue(discoveryTimeout.isPositive(), "discoveryTimeout must be positive");
+		this.discoveryTimeout = discoveryTimeout;
 	}
 
 	private String computeWellKnownProtectedResourceUrl(String rootUrl, @Nullable String path) {
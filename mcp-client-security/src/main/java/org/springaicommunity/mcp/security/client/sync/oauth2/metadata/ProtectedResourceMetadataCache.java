@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.client.sync.oauth2.metadata;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Fetches Protected Resource Metadata documents, as described in RFC 9728, and keeps
+ * them for later use, so that discovery does not hit the MCP server on every call.
+ *
+ * @author Daniel Garnier-Moiroux
+ * @see DefaultProtectedResourceMetadataCache
+ */
+public interface ProtectedResourceMetadataCache {
+
+	/**
+	 * Get the Protected Resource Metadata document, from the cache or over HTTP.
+	 * @param resourceMetadataUrl The URL from which to fetch the document
+	 * @return The Protected Resource Metadata document, or {@code null} if there is no
+	 * document at this URL
+	 */
+	@Nullable ProtectedResourceMetadata get(String resourceMetadataUrl);
+
+	/**
+	 * Remove the cached document, if any, so that the next call to {@link #get(String)}
+	 * fetches it again.
+	 * @param resourceMetadataUrl The URL of the document
+	 */
+	void evict(String resourceMetadataUrl);
+
+}
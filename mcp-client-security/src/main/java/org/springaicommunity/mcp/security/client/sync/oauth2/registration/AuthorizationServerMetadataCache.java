@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.client.sync.oauth2.registration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.mcp.security.common.cache.BoundedCache;
+
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrations;
+import org.springframework.util.Assert;
+
+/**
+ * Caches the metadata of OAuth2 authorization servers, obtained with
+ * {@link ClientRegistrations#fromIssuerLocation(String)}, so that dynamic client
+ * registration and the creation of the resulting {@link ClientRegistration} read it only
+ * once per issuer.
+ * <p>
+ * Metadata is kept for a time-to-live, one hour by default. Concurrent requests for the
+ * same issuer share a single fetch; failures are not cached. The number of cached
+ * issuers is bounded, see {@link BoundedCache}.
+ *
+ * @author Daniel Garnier-Moiroux
+ * @see DynamicClientRegistrationService
+ * @see DefaultMcpOAuth2ClientManager
+ */
+public class AuthorizationServerMetadataCache {
+
+	private static final Logger log = LoggerFactory.getLogger(AuthorizationServerMetadataCache.class);
+
+	private static final String PLACEHOLDER_CLIENT_ID = "~~~~ignored~~~~";
+
+	private static final int MAX_ISSUERS = 64;
+
+	private final BoundedCache<String, CompletableFuture<Entry>> entries = new BoundedCache<>(MAX_ISSUERS,
+			(future) -> isExpired(future, this.clock.instant()));
+
+	private final Function<String, ClientRegistration.Builder> metadataLoader;
+
+	private Duration timeToLive = Duration.ofHours(1);
+
+	private Clock clock = Clock.systemUTC();
+
+	public AuthorizationServerMetadataCache() {
+		this(ClientRegistrations::fromIssuerLocation);
+	}
+
+	/**
+	 * Create a new instance.
+	 * @param metadataLoader loads the metadata of the authorization server with the given
+	 * issuer, as a {@link ClientRegistration.Builder}
+	 */
+	public AuthorizationServerMetadataCache(Function<String, ClientRegistration.Builder> metadataLoader) {
+		Assert.notNull(metadataLoader, "metadataLoader cannot be null");
+		this.metadataLoader = metadataLoader;
+	}
+
+	/**
+	 * Return a new {@link ClientRegistration.Builder}, pre-populated with the metadata of
+	 * the authorization server, as with
+	 * {@link ClientRegistrations#fromIssuerLocation(String)}. Only the first call for a
+	 * given issuer, or the first call after the metadata has expired, performs network
+	 * I/O.
+	 * @param issuer the issuer of the authorization server
+	 * @return a new builder
+	 */
+	public ClientRegistration.Builder getClientRegistrationBuilder(String issuer) {
+		return ClientRegistration.withClientRegistration(getEntry(issuer).template());
+	}
+
+	/**
+	 * Return the metadata of the authorization server, for example
+	 * {@code registration_endpoint}.
+	 * @param issuer the issuer of the authorization server
+	 * @return the configuration metadata
+	 */
+	public Map<String, Object> getConfigurationMetadata(String issuer) {
+		return getEntry(issuer).template().getProviderDetails().getConfigurationMetadata();
+	}
+
+	/**
+	 * Remove the metadata of the authorization server, if cached.
+	 * @param issuer the issuer of the authorization server
+	 */
+	public void evict(String issuer) {
+		this.entries.remove(issuer);
+	}
+
+	/**
+	 * Set how long the metadata of an authorization server is cached. Defaults to one
+	 * hour.
+	 * @param timeToLive the time-to-live
+	 */
+	public void setTimeToLive(Duration timeToLive) {
+		Assert.notNull(timeToLive, "timeToLive cannot be null");
+		this.timeToLive = timeToLive;
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private Entry getEntry(String issuer) {
+		Assert.hasText(issuer, "issuer cannot be empty");
+		while (true) {
+			var now = this.clock.instant();
+			var existing = this.entries.get(issuer);
+			if (existing != null) {
+				if (!existing.isDone()) {
+					return await(existing);
+				}
+				var entry = existing.isCompletedExceptionally() ? null : existing.join();
+				if (entry != null && now.isBefore(entry.expiresAt())) {
+					return entry;
+				}
+				this.entries.remove(issuer, existing);
+				continue;
+			}
+			var future = new CompletableFuture<Entry>();
+			if (this.entries.putIfAbsent(issuer, future) != null) {
+				continue;
+			}
+			try {
+				var entry = load(issuer, now);
+				future.complete(entry);
+				return entry;
+			}
+			catch (RuntimeException ex) {
+				this.entries.remove(issuer, future);
+				future.completeExceptionally(ex);
+				throw ex;
+			}
+		}
+	}
+
+	private Entry load(String issuer, Instant now) {
+		log.debug("Fetching authorization server metadata for issuer [{}]", issuer);
+		var template = this.metadataLoader.apply(issuer).clientId(PLACEHOLDER_CLIENT_ID).build();
+		return new Entry(template, now.plus(this.timeToLive));
+	}
+
+	private static Entry await(CompletableFuture<Entry> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw ex;
+		}
+	}
+
+	private static boolean isExpired(CompletableFuture<Entry> future, Instant now) {
+		return future.isDone() && (future.isCompletedExceptionally() || !now.isBefore(future.join().expiresAt()));
+	}
+
+	private record Entry(ClientRegistration template, Instant expiresAt) {
+
+	}
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.client.sync.oauth2.registration;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.nimbusds.jose.util.JSONObjectUtils;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthenticationMethod;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.util.StringUtils;
+
+/**
+ * Converts {@link ClientRegistration}s to and from named fields, so that repositories
+ * store them as explicit columns or JSON documents. Unlike Java serialization, the stored
+ * form does not depend on the version of Spring Security, and reading it never
+ * instantiates arbitrary classes.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+final class ClientRegistrationFields {
+
+	static final String REGISTRATION_ID = "registration_id";
+
+	static final String RESOURCE_ID = "resource_id";
+
+	static final String CLIENT_ID = "client_id";
+
+	static final String CLIENT_SECRET = "client_secret";
+
+	static final String CLIENT_AUTHENTICATION_METHOD = "client_authentication_method";
+
+	static final String AUTHORIZATION_GRANT_TYPE = "authorization_grant_type";
+
+	static final String REDIRECT_URI = "redirect_uri";
+
+	static final String SCOPES = "scopes";
+
+	static final String CLIENT_NAME = "client_name";
+
+	static final String REQUIRE_PROOF_KEY = "require_proof_key";
+
+	static final String PROVIDER_DETAILS = "provider_details";
+
+	private static final String AUTHORIZATION_URI = "authorization_uri";
+
+	private static final String TOKEN_URI = "token_uri";
+
+	private static final String USER_INFO_URI = "user_info_uri";
+
+	private static final String USER_INFO_AUTHENTICATION_METHOD = "user_info_authentication_method";
+
+	private static final String USER_NAME_ATTRIBUTE_NAME = "user_name_attribute_name";
+
+	private static final String JWK_SET_URI = "jwk_set_uri";
+
+	private static final String ISSUER_URI = "issuer_uri";
+
+	private static final String CONFIGURATION_METADATA = "configuration_metadata";
+
+	private ClientRegistrationFields() {
+	}
+
+	/**
+	 * Return the fields of the given client registration. Scopes are a list, and provider
+	 * details a nested map; absent values are omitted.
+	 */
+	static Map<String, Object> toFields(ClientRegistration clientRegistration) {
+		var fields = new LinkedHashMap<String, Object>();
+		fields.put(REGISTRATION_ID, clientRegistration.getRegistrationId());
+		fields.put(CLIENT_ID, clientRegistration.getClientId());
+		putIfHasText(fields, CLIENT_SECRET, clientRegistration.getClientSecret());
+		fields.put(CLIENT_AUTHENTICATION_METHOD, clientRegistration.getClientAuthenticationMethod().getValue());
+		fields.put(AUTHORIZATION_GRANT_TYPE, clientRegistration.getAuthorizationGrantType().getValue());
+		putIfHasText(fields, REDIRECT_URI, clientRegistration.getRedirectUri());
+		fields.put(SCOPES, new ArrayList<>(clientRegistration.getScopes()));
+		putIfHasText(fields, CLIENT_NAME, clientRegistration.getClientName());
+		fields.put(REQUIRE_PROOF_KEY, clientRegistration.getClientSettings().isRequireProofKey());
+		fields.put(PROVIDER_DETAILS, toProviderDetailsFields(clientRegistration));
+		return fields;
+	}
+
+	/**
+	 * Create a client registration from the fields returned by {@link #toFields}.
+	 * @throws IllegalArgumentException if a required field is missing or invalid
+	 */
+	static ClientRegistration fromFields(Map<String, ?> fields) {
+		var builder = ClientRegistration.withRegistrationId(getRequiredString(fields, REGISTRATION_ID))
+			.clientId(getRequiredString(fields, CLIENT_ID))
+			.clientAuthenticationMethod(
+					new ClientAuthenticationMethod(getRequiredString(fields, CLIENT_AUTHENTICATION_METHOD)))
+			.authorizationGrantType(new AuthorizationGrantType(getRequiredString(fields, AUTHORIZATION_GRANT_TYPE)))
+			.clientSettings(ClientRegistration.ClientSettings.builder()
+				.requireProofKey(Boolean.TRUE.equals(fields.get(REQUIRE_PROOF_KEY)))
+				.build());
+		var clientSecret = getString(fields, CLIENT_SECRET);
+		if (clientSecret != null) {
+			builder.clientSecret(clientSecret);
+		}
+		var redirectUri = getString(fields, REDIRECT_URI);
+		if (redirectUri != null) {
+			builder.redirectUri(redirectUri);
+		}
+		var clientName = getString(fields, CLIENT_NAME);
+		if (clientName != null) {
+			builder.clientName(clientName);
+		}
+		if (fields.get(SCOPES) instanceof Collection<?> scopes) {
+			builder.scope(scopes.stream().map(String::valueOf).toList());
+		}
+		if (!(fields.get(PROVIDER_DETAILS) instanceof Map<?, ?> providerDetails)) {
+			throw new IllegalArgumentException("Missing field [" + PROVIDER_DETAILS + "]");
+		}
+		applyProviderDetails(builder, asFields(providerDetails));
+		return builder.build();
+	}
+
+	static String writeJson(Map<String, ?> fields) {
+		return JSONObjectUtils.toJSONString(fields);
+	}
+
+	/**
+	 * Read a JSON object.
+	 * @throws IllegalArgumentException if the content is not a JSON object
+	 */
+	static Map<String, Object> readJson(String json) {
+		try {
+			return JSONObjectUtils.parse(json);
+		}
+		catch (ParseException ex) {
+			throw new IllegalArgumentException("Invalid JSON: " + ex.getMessage(), ex);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static Map<String, Object> asFields(Map<?, ?> map) {
+		return (Map<String, Object>) map;
+	}
+
+	/**
+	 * Return the fields of the provider details of the given client registration.
+	 */
+	static Map<String, Object> toProviderDetailsFields(ClientRegistration clientRegistration) {
+		var providerDetails = clientRegistration.getProviderDetails();
+		var fields = new LinkedHashMap<String, Object>();
+		putIfHasText(fields, AUTHORIZATION_URI, providerDetails.getAuthorizationUri());
+		putIfHasText(fields, TOKEN_URI, providerDetails.getTokenUri());
+		var userInfoEndpoint = providerDetails.getUserInfoEndpoint();
+		putIfHasText(fields, USER_INFO_URI, userInfoEndpoint.getUri());
+		fields.put(USER_INFO_AUTHENTICATION_METHOD, userInfoEndpoint.getAuthenticationMethod().getValue());
+		putIfHasText(fields, USER_NAME_ATTRIBUTE_NAME, userInfoEndpoint.getUserNameAttributeName());
+		putIfHasText(fields, JWK_SET_URI, providerDetails.getJwkSetUri());
+		putIfHasText(fields, ISSUER_URI, providerDetails.getIssuerUri());
+		fields.put(CONFIGURATION_METADATA, providerDetails.getConfigurationMetadata());
+		return fields;
+	}
+
+	private static void applyProviderDetails(ClientRegistration.Builder builder, Map<String, ?> fields) {
+		var authorizationUri = getString(fields, AUTHORIZATION_URI);
+		if (authorizationUri != null) {
+			builder.authorizationUri(authorizationUri);
+		}
+		var tokenUri = getString(fields, TOKEN_URI);
+		if (tokenUri != null) {
+			builder.tokenUri(tokenUri);
+		}
+		var userInfoUri = getString(fields, USER_INFO_URI);
+		if (userInfoUri != null) {
+			builder.userInfoUri(userInfoUri);
+		}
+		var userInfoAuthenticationMethod = getString(fields, USER_INFO_AUTHENTICATION_METHOD);
+		if (userInfoAuthenticationMethod != null) {
+			builder.userInfoAuthenticationMethod(new AuthenticationMethod(userInfoAuthenticationMethod));
+		}
+		var userNameAttributeName = getString(fields, USER_NAME_ATTRIBUTE_NAME);
+		if (userNameAttributeName != null) {
+			builder.userNameAttributeName(userNameAttributeName);
+		}
+		var jwkSetUri = getString(fields, JWK_SET_URI);
+		if (jwkSetUri != null) {
+			builder.jwkSetUri(jwkSetUri);
+		}
+		var issuerUri = getString(fields, ISSUER_URI);
+		if (issuerUri != null) {
+			builder.issuerUri(issuerUri);
+		}
+		if (fields.get(CONFIGURATION_METADATA) instanceof Map<?, ?> configurationMetadata) {
+			builder.providerConfigurationMetadata(asFields(configurationMetadata));
+		}
+	}
+
+	private static void putIfHasText(Map<String, Object> fields, String name, @Nullable String value) {
+		if (StringUtils.hasText(value)) {
+			fields.put(name, value);
+		}
+	}
+
+	private static @Nullable String getString(Map<String, ?> fields, String name) {
+		return (fields.get(name) instanceof String value && StringUtils.hasText(value)) ? value : null;
+	}
+
+	private static String getRequiredString(Map<String, ?> fields, String name) {
+		var value = getString(fields, name);
+		if (value == null) {
+			throw new IllegalArgumentException("Missing field [" + name + "]");
+		}
+		return value;
+	}
+
+}
@@ -16,7 +16,14 @@
 
 package org.springaicommunity.mcp.security.client.sync.oauth2.registration;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
@@ -29,7 +36,6 @@ import org.springaicommunity.mcp.security.common.url.InvalidUrlException;
 import org.springaicommunity.mcp.security.common.url.UrlValidator;
 
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
-import org.springframework.security.oauth2.client.registration.ClientRegistrations;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
 import org.springframework.util.Assert;
@@ -41,6 +47,11 @@ import org.springframework.util.StringUtils;
  * {@link McpClientRegistrationRepository} and uses {@link McpMetadataDiscoveryService}
  * and {@link DynamicClientRegistrationService} to discover MCP server metadata and
  * perform dynamic client registration.
+ * <p>
+ * Registrations are single-flight per {@code registrationId}: when several threads
+ * register the same client at once, for example after the MCP server starts answering
+ * with {@code 401}, only one of them performs dynamic client registration, and the others
+ * wait for its outcome.
  *
  * @author Daniel Garnier-Moiroux
  * @see <a href=
@@ -57,6 +68,12 @@ public class DefaultMcpOAuth2ClientManager extends ScopeStepUpMcpOAuth2ClientMan
 
 	private final UrlValidator urlValidator;
 
+	private final AuthorizationServerMetadataCache metadataCache;
+
+	private final Map<String, CompletableFuture<@Nullable Void>> registrationsInProgress = new ConcurrentHashMap<>();
+
+	private Duration registrationTimeout = Duration.ofSeconds(30);
+
 	/**
 	 * @deprecated use
 	 * {@link DefaultMcpOAuth2ClientManager(McpClientRegistrationRepository,
@@ -72,14 +89,31 @@ public class DefaultMcpOAuth2ClientManager extends ScopeStepUpMcpOAuth2ClientMan
 	public DefaultMcpOAuth2ClientManager(McpClientRegistrationRepository repository,
 			DynamicClientRegistrationService clientRegistrationService, McpMetadataDiscoveryService discovery,
 			UrlValidator urlValidator) {
+		this(repository, clientRegistrationService, discovery, urlValidator, new AuthorizationServerMetadataCache());
+	}
+
+	/**
+	 * Create a new instance.
+	 * @param repository the repository storing client registrations
+	 * @param clientRegistrationService the service performing dynamic client registration
+	 * @param discovery the service discovering MCP server metadata
+	 * @param urlValidator the validator for discovered URLs
+	 * @param metadataCache the authorization server metadata cache, typically shared with
+	 * the {@link DynamicClientRegistrationService}
+	 */
+	public DefaultMcpOAuth2ClientManager(McpClientRegistrationRepository repository,
+			DynamicClientRegistrationService clientRegistrationService, McpMetadataDiscoveryService discovery,
+			UrlValidator urlValidator, AuthorizationServerMetadataCache metadataCache) {
 		super(repository);
 		Assert.notNull(repository, "repository cannot be null");
 		Assert.notNull(clientRegistrationService, "clientRegistrationService cannot be null");
 		Assert.notNull(discovery, "discovery cannot be null");
 		Assert.notNull(urlValidator, "urlValidator cannot be null");
+		Assert.notNull(metadataCache, "metadataCache cannot be null");
 		this.clientRegistrationService = clientRegistrationService;
 		this.discovery = discovery;
 		this.urlValidator = urlValidator;
+		this.metadataCache = metadataCache;
 	}
 
 	@Override
@@ -92,9 +126,12 @@ public class DefaultMcpOAuth2ClientManager extends ScopeStepUpMcpOAuth2ClientMan
 			log.debug("Client registration [{}] already exists, skipping", registrationId);
 			return;
 		}
-		log.debug("Registering MCP client [{}] for server [{}] via metadata discovery", registrationId, mcpServerUrl);
-		var wwwAuthenticateParameters = this.discovery.getWwwAuthenticateParameters(mcpServerUrl);
-		doRegisterMcpClient(registrationId, mcpServerUrl, dynamicClientRegistrationRequest, wwwAuthenticateParameters);
+		registerOnce(registrationId, () -> {
+			log.debug("Registering MCP client [{}] for server [{}] via metadata discovery", registrationId,
+					mcpServerUrl);
+			var mcpMetadata = this.discovery.getMcpMetadata(mcpServerUrl);
+			doRegisterMcpClient(registrationId, dynamicClientRegistrationRequest, mcpMetadata);
+		});
 	}
 
 	@Override
@@ -108,16 +145,84 @@ public class DefaultMcpOAuth2ClientManager extends ScopeStepUpMcpOAuth2ClientMan
 			log.debug("Client registration [{}] already exists, skipping", registrationId);
 			return;
 		}
-		log.debug("Registering MCP client [{}] for server [{}] from WWW-Authenticate header", registrationId,
-				mcpServerUrl);
-		var wwwAuthenticateParameters = WwwAuthenticateParameters.parse(wwwAuthenticateHeader);
-		doRegisterMcpClient(registrationId, mcpServerUrl, dynamicClientRegistrationRequest, wwwAuthenticateParameters);
+		registerOnce(registrationId, () -> {
+			log.debug("Registering MCP client [{}] for server [{}] from WWW-Authenticate header", registrationId,
+					mcpServerUrl);
+			var wwwAuthenticateParameters = WwwAuthenticateParameters.parse(wwwAuthenticateHeader);
+			if (wwwAuthenticateParameters != null) {
+				this.discovery.rememberWwwAuthenticateParameters(mcpServerUrl, wwwAuthenticateParameters);
+			}
+			var mcpMetadata = this.discovery.getMcpMetadata(mcpServerUrl, wwwAuthenticateParameters);
+			doRegisterMcpClient(registrationId, dynamicClientRegistrationRequest, mcpMetadata);
+		});
 	}
 
-	private void doRegisterMcpClient(String registrationId, String mcpServerUrl,
-			DynamicClientRegistrationRequest registrationRequest,
-			@Nullable WwwAuthenticateParameters wwwAuthenticateParameters) {
-		var mcpMetadata = this.discovery.getMcpMetadata(mcpServerUrl, wwwAuthenticateParameters);
+	/**
+	 * Set how long a registration waits for a concurrent registration with the same
+	 * {@code registrationId} to complete. Defaults to 30 seconds.
+	 * @param registrationTimeout the maximum wait
+	 */
+	public void setRegistrationTimeout(Duration registrationTimeout) {
+		Assert.notNull(registrationTimeout, "registrationTimeout cannot be null");
+		Assert.isTrue(registrationTimeout.isPositive(), "registrationTimeout must be positive");
+		this.registrationTimeout = registrationTimeout;
+	}
+
+	/**
+	 * Run the registration, unless one is already in progress for the same
+	 * {@code registrationId}, in which case wait for it and share its outcome, so that
+	 * concurrent callers do not register several clients with the authorization server.
+	 */
+	private void registerOnce(String registrationId, Runnable registration) {
+		var future = new CompletableFuture<@Nullable Void>();
+		var inProgress = this.registrationsInProgress.putIfAbsent(registrationId, future);
+		if (inProgress != null) {
+			log.debug("Client registration [{}] already in progress, waiting", registrationId);
+			awaitRegistration(registrationId, inProgress);
+			return;
+		}
+		try {
+			if (this.repository.findByRegistrationId(registrationId) != null) {
+				log.debug("Client registration [{}] already exists, skipping", registrationId);
+			}
+			else {
+				registration.run();
+			}
+			future.complete(null);
+		}
+		catch (RuntimeException ex) {
+			future.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.registrationsInProgress.remove(registrationId, future);
+		}
+	}
+
+	private void awaitRegistration(String registrationId, CompletableFuture<@Nullable Void> inProgress) {
+		try {
+			inProgress.get(this.registrationTimeout.toNanos(), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException ex) {
+			throw new IllegalStateException("Timed out waiting for client registration [%s] after %s"
+				.formatted(registrationId, this.registrationTimeout));
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(
+					"Interrupted waiting for client registration [%s]".formatted(registrationId), ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException("Client registration [%s] failed".formatted(registrationId),
+					ex.getCause());
+		}
+	}
+
+	private void doRegisterMcpClient(String registrationId, DynamicClientRegistrationRequest registrationRequest,
+			McpMetadata mcpMetadata) {
 		Assert.notNull(mcpMetadata.protectedResourceMetadata().authorizationServers(),
 				"cannot find authorization_servers from MCP Server's protected resource metadata");
 		var issuerUrl = mcpMetadata.protectedResourceMetadata().authorizationServers().get(0);
@@ -154,10 +259,10 @@ public class DefaultMcpOAuth2ClientManager extends ScopeStepUpMcpOAuth2ClientMan
 		return originalRequest;
 	}
 
-	private static ClientRegistration toClientRegistration(String registrationId, String issuerUrl,
+	private ClientRegistration toClientRegistration(String registrationId, String issuerUrl,
 			DynamicClientRegistrationRequest registrationRequest,
 			DynamicClientRegistrationResponse registrationResponse) {
-		ClientRegistration.Builder registrationBuilder = ClientRegistrations.fromIssuerLocation(issuerUrl)
+		ClientRegistration.Builder registrationBuilder = this.metadataCache.getClientRegistrationBuilder(issuerUrl)
 			.registrationId(registrationId);
 		registrationBuilder.clientId(registrationResponse.clientId());
 
@@ -30,9 +30,9 @@ import org.springaicommunity.mcp.security.common.url.UrlValidator;
 
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
-import org.springframework.security.oauth2.client.registration.ClientRegistrations;
 import org.springframework.security.oauth2.core.converter.ClaimConversionService;
 import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.util.Assert;
 import org.springframework.web.client.RestClient;
 
 /**
@@ -40,7 +40,8 @@ import org.springframework.web.client.RestClient;
  * endpoint, with no authentication.
  * <p>
  * Uses a RestClient internally to perform HTTP requests. By default, uses a new rest
- * client with a Jackson JSON mapper.
+ * client with a Jackson JSON mapper. The registration endpoint is read from the
+ * authorization server metadata, through an {@link AuthorizationServerMetadataCache}.
  *
  * @author Daniel Garnier-Moiroux
  * @see <a href="https://datatracker.ietf.org/doc/html/rfc7591">RFC7591 - OAuth 2.0
@@ -52,6 +53,8 @@ public class DynamicClientRegistrationService {
 
 	private final UrlValidator urlValidator;
 
+	private final AuthorizationServerMetadataCache metadataCache;
+
 	private static final Logger log = LoggerFactory.getLogger(DynamicClientRegistrationService.class);
 
 	private final ClaimConversionService claimConversionService = ClaimConversionService.getSharedInstance();
@@ -83,8 +86,15 @@ public class DynamicClientRegistrationService {
 	}
 
 	public DynamicClientRegistrationService(RestClient restClient, UrlValidator urlValidator) {
+		this(restClient, urlValidator, new AuthorizationServerMetadataCache());
+	}
+
+	public DynamicClientRegistrationService(RestClient restClient, UrlValidator urlValidator,
+			AuthorizationServerMetadataCache metadataCache) {
+		Assert.notNull(metadataCache, "metadataCache cannot be null");
 		this.restClient = restClient;
 		this.urlValidator = urlValidator;
+		this.metadataCache = metadataCache;
 	}
 
 	public DynamicClientRegistrationResponse register(DynamicClientRegistrationRequest registrationRequest,
@@ -172,8 +182,8 @@ public class DynamicClientRegistrationService {
 			throw new IllegalStateException("Invalid authorization server URL: " + e.getMessage(), e);
 		}
 		log.debug("Discovering registration endpoint for auth server [{}]", authServerUrl);
-		var builder = ClientRegistrations.fromIssuerLocation(authServerUrl).clientId("~~~~ignored~~~~").build();
-		var registrationEndpoint = builder.getProviderDetails().getConfigurationMetadata().get("registration_endpoint");
+		var registrationEndpoint = this.metadataCache.getConfigurationMetadata(authServerUrl)
+			.get("registration_endpoint");
 		if (registrationEndpoint == null) {
 			throw new IllegalStateException(
 					"No registration endpoint found for auth server [%s]".formatted(authServerUrl));
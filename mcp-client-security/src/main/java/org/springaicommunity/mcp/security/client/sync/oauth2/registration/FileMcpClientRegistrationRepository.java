@@ -0,0 +1,219 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.client.sync.oauth2.registration;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Implementation of {@link McpClientRegistrationRepository} that stores
+ * {@link ClientRegistration}s and their associated resource identifiers in a local JSON
+ * file, so that dynamically registered clients survive restarts.
+ * <p>
+ * The file is read once, on first use, and registrations are then served from memory.
+ * Every change rewrites the whole file: the new content is written to a temporary file
+ * in the same directory, which then atomically replaces the previous file, so that a
+ * crash never leaves a partially written file behind. On POSIX file systems, the file is
+ * only readable by its owner, since it contains client secrets. A file or a registration
+ * that cannot be read is ignored, and the corresponding clients are registered again.
+ * <p>
+ * This implementation is meant for a single application instance; use
+ * {@link JdbcMcpClientRegistrationRepository} to share registrations between instances.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class FileMcpClientRegistrationRepository
+		implements McpClientRegistrationRepository, Iterable<ClientRegistration> {
+
+	private static final Logger log = LoggerFactory.getLogger(FileMcpClientRegistrationRepository.class);
+
+	private static final String REGISTRATIONS = "registrations";
+
+	private final Path file;
+
+	private final Path directory;
+
+	private final Map<String, StoredRegistration> registrations = new ConcurrentHashMap<>();
+
+	private volatile boolean loaded;
+
+	/**
+	 * Create a new instance.
+	 * @param file the file storing the registrations; it is created on the first change
+	 */
+	public FileMcpClientRegistrationRepository(Path file) {
+		Assert.notNull(file, "file cannot be null");
+		this.file = file.toAbsolutePath();
+		var parent = this.file.getParent();
+		Assert.notNull(parent, "file must have a parent directory");
+		this.directory = parent;
+	}
+
+	@Override
+	public synchronized void addClientRegistration(ClientRegistration clientRegistration,
+			@Nullable String resourceId) {
+		load();
+		var registrationId = clientRegistration.getRegistrationId();
+		if (this.registrations.containsKey(registrationId)) {
+			return;
+		}
+		var resource = StringUtils.hasText(resourceId) ? resourceId : null;
+		this.registrations.put(registrationId, new StoredRegistration(clientRegistration, resource));
+		write();
+	}
+
+	@Override
+	public synchronized void updateClientRegistration(String registrationId,
+			Consumer<ClientRegistration.Builder> clientRegistrationConsumer) {
+		load();
+		var existing = this.registrations.get(registrationId);
+		if (existing == null) {
+			return;
+		}
+		var builder = ClientRegistration.withClientRegistration(existing.clientRegistration());
+		clientRegistrationConsumer.accept(builder);
+		this.registrations.put(registrationId, new StoredRegistration(builder.build(), existing.resourceId()));
+		write();
+	}
+
+	@Override
+	public @Nullable String findResourceIdByRegistrationId(String registrationId) {
+		load();
+		var registration = this.registrations.get(registrationId);
+		return (registration != null) ? registration.resourceId() : null;
+	}
+
+	@Override
+	public @Nullable ClientRegistration findByRegistrationId(String registrationId) {
+		load();
+		var registration = this.registrations.get(registrationId);
+		return (registration != null) ? registration.clientRegistration() : null;
+	}
+
+	@Override
+	public Iterator<ClientRegistration> iterator() {
+		load();
+		return this.registrations.values().stream().map(StoredRegistration::clientRegistration).iterator();
+	}
+
+	private void load() {
+		if (this.loaded) {
+			return;
+		}
+		synchronized (this) {
+			if (this.loaded) {
+				return;
+			}
+			if (Files.exists(this.file)) {
+				try {
+					var document = ClientRegistrationFields.readJson(Files.readString(this.file));
+					if (document.get(REGISTRATIONS) instanceof List<?> entries) {
+						entries.forEach(this::loadEntry);
+					}
+					log.debug("Loaded {} client registrations from [{}]", this.registrations.size(), this.file);
+				}
+				catch (IOException | IllegalArgumentException ex) {
+					log.warn("Ignoring client registrations in [{}], they cannot be read: {}", this.file,
+							ex.getMessage());
+				}
+			}
+			this.loaded = true;
+		}
+	}
+
+	private void loadEntry(@Nullable Object entry) {
+		if (!(entry instanceof Map<?, ?> map)) {
+			log.warn("Ignoring client registration in [{}], it is not a JSON object", this.file);
+			return;
+		}
+		var fields = ClientRegistrationFields.asFields(map);
+		try {
+			var clientRegistration = ClientRegistrationFields.fromFields(fields);
+			var resourceId = (fields.get(ClientRegistrationFields.RESOURCE_ID) instanceof String value) ? value : null;
+			this.registrations.put(clientRegistration.getRegistrationId(),
+					new StoredRegistration(clientRegistration, resourceId));
+		}
+		catch (IllegalArgumentException ex) {
+			log.warn("Ignoring client registration [{}] in [{}], it cannot be read: {}",
+					fields.get(ClientRegistrationFields.REGISTRATION_ID), this.file, ex.getMessage());
+		}
+	}
+
+	private void write() {
+		Path temporaryFile = null;
+		try {
+			Files.createDirectories(this.directory);
+			temporaryFile = Files.createTempFile(this.directory, this.file.getFileName().toString(), ".tmp");
+			Files.writeString(temporaryFile, ClientRegistrationFields.writeJson(Map.of(REGISTRATIONS, toEntries())));
+			try {
+				Files.move(temporaryFile, this.file, StandardCopyOption.ATOMIC_MOVE,
+						StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch (AtomicMoveNotSupportedException ex) {
+				Files.move(temporaryFile, this.file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Could not write client registrations to [%s]".formatted(this.file), ex);
+		}
+		finally {
+			if (temporaryFile != null) {
+				try {
+					Files.deleteIfExists(temporaryFile);
+				}
+				catch (IOException ex) {
+					log.debug("Could not delete temporary file [{}]", temporaryFile, ex);
+				}
+			}
+		}
+	}
+
+	private List<Map<String, Object>> toEntries() {
+		var entries = new ArrayList<Map<String, Object>>();
+		for (var registration : this.registrations.values()) {
+			var fields = ClientRegistrationFields.toFields(registration.clientRegistration());
+			var resourceId = registration.resourceId();
+			if (resourceId != null) {
+				fields.put(ClientRegistrationFields.RESOURCE_ID, resourceId);
+			}
+			entries.add(fields);
+		}
+		return entries;
+	}
+
+	private record StoredRegistration(ClientRegistration clientRegistration, @Nullable String resourceId) {
+
+	}
+
+}
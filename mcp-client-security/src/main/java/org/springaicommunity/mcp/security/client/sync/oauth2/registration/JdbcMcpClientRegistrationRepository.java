@@ -0,0 +1,242 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.client.sync.oauth2.registration;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * JDBC implementation of {@link McpClientRegistrationRepository}, so that dynamically
+ * registered clients survive restarts, and are shared by all instances of the
+ * application.
+ * <p>
+ * Client registrations are stored in the {@code mcp_client_registration} table, along
+ * with their resource identifier, one column per attribute, like Spring Authorization
+ * Server's {@code JdbcRegisteredClientRepository}. Provider details, including the
+ * authorization server metadata, are stored as JSON. The table definition is available
+ * in
+ * {@code org/springaicommunity/mcp/security/client/sync/oauth2/registration/mcp-client-registration-schema.sql}.
+ * Note that the {@code client_secret} column is stored as is; protect the database
+ * accordingly.
+ * <p>
+ * All registrations are loaded in memory once, on first use, and then served from
+ * memory. Registrations that are not found in memory are looked up in the database, in
+ * case they were added by another instance. Registrations updated by another instance,
+ * for example after a scope step-up, are not reloaded: they are read again from the
+ * database when this instance updates them, and on restart. Rows that cannot be read
+ * are ignored, and the client is registered again.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class JdbcMcpClientRegistrationRepository
+		implements McpClientRegistrationRepository, Iterable<ClientRegistration> {
+
+	private static final Logger log = LoggerFactory.getLogger(JdbcMcpClientRegistrationRepository.class);
+
+	private static final String REGISTRATION_COLUMNS = "client_id, client_secret, client_authentication_method,"
+			+ " authorization_grant_type, redirect_uri, scopes, client_name, require_proof_key, provider_details";
+
+	private static final String SELECT_SQL = "SELECT registration_id, resource_id, " + REGISTRATION_COLUMNS
+			+ " FROM mcp_client_registration";
+
+	private static final String SELECT_BY_ID_SQL = SELECT_SQL + " WHERE registration_id = ?";
+
+	private static final String INSERT_SQL = "INSERT INTO mcp_client_registration (registration_id, resource_id, "
+			+ REGISTRATION_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String SET_REGISTRATION_COLUMNS = " client_id = ?, client_secret = ?,"
+			+ " client_authentication_method = ?, authorization_grant_type = ?, redirect_uri = ?, scopes = ?,"
+			+ " client_name = ?, require_proof_key = ?, provider_details = ? WHERE registration_id = ?";
+
+	private static final String UPDATE_SQL = "UPDATE mcp_client_registration SET" + SET_REGISTRATION_COLUMNS;
+
+	private static final String REPLACE_SQL = "UPDATE mcp_client_registration SET resource_id = ?,"
+			+ SET_REGISTRATION_COLUMNS;
+
+	private final JdbcOperations jdbcOperations;
+
+	private final Map<String, StoredRegistration> registrations = new ConcurrentHashMap<>();
+
+	private volatile boolean loaded;
+
+	public JdbcMcpClientRegistrationRepository(JdbcOperations jdbcOperations) {
+		Assert.notNull(jdbcOperations, "jdbcOperations cannot be null");
+		this.jdbcOperations = jdbcOperations;
+	}
+
+	@Override
+	public void addClientRegistration(ClientRegistration clientRegistration, @Nullable String resourceId) {
+		var registrationId = clientRegistration.getRegistrationId();
+		if (find(registrationId) != null) {
+			return;
+		}
+		var resource = StringUtils.hasText(resourceId) ? resourceId : null;
+		try {
+			this.jdbcOperations.update(INSERT_SQL, (ps) -> {
+				ps.setString(1, registrationId);
+				ps.setString(2, resource);
+				setRegistrationParameters(ps, 3, clientRegistration);
+			});
+		}
+		catch (DuplicateKeyException ex) {
+			if (find(registrationId) != null) {
+				log.debug("Client registration [{}] was added concurrently, keeping existing registration",
+						registrationId);
+				return;
+			}
+			// The existing row cannot be read, replace it
+			this.jdbcOperations.update(REPLACE_SQL, (ps) -> {
+				ps.setString(1, resource);
+				var index = setRegistrationParameters(ps, 2, clientRegistration);
+				ps.setString(index, registrationId);
+			});
+		}
+		this.registrations.put(registrationId, new StoredRegistration(clientRegistration, resource));
+	}
+
+	@Override
+	public synchronized void updateClientRegistration(String registrationId,
+			Consumer<ClientRegistration.Builder> clientRegistrationConsumer) {
+		// Start from the stored row, which may have been updated by another instance
+		var rows = this.jdbcOperations.query(SELECT_BY_ID_SQL, (rs, rowNum) -> mapRow(rs), registrationId);
+		var existing = rows.isEmpty() ? null : rows.get(0);
+		if (existing == null) {
+			return;
+		}
+		var builder = ClientRegistration.withClientRegistration(existing.clientRegistration());
+		clientRegistrationConsumer.accept(builder);
+		var updated = builder.build();
+		this.jdbcOperations.update(UPDATE_SQL, (ps) -> {
+			var index = setRegistrationParameters(ps, 1, updated);
+			ps.setString(index, registrationId);
+		});
+		this.registrations.put(registrationId, new StoredRegistration(updated, existing.resourceId()));
+	}
+
+	@Override
+	public @Nullable String findResourceIdByRegistrationId(String registrationId) {
+		var registration = find(registrationId);
+		return (registration != null) ? registration.resourceId() : null;
+	}
+
+	@Override
+	public @Nullable ClientRegistration findByRegistrationId(String registrationId) {
+		var registration = find(registrationId);
+		return (registration != null) ? registration.clientRegistration() : null;
+	}
+
+	@Override
+	public Iterator<ClientRegistration> iterator() {
+		loadAll();
+		return this.registrations.values().stream().map(StoredRegistration::clientRegistration).iterator();
+	}
+
+	private @Nullable StoredRegistration find(String registrationId) {
+		loadAll();
+		var registration = this.registrations.get(registrationId);
+		if (registration != null) {
+			return registration;
+		}
+		this.jdbcOperations.query(SELECT_BY_ID_SQL, this::loadRow, registrationId);
+		return this.registrations.get(registrationId);
+	}
+
+	private void loadAll() {
+		if (this.loaded) {
+			return;
+		}
+		synchronized (this) {
+			if (!this.loaded) {
+				this.jdbcOperations.query(SELECT_SQL, this::loadRow);
+				log.debug("Loaded {} client registrations", this.registrations.size());
+				this.loaded = true;
+			}
+		}
+	}
+
+	private void loadRow(ResultSet rs) throws SQLException {
+		var registration = mapRow(rs);
+		if (registration != null) {
+			this.registrations.putIfAbsent(registration.clientRegistration().getRegistrationId(), registration);
+		}
+	}
+
+	private static @Nullable StoredRegistration mapRow(ResultSet rs) throws SQLException {
+		var registrationId = rs.getString("registration_id");
+		var fields = new HashMap<String, @Nullable Object>();
+		fields.put(ClientRegistrationFields.REGISTRATION_ID, registrationId);
+		fields.put(ClientRegistrationFields.CLIENT_ID, rs.getString("client_id"));
+		fields.put(ClientRegistrationFields.CLIENT_SECRET, rs.getString("client_secret"));
+		fields.put(ClientRegistrationFields.CLIENT_AUTHENTICATION_METHOD,
+				rs.getString("client_authentication_method"));
+		fields.put(ClientRegistrationFields.AUTHORIZATION_GRANT_TYPE, rs.getString("authorization_grant_type"));
+		fields.put(ClientRegistrationFields.REDIRECT_URI, rs.getString("redirect_uri"));
+		fields.put(ClientRegistrationFields.SCOPES, StringUtils.commaDelimitedListToSet(rs.getString("scopes")));
+		fields.put(ClientRegistrationFields.CLIENT_NAME, rs.getString("client_name"));
+		fields.put(ClientRegistrationFields.REQUIRE_PROOF_KEY, rs.getBoolean("require_proof_key"));
+		var providerDetails = rs.getString("provider_details");
+		try {
+			if (providerDetails != null) {
+				fields.put(ClientRegistrationFields.PROVIDER_DETAILS,
+						ClientRegistrationFields.readJson(providerDetails));
+			}
+			var clientRegistration = ClientRegistrationFields.fromFields(fields);
+			return new StoredRegistration(clientRegistration, rs.getString("resource_id"));
+		}
+		catch (IllegalArgumentException ex) {
+			log.warn("Ignoring client registration [{}], it cannot be read: {}", registrationId, ex.getMessage());
+			return null;
+		}
+	}
+
+	private static int setRegistrationParameters(PreparedStatement ps, int index,
+			ClientRegistration clientRegistration) throws SQLException {
+		var clientSecret = clientRegistration.getClientSecret();
+		ps.setString(index++, clientRegistration.getClientId());
+		ps.setString(index++, StringUtils.hasText(clientSecret) ? clientSecret : null);
+		ps.setString(index++, clientRegistration.getClientAuthenticationMethod().getValue());
+		ps.setString(index++, clientRegistration.getAuthorizationGrantType().getValue());
+		ps.setString(index++, clientRegistration.getRedirectUri());
+		ps.setString(index++, StringUtils.collectionToCommaDelimitedString(clientRegistration.getScopes()));
+		ps.setString(index++, clientRegistration.getClientName());
+		ps.setBoolean(index++, clientRegistration.getClientSettings().isRequireProofKey());
+		ps.setString(index++, ClientRegistrationFields
+			.writeJson(ClientRegistrationFields.toProviderDetailsFields(clientRegistration)));
+		return index;
+	}
+
+	private record StoredRegistration(ClientRegistration clientRegistration, @Nullable String resourceId) {
+
+	}
+
+}
@@ -19,16 +19,23 @@ package org.springaicommunity.mcp.security.client.sync.oauth2.webclient;
 import io.modelcontextprotocol.common.McpTransportContext;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springaicommunity.mcp.security.client.sync.AuthenticationMcpTransportContextProvider;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.client.AuthorizedClientServiceOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.InMemoryReactiveOAuth2AuthorizedClientService;
 import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientProviderBuilder;
+import org.springframework.security.oauth2.client.registration.ReactiveClientRegistrationRepository;
 import org.springframework.security.oauth2.client.web.reactive.function.client.ServletOAuth2AuthorizedClientExchangeFilterFunction;
 import org.springframework.security.oauth2.core.AbstractOAuth2Token;
 import org.springframework.util.Assert;
@@ -39,6 +46,18 @@ import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeFunction;
 
 /**
+ * An {@link ExchangeFilterFunction} adding an OAuth2 access token to outgoing MCP client
+ * requests, using the {@code authorization_code} flow when there is a user in the
+ * {@link McpTransportContext}, and the {@code client_credentials} flow otherwise.
+ * <p>
+ * For the {@code client_credentials} flow, prefer a
+ * {@link ReactiveOAuth2AuthorizedClientManager}, for example one created with
+ * {@link #clientCredentialsAuthorizedClientManager(ReactiveClientRegistrationRepository)},
+ * which obtains tokens with a {@code WebClient} and never blocks. With an
+ * {@link AuthorizedClientServiceOAuth2AuthorizedClientManager}, tokens are obtained on
+ * the {@link Schedulers#boundedElastic() bounded elastic} scheduler, since the manager
+ * performs blocking I/O.
+ *
  * @author Daniel Garnier-Moiroux
  */
 public class McpOAuth2HybridExchangeFilterFunction implements ExchangeFilterFunction {
@@ -53,7 +72,9 @@ public class McpOAuth2HybridExchangeFilterFunction implements ExchangeFilterFunc
 
 	private static final String HTTP_SERVLET_RESPONSE_ATTR_NAME = HttpServletResponse.class.getName();
 
-	private final AuthorizedClientServiceOAuth2AuthorizedClientManager serviceAuthorizedClientManager;
+	private final @Nullable AuthorizedClientServiceOAuth2AuthorizedClientManager serviceAuthorizedClientManager;
+
+	private final @Nullable ReactiveOAuth2AuthorizedClientManager reactiveServiceAuthorizedClientManager;
 
 	private final String clientCredentialsClientRegistrationId;
 
@@ -62,10 +83,54 @@ public class McpOAuth2HybridExchangeFilterFunction implements ExchangeFilterFunc
 			String authorizationCodeClientRegistrationId, String clientCredentialsClientRegistrationId) {
 		this.delegate = new ServletOAuth2AuthorizedClientExchangeFilterFunction(clientManager);
 		this.serviceAuthorizedClientManager = serviceAuthorizedClientManager;
+		this.reactiveServiceAuthorizedClientManager = null;
+		this.clientCredentialsClientRegistrationId = clientCredentialsClientRegistrationId;
+		this.delegate.setDefaultClientRegistrationId(authorizationCodeClientRegistrationId);
+	}
+
+	/**
+	 * Create a filter function obtaining {@code client_credentials} tokens with a
+	 * {@link ReactiveOAuth2AuthorizedClientManager}, without blocking.
+	 * @param clientManager the manager for the {@code authorization_code} flow
+	 * @param reactiveServiceAuthorizedClientManager the manager for the
+	 * {@code client_credentials} flow
+	 * @param authorizationCodeClientRegistrationId the {@code authorization_code}
+	 * registration id
+	 * @param clientCredentialsClientRegistrationId the {@code client_credentials}
+	 * registration id
+	 * @see #clientCredentialsAuthorizedClientManager
+	 */
+	public McpOAuth2HybridExchangeFilterFunction(OAuth2AuthorizedClientManager clientManager,
+			ReactiveOAuth2AuthorizedClientManager reactiveServiceAuthorizedClientManager,
+			String authorizationCodeClientRegistrationId, String clientCredentialsClientRegistrationId) {
+		Assert.notNull(reactiveServiceAuthorizedClientManager, "reactiveServiceAuthorizedClientManager cannot be null");
+		this.delegate = new ServletOAuth2AuthorizedClientExchangeFilterFunction(clientManager);
+		this.serviceAuthorizedClientManager = null;
+		this.reactiveServiceAuthorizedClientManager = reactiveServiceAuthorizedClientManager;
 		this.clientCredentialsClientRegistrationId = clientCredentialsClientRegistrationId;
 		this.delegate.setDefaultClientRegistrationId(authorizationCodeClientRegistrationId);
 	}
 
+	/**
+	 * Create a {@link ReactiveOAuth2AuthorizedClientManager} for the
+	 * {@code client_credentials} flow, which requests tokens with a {@code WebClient} and
+	 * keeps them in memory until they expire.
+	 * @param clientRegistrationRepository the client registrations
+	 * @return the authorized client manager
+	 */
+	public static ReactiveOAuth2AuthorizedClientManager clientCredentialsAuthorizedClientManager(
+			ReactiveClientRegistrationRepository clientRegistrationRepository) {
+		Assert.notNull(clientRegistrationRepository, "clientRegistrationRepository cannot be null");
+		var authorizedClientService = new InMemoryReactiveOAuth2AuthorizedClientService(clientRegistrationRepository);
+		var authorizedClientManager = new AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager(
+				clientRegistrationRepository, authorizedClientService);
+		var authorizedClientProvider = ReactiveOAuth2AuthorizedClientProviderBuilder.builder()
+			.clientCredentials()
+			.build();
+		authorizedClientManager.setAuthorizedClientProvider(authorizedClientProvider);
+		return authorizedClientManager;
+	}
+
 	@Override
 	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
 		return updateRequestWithMcpTransportContext(request).flatMap(req -> this.delegate.filter(req, next))
@@ -106,13 +171,22 @@ public class McpOAuth2HybridExchangeFilterFunction implements ExchangeFilterFunc
 			.withClientRegistrationId(this.clientCredentialsClientRegistrationId)
 			.principal("mcp-client-service")
 			.build();
-		// NOTE: 'serviceAuthorizedClientManager.authorize()' needs to be executed on a
-		// dedicated
-		// thread via subscribeOn(Schedulers.boundedElastic()) since it performs a
-		// blocking I/O operation using RestClient internally
-		return Mono.fromSupplier(() -> serviceAuthorizedClientManager.authorize(authorizeRequest))
+		var reactiveAuthorizedClientManager = this.reactiveServiceAuthorizedClientManager;
+		if (reactiveAuthorizedClientManager != null) {
+			return reactiveAuthorizedClientManager.authorize(authorizeRequest)
+				.switchIfEmpty(Mono.error(() -> new IllegalArgumentException(
+						"Authorization not supported for " + this.clientCredentialsClientRegistrationId)))
+				.map(OAuth2AuthorizedClient::getAccessToken)
+				.map(AbstractOAuth2Token::getTokenValue);
+		}
+		var authorizedClientManager = this.serviceAuthorizedClientManager;
+		Assert.state(authorizedClientManager != null, "serviceAuthorizedClientManager cannot be null");
+		// 'authorize()' performs blocking I/O with a RestClient, keep it off
+		// non-blocking threads
+		return Mono.fromSupplier(() -> authorizedClientManager.authorize(authorizeRequest))
 			.map(OAuth2AuthorizedClient::getAccessToken)
-			.map(AbstractOAuth2Token::getTokenValue);
+			.map(AbstractOAuth2Token::getTokenValue)
+			.subscribeOn(Schedulers.boundedElastic());
 	}
 
 }
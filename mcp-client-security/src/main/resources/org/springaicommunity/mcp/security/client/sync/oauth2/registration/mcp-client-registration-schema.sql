@@ -0,0 +1,14 @@
+CREATE TABLE mcp_client_registration (
+    registration_id varchar(100) NOT NULL,
+    resource_id varchar(1000) DEFAULT NULL,
+    client_id varchar(200) NOT NULL,
+    client_secret varchar(500) DEFAULT NULL,
+    client_authentication_method varchar(100) NOT NULL,
+    authorization_grant_type varchar(100) NOT NULL,
+    redirect_uri varchar(1000) DEFAULT NULL,
+    scopes varchar(1000) DEFAULT NULL,
+    client_name varchar(200) DEFAULT NULL,
+    require_proof_key boolean DEFAULT FALSE NOT NULL,
+    provider_details text NOT NULL,
+    PRIMARY KEY (registration_id)
+);
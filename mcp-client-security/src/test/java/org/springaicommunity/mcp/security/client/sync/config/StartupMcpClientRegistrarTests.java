@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.client.sync.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springaicommunity.mcp.security.client.sync.oauth2.registration.DynamicClientRegistrationRequest;
+import org.springaicommunity.mcp.security.client.sync.oauth2.registration.McpOAuth2ClientManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link StartupMcpClientRegistrar}.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+class StartupMcpClientRegistrarTests {
+
+	private static final String BASE_URL = "http://localhost:8080";
+
+	private final McpOAuth2ClientManager clientManager = mock();
+
+	@Test
+	void registerAllRegistersEveryClient() {
+		var registrar = new StartupMcpClientRegistrar(this.clientManager, 4, Duration.ofSeconds(5));
+
+		registrar.registerAll(BASE_URL, registrations(2));
+
+		var request = ArgumentCaptor.forClass(DynamicClientRegistrationRequest.class);
+		verify(this.clientManager).registerMcpClient(eq("client-0"), eq("https://mcp-0.example.com/mcp"),
+				request.capture());
+		assertThat(request.getValue().getRedirectUris()).containsExactly(BASE_URL + "/authorize/oauth2/code/client-0");
+		verify(this.clientManager).registerMcpClient(eq("client-1"), eq("https://mcp-1.example.com/mcp"), any());
+	}
+
+	@Test
+	void registerAllIsBoundedByParallelism() {
+		var running = new AtomicInteger();
+		var maxRunning = new AtomicInteger();
+		doAnswer((invocation) -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			Thread.sleep(100);
+			running.decrementAndGet();
+			return null;
+		}).when(this.clientManager).registerMcpClient(anyString(), anyString(), any());
+		var registrar = new StartupMcpClientRegistrar(this.clientManager, 2, Duration.ofSeconds(5));
+
+		registrar.registerAll(BASE_URL, registrations(6));
+
+		assertThat(maxRunning).hasValue(2);
+		for (int i = 0; i < 6; i++) {
+			verify(this.clientManager).registerMcpClient(eq("client-" + i), anyString(), any());
+		}
+	}
+
+	@Test
+	void registerAllWhenRegistrationFailsThenContinues() {
+		doThrow(new IllegalStateException("Cannot reach authorization server")).when(this.clientManager)
+			.registerMcpClient(eq("client-0"), anyString(), any());
+		var registrar = new StartupMcpClientRegistrar(this.clientManager, 1, Duration.ofSeconds(5));
+
+		registrar.registerAll(BASE_URL, registrations(2));
+
+		verify(this.clientManager).registerMcpClient(eq("client-1"), anyString(), any());
+	}
+
+	@Test
+	void registerAllWhenRegistrationTimesOutThenContinuesWithoutInterrupting() throws Exception {
+		var release = new CountDownLatch(1);
+		var interrupted = new AtomicBoolean();
+		var finished = new CountDownLatch(1);
+		doAnswer((invocation) -> {
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				interrupted.set(true);
+			}
+			finished.countDown();
+			return null;
+		}).when(this.clientManager).registerMcpClient(eq("client-0"), anyString(), any());
+		var registrar = new StartupMcpClientRegistrar(this.clientManager, 2, Duration.ofMillis(200));
+
+		var start = System.nanoTime();
+		registrar.registerAll(BASE_URL, registrations(2));
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+		verify(this.clientManager).registerMcpClient(eq("client-1"), anyString(), any());
+		release.countDown();
+		assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(interrupted).isFalse();
+	}
+
+	@Test
+	void registerAllWhenRegistrationTimesOutThenKeepsPermitUntilFinished() {
+		var running = new AtomicInteger();
+		var maxRunning = new AtomicInteger();
+		doAnswer((invocation) -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			Thread.sleep(500);
+			running.decrementAndGet();
+			return null;
+		}).when(this.clientManager).registerMcpClient(eq("client-0"), anyString(), any());
+		doAnswer((invocation) -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			running.decrementAndGet();
+			return null;
+		}).when(this.clientManager).registerMcpClient(eq("client-1"), anyString(), any());
+		var registrar = new StartupMcpClientRegistrar(this.clientManager, 1, Duration.ofMillis(100));
+
+		registrar.registerAll(BASE_URL, registrations(2));
+
+		assertThat(maxRunning).hasValue(1);
+		verify(this.clientManager).registerMcpClient(eq("client-1"), anyString(), any());
+	}
+
+	@Test
+	void registerAllInBackgroundDoesNotWait() throws Exception {
+		var release = new CountDownLatch(1);
+		doAnswer((invocation) -> release.await(5, TimeUnit.SECONDS)).when(this.clientManager)
+			.registerMcpClient(anyString(), anyString(), any());
+		var registrar = new StartupMcpClientRegistrar(this.clientManager, 1, Duration.ofSeconds(5));
+
+		registrar.registerAllInBackground(BASE_URL, registrations(1));
+
+		verify(this.clientManager, timeout(1000)).registerMcpClient(eq("client-0"), anyString(), any());
+		release.countDown();
+	}
+
+	@Test
+	void constructorWhenInvalidThenThrows() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new StartupMcpClientRegistrar(this.clientManager, 0, Duration.ofSeconds(5)))
+			.withMessage("parallelism must be positive");
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new StartupMcpClientRegistrar(this.clientManager, 1, Duration.ZERO))
+			.withMessage("timeout must be positive");
+	}
+
+	private static Map<String, String> registrations(int count) {
+		Map<String, String> registrations = new LinkedHashMap<>();
+		for (int i = 0; i < count; i++) {
+			registrations.put("client-" + i, "https://mcp-" + i + ".example.com/mcp");
+		}
+		return registrations;
+	}
+
+}
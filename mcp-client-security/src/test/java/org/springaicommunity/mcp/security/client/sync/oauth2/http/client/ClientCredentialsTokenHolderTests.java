@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.client.sync.oauth2.http.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2ClientCredentialsGrantRequest;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link ClientCredentialsTokenHolder}.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+class ClientCredentialsTokenHolderTests {
+
+	private static final String REGISTRATION_ID = "client-credentials";
+
+	private static final Duration LIFETIME = Duration.ofMinutes(10);
+
+	private final AtomicInteger tokenRequests = new AtomicInteger();
+
+	private ClientCredentialsTokenHolder tokenHolder;
+
+	// OAuth2AccessTokenResponse issues tokens at the current time
+	private final Instant start = Instant.now();
+
+	private RuntimeException tokenError;
+
+	@BeforeEach
+	void setUp() {
+		var registration = ClientRegistration.withRegistrationId(REGISTRATION_ID)
+			.clientId("client-id")
+			.authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+			.tokenUri("https://example.com/token")
+			.build();
+		this.tokenHolder = new ClientCredentialsTokenHolder(new InMemoryClientRegistrationRepository(registration),
+				REGISTRATION_ID);
+		this.tokenHolder.setAccessTokenResponseClient(this::getTokenResponse);
+		this.tokenHolder.setRefreshExecutor(Runnable::run);
+		setTime(this.start);
+	}
+
+	@Test
+	void getAuthorizationHeaderRequestsTokenOnce() {
+		assertThat(this.tokenHolder.getAuthorizationHeader()).isEqualTo("Bearer token-1");
+		assertThat(this.tokenHolder.getAuthorizationHeader()).isEqualTo("Bearer token-1");
+
+		assertThat(this.tokenRequests).hasValue(1);
+	}
+
+	@Test
+	void getAuthorizationHeaderWhenPastRefreshRatioThenRefreshesInBackground() {
+		this.tokenHolder.getAuthorizationHeader();
+
+		setTime(this.start.plus(Duration.ofMinutes(7)));
+		assertThat(this.tokenHolder.getAuthorizationHeader()).isEqualTo("Bearer token-1");
+		assertThat(this.tokenRequests).hasValue(1);
+
+		setTime(this.start.plus(Duration.ofMinutes(9)));
+		assertThat(this.tokenHolder.getAuthorizationHeader()).isEqualTo("Bearer token-1");
+		assertThat(this.tokenRequests).hasValue(2);
+		assertThat(this.tokenHolder.getAuthorizationHeader()).isEqualTo("Bearer token-2");
+	}
+
+	@Test
+	void getAuthorizationHeaderWhenCustomRefreshRatioThenRefreshesEarlier() {
+		this.tokenHolder.setRefreshRatio(0.5);
+		this.tokenHolder.getAuthorizationHeader();
+
+		setTime(this.start.plus(Duration.ofMinutes(6)));
+		this.tokenHolder.getAuthorizationHeader();
+
+		assertThat(this.tokenRequests).hasValue(2);
+	}
+
+	@Test
+	void getAuthorizationHeaderWhenExpiredThenRequestsTokenSynchronously() {
+		this.tokenHolder.setRefreshExecutor((task) -> {
+			throw new AssertionError("Should not refresh in the background");
+		});
+		this.tokenHolder.getAuthorizationHeader();
+
+		setTime(this.start.plus(LIFETIME).plusSeconds(60));
+
+		assertThat(this.tokenHolder.getAuthorizationHeader()).isEqualTo("Bearer token-2");
+	}
+
+	@Test
+	void getAuthorizationHeaderWhenBackgroundRefreshFailsThenKeepsTokenAndRetriesLater() {
+		this.tokenHolder.getAuthorizationHeader();
+		this.tokenError = new IllegalStateException("Authorization server unavailable");
+
+		setTime(this.start.plus(Duration.ofMinutes(9)));
+		assertThat(this.tokenHolder.getAuthorizationHeader()).isEqualTo("Bearer token-1");
+		assertThat(this.tokenHolder.getAuthorizationHeader()).isEqualTo("Bearer token-1");
+		assertThat(this.tokenRequests).hasValue(2);
+
+		this.tokenError = null;
+		setTime(this.start.plus(Duration.ofMinutes(9)).plusSeconds(10));
+		assertThat(this.tokenHolder.getAuthorizationHeader()).isEqualTo("Bearer token-1");
+		assertThat(this.tokenHolder.getAuthorizationHeader()).isEqualTo("Bearer token-3");
+	}
+
+	@Test
+	void getAuthorizationHeaderWhenFirstRequestFailsThenThrows() {
+		this.tokenError = new IllegalStateException("Authorization server unavailable");
+
+		assertThatIllegalStateException().isThrownBy(this.tokenHolder::getAuthorizationHeader)
+			.withMessage("Authorization server unavailable");
+		this.tokenError = null;
+		assertThat(this.tokenHolder.getAuthorizationHeader()).isEqualTo("Bearer token-2");
+	}
+
+	@Test
+	void getAuthorizationHeaderWhenConcurrentThenRequestsTokenOnce() throws Exception {
+		var requesting = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		this.tokenHolder.setAccessTokenResponseClient((request) -> {
+			requesting.countDown();
+			await(release);
+			return getTokenResponse(request);
+		});
+
+		var first = CompletableFuture.supplyAsync(this.tokenHolder::getAuthorizationHeader);
+		assertThat(requesting.await(5, TimeUnit.SECONDS)).isTrue();
+		var second = new FutureTask<>(this.tokenHolder::getAuthorizationHeader);
+		var secondThread = new Thread(second);
+		secondThread.start();
+
+		// Only release the first request once the second is parked on the in-flight refresh
+		Awaitility.await()
+			.atMost(Duration.ofSeconds(5))
+			.until(() -> secondThread.getState() == Thread.State.WAITING);
+		release.countDown();
+
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("Bearer token-1");
+		assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("Bearer token-1");
+		assertThat(this.tokenRequests).hasValue(1);
+	}
+
+	@Test
+	void getAuthorizationHeaderWhenNoRegistrationThenThrows() {
+		var tokenHolder = new ClientCredentialsTokenHolder(new InMemoryClientRegistrationRepository(
+				ClientRegistration.withRegistrationId("other")
+					.clientId("client-id")
+					.authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+					.tokenUri("https://example.com/token")
+					.build()),
+				REGISTRATION_ID);
+
+		assertThatIllegalArgumentException().isThrownBy(tokenHolder::getAuthorizationHeader)
+			.withMessage("Client registration [client-credentials] does not exist");
+	}
+
+	@Test
+	void setRefreshRatioWhenInvalidThenThrows() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.tokenHolder.setRefreshRatio(0));
+		assertThatIllegalArgumentException().isThrownBy(() -> this.tokenHolder.setRefreshRatio(1.5));
+	}
+
+	private void setTime(Instant now) {
+		this.tokenHolder.setClock(Clock.fixed(now, ZoneOffset.UTC));
+	}
+
+	private OAuth2AccessTokenResponse getTokenResponse(OAuth2ClientCredentialsGrantRequest request) {
+		var count = this.tokenRequests.incrementAndGet();
+		if (this.tokenError != null) {
+			throw this.tokenError;
+		}
+		return OAuth2AccessTokenResponse.withToken("token-" + count)
+			.tokenType(OAuth2AccessToken.TokenType.BEARER)
+			.expiresIn(LIFETIME.toSeconds())
+			.build();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -18,7 +18,9 @@ package org.springaicommunity.mcp.security.client.sync.oauth2.http.client;
 
 import java.net.URI;
 import java.net.http.HttpRequest;
+import java.time.Clock;
 import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.Map;
 import java.util.Set;
 
@@ -50,6 +52,8 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
@@ -290,6 +294,109 @@ class OAuth2AuthorizationCodeSyncHttpRequestCustomizerTests {
 
 	}
 
+	@Nested
+	@DisplayName("Cached authorizations")
+	class CachedAuthorizations {
+
+		private final ClientRegistration registration = clientRegistration().scope("read").build();
+
+		@BeforeEach
+		void setUp() {
+			customizer.setCacheAuthorizations(true);
+			given(clientRegistrationRepository.findByRegistrationId(REGISTRATION_ID)).willReturn(this.registration);
+			given(authorizedClientManager.authorize(any(OAuth2AuthorizeRequest.class)))
+				.willReturn(authorizedClient(this.registration, Set.of("read")));
+		}
+
+		@Test
+		@DisplayName("Reuses the Authorization header for the same principal")
+		void reusesHeader() {
+			customizer.customize(requestBuilder, "POST", ENDPOINT, "{}", contextWithAuthentication());
+			var secondRequest = HttpRequest.newBuilder(ENDPOINT);
+			customizer.customize(secondRequest, "POST", ENDPOINT, "{}", contextWithAuthentication());
+
+			assertThat(secondRequest.build().headers().firstValue(HttpHeaders.AUTHORIZATION))
+				.hasValue("Bearer " + TOKEN_VALUE);
+			verify(authorizedClientManager, times(1)).authorize(any(OAuth2AuthorizeRequest.class));
+		}
+
+		@Test
+		@DisplayName("Does not cache when disabled")
+		void disabled() {
+			customizer.setCacheAuthorizations(false);
+
+			customizer.customize(requestBuilder, "POST", ENDPOINT, "{}", contextWithAuthentication());
+			customizer.customize(HttpRequest.newBuilder(ENDPOINT), "POST", ENDPOINT, "{}", contextWithAuthentication());
+
+			verify(authorizedClientManager, times(2)).authorize(any(OAuth2AuthorizeRequest.class));
+		}
+
+		@Test
+		@DisplayName("Authorizes again for a different Authentication")
+		void differentAuthentication() {
+			customizer.customize(requestBuilder, "POST", ENDPOINT, "{}", contextWithAuthentication());
+			var otherAuthentication = new TestingAuthenticationToken("user", "password");
+			customizer.customize(HttpRequest.newBuilder(ENDPOINT), "POST", ENDPOINT, "{}",
+					McpTransportContext.create(Map.of(AuthenticationMcpTransportContextProvider.AUTHENTICATION_KEY,
+							otherAuthentication, AuthenticationMcpTransportContextProvider.REQUEST_ATTRIBUTES_KEY,
+							requestAttributes)));
+
+			verify(authorizedClientManager, times(2)).authorize(any(OAuth2AuthorizeRequest.class));
+		}
+
+		@Test
+		@DisplayName("Authorizes again when the client registration is updated")
+		void registrationUpdated() {
+			customizer.customize(requestBuilder, "POST", ENDPOINT, "{}", contextWithAuthentication());
+			var updated = ClientRegistration.withClientRegistration(this.registration).build();
+			given(clientRegistrationRepository.findByRegistrationId(REGISTRATION_ID)).willReturn(updated);
+			given(authorizedClientManager.authorize(any(OAuth2AuthorizeRequest.class)))
+				.willReturn(authorizedClient(updated, Set.of("read")));
+
+			customizer.customize(HttpRequest.newBuilder(ENDPOINT), "POST", ENDPOINT, "{}", contextWithAuthentication());
+
+			verify(authorizedClientManager, times(2)).authorize(any(OAuth2AuthorizeRequest.class));
+		}
+
+		@Test
+		@DisplayName("Authorizes again when the token is about to expire")
+		void tokenAboutToExpire() {
+			customizer.customize(requestBuilder, "POST", ENDPOINT, "{}", contextWithAuthentication());
+			customizer.setClock(Clock.fixed(Instant.now().plusSeconds(250), ZoneOffset.UTC));
+
+			customizer.customize(HttpRequest.newBuilder(ENDPOINT), "POST", ENDPOINT, "{}", contextWithAuthentication());
+
+			verify(authorizedClientManager, times(2)).authorize(any(OAuth2AuthorizeRequest.class));
+		}
+
+		@Test
+		@DisplayName("Authorizes again when invalidated")
+		void invalidated() {
+			customizer.customize(requestBuilder, "POST", ENDPOINT, "{}", contextWithAuthentication());
+			customizer.invalidate(contextWithAuthentication());
+
+			customizer.customize(HttpRequest.newBuilder(ENDPOINT), "POST", ENDPOINT, "{}", contextWithAuthentication());
+
+			verify(authorizedClientManager, times(2)).authorize(any(OAuth2AuthorizeRequest.class));
+		}
+
+		@Test
+		@DisplayName("Does not cache tokens missing required scopes")
+		void scopeMismatch() {
+			given(authorizedClientManager.authorize(any(OAuth2AuthorizeRequest.class)))
+				.willReturn(authorizedClient(this.registration, Set.of("other")));
+
+			assertThatThrownBy(
+					() -> customizer.customize(requestBuilder, "POST", ENDPOINT, "{}", contextWithAuthentication()))
+				.isInstanceOf(ClientAuthorizationRequiredException.class);
+			assertThatThrownBy(() -> customizer.customize(HttpRequest.newBuilder(ENDPOINT), "POST", ENDPOINT, "{}",
+					contextWithAuthentication()))
+				.isInstanceOf(ClientAuthorizationRequiredException.class);
+			verify(authorizedClientManager, times(2)).authorize(any(OAuth2AuthorizeRequest.class));
+		}
+
+	}
+
 	private McpTransportContext contextWithAuthentication() {
 		return McpTransportContext
 			.create(Map.of(AuthenticationMcpTransportContextProvider.AUTHENTICATION_KEY, AUTHENTICATION,
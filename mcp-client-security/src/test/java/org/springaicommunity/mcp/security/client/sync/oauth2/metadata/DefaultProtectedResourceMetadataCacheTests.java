@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.client.sync.oauth2.metadata;
+package org.springaicommunity.mcp.security.client.sync.oauth2.metadata;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.response.MockRestResponseCreators;
+import org.springframework.web.client.RestClient;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+
+/**
+ * Tests for {@link DefaultProtectedResourceMetadataCache}.
+ */
+class DefaultProtectedResourceMetadataCacheTests {
+
+	private static final String METADATA_URL = "https://resource.example.com/.well-known/oauth-protected-resource/mcp";
+
+	private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+	private MockRestServiceServer mockServer;
+
+	private DefaultProtectedResourceMetadataCache cache;
+
+	@BeforeEach
+	void setUp() {
+		var builder = RestClient.builder();
+		this.mockServer = MockRestServiceServer.bindTo(builder).build();
+		this.cache = new DefaultProtectedResourceMetadataCache(builder.build());
+		this.cache.setRefreshExecutor(Runnable::run);
+		at(NOW);
+	}
+
+	@Test
+	void cachedForMaxAge() {
+		expectMetadata("https://resource.example.com/mcp", "max-age=60, stale-while-revalidate=0");
+		expectMetadata("https://resource.example.com/mcp-v2", "max-age=60");
+
+		assertThat(this.cache.get(METADATA_URL).resource()).isEqualTo("https://resource.example.com/mcp");
+		at(NOW.plusSeconds(59));
+		assertThat(this.cache.get(METADATA_URL).resource()).isEqualTo("https://resource.example.com/mcp");
+		at(NOW.plusSeconds(60));
+		assertThat(this.cache.get(METADATA_URL).resource()).isEqualTo("https://resource.example.com/mcp-v2");
+		this.mockServer.verify();
+	}
+
+	@Test
+	void cachedUntilExpires() {
+		this.mockServer.expect(requestTo(METADATA_URL))
+			.andRespond(MockRestResponseCreators.withSuccess(metadata("https://resource.example.com/mcp"),
+					MediaType.APPLICATION_JSON)
+				.header("Expires", "Thu, 01 Jan 2026 00:00:30 GMT"));
+		this.cache.setStaleWhileRevalidate(Duration.ZERO);
+		expectMetadata("https://resource.example.com/mcp-v2", null);
+
+		this.cache.get(METADATA_URL);
+		at(NOW.plusSeconds(29));
+		assertThat(this.cache.get(METADATA_URL).resource()).isEqualTo("https://resource.example.com/mcp");
+		at(NOW.plusSeconds(30));
+		assertThat(this.cache.get(METADATA_URL).resource()).isEqualTo("https://resource.example.com/mcp-v2");
+		this.mockServer.verify();
+	}
+
+	@Test
+	void noStoreNotCached() {
+		expectMetadata("https://resource.example.com/mcp", "no-store");
+		expectMetadata("https://resource.example.com/mcp-v2", "no-store");
+
+		assertThat(this.cache.get(METADATA_URL).resource()).isEqualTo("https://resource.example.com/mcp");
+		assertThat(this.cache.get(METADATA_URL).resource()).isEqualTo("https://resource.example.com/mcp-v2");
+		this.mockServer.verify();
+	}
+
+	@Test
+	void notFoundCachedBriefly() {
+		this.mockServer.expect(requestTo(METADATA_URL))
+			.andRespond(MockRestResponseCreators.withStatus(HttpStatus.NOT_FOUND));
+		expectMetadata("https://resource.example.com/mcp", null);
+
+		assertThat(this.cache.get(METADATA_URL)).isNull();
+		at(NOW.plusSeconds(29));
+		assertThat(this.cache.get(METADATA_URL)).isNull();
+		at(NOW.plusSeconds(30));
+		assertThat(this.cache.get(METADATA_URL).resource()).isEqualTo("https://resource.example.com/mcp");
+		this.mockServer.verify();
+	}
+
+	@Test
+	void staleServedWhileRevalidating() {
+		expectMetadata("https://resource.example.com/mcp", "max-age=60, stale-while-revalidate=120");
+		expectMetadata("https://resource.example.com/mcp-v2", "max-age=60");
+
+		this.cache.get(METADATA_URL);
+		at(NOW.plusSeconds(90));
+		assertThat(this.cache.get(METADATA_URL).resource()).isEqualTo("https://resource.example.com/mcp");
+		assertThat(this.cache.get(METADATA_URL).resource()).isEqualTo("https://resource.example.com/mcp-v2");
+		this.mockServer.verify();
+	}
+
+	@Test
+	void staleKeptWhenRevalidationFails() {
+		expectMetadata("https://resource.example.com/mcp", "max-age=60, stale-while-revalidate=120");
+		this.mockServer.expect(requestTo(METADATA_URL)).andRespond(MockRestResponseCreators.withServerError());
+
+		this.cache.get(METADATA_URL);
+		at(NOW.plusSeconds(90));
+		assertThat(this.cache.get(METADATA_URL).resource()).isEqualTo("https://resource.example.com/mcp");
+		this.mockServer.verify();
+	}
+
+	@Test
+	void evict() {
+		expectMetadata("https://resource.example.com/mcp", "max-age=60");
+		expectMetadata("https://resource.example.com/mcp-v2", "max-age=60");
+
+		this.cache.get(METADATA_URL);
+		this.cache.evict(METADATA_URL);
+		assertThat(this.cache.get(METADATA_URL).resource()).isEqualTo("https://resource.example.com/mcp-v2");
+		this.mockServer.verify();
+	}
+
+	@Test
+	void boundedNumberOfEntries() {
+		var builder = RestClient.builder();
+		var server = MockRestServiceServer.bindTo(builder).build();
+		var boundedCache = new DefaultProtectedResourceMetadataCache(builder.build(), 1);
+		boundedCache.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		server.expect(requestTo("https://one.example.com/metadata"))
+			.andRespond(MockRestResponseCreators.withSuccess(metadata("https://one.example.com"),
+					MediaType.APPLICATION_JSON));
+		server.expect(requestTo("https://two.example.com/metadata"))
+			.andRespond(MockRestResponseCreators.withSuccess(metadata("https://two.example.com"),
+					MediaType.APPLICATION_JSON));
+		server.expect(requestTo("https://one.example.com/metadata"))
+			.andRespond(MockRestResponseCreators.withSuccess(metadata("https://one.example.com"),
+					MediaType.APPLICATION_JSON));
+
+		boundedCache.get("https://one.example.com/metadata");
+		boundedCache.get("https://two.example.com/metadata");
+		boundedCache.get("https://two.example.com/metadata");
+		assertThat(boundedCache.get("https://one.example.com/metadata").resource())
+			.isEqualTo("https://one.example.com");
+		server.verify();
+	}
+
+	private void expectMetadata(String resource, String cacheControl) {
+		var response = MockRestResponseCreators.withSuccess(metadata(resource), MediaType.APPLICATION_JSON);
+		if (cacheControl != null) {
+			response.header("Cache-Control", cacheControl);
+		}
+		this.mockServer.expect(requestTo(METADATA_URL)).andRespond(response);
+	}
+
+	private void at(Instant instant) {
+		this.cache.setClock(Clock.fixed(instant, ZoneOffset.UTC));
+	}
+
+	private static String metadata(String resource) {
+		return """
+				{
+					"resource": "%s",
+					"authorization_servers": ["https://auth.example.com"]
+				}
+				""".formatted(resource);
+	}
+
+}
@@ -15,11 +15,15 @@
  */
 package org.springaicommunity.mcp.security.client.sync.oauth2.metadata;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
 import org.springaicommunity.mcp.security.common.url.InvalidUrlException;
 import org.springaicommunity.mcp.security.common.url.UrlValidator;
 
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.test.web.client.match.MockRestRequestMatchers;
 import org.springframework.test.web.client.response.MockRestResponseCreators;
@@ -85,4 +89,206 @@ class McpMetadataDiscoveryServiceTests {
 		assertThat(response.protectedResourceMetadata().scopesSupported()).containsExactly("profile", "email", "phone");
 	}
 
+	@Test
+	void concurrentProbingFallsBackInPriorityOrder() {
+		var rcBuilder = RestClient.builder();
+		var mockServer = MockRestServiceServer.bindTo(rcBuilder).ignoreExpectOrder(true).build();
+		mockServer
+			.expect(MockRestRequestMatchers.requestTo("https://resource.example.com/mcp"))
+			.andExpect(MockRestRequestMatchers.method(HttpMethod.POST))
+			.andRespond(MockRestResponseCreators.withUnauthorizedRequest());
+		mockServer
+			.expect(MockRestRequestMatchers
+				.requestTo("https://resource.example.com/.well-known/oauth-protected-resource/mcp"))
+			.andRespond(MockRestResponseCreators.withResourceNotFound());
+		mockServer
+			.expect(MockRestRequestMatchers
+				.requestTo("https://resource.example.com/.well-known/oauth-protected-resource"))
+			.andRespond(MockRestResponseCreators.withSuccess("""
+					{
+						"resource": "https://resource.example.com",
+						"authorization_servers": ["https://as1.example.com"]
+					}
+					""", MediaType.APPLICATION_JSON));
+
+		var service = new McpMetadataDiscoveryService(rcBuilder.build(), url -> {
+		});
+		service.setConcurrentProbing(true);
+		var response = service.getMcpMetadata("https://resource.example.com/mcp");
+
+		assertThat(response.wwwAuthenticateParameters()).isNull();
+		assertThat(response.protectedResourceMetadata().resource()).isEqualTo("https://resource.example.com");
+		mockServer.verify();
+	}
+
+	@Test
+	void concurrentProbingPrefersWwwAuthenticateMetadata() {
+		var rcBuilder = RestClient.builder();
+		var mockServer = MockRestServiceServer.bindTo(rcBuilder).ignoreExpectOrder(true).build();
+		mockServer
+			.expect(MockRestRequestMatchers.requestTo("https://resource.example.com/mcp"))
+			.andExpect(MockRestRequestMatchers.method(HttpMethod.POST))
+			.andRespond(MockRestResponseCreators.withUnauthorizedRequest()
+				.header("WWW-Authenticate",
+						"Bearer resource_metadata=\"https://resource.example.com/custom-metadata\""));
+		mockServer.expect(MockRestRequestMatchers.requestTo("https://resource.example.com/custom-metadata"))
+			.andRespond(MockRestResponseCreators.withSuccess("""
+					{
+						"resource": "https://resource.example.com/mcp",
+						"authorization_servers": ["https://as1.example.com"]
+					}
+					""", MediaType.APPLICATION_JSON));
+		mockServer
+			.expect(ExpectedCount.between(0, 1),
+					MockRestRequestMatchers
+						.requestTo("https://resource.example.com/.well-known/oauth-protected-resource/mcp"))
+			.andRespond(MockRestResponseCreators.withSuccess("""
+					{
+						"resource": "https://other.example.com/mcp"
+					}
+					""", MediaType.APPLICATION_JSON));
+		mockServer
+			.expect(ExpectedCount.between(0, 1),
+					MockRestRequestMatchers
+						.requestTo("https://resource.example.com/.well-known/oauth-protected-resource"))
+			.andRespond(MockRestResponseCreators.withResourceNotFound());
+
+		var service = new McpMetadataDiscoveryService(rcBuilder.build(), url -> {
+		});
+		service.setConcurrentProbing(true);
+		var response = service.getMcpMetadata("https://resource.example.com/mcp");
+
+		assertThat(response.wwwAuthenticateParameters().getResourceMetadata())
+			.isEqualTo("https://resource.example.com/custom-metadata");
+		assertThat(response.protectedResourceMetadata().authorizationServers())
+			.containsExactly("https://as1.example.com");
+	}
+
+	@Test
+	void concurrentProbingTimesOut() {
+		var service = new McpMetadataDiscoveryService(RestClient.builder().build(), url -> {
+		});
+		service.setProbeExecutor((task) -> {
+		});
+		service.setDiscoveryTimeout(Duration.ofMillis(50));
+
+		assertThatThrownBy(() -> service.getMcpMetadata("https://resource.example.com/mcp"))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageStartingWith("Timed out discovering protected resource metadata");
+	}
+
+	@Test
+	void preflightOncePerServer() {
+		var rcBuilder = RestClient.builder();
+		var mockServer = MockRestServiceServer.bindTo(rcBuilder).build();
+		mockServer.expect(ExpectedCount.once(), MockRestRequestMatchers.requestTo("https://resource.example.com/mcp"))
+			.andRespond(MockRestResponseCreators.withUnauthorizedRequest()
+				.header("WWW-Authenticate",
+						"Bearer resource_metadata=\"https://resource.example.com/custom-metadata\""));
+
+		var service = new McpMetadataDiscoveryService(rcBuilder.build(), url -> {
+		});
+		service.getWwwAuthenticateParameters("https://resource.example.com/mcp");
+		var parameters = service.getWwwAuthenticateParameters("https://resource.example.com/mcp");
+
+		assertThat(parameters.getResourceMetadata()).isEqualTo("https://resource.example.com/custom-metadata");
+		mockServer.verify();
+	}
+
+	@Test
+	void failedPreflightNotRemembered() {
+		var rcBuilder = RestClient.builder();
+		var mockServer = MockRestServiceServer.bindTo(rcBuilder).build();
+		mockServer.expect(ExpectedCount.twice(), MockRestRequestMatchers.requestTo("https://resource.example.com/mcp"))
+			.andRespond(MockRestResponseCreators.withUnauthorizedRequest());
+
+		var service = new McpMetadataDiscoveryService(rcBuilder.build(), url -> {
+		});
+		service.getWwwAuthenticateParameters("https://resource.example.com/mcp");
+		var parameters = service.getWwwAuthenticateParameters("https://resource.example.com/mcp");
+
+		assertThat(parameters).isNull();
+		mockServer.verify();
+	}
+
+	@Test
+	void rememberedParametersSkipPreflight() {
+		var rcBuilder = RestClient.builder();
+		var mockServer = MockRestServiceServer.bindTo(rcBuilder).build();
+		mockServer.expect(MockRestRequestMatchers.requestTo("https://resource.example.com/custom-metadata"))
+			.andRespond(MockRestResponseCreators.withSuccess("""
+					{
+						"resource": "https://resource.example.com/mcp"
+					}
+					""", MediaType.APPLICATION_JSON));
+
+		var service = new McpMetadataDiscoveryService(rcBuilder.build(), url -> {
+		});
+		var parameters = WwwAuthenticateParameters
+			.parse("Bearer resource_metadata=\"https://resource.example.com/custom-metadata\", scope=\"mcp\"");
+		service.rememberWwwAuthenticateParameters("https://resource.example.com/mcp", parameters);
+		var response = service.getMcpMetadata("https://resource.example.com/mcp");
+
+		assertThat(response.wwwAuthenticateParameters().getScope()).isEqualTo("mcp");
+		assertThat(response.protectedResourceMetadata().resource()).isEqualTo("https://resource.example.com/mcp");
+		mockServer.verify();
+	}
+
+	@Test
+	void wellKnownFirstSkipsPreflight() {
+		var rcBuilder = RestClient.builder();
+		var mockServer = MockRestServiceServer.bindTo(rcBuilder).build();
+		mockServer
+			.expect(MockRestRequestMatchers
+				.requestTo("https://resource.example.com/.well-known/oauth-protected-resource/mcp"))
+			.andRespond(MockRestResponseCreators.withSuccess("""
+					{
+						"resource": "https://resource.example.com/mcp"
+					}
+					""", MediaType.APPLICATION_JSON));
+
+		var service = new McpMetadataDiscoveryService(rcBuilder.build(), url -> {
+		});
+		service.setWellKnownFirst(true);
+		var response = service.getMcpMetadata("https://resource.example.com/mcp");
+
+		assertThat(response.wwwAuthenticateParameters()).isNull();
+		assertThat(response.protectedResourceMetadata().resource()).isEqualTo("https://resource.example.com/mcp");
+		mockServer.verify();
+	}
+
+	@Test
+	void wellKnownFirstFallsBackToPreflight() {
+		var rcBuilder = RestClient.builder();
+		var mockServer = MockRestServiceServer.bindTo(rcBuilder).build();
+		mockServer
+			.expect(MockRestRequestMatchers
+				.requestTo("https://resource.example.com/.well-known/oauth-protected-resource/mcp"))
+			.andRespond(MockRestResponseCreators.withResourceNotFound());
+		mockServer
+			.expect(MockRestRequestMatchers
+				.requestTo("https://resource.example.com/.well-known/oauth-protected-resource"))
+			.andRespond(MockRestResponseCreators.withResourceNotFound());
+		mockServer.expect(MockRestRequestMatchers.requestTo("https://resource.example.com/mcp"))
+			.andExpect(MockRestRequestMatchers.method(HttpMethod.POST))
+			.andRespond(MockRestResponseCreators.withUnauthorizedRequest()
+				.header("WWW-Authenticate",
+						"Bearer resource_metadata=\"https://resource.example.com/custom-metadata\""));
+		mockServer.expect(MockRestRequestMatchers.requestTo("https://resource.example.com/custom-metadata"))
+			.andRespond(MockRestResponseCreators.withSuccess("""
+					{
+						"resource": "https://resource.example.com/mcp"
+					}
+					""", MediaType.APPLICATION_JSON));
+
+		var service = new McpMetadataDiscoveryService(rcBuilder.build(), url -> {
+		});
+		service.setWellKnownFirst(true);
+		var response = service.getMcpMetadata("https://resource.example.com/mcp");
+
+		assertThat(response.wwwAuthenticateParameters().getResourceMetadata())
+			.isEqualTo("https://resource.example.com/custom-metadata");
+		mockServer.verify();
+	}
+
 }
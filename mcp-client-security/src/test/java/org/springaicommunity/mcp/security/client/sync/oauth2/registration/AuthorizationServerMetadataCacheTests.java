@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.client.sync.oauth2.registration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class AuthorizationServerMetadataCacheTests {
+
+	private static final String ISSUER_URL = "https://auth.example.com";
+
+	private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private final AuthorizationServerMetadataCache cache = new AuthorizationServerMetadataCache((issuer) -> {
+		this.loads.incrementAndGet();
+		return metadata(issuer);
+	});
+
+	@Test
+	void loadsOncePerIssuer() {
+		var first = this.cache.getClientRegistrationBuilder(ISSUER_URL)
+			.registrationId("first")
+			.clientId("first-client")
+			.build();
+		var second = this.cache.getClientRegistrationBuilder(ISSUER_URL)
+			.registrationId("second")
+			.clientId("second-client")
+			.build();
+		var configurationMetadata = this.cache.getConfigurationMetadata(ISSUER_URL);
+
+		assertThat(this.loads).hasValue(1);
+		assertThat(first.getClientId()).isEqualTo("first-client");
+		assertThat(second.getClientId()).isEqualTo("second-client");
+		assertThat(second.getProviderDetails().getTokenUri()).isEqualTo(ISSUER_URL + "/oauth2/token");
+		assertThat(configurationMetadata).containsEntry("registration_endpoint", ISSUER_URL + "/register");
+	}
+
+	@Test
+	void reloadsAfterTimeToLive() {
+		this.cache.setTimeToLive(Duration.ofMinutes(10));
+		this.cache.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		this.cache.getConfigurationMetadata(ISSUER_URL);
+
+		this.cache.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(9)), ZoneOffset.UTC));
+		this.cache.getConfigurationMetadata(ISSUER_URL);
+		assertThat(this.loads).hasValue(1);
+
+		this.cache.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(10)), ZoneOffset.UTC));
+		this.cache.getConfigurationMetadata(ISSUER_URL);
+		assertThat(this.loads).hasValue(2);
+	}
+
+	@Test
+	void evict() {
+		this.cache.getConfigurationMetadata(ISSUER_URL);
+		this.cache.evict(ISSUER_URL);
+		this.cache.getConfigurationMetadata(ISSUER_URL);
+
+		assertThat(this.loads).hasValue(2);
+	}
+
+	@Test
+	void failuresAreNotCached() {
+		var attempts = new AtomicInteger();
+		var failingCache = new AuthorizationServerMetadataCache((issuer) -> {
+			if (attempts.incrementAndGet() == 1) {
+				throw new IllegalArgumentException("Unable to resolve the Configuration with the provided Issuer");
+			}
+			return metadata(issuer);
+		});
+
+		assertThatThrownBy(() -> failingCache.getConfigurationMetadata(ISSUER_URL))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThat(failingCache.getConfigurationMetadata(ISSUER_URL)).containsKey("registration_endpoint");
+		assertThat(attempts).hasValue(2);
+	}
+
+	@Test
+	void concurrentLoadsAreCoalesced() throws Exception {
+		var loading = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		var slowCache = new AuthorizationServerMetadataCache((issuer) -> {
+			this.loads.incrementAndGet();
+			loading.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return metadata(issuer);
+		});
+
+		var leader = CompletableFuture.supplyAsync(() -> slowCache.getConfigurationMetadata(ISSUER_URL));
+		assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+		var follower = new FutureTask<>(() -> slowCache.getConfigurationMetadata(ISSUER_URL));
+		var followerThread = new Thread(follower);
+		followerThread.start();
+
+		// Only release the leader once the follower is parked on its future
+		Awaitility.await()
+			.atMost(Duration.ofSeconds(5))
+			.until(() -> followerThread.getState() == Thread.State.WAITING);
+		release.countDown();
+
+		assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(follower.get(5, TimeUnit.SECONDS));
+		assertThat(this.loads).hasValue(1);
+	}
+
+	private static ClientRegistration.Builder metadata(String issuer) {
+		return ClientRegistration.withRegistrationId("auth.example.com")
+			.authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+			.tokenUri(issuer + "/oauth2/token")
+			.issuerUri(issuer)
+			.providerConfigurationMetadata(
+					Map.of("token_endpoint", issuer + "/oauth2/token", "registration_endpoint", issuer + "/register"));
+	}
+
+}
@@ -16,11 +16,18 @@
 
 package org.springaicommunity.mcp.security.client.sync.oauth2.registration;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 
+import org.awaitility.Awaitility;
 import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -48,6 +55,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -210,9 +218,8 @@ class DefaultMcpOAuth2ClientManagerTests {
 
 		private void configureMocks(@Nullable WwwAuthenticateParameters wwwAuthParams,
 				ProtectedResourceMetadata protectedResourceMetadata, String dcrResponse) {
-			when(discovery.getWwwAuthenticateParameters(MCP_SERVER_URL)).thenReturn(wwwAuthParams);
 			var mcpMetadata = new McpMetadata(wwwAuthParams, protectedResourceMetadata);
-			when(discovery.getMcpMetadata(MCP_SERVER_URL, wwwAuthParams)).thenReturn(mcpMetadata);
+			when(discovery.getMcpMetadata(MCP_SERVER_URL)).thenReturn(mcpMetadata);
 			var registrationResponse = dcrResponse(dcrResponse);
 			when(clientRegistrationService.register(any(), eq(ISSUER_URL))).thenReturn(registrationResponse);
 		}
@@ -258,6 +265,7 @@ class DefaultMcpOAuth2ClientManagerTests {
 					DynamicClientRegistrationRequest.builder().build());
 
 			verify(discovery, never()).getWwwAuthenticateParameters(any());
+			verify(discovery).rememberWwwAuthenticateParameters(eq(MCP_SERVER_URL), any());
 			var registration = repository.findByRegistrationId(REGISTRATION_ID);
 			assertThat(registration).isNotNull();
 			assertThat(registration.getRegistrationId()).isEqualTo(REGISTRATION_ID);
@@ -428,6 +436,104 @@ class DefaultMcpOAuth2ClientManagerTests {
 
 	}
 
+	@Nested
+	class SingleFlightRegistration {
+
+		private final CountDownLatch registering = new CountDownLatch(1);
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		private final DefaultMcpOAuth2ClientManager singleFlightManager = new DefaultMcpOAuth2ClientManager(
+				repository, clientRegistrationService, discovery, urlValidator,
+				new AuthorizationServerMetadataCache((issuer) -> ClientRegistration.withRegistrationId("placeholder")
+					.authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+					.tokenUri(issuer + "/oauth2/token")));
+
+		@BeforeEach
+		void setUp() {
+			var prm = new ProtectedResourceMetadata(RESOURCE_ID, List.of(ISSUER_URL), null);
+			when(discovery.getMcpMetadata(MCP_SERVER_URL)).thenReturn(new McpMetadata(null, prm));
+		}
+
+		@AfterEach
+		void tearDown() {
+			this.release.countDown();
+		}
+
+		@Test
+		void concurrentRegistrationsRegisterOnce() throws Exception {
+			when(clientRegistrationService.register(any(), eq(ISSUER_URL))).thenAnswer((invocation) -> {
+				this.registering.countDown();
+				this.release.await(5, TimeUnit.SECONDS);
+				return dcrResponse(DCR_RESPONSE);
+			});
+
+			var leader = CompletableFuture.runAsync(this::register);
+			assertThat(this.registering.await(5, TimeUnit.SECONDS)).isTrue();
+			var follower = startFollower();
+			this.release.countDown();
+			leader.get(5, TimeUnit.SECONDS);
+			follower.get(5, TimeUnit.SECONDS);
+
+			verify(clientRegistrationService, times(1)).register(any(), eq(ISSUER_URL));
+			assertThat(repository.findByRegistrationId(REGISTRATION_ID).getClientId()).isEqualTo("client-id-123");
+		}
+
+		@Test
+		void followersGetLeaderError() throws Exception {
+			when(clientRegistrationService.register(any(), eq(ISSUER_URL))).thenAnswer((invocation) -> {
+				this.registering.countDown();
+				this.release.await(5, TimeUnit.SECONDS);
+				throw new IllegalStateException("Cannot register client");
+			});
+
+			var leader = CompletableFuture.runAsync(this::register);
+			assertThat(this.registering.await(5, TimeUnit.SECONDS)).isTrue();
+			var follower = startFollower();
+			this.release.countDown();
+
+			assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("Cannot register client");
+			assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("Cannot register client");
+			assertThat(repository.findByRegistrationId(REGISTRATION_ID)).isNull();
+		}
+
+		@Test
+		void followersWaitForBoundedTime() throws Exception {
+			this.singleFlightManager.setRegistrationTimeout(Duration.ofMillis(50));
+			when(clientRegistrationService.register(any(), eq(ISSUER_URL))).thenAnswer((invocation) -> {
+				this.registering.countDown();
+				this.release.await(5, TimeUnit.SECONDS);
+				return dcrResponse(DCR_RESPONSE);
+			});
+
+			var leader = CompletableFuture.runAsync(this::register);
+			assertThat(this.registering.await(5, TimeUnit.SECONDS)).isTrue();
+
+			assertThatThrownBy(() -> register()).isInstanceOf(IllegalStateException.class)
+				.hasMessageStartingWith("Timed out waiting for client registration [test-registration]");
+			this.release.countDown();
+			leader.get(5, TimeUnit.SECONDS);
+			verify(clientRegistrationService, times(1)).register(any(), eq(ISSUER_URL));
+		}
+
+		private FutureTask<Void> startFollower() {
+			var follower = new FutureTask<Void>(this::register, null);
+			var thread = new Thread(follower);
+			thread.start();
+			// Only release the leader once the follower is parked on the in-flight registration
+			Awaitility.await()
+				.atMost(Duration.ofSeconds(5))
+				.until(() -> thread.getState() == Thread.State.TIMED_WAITING);
+			return follower;
+		}
+
+		private void register() {
+			this.singleFlightManager.registerMcpClient(REGISTRATION_ID, MCP_SERVER_URL,
+					DynamicClientRegistrationRequest.builder().build());
+		}
+
+	}
+
 	private static DynamicClientRegistrationResponse dcrResponse(String json) {
 		return JsonMapper.builder()
 			.propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.client.sync.oauth2.registration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link FileMcpClientRegistrationRepository}.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+class FileMcpClientRegistrationRepositoryTests {
+
+	@TempDir
+	Path directory;
+
+	private Path file;
+
+	private FileMcpClientRegistrationRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		this.file = this.directory.resolve("registrations.json");
+		this.repository = new FileMcpClientRegistrationRepository(this.file);
+	}
+
+	@Test
+	void addClientRegistrationThenSurvivesRestart() {
+		this.repository.addClientRegistration(createRegistration("test-client"), "test-resource");
+
+		var restarted = new FileMcpClientRegistrationRepository(this.file);
+
+		var registration = restarted.findByRegistrationId("test-client");
+		assertThat(registration).isNotNull();
+		assertThat(registration.getClientId()).isEqualTo("test-client-id");
+		assertThat(registration.getProviderDetails().getTokenUri()).isEqualTo("https://example.com/token");
+		assertThat(restarted.findResourceIdByRegistrationId("test-client")).isEqualTo("test-resource");
+	}
+
+	@Test
+	void addClientRegistrationWhenExistingThenIgnored() {
+		var registration = createRegistration("test-client");
+		this.repository.addClientRegistration(registration, "resource-1");
+		this.repository.addClientRegistration(createRegistration("test-client"), "resource-2");
+
+		assertThat(this.repository.findByRegistrationId("test-client")).isSameAs(registration);
+		assertThat(new FileMcpClientRegistrationRepository(this.file).findResourceIdByRegistrationId("test-client"))
+			.isEqualTo("resource-1");
+	}
+
+	@Test
+	void addClientRegistrationWhenNullResourceIdThenNotStored() {
+		this.repository.addClientRegistration(createRegistration("test-client"), null);
+
+		assertThat(new FileMcpClientRegistrationRepository(this.file).findResourceIdByRegistrationId("test-client"))
+			.isNull();
+	}
+
+	@Test
+	void updateClientRegistrationThenSurvivesRestart() {
+		this.repository.addClientRegistration(createRegistration("test-client"), "test-resource");
+
+		this.repository.updateClientRegistration("test-client", (builder) -> builder.scope("read", "write"));
+
+		var restarted = new FileMcpClientRegistrationRepository(this.file);
+		assertThat(restarted.findByRegistrationId("test-client").getScopes()).containsExactlyInAnyOrder("read",
+				"write");
+		assertThat(restarted.findResourceIdByRegistrationId("test-client")).isEqualTo("test-resource");
+	}
+
+	@Test
+	void updateClientRegistrationWhenNotExistingThenIgnored() {
+		this.repository.updateClientRegistration("non-existent", (builder) -> builder.clientId("updated-client-id"));
+
+		assertThat(this.repository.findByRegistrationId("non-existent")).isNull();
+		assertThat(this.file).doesNotExist();
+	}
+
+	@Test
+	void findByRegistrationIdWhenNoFileThenNull() {
+		assertThat(this.repository.findByRegistrationId("non-existent")).isNull();
+		assertThat(this.repository.iterator()).isExhausted();
+	}
+
+	@Test
+	void unreadableFileThenIgnored() throws IOException {
+		Files.writeString(this.file, "not a registration file");
+
+		assertThat(this.repository.findByRegistrationId("test-client")).isNull();
+		this.repository.addClientRegistration(createRegistration("test-client"), "test-resource");
+		assertThat(new FileMcpClientRegistrationRepository(this.file).findByRegistrationId("test-client")).isNotNull();
+	}
+
+	@Test
+	void addClientRegistrationThenStoredAsJson() throws IOException {
+		var registration = ClientRegistration.withClientRegistration(createRegistration("test-client"))
+			.clientSecret("test-secret")
+			.scope("read", "write")
+			.build();
+
+		this.repository.addClientRegistration(registration, "test-resource");
+
+		assertThat(Files.readString(this.file)).contains("\"client_id\":\"test-client-id\"")
+			.contains("\"client_secret\":\"test-secret\"");
+		var restarted = new FileMcpClientRegistrationRepository(this.file).findByRegistrationId("test-client");
+		assertThat(restarted.getClientSecret()).isEqualTo("test-secret");
+		assertThat(restarted.getScopes()).containsExactlyInAnyOrder("read", "write");
+	}
+
+	@Test
+	void unreadableRegistrationThenOthersKept() throws IOException {
+		Files.writeString(this.file, """
+				{"registrations": [
+					{"registration_id": "broken"},
+					{"registration_id": "test-client", "client_id": "test-client-id",
+						"client_authentication_method": "client_secret_basic",
+						"authorization_grant_type": "client_credentials", "resource_id": "test-resource",
+						"provider_details": {"token_uri": "https://example.com/token"}}
+				]}""");
+
+		assertThat(this.repository.findByRegistrationId("broken")).isNull();
+		assertThat(this.repository.findByRegistrationId("test-client").getClientId()).isEqualTo("test-client-id");
+		assertThat(this.repository.findResourceIdByRegistrationId("test-client")).isEqualTo("test-resource");
+	}
+
+	@Test
+	void writesLeaveNoTemporaryFiles() throws IOException {
+		this.repository.addClientRegistration(createRegistration("client-1"), "resource-1");
+		this.repository.addClientRegistration(createRegistration("client-2"), "resource-2");
+
+		try (var files = Files.list(this.directory)) {
+			assertThat(files).containsExactly(this.file);
+		}
+		assertThat(new FileMcpClientRegistrationRepository(this.file)).extracting(ClientRegistration::getRegistrationId)
+			.containsExactlyInAnyOrder("client-1", "client-2");
+	}
+
+	private ClientRegistration createRegistration(String registrationId) {
+		return ClientRegistration.withRegistrationId(registrationId)
+			.clientId(registrationId + "-id")
+			.authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+			.tokenUri("https://example.com/token")
+			.build();
+	}
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.client.sync.oauth2.registration;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JdbcMcpClientRegistrationRepository}.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+class JdbcMcpClientRegistrationRepositoryTests {
+
+	private static final String SCHEMA = "org/springaicommunity/mcp/security/client/sync/oauth2/registration/"
+			+ "mcp-client-registration-schema.sql";
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private JdbcMcpClientRegistrationRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		this.database = new EmbeddedDatabaseBuilder().generateUniqueName(true)
+			.setType(EmbeddedDatabaseType.H2)
+			.addScript(SCHEMA)
+			.build();
+		this.jdbcTemplate = new JdbcTemplate(this.database);
+		this.repository = new JdbcMcpClientRegistrationRepository(this.jdbcTemplate);
+	}
+
+	@AfterEach
+	void tearDown() {
+		this.database.shutdown();
+	}
+
+	@Test
+	void addClientRegistrationThenSurvivesRestart() {
+		this.repository.addClientRegistration(createRegistration("test-client"), "test-resource");
+
+		var restarted = new JdbcMcpClientRegistrationRepository(this.jdbcTemplate);
+
+		var registration = restarted.findByRegistrationId("test-client");
+		assertThat(registration).isNotNull();
+		assertThat(registration.getClientId()).isEqualTo("test-client-id");
+		assertThat(registration.getProviderDetails().getTokenUri()).isEqualTo("https://example.com/token");
+		assertThat(restarted.findResourceIdByRegistrationId("test-client")).isEqualTo("test-resource");
+	}
+
+	@Test
+	void addClientRegistrationWhenExistingThenIgnored() {
+		var registration = createRegistration("test-client");
+		this.repository.addClientRegistration(registration, "resource-1");
+		this.repository.addClientRegistration(createRegistration("test-client"), "resource-2");
+
+		assertThat(this.repository.findByRegistrationId("test-client")).isSameAs(registration);
+		assertThat(this.repository.findResourceIdByRegistrationId("test-client")).isEqualTo("resource-1");
+		assertThat(countRows()).isEqualTo(1);
+	}
+
+	@Test
+	void addClientRegistrationWhenAddedByOtherInstanceThenKept() {
+		var otherInstance = new JdbcMcpClientRegistrationRepository(this.jdbcTemplate);
+		assertThat(this.repository.findByRegistrationId("test-client")).isNull();
+
+		otherInstance.addClientRegistration(createRegistration("test-client"), "resource-1");
+		this.repository.addClientRegistration(createRegistration("test-client"), "resource-2");
+
+		assertThat(this.repository.findResourceIdByRegistrationId("test-client")).isEqualTo("resource-1");
+	}
+
+	@Test
+	void addClientRegistrationWhenNullResourceIdThenNotStored() {
+		this.repository.addClientRegistration(createRegistration("test-client"), "");
+
+		assertThat(new JdbcMcpClientRegistrationRepository(this.jdbcTemplate)
+			.findResourceIdByRegistrationId("test-client")).isNull();
+	}
+
+	@Test
+	void updateClientRegistrationThenSurvivesRestart() {
+		this.repository.addClientRegistration(createRegistration("test-client"), "test-resource");
+
+		this.repository.updateClientRegistration("test-client", (builder) -> builder.scope("read", "write"));
+
+		var restarted = new JdbcMcpClientRegistrationRepository(this.jdbcTemplate);
+		assertThat(restarted.findByRegistrationId("test-client").getScopes()).containsExactlyInAnyOrder("read",
+				"write");
+		assertThat(restarted.findResourceIdByRegistrationId("test-client")).isEqualTo("test-resource");
+	}
+
+	@Test
+	void updateClientRegistrationWhenNotExistingThenIgnored() {
+		this.repository.updateClientRegistration("non-existent", (builder) -> builder.clientId("updated-client-id"));
+
+		assertThat(this.repository.findByRegistrationId("non-existent")).isNull();
+		assertThat(countRows()).isZero();
+	}
+
+	@Test
+	void addClientRegistrationThenStoredInColumns() {
+		var registration = ClientRegistration.withClientRegistration(createRegistration("test-client"))
+			.clientSecret("test-secret")
+			.scope("read", "write")
+			.providerConfigurationMetadata(Map.of("registration_endpoint", "https://example.com/register"))
+			.build();
+
+		this.repository.addClientRegistration(registration, "test-resource");
+
+		var row = this.jdbcTemplate.queryForMap("SELECT * FROM mcp_client_registration");
+		assertThat(row).containsEntry("CLIENT_ID", "test-client-id")
+			.containsEntry("CLIENT_SECRET", "test-secret")
+			.containsEntry("AUTHORIZATION_GRANT_TYPE", "client_credentials")
+			.containsEntry("SCOPES", "read,write");
+		var restarted = new JdbcMcpClientRegistrationRepository(this.jdbcTemplate).findByRegistrationId("test-client");
+		assertThat(restarted.getClientSecret()).isEqualTo("test-secret");
+		assertThat(restarted.getScopes()).containsExactlyInAnyOrder("read", "write");
+		assertThat(restarted.getProviderDetails().getConfigurationMetadata())
+			.containsEntry("registration_endpoint", "https://example.com/register");
+	}
+
+	@Test
+	void updateClientRegistrationWhenUpdatedByOtherInstanceThenKeepsOtherUpdate() {
+		this.repository.addClientRegistration(createRegistration("test-client"), "test-resource");
+		var otherInstance = new JdbcMcpClientRegistrationRepository(this.jdbcTemplate);
+		assertThat(otherInstance.findByRegistrationId("test-client")).isNotNull();
+
+		this.repository.updateClientRegistration("test-client", (builder) -> builder.scope("read"));
+		otherInstance.updateClientRegistration("test-client", (builder) -> builder.clientName("updated-name"));
+
+		var restarted = new JdbcMcpClientRegistrationRepository(this.jdbcTemplate).findByRegistrationId("test-client");
+		assertThat(restarted.getScopes()).containsExactly("read");
+		assertThat(restarted.getClientName()).isEqualTo("updated-name");
+	}
+
+	@Test
+	void unreadableRowThenReplaced() {
+		this.jdbcTemplate.update("INSERT INTO mcp_client_registration (registration_id, resource_id, client_id,"
+				+ " client_authentication_method, authorization_grant_type, provider_details)"
+				+ " VALUES (?, ?, ?, ?, ?, ?)", "test-client", "old-resource", "old-client-id", "client_secret_basic",
+				"client_credentials", "not json");
+
+		assertThat(this.repository.findByRegistrationId("test-client")).isNull();
+		this.repository.addClientRegistration(createRegistration("test-client"), "test-resource");
+
+		var restarted = new JdbcMcpClientRegistrationRepository(this.jdbcTemplate);
+		assertThat(restarted.findByRegistrationId("test-client")).isNotNull();
+		assertThat(restarted.findResourceIdByRegistrationId("test-client")).isEqualTo("test-resource");
+	}
+
+	@Test
+	void iteratorLoadsAllRegistrations() {
+		this.repository.addClientRegistration(createRegistration("client-1"), "resource-1");
+		this.repository.addClientRegistration(createRegistration("client-2"), "resource-2");
+
+		assertThat(new JdbcMcpClientRegistrationRepository(this.jdbcTemplate))
+			.extracting(ClientRegistration::getRegistrationId)
+			.containsExactlyInAnyOrder("client-1", "client-2");
+	}
+
+	private int countRows() {
+		return this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM mcp_client_registration", Integer.class);
+	}
+
+	private ClientRegistration createRegistration(String registrationId) {
+		return ClientRegistration.withRegistrationId(registrationId)
+			.clientId(registrationId + "-id")
+			.authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+			.tokenUri("https://example.com/token")
+			.build();
+	}
+
+}
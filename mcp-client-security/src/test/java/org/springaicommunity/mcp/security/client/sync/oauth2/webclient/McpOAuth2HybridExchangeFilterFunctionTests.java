@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.client.sync.oauth2.webclient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.client.AuthorizedClientServiceOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientProviderBuilder;
+import org.springframework.security.oauth2.client.endpoint.WebClientReactiveClientCredentialsTokenResponseClient;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.InMemoryReactiveClientRegistrationRepository;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link McpOAuth2HybridExchangeFilterFunction}.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+class McpOAuth2HybridExchangeFilterFunctionTests {
+
+	private static final String AUTHORIZATION_CODE_REGISTRATION_ID = "authorization-code";
+
+	private static final String CLIENT_CREDENTIALS_REGISTRATION_ID = "client-credentials";
+
+	private static final URI MCP_SERVER_URL = URI.create("https://mcp.example.com/mcp");
+
+	private static final ClientRegistration CLIENT_CREDENTIALS_REGISTRATION = ClientRegistration
+		.withRegistrationId(CLIENT_CREDENTIALS_REGISTRATION_ID)
+		.clientId("client-id")
+		.clientSecret("client-secret")
+		.authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+		.tokenUri("https://auth.example.com/token")
+		.build();
+
+	private final OAuth2AuthorizedClientManager authorizationCodeClientManager = mock();
+
+	private final List<Boolean> nonBlockingThreads = new CopyOnWriteArrayList<>();
+
+	private final List<String> authorizationHeaders = new CopyOnWriteArrayList<>();
+
+	private final AtomicInteger tokenRequests = new AtomicInteger();
+
+	@Test
+	void reactiveClientCredentialsStayOnNonBlockingThreads() {
+		var filter = new McpOAuth2HybridExchangeFilterFunction(this.authorizationCodeClientManager,
+				reactiveClientManager(), AUTHORIZATION_CODE_REGISTRATION_ID, CLIENT_CREDENTIALS_REGISTRATION_ID);
+
+		callMcpServerOnNonBlockingThread(filter);
+
+		assertThat(this.authorizationHeaders).containsExactly("Bearer token-1");
+		assertThat(this.nonBlockingThreads).hasSize(2).containsOnly(true);
+	}
+
+	@Test
+	void reactiveClientCredentialsReusesToken() {
+		var filter = new McpOAuth2HybridExchangeFilterFunction(this.authorizationCodeClientManager,
+				reactiveClientManager(), AUTHORIZATION_CODE_REGISTRATION_ID, CLIENT_CREDENTIALS_REGISTRATION_ID);
+
+		callMcpServerOnNonBlockingThread(filter);
+		callMcpServerOnNonBlockingThread(filter);
+
+		assertThat(this.authorizationHeaders).containsExactly("Bearer token-1", "Bearer token-1");
+		assertThat(this.tokenRequests).hasValue(1);
+	}
+
+	@Test
+	void blockingClientCredentialsRunOffNonBlockingThreads() {
+		AuthorizedClientServiceOAuth2AuthorizedClientManager serviceClientManager = mock();
+		given(serviceClientManager.authorize(any(OAuth2AuthorizeRequest.class))).willAnswer((invocation) -> {
+			this.nonBlockingThreads.add(Schedulers.isInNonBlockingThread());
+			var accessToken = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "blocking-token",
+					Instant.now(), Instant.now().plusSeconds(300));
+			return new OAuth2AuthorizedClient(CLIENT_CREDENTIALS_REGISTRATION, "mcp-client-service", accessToken);
+		});
+		var filter = new McpOAuth2HybridExchangeFilterFunction(this.authorizationCodeClientManager,
+				serviceClientManager, AUTHORIZATION_CODE_REGISTRATION_ID, CLIENT_CREDENTIALS_REGISTRATION_ID);
+
+		callMcpServerOnNonBlockingThread(filter);
+
+		assertThat(this.authorizationHeaders).containsExactly("Bearer blocking-token");
+		assertThat(this.nonBlockingThreads).hasSize(2).containsOnly(false);
+	}
+
+	/**
+	 * Subscribe on a {@link Schedulers#parallel() parallel} thread, which Reactor flags
+	 * as non-blocking, like Reactor Netty event loops.
+	 */
+	private void callMcpServerOnNonBlockingThread(McpOAuth2HybridExchangeFilterFunction filter) {
+		var request = ClientRequest.create(HttpMethod.POST, MCP_SERVER_URL).build();
+		ExchangeFunction mcpServer = (mcpRequest) -> {
+			this.nonBlockingThreads.add(Schedulers.isInNonBlockingThread());
+			this.authorizationHeaders.add(mcpRequest.headers().getFirst(HttpHeaders.AUTHORIZATION));
+			return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+		};
+		var response = Mono.defer(() -> filter.filter(request, mcpServer))
+			.subscribeOn(Schedulers.parallel())
+			.block(Duration.ofSeconds(5));
+		assertThat(response).isNotNull();
+		assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+	}
+
+	private AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager reactiveClientManager() {
+		var tokenEndpoint = WebClient.builder().exchangeFunction((tokenRequest) -> {
+			this.nonBlockingThreads.add(Schedulers.isInNonBlockingThread());
+			var token = "token-" + this.tokenRequests.incrementAndGet();
+			return Mono.just(ClientResponse.create(HttpStatus.OK)
+				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.body("{\"access_token\":\"" + token + "\",\"token_type\":\"Bearer\",\"expires_in\":3600}")
+				.build());
+		}).build();
+		var tokenResponseClient = new WebClientReactiveClientCredentialsTokenResponseClient();
+		tokenResponseClient.setWebClient(tokenEndpoint);
+
+		var reactiveClientManager = McpOAuth2HybridExchangeFilterFunction.clientCredentialsAuthorizedClientManager(
+				new InMemoryReactiveClientRegistrationRepository(CLIENT_CREDENTIALS_REGISTRATION));
+		var clientManager = (AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager) reactiveClientManager;
+		clientManager.setAuthorizedClientProvider(ReactiveOAuth2AuthorizedClientProviderBuilder.builder()
+			.clientCredentials((clientCredentials) -> clientCredentials.accessTokenResponseClient(tokenResponseClient))
+			.build());
+		return clientManager;
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.common.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.util.Assert;
+
+/**
+ * A concurrent map with a bounded number of entries, for in-memory caches whose keys
+ * are provided by clients, such as tokens, certificates or URLs.
+ * <p>
+ * When a new key is added to a full cache, expired entries are purged, and if the cache
+ * is still full, arbitrary entries are evicted until a tenth of the capacity is free.
+ * The scan over all entries therefore happens at most once every {@code maximumSize / 10}
+ * insertions, and new entries are always stored. Only one thread evicts at a time; other
+ * threads do not wait for it, so the cache may briefly hold slightly more than
+ * {@code maximumSize} entries.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ * @author Daniel Garnier-Moiroux
+ */
+public final class BoundedCache<K, V> {
+
+	private final Map<K, V> entries = new ConcurrentHashMap<>();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private final int maximumSize;
+
+	private final Predicate<? super V> expired;
+
+	/**
+	 * Create a new instance.
+	 * @param maximumSize the maximum number of entries
+	 * @param expired whether an entry has expired, and should be evicted first
+	 */
+	public BoundedCache(int maximumSize, Predicate<? super V> expired) {
+		Assert.isTrue(maximumSize > 0, "maximumSize must be positive");
+		Assert.notNull(expired, "expired cannot be null");
+		this.maximumSize = maximumSize;
+		this.expired = expired;
+	}
+
+	public @Nullable V get(K key) {
+		return this.entries.get(key);
+	}
+
+	public void put(K key, V value) {
+		makeRoomFor(key);
+		this.entries.put(key, value);
+	}
+
+	public @Nullable V putIfAbsent(K key, V value) {
+		makeRoomFor(key);
+		return this.entries.putIfAbsent(key, value);
+	}
+
+	public @Nullable V remove(K key) {
+		return this.entries.remove(key);
+	}
+
+	public boolean remove(K key, V value) {
+		return this.entries.remove(key, value);
+	}
+
+	public int size() {
+		return this.entries.size();
+	}
+
+	public void clear() {
+		this.entries.clear();
+	}
+
+	private void makeRoomFor(K key) {
+		if (this.entries.size() < this.maximumSize || this.entries.containsKey(key)
+				|| !this.evictionLock.tryLock()) {
+			return;
+		}
+		try {
+			if (this.entries.size() < this.maximumSize) {
+				return;
+			}
+			this.entries.values().removeIf(this.expired);
+			var target = this.maximumSize - Math.max(1, this.maximumSize / 10);
+			var keys = this.entries.keySet().iterator();
+			while (this.entries.size() > target && keys.hasNext()) {
+				keys.next();
+				keys.remove();
+			}
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+}
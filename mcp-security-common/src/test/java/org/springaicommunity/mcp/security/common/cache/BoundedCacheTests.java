@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.common.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class BoundedCacheTests {
+
+	@Test
+	void fullCacheEvictsExpiredEntriesFirst() {
+		var cache = new BoundedCache<String, Integer>(3, (value) -> value < 0);
+		cache.put("expired", -1);
+		cache.put("live-1", 1);
+		cache.put("live-2", 2);
+
+		cache.put("new", 3);
+
+		assertThat(cache.get("expired")).isNull();
+		assertThat(cache.get("live-1")).isEqualTo(1);
+		assertThat(cache.get("live-2")).isEqualTo(2);
+		assertThat(cache.get("new")).isEqualTo(3);
+	}
+
+	@Test
+	void fullCacheOfLiveEntriesStillStoresNewEntries() {
+		var cache = new BoundedCache<String, Integer>(10, (value) -> false);
+		for (int i = 0; i < 10; i++) {
+			cache.put("key-" + i, i);
+		}
+
+		cache.put("new", 10);
+
+		assertThat(cache.get("new")).isEqualTo(10);
+		assertThat(cache.size()).isEqualTo(10);
+	}
+
+	@Test
+	void evictionIsAmortized() {
+		var scans = new AtomicInteger();
+		var cache = new BoundedCache<Integer, Integer>(100, (value) -> {
+			scans.incrementAndGet();
+			return false;
+		});
+		for (int i = 0; i < 100; i++) {
+			cache.put(i, i);
+		}
+
+		for (int i = 100; i < 110; i++) {
+			cache.put(i, i);
+		}
+
+		assertThat(scans).hasValue(100);
+		assertThat(cache.size()).isLessThanOrEqualTo(100);
+	}
+
+	@Test
+	void existingKeysReplacedWithoutEviction() {
+		var cache = new BoundedCache<String, Integer>(2, (value) -> false);
+		cache.put("a", 1);
+		cache.put("b", 2);
+
+		cache.put("a", 3);
+
+		assertThat(cache.get("a")).isEqualTo(3);
+		assertThat(cache.get("b")).isEqualTo(2);
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.boot;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.security.oauth2.server.resource.autoconfigure.OAuth2ResourceServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.util.Assert;
+import static org.springaicommunity.mcp.security.server.config.McpServerReactiveOAuth2Configurer.mcpServerReactiveOAuth2;
+
+/**
+ * {@link AutoConfiguration} for reactive MCP server security. Provides a default
+ * {@link SecurityWebFilterChain} that secures all endpoints using the
+ * {@code mcpServerReactiveOAuth2} configurer, reading the issuer URI from
+ * {@code spring.security.oauth2.resourceserver.jwt.issuer-uri}.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+@AutoConfiguration(
+		beforeName = "org.springframework.boot.security.oauth2.server.resource.autoconfigure.reactive.ReactiveOAuth2ResourceServerAutoConfiguration")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnClass({ ServerHttpSecurity.class, SecurityWebFilterChain.class })
+@EnableConfigurationProperties(OAuth2ResourceServerProperties.class)
+@ConditionalOnProperty(prefix = "spring.security.oauth2.resourceserver", name = "jwt.issuer-uri",
+		matchIfMissing = false)
+class McpServerReactiveSecurityAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean(SecurityWebFilterChain.class)
+	SecurityWebFilterChain mcpServerSecurityWebFilterChain(ServerHttpSecurity http,
+			OAuth2ResourceServerProperties properties) {
+		var issuerUri = properties.getJwt().getIssuerUri();
+		// Always true with @ConditonalOnProperty
+		Assert.notNull(issuerUri, "spring.security.oauth2.resourceserver.jwt.issuer-uri must be set");
+		http.authorizeExchange(auth -> auth.anyExchange().authenticated());
+		mcpServerReactiveOAuth2().authorizationServer(issuerUri).customize(http);
+		return http.build();
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.boot;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class McpServerReactiveSecurityAutoConfigurationTests {
+
+	private final ReactiveWebApplicationContextRunner contextRunner = new ReactiveWebApplicationContextRunner()
+		.withConfiguration(AutoConfigurations.of(McpServerReactiveSecurityAutoConfiguration.class))
+		.withUserConfiguration(WebFluxSecurityConfiguration.class);
+
+	@Test
+	void createFilterChain() {
+		this.contextRunner
+			.withPropertyValues("spring.security.oauth2.resourceserver.jwt.issuer-uri=https://example.com/issuer")
+			.run((context) -> {
+				assertThat(context).hasSingleBean(SecurityWebFilterChain.class);
+				assertThat(context).hasBean("mcpServerSecurityWebFilterChain");
+			});
+	}
+
+	@Test
+	void userDefinedFilterChainAndJwtUri() {
+		this.contextRunner
+			.withPropertyValues("spring.security.oauth2.resourceserver.jwt.issuer-uri=https://example.com/issuer")
+			.withUserConfiguration(CustomSecurityConfiguration.class)
+			.run((context) -> {
+				assertThat(context).hasSingleBean(SecurityWebFilterChain.class);
+				assertThat(context).hasBean("customSecurityWebFilterChain");
+				assertThat(context).doesNotHaveBean("mcpServerSecurityWebFilterChain");
+			});
+	}
+
+	@Test
+	void issuerUriNotSet() {
+		this.contextRunner.run((context) -> assertThat(context).doesNotHaveBean(SecurityWebFilterChain.class));
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableWebFluxSecurity
+	static class WebFluxSecurityConfiguration {
+
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class CustomSecurityConfiguration {
+
+		@Bean
+		SecurityWebFilterChain customSecurityWebFilterChain(ServerHttpSecurity http) {
+			return http.authorizeExchange(auth -> auth.anyExchange().authenticated()).build();
+		}
+
+	}
+
+}
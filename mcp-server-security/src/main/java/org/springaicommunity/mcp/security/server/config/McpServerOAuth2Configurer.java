@@ -16,20 +16,46 @@
 
 package org.springaicommunity.mcp.security.server.config;
 
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.jspecify.annotations.Nullable;
 import org.springaicommunity.mcp.security.server.oauth2.authentication.BearerResourceMetadataTokenAuthenticationEntryPoint;
+import org.springaicommunity.mcp.security.server.oauth2.dpop.DPoPBearerTokenResolver;
+import org.springaicommunity.mcp.security.server.oauth2.dpop.DPoPProofReplayCache;
+import org.springaicommunity.mcp.security.server.oauth2.dpop.DPoPProofValidator;
+import org.springaicommunity.mcp.security.server.oauth2.dpop.DPoPTokenBindingFilter;
+import org.springaicommunity.mcp.security.server.oauth2.introspection.AudienceValidationOpaqueTokenIntrospector;
+import org.springaicommunity.mcp.security.server.oauth2.introspection.CachingOpaqueTokenIntrospector;
 import org.springaicommunity.mcp.security.server.oauth2.jwt.AudienceValidationJwtDecoder;
+import org.springaicommunity.mcp.security.server.oauth2.jwt.CachingJwtAuthenticationConverter;
+import org.springaicommunity.mcp.security.server.oauth2.jwt.MultiIssuerJwtDecoder;
+import org.springaicommunity.mcp.security.server.oauth2.metadata.CachingProtectedResourceMetadataFilter;
 import org.springaicommunity.mcp.security.server.oauth2.metadata.ResourceIdentifier;
+import org.springaicommunity.mcp.security.server.oauth2.revocation.RevocationCheckingJwtDecoder;
+import org.springaicommunity.mcp.security.server.oauth2.revocation.RevocationDenyList;
+import org.springaicommunity.mcp.security.server.oauth2.revocation.RevocationListSynchronizer;
+import org.springaicommunity.mcp.security.server.session.McpStreamExpiryFilter;
+import org.springaicommunity.mcp.security.server.session.McpStreamExpiryScheduler;
 
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.oauth2.server.resource.OAuth2ResourceServerConfigurer;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.OAuth2ProtectedResourceMetadata;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.authentication.logout.LogoutFilter;
 import org.springframework.util.Assert;
 
 /**
@@ -39,6 +65,10 @@ public class McpServerOAuth2Configurer extends AbstractHttpConfigurer<McpServerO
 
 	public @Nullable String issuerUri = null;
 
+	private final Set<String> additionalIssuerUris = new LinkedHashSet<>();
+
+	private @Nullable Predicate<String> trustedIssuer;
+
 	private String resourceName = "Spring MCP Resource Server";
 
 	public @Nullable Consumer<OAuth2ProtectedResourceMetadata.Builder> customizer = null;
@@ -52,13 +82,65 @@ public class McpServerOAuth2Configurer extends AbstractHttpConfigurer<McpServerO
 
 	public @Nullable JwtDecoder jwtDecoder;
 
+	private @Nullable Converter<Jwt, ? extends AbstractAuthenticationToken> jwtAuthenticationConverter;
+
+	private @Nullable Duration protectedResourceMetadataMaxAge;
+
+	private @Nullable OpaqueTokenIntrospector opaqueTokenIntrospector;
+
+	private @Nullable RevocationDenyList revocationDenyList;
+
+	private boolean dpop = false;
+
+	private boolean closeStreamsOnTokenExpiry = false;
+
 	public @Nullable SessionBindingConfigurer sessionBindingConfigurer;
 
+	public @Nullable ToolAuthorizationConfigurer toolAuthorizationConfigurer;
+
 	public McpServerOAuth2Configurer authorizationServer(String issuerUri) {
 		this.issuerUri = issuerUri;
 		return this;
 	}
 
+	/**
+	 * Accept tokens from several authorization servers, for example one per tenant. All
+	 * of them are listed in the {@link OAuth2ProtectedResourceMetadata}. The issuer of
+	 * each token is read from its {@code iss} claim, and the token is verified by a
+	 * {@link JwtDecoder} dedicated to that issuer, created on first use.
+	 * @param issuerUris the issuer URIs of the trusted authorization servers
+	 * @return The {@link McpServerOAuth2Configurer} for further configuration
+	 * @see MultiIssuerJwtDecoder
+	 */
+	public McpServerOAuth2Configurer authorizationServers(String... issuerUris) {
+		Assert.notEmpty(issuerUris, "issuerUris cannot be empty");
+		for (var uri : issuerUris) {
+			Assert.hasText(uri, "issuerUri cannot be empty");
+			if (this.issuerUri == null) {
+				this.issuerUri = uri;
+			}
+			else if (!this.issuerUri.equals(uri)) {
+				this.additionalIssuerUris.add(uri);
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Accept tokens from any authorization server matching the given predicate, in
+	 * addition to those configured with {@link #authorizationServer(String)} and
+	 * {@link #authorizationServers(String...)}. Issuers only matched by the predicate are
+	 * not listed in the {@link OAuth2ProtectedResourceMetadata}.
+	 * @param trustedIssuer predicate tested against the {@code iss} claim of tokens
+	 * @return The {@link McpServerOAuth2Configurer} for further configuration
+	 * @see MultiIssuerJwtDecoder
+	 */
+	public McpServerOAuth2Configurer trustedIssuers(Predicate<String> trustedIssuer) {
+		Assert.notNull(trustedIssuer, "trustedIssuer cannot be null");
+		this.trustedIssuer = trustedIssuer;
+		return this;
+	}
+
 	public McpServerOAuth2Configurer resourceName(String resourceName) {
 		this.resourceName = resourceName;
 		return this;
@@ -86,6 +168,99 @@ public class McpServerOAuth2Configurer extends AbstractHttpConfigurer<McpServerO
 		return this;
 	}
 
+	/**
+	 * Convert decoded {@link Jwt}s into {@link AbstractAuthenticationToken}s. Defaults to
+	 * the {@link JwtAuthenticationConverter} bean if there is one, and to a
+	 * {@link CachingJwtAuthenticationConverter} otherwise, which shares authority
+	 * collections across requests with the same scopes.
+	 * @param jwtAuthenticationConverter the converter
+	 * @return The {@link McpServerOAuth2Configurer} for further configuration
+	 */
+	public McpServerOAuth2Configurer jwtAuthenticationConverter(
+			Converter<Jwt, ? extends AbstractAuthenticationToken> jwtAuthenticationConverter) {
+		Assert.notNull(jwtAuthenticationConverter, "jwtAuthenticationConverter cannot be null");
+		this.jwtAuthenticationConverter = jwtAuthenticationConverter;
+		return this;
+	}
+
+	/**
+	 * Use opaque tokens instead of JWTs, validated through token introspection. Unless
+	 * the introspector is already a {@link CachingOpaqueTokenIntrospector}, it is wrapped
+	 * in one with default settings, so that each token is introspected once and reused
+	 * until the cache entry or the token expires.
+	 * <p>
+	 * When {@link #validateAudienceClaim(boolean)} is set, the {@code aud} attribute of
+	 * the introspection result must contain the resource identifier of this server.
+	 * @param opaqueTokenIntrospector the introspector used to validate tokens
+	 * @return The {@link McpServerOAuth2Configurer} for further configuration
+	 */
+	public McpServerOAuth2Configurer opaqueToken(OpaqueTokenIntrospector opaqueTokenIntrospector) {
+		Assert.notNull(opaqueTokenIntrospector, "opaqueTokenIntrospector cannot be null");
+		this.opaqueTokenIntrospector = opaqueTokenIntrospector;
+		return this;
+	}
+
+	/**
+	 * Reject JWTs listed in the given {@link RevocationDenyList}, by {@code jti} or
+	 * {@code sub} claim, even before they expire. The deny-list is typically kept up to
+	 * date by a {@link RevocationListSynchronizer} bean. Defaults to the
+	 * {@link RevocationDenyList} bean, if there is one.
+	 * @param revocationDenyList the deny-list of revoked tokens
+	 * @return The {@link McpServerOAuth2Configurer} for further configuration
+	 * @see RevocationCheckingJwtDecoder
+	 */
+	public McpServerOAuth2Configurer tokenRevocation(RevocationDenyList revocationDenyList) {
+		Assert.notNull(revocationDenyList, "revocationDenyList cannot be null");
+		this.revocationDenyList = revocationDenyList;
+		return this;
+	}
+
+	/**
+	 * Accept DPoP sender-constrained access tokens, as described in RFC 9449. Tokens sent
+	 * with the {@code DPoP} scheme must come with a valid proof, signed by the key bound
+	 * to the token, and tokens bound to a key may not be sent as plain bearer tokens.
+	 * Unauthenticated requests get a {@code DPoP} challenge in addition to the
+	 * {@code Bearer} challenge. Used proofs are tracked in the
+	 * {@link DPoPProofReplayCache} bean if there is one, and in a default cache
+	 * otherwise. Defaults to {@code false}.
+	 * @param dpop whether to accept DPoP-bound access tokens
+	 * @return The {@link McpServerOAuth2Configurer} for further configuration
+	 * @see DPoPTokenBindingFilter
+	 */
+	public McpServerOAuth2Configurer dpop(boolean dpop) {
+		this.dpop = dpop;
+		return this;
+	}
+
+	/**
+	 * Close long-lived MCP streams, such as streamable HTTP responses, when the access
+	 * token that opened them expires, so that clients reconnect with a fresh token. All
+	 * streams are tracked by a single {@link McpStreamExpiryScheduler}, the bean if there
+	 * is one. Defaults to {@code false}.
+	 * @param closeStreamsOnTokenExpiry whether to close streams when their token expires
+	 * @return The {@link McpServerOAuth2Configurer} for further configuration
+	 * @see McpStreamExpiryFilter
+	 */
+	public McpServerOAuth2Configurer closeStreamsOnTokenExpiry(boolean closeStreamsOnTokenExpiry) {
+		this.closeStreamsOnTokenExpiry = closeStreamsOnTokenExpiry;
+		return this;
+	}
+
+	/**
+	 * Serve the {@link OAuth2ProtectedResourceMetadata} document from a cache. The
+	 * document is rendered once per host, and then served with a strong {@code ETag} and
+	 * a {@code Cache-Control: max-age} header. Conditional requests with a matching
+	 * {@code If-None-Match} header get a {@code 304 Not Modified} response.
+	 * @param maxAge the {@code max-age} advertised to clients
+	 * @return The {@link McpServerOAuth2Configurer} for further configuration
+	 * @see CachingProtectedResourceMetadataFilter
+	 */
+	public McpServerOAuth2Configurer cacheProtectedResourceMetadata(Duration maxAge) {
+		Assert.notNull(maxAge, "maxAge cannot be null");
+		this.protectedResourceMetadataMaxAge = maxAge;
+		return this;
+	}
+
 	/**
 	 * Enable binding a specific MCP Session to a given user/client identifier, as per
 	 * Security Best Practices. When a session is established with a client sending a
@@ -105,6 +280,39 @@ public class McpServerOAuth2Configurer extends AbstractHttpConfigurer<McpServerO
 		return this;
 	}
 
+	/**
+	 * Authorize MCP tool calls before they reach the MCP server. By default, the rules
+	 * are read from the {@code @PreAuthorize} annotations of {@code @McpTool} methods.
+	 * Unauthorized calls are rejected before the tool arguments are deserialized, and
+	 * decisions that only depend on the caller's authorities are cached.
+	 * @param toolAuthorizationCustomizer customizer for tool authorization configuration
+	 * @return The {@link McpServerOAuth2Configurer} for further configuration
+	 * @see ToolAuthorizationConfigurer
+	 */
+	public McpServerOAuth2Configurer toolAuthorization(
+			Customizer<ToolAuthorizationConfigurer> toolAuthorizationCustomizer) {
+		if (this.toolAuthorizationConfigurer == null) {
+			this.toolAuthorizationConfigurer = new ToolAuthorizationConfigurer();
+		}
+		toolAuthorizationCustomizer.customize(this.toolAuthorizationConfigurer);
+		return this;
+	}
+
+	/**
+	 * Require OAuth2 scopes to call the MCP tools matching {@code toolNamePattern}, for
+	 * example {@code requireToolScopes("admin-*", "mcp:admin")}. Patterns support simple
+	 * {@code *} wildcards. Callers whose token lacks a required scope get a {@code 403}
+	 * with an {@code insufficient_scope} error and the required scopes in the
+	 * {@code WWW-Authenticate} header, so that clients can step up their authorization.
+	 * @param toolNamePattern the tool name pattern
+	 * @param scopes the required scopes
+	 * @return The {@link McpServerOAuth2Configurer} for further configuration
+	 * @see ToolAuthorizationConfigurer#requireScopes(String, String...)
+	 */
+	public McpServerOAuth2Configurer requireToolScopes(String toolNamePattern, String... scopes) {
+		return toolAuthorization((toolAuthorization) -> toolAuthorization.requireScopes(toolNamePattern, scopes));
+	}
+
 	/**
 	 * Customize the underlying Spring Security OAuth2 Resource Server configuration,
 	 * through a {@link OAuth2ResourceServerConfigurer}.
@@ -123,38 +331,121 @@ public class McpServerOAuth2Configurer extends AbstractHttpConfigurer<McpServerO
 	public void init(HttpSecurity http) {
 		Assert.notNull(this.issuerUri, "authorizationServer cannot be null");
 		Assert.notNull(this.resourceIdentifier, "resourceIdentifier cannot be null");
-		var issuerUri = this.issuerUri;
+		var issuerUris = new LinkedHashSet<String>();
+		issuerUris.add(this.issuerUri);
+		issuerUris.addAll(this.additionalIssuerUris);
 
 		var entryPoint = new BearerResourceMetadataTokenAuthenticationEntryPoint(this.resourceIdentifier);
+		if (this.dpop) {
+			entryPoint.setDPoPAlgorithms(DPoPProofValidator.getSupportedAlgorithms());
+		}
 
 		http.oauth2ResourceServer(resourceServer -> {
-			resourceServer.jwt(jwt -> jwt.decoder(getJwtDecoder(issuerUri)));
+			if (this.opaqueTokenIntrospector != null) {
+				var introspector = getOpaqueTokenIntrospector(this.opaqueTokenIntrospector);
+				resourceServer.opaqueToken(opaqueToken -> opaqueToken.introspector(introspector));
+			}
+			else {
+				var jwtAuthenticationConverter = getJwtAuthenticationConverter(http);
+				var jwtDecoder = getJwtDecoder(http, issuerUris);
+				resourceServer.jwt(jwt -> jwt.decoder(jwtDecoder)
+					.jwtAuthenticationConverter(jwtAuthenticationConverter));
+			}
+			if (this.dpop) {
+				resourceServer.bearerTokenResolver(new DPoPBearerTokenResolver());
+			}
 			resourceServer.authenticationEntryPoint(entryPoint);
 			resourceServer.protectedResourceMetadata(protectedResource -> protectedResource
-				.protectedResourceMetadataCustomizer(getProtectedMetadataCustomizer(issuerUri)));
+				.protectedResourceMetadataCustomizer(getProtectedMetadataCustomizer(issuerUris)));
 			this.oauth2ResourceServerCustomizer.customize(resourceServer);
 		});
+		if (this.protectedResourceMetadataMaxAge != null) {
+			http.addFilterBefore(new CachingProtectedResourceMetadataFilter(this.protectedResourceMetadataMaxAge),
+					LogoutFilter.class);
+		}
+		if (this.dpop) {
+			var replayCache = SessionBindingConfigurer.getOptionalBean(http, DPoPProofReplayCache.class);
+			if (replayCache == null) {
+				replayCache = new DPoPProofReplayCache();
+			}
+			http.addFilterAfter(new DPoPTokenBindingFilter(new DPoPProofValidator(replayCache)),
+					BearerTokenAuthenticationFilter.class);
+		}
+		if (this.closeStreamsOnTokenExpiry) {
+			var scheduler = SessionBindingConfigurer.getOptionalBean(http, McpStreamExpiryScheduler.class);
+			if (scheduler == null) {
+				scheduler = new McpStreamExpiryScheduler();
+			}
+			http.addFilterAfter(new McpStreamExpiryFilter(scheduler), AuthorizationFilter.class);
+		}
 		if (this.sessionBindingConfigurer != null) {
 			this.sessionBindingConfigurer.init(http);
 		}
+		if (this.toolAuthorizationConfigurer != null) {
+			this.toolAuthorizationConfigurer.endpointPath(this.resourceIdentifier.getPath());
+			this.toolAuthorizationConfigurer.init(http);
+		}
+	}
+
+	private JwtDecoder getJwtDecoder(HttpSecurity http, Set<String> issuerUris) {
+		JwtDecoder rawDecoder;
+		if (this.jwtDecoder != null) {
+			rawDecoder = this.jwtDecoder;
+		}
+		else if (issuerUris.size() == 1 && this.trustedIssuer == null) {
+			rawDecoder = NimbusJwtDecoder.withIssuerLocation(issuerUris.iterator().next()).build();
+		}
+		else {
+			Predicate<String> trustedIssuer = issuerUris::contains;
+			if (this.trustedIssuer != null) {
+				trustedIssuer = trustedIssuer.or(this.trustedIssuer);
+			}
+			rawDecoder = new MultiIssuerJwtDecoder(trustedIssuer);
+		}
+
+		var jwtDecoder = rawDecoder;
+		if (this.validateAudienceClaim) {
+			jwtDecoder = new AudienceValidationJwtDecoder(jwtDecoder, this.resourceIdentifier);
+		}
+
+		var revocationDenyList = (this.revocationDenyList != null) ? this.revocationDenyList
+				: SessionBindingConfigurer.getOptionalBean(http, RevocationDenyList.class);
+		if (revocationDenyList != null) {
+			jwtDecoder = new RevocationCheckingJwtDecoder(jwtDecoder, revocationDenyList);
+		}
+
+		return jwtDecoder;
+	}
+
+	private Converter<Jwt, ? extends AbstractAuthenticationToken> getJwtAuthenticationConverter(HttpSecurity http) {
+		if (this.jwtAuthenticationConverter != null) {
+			return this.jwtAuthenticationConverter;
+		}
+		var jwtAuthenticationConverter = SessionBindingConfigurer.getOptionalBean(http,
+				JwtAuthenticationConverter.class);
+		return jwtAuthenticationConverter != null ? jwtAuthenticationConverter
+				: new CachingJwtAuthenticationConverter();
 	}
 
-	private JwtDecoder getJwtDecoder(String issuerUri) {
-		var rawDecoder = this.jwtDecoder != null ? this.jwtDecoder
-				: NimbusJwtDecoder.withIssuerLocation(issuerUri).build();
+	private OpaqueTokenIntrospector getOpaqueTokenIntrospector(OpaqueTokenIntrospector rawIntrospector) {
+		OpaqueTokenIntrospector introspector = (rawIntrospector instanceof CachingOpaqueTokenIntrospector)
+				? rawIntrospector : new CachingOpaqueTokenIntrospector(rawIntrospector);
 
 		if (this.validateAudienceClaim) {
-			return new AudienceValidationJwtDecoder(rawDecoder, this.resourceIdentifier);
+			return new AudienceValidationOpaqueTokenIntrospector(introspector, this.resourceIdentifier);
 		}
 
-		return rawDecoder;
+		return introspector;
 	}
 
-	private Consumer<OAuth2ProtectedResourceMetadata.Builder> getProtectedMetadataCustomizer(String issuerUri) {
+	private Consumer<OAuth2ProtectedResourceMetadata.Builder> getProtectedMetadataCustomizer(Set<String> issuerUris) {
 		if (this.customizer != null) {
 			return this.customizer;
 		}
-		return (protectedMetadata) -> protectedMetadata.authorizationServer(issuerUri).resourceName(this.resourceName);
+		return (protectedMetadata) -> {
+			issuerUris.forEach(protectedMetadata::authorizationServer);
+			protectedMetadata.resourceName(this.resourceName);
+		};
 	}
 
 	public static McpServerOAuth2Configurer mcpServerOAuth2() {
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.config;
+
+import java.util.function.Consumer;
+
+import org.jspecify.annotations.Nullable;
+import org.springaicommunity.mcp.security.server.oauth2.authentication.ServerBearerResourceMetadataTokenAuthenticationEntryPoint;
+import org.springaicommunity.mcp.security.server.oauth2.jwt.ReactiveAudienceValidationJwtDecoder;
+import org.springaicommunity.mcp.security.server.oauth2.metadata.ResourceIdentifier;
+import org.springaicommunity.mcp.security.server.oauth2.metadata.ServerProtectedResourceMetadataWebFilter;
+
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.OAuth2ProtectedResourceMetadata;
+import org.springframework.util.Assert;
+
+/**
+ * Reactive counterpart of {@link McpServerOAuth2Configurer}, for MCP servers running on
+ * WebFlux. {@link ServerHttpSecurity} has no configurer mechanism, so this is a
+ * {@link Customizer} to apply to the {@link ServerHttpSecurity} before building the
+ * {@code SecurityWebFilterChain}:
+ *
+ * <pre>
+ * mcpServerReactiveOAuth2().authorizationServer(issuerUri).customize(http);
+ * return http.build();
+ * </pre>
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class McpServerReactiveOAuth2Configurer implements Customizer<ServerHttpSecurity> {
+
+	private @Nullable String issuerUri;
+
+	private String resourceName = "Spring MCP Resource Server";
+
+	private @Nullable Consumer<OAuth2ProtectedResourceMetadata.Builder> customizer;
+
+	private ResourceIdentifier resourceIdentifier = new ResourceIdentifier("/mcp");
+
+	private boolean validateAudienceClaim = false;
+
+	private Customizer<ServerHttpSecurity.OAuth2ResourceServerSpec> oauth2ResourceServerCustomizer = Customizer
+		.withDefaults();
+
+	private @Nullable ReactiveJwtDecoder jwtDecoder;
+
+	public McpServerReactiveOAuth2Configurer authorizationServer(String issuerUri) {
+		Assert.hasText(issuerUri, "issuerUri cannot be empty");
+		this.issuerUri = issuerUri;
+		return this;
+	}
+
+	public McpServerReactiveOAuth2Configurer resourceName(String resourceName) {
+		this.resourceName = resourceName;
+		return this;
+	}
+
+	public McpServerReactiveOAuth2Configurer resourcePath(String resourceIdentifier) {
+		this.resourceIdentifier = new ResourceIdentifier(resourceIdentifier);
+		return this;
+	}
+
+	public McpServerReactiveOAuth2Configurer protectedResourceMetadataCustomizer(
+			Consumer<OAuth2ProtectedResourceMetadata.Builder> customizer) {
+		Assert.notNull(customizer, "customizer cannot be null");
+		this.customizer = customizer;
+		return this;
+	}
+
+	public McpServerReactiveOAuth2Configurer validateAudienceClaim(boolean validateAudienceClaim) {
+		this.validateAudienceClaim = validateAudienceClaim;
+		return this;
+	}
+
+	public McpServerReactiveOAuth2Configurer jwtDecoder(ReactiveJwtDecoder jwtDecoder) {
+		Assert.notNull(jwtDecoder, "jwtDecoder cannot be null");
+		this.jwtDecoder = jwtDecoder;
+		return this;
+	}
+
+	/**
+	 * Customize the underlying Spring Security OAuth2 Resource Server configuration,
+	 * through a {@link ServerHttpSecurity.OAuth2ResourceServerSpec}.
+	 * @param oauth2ResourceServerCustomizer a customizer of OAuth2 Resource Server.
+	 * Defaults to a no-op {@link Customizer#withDefaults()}.
+	 * @return The {@link McpServerReactiveOAuth2Configurer} for further configuration.
+	 */
+	public McpServerReactiveOAuth2Configurer oauth2ResourceServer(
+			Customizer<ServerHttpSecurity.OAuth2ResourceServerSpec> oauth2ResourceServerCustomizer) {
+		Assert.notNull(oauth2ResourceServerCustomizer, "oauth2ResourceServerCustomizer cannot be null");
+		this.oauth2ResourceServerCustomizer = oauth2ResourceServerCustomizer;
+		return this;
+	}
+
+	@Override
+	public void customize(ServerHttpSecurity http) {
+		Assert.notNull(this.issuerUri, "authorizationServer cannot be null");
+		var issuerUri = this.issuerUri;
+
+		var entryPoint = new ServerBearerResourceMetadataTokenAuthenticationEntryPoint(this.resourceIdentifier);
+
+		http.oauth2ResourceServer(resourceServer -> {
+			resourceServer.jwt(jwt -> jwt.jwtDecoder(getJwtDecoder(issuerUri)));
+			resourceServer.authenticationEntryPoint(entryPoint);
+			this.oauth2ResourceServerCustomizer.customize(resourceServer);
+		});
+		http.addFilterBefore(
+				new ServerProtectedResourceMetadataWebFilter(this.resourceIdentifier,
+						getProtectedMetadataCustomizer(issuerUri)),
+				SecurityWebFiltersOrder.AUTHENTICATION);
+	}
+
+	private ReactiveJwtDecoder getJwtDecoder(String issuerUri) {
+		var rawDecoder = this.jwtDecoder != null ? this.jwtDecoder
+				: NimbusReactiveJwtDecoder.withIssuerLocation(issuerUri).build();
+
+		if (this.validateAudienceClaim) {
+			return new ReactiveAudienceValidationJwtDecoder(rawDecoder, this.resourceIdentifier);
+		}
+
+		return rawDecoder;
+	}
+
+	private Consumer<OAuth2ProtectedResourceMetadata.Builder> getProtectedMetadataCustomizer(String issuerUri) {
+		if (this.customizer != null) {
+			return this.customizer;
+		}
+		return (protectedMetadata) -> protectedMetadata.authorizationServer(issuerUri).resourceName(this.resourceName);
+	}
+
+	public static McpServerReactiveOAuth2Configurer mcpServerReactiveOAuth2() {
+		return new McpServerReactiveOAuth2Configurer();
+	}
+
+}
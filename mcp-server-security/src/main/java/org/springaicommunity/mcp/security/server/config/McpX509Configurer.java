@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.config;
+
+import java.time.Duration;
+
+import org.jspecify.annotations.Nullable;
+import org.springaicommunity.mcp.security.server.x509.X509Identity;
+import org.springaicommunity.mcp.security.server.x509.X509PrincipalResolver;
+import org.springaicommunity.mcp.security.server.x509.authentication.X509CertificateAuthenticationProvider;
+import org.springaicommunity.mcp.security.server.x509.web.X509CertificateAuthenticationConverter;
+import org.springaicommunity.mcp.security.server.x509.web.X509CertificateAuthenticationFilter;
+
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.annotation.web.configurers.CsrfConfigurer;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.util.Assert;
+
+/**
+ * Authenticate MCP clients with the client certificate they present over mutual TLS.
+ * The certificate is mapped to an {@link X509Identity} by an
+ * {@link X509PrincipalResolver}, and the result is cached by certificate fingerprint.
+ * Requiring client certificates is the responsibility of the servlet container, for
+ * example with {@code server.ssl.client-auth=need} in Spring Boot.
+ *
+ * @author Daniel Garnier-Moiroux
+ * @see X509CertificateAuthenticationProvider
+ */
+public class McpX509Configurer extends AbstractHttpConfigurer<McpX509Configurer, HttpSecurity> {
+
+	private X509PrincipalResolver principalResolver = X509PrincipalResolver.subjectCommonName();
+
+	private @Nullable Duration cacheTimeToLive;
+
+	public @Nullable SessionBindingConfigurer sessionBindingConfigurer;
+
+	@Override
+	public void init(HttpSecurity http) {
+		var authenticationProvider = new X509CertificateAuthenticationProvider(this.principalResolver);
+		if (this.cacheTimeToLive != null) {
+			authenticationProvider.setTimeToLive(this.cacheTimeToLive);
+		}
+		http.authenticationProvider(postProcess(authenticationProvider));
+		registerCsrfOverride(http);
+		if (this.sessionBindingConfigurer != null) {
+			this.sessionBindingConfigurer.init(http);
+		}
+	}
+
+	@Override
+	public void configure(HttpSecurity http) {
+		var authManager = http.getSharedObject(AuthenticationManager.class);
+
+		var filter = new X509CertificateAuthenticationFilter(authManager,
+				postProcess(new X509CertificateAuthenticationConverter()));
+		http.addFilterBefore(postProcess(filter), BasicAuthenticationFilter.class);
+	}
+
+	/**
+	 * Map client certificates to the identity of the MCP client. Defaults to
+	 * {@link X509PrincipalResolver#subjectCommonName()}.
+	 * @param principalResolver the resolver
+	 * @return The {@link McpX509Configurer} for further configuration
+	 */
+	public McpX509Configurer principalResolver(X509PrincipalResolver principalResolver) {
+		Assert.notNull(principalResolver, "principalResolver cannot be null");
+		this.principalResolver = principalResolver;
+		return this;
+	}
+
+	/**
+	 * How long the identity resolved for a certificate is cached. Defaults to 5 minutes.
+	 * @param cacheTimeToLive the time-to-live of cached identities
+	 * @return The {@link McpX509Configurer} for further configuration
+	 */
+	public McpX509Configurer cacheTimeToLive(Duration cacheTimeToLive) {
+		Assert.notNull(cacheTimeToLive, "cacheTimeToLive cannot be null");
+		this.cacheTimeToLive = cacheTimeToLive;
+		return this;
+	}
+
+	/**
+	 * Enable binding a specific MCP Session to a given user/client identifier, as per
+	 * Security Best Practices. When a session is established with a client presenting a
+	 * certificate, the session is bound to the principal's name, by default the common
+	 * name of the certificate subject.
+	 * @param sessionBindingCustomizer customizer for session bindings configuration
+	 * @return The {@link McpX509Configurer} for further configuration
+	 * @see <a href=
+	 * "https://modelcontextprotocol.io/docs/tutorials/security/security_best_practices#mitigation-4">Security
+	 * best practices</a>
+	 */
+	public McpX509Configurer sessionBinding(Customizer<SessionBindingConfigurer> sessionBindingCustomizer) {
+		if (this.sessionBindingConfigurer == null) {
+			this.sessionBindingConfigurer = new SessionBindingConfigurer();
+		}
+		sessionBindingCustomizer.customize(this.sessionBindingConfigurer);
+		return this;
+	}
+
+	private void registerCsrfOverride(HttpSecurity http) {
+		var csrf = http.getConfigurer(CsrfConfigurer.class);
+		if (csrf != null) {
+			var authenticationConverter = new X509CertificateAuthenticationConverter();
+			csrf.ignoringRequestMatchers(req -> authenticationConverter.convert(req) != null);
+		}
+	}
+
+	public static McpX509Configurer mcpServerX509() {
+		return new McpX509Configurer();
+	}
+
+}
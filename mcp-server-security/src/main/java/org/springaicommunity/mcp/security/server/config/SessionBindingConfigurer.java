@@ -16,6 +16,7 @@
 
 package org.springaicommunity.mcp.security.server.config;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -23,6 +24,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.jspecify.annotations.Nullable;
 import org.springaicommunity.mcp.security.server.session.InMemoryMcpSessionBindingRepository;
 import org.springaicommunity.mcp.security.server.session.McpSessionBindingRepository;
+import org.springaicommunity.mcp.security.server.session.McpSessionConcurrencyLimiter;
 import org.springaicommunity.mcp.security.server.session.McpSessionFilter;
 
 import org.springframework.beans.factory.BeanFactoryUtils;
@@ -52,12 +54,17 @@ public final class SessionBindingConfigurer extends AbstractHttpConfigurer<Sessi
 
 	public @Nullable Function<HttpServletRequest, String> sessionBindingIdResolver;
 
+	public @Nullable McpSessionConcurrencyLimiter concurrencyLimiter;
+
 	@Override
 	public void init(HttpSecurity http) {
 		McpSessionFilter filter = new McpSessionFilter(getSessionBindingRepository(http));
 		if (this.sessionBindingIdResolver != null) {
 			filter.setSessionBindingIdResolver(this.sessionBindingIdResolver);
 		}
+		if (this.concurrencyLimiter != null) {
+			filter.setConcurrencyLimiter(this.concurrencyLimiter);
+		}
 		http.addFilterAfter(filter, AuthorizationFilter.class);
 	}
 
@@ -84,6 +91,31 @@ public final class SessionBindingConfigurer extends AbstractHttpConfigurer<Sessi
 		return this;
 	}
 
+	/**
+	 * Limit the number of requests processed concurrently for a single MCP session, so
+	 * that one session cannot starve the others. Over-limit requests are rejected with
+	 * {@code 429 Too Many Requests}.
+	 * @param maxConcurrentRequests the maximum number of concurrent requests per session
+	 * @return The {@link SessionBindingConfigurer} for further configuration.
+	 */
+	public SessionBindingConfigurer maxConcurrentRequestsPerSession(int maxConcurrentRequests) {
+		return maxConcurrentRequestsPerSession(maxConcurrentRequests, Duration.ZERO);
+	}
+
+	/**
+	 * Limit the number of requests processed concurrently for a single MCP session, so
+	 * that one session cannot starve the others. Over-limit requests are queued, in
+	 * order, for at most {@code maxWait}, and then rejected with
+	 * {@code 429 Too Many Requests}.
+	 * @param maxConcurrentRequests the maximum number of concurrent requests per session
+	 * @param maxWait how long over-limit requests wait before being rejected
+	 * @return The {@link SessionBindingConfigurer} for further configuration.
+	 */
+	public SessionBindingConfigurer maxConcurrentRequestsPerSession(int maxConcurrentRequests, Duration maxWait) {
+		this.concurrencyLimiter = new McpSessionConcurrencyLimiter(maxConcurrentRequests, maxWait);
+		return this;
+	}
+
 	private McpSessionBindingRepository getSessionBindingRepository(HttpSecurity http) {
 		if (this.sessionBindingRepository != null) {
 			http.setSharedObject(McpSessionBindingRepository.class, this.sessionBindingRepository);
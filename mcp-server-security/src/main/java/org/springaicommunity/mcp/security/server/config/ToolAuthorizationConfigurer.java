@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.config;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springaicommunity.mcp.security.server.tool.McpToolAuthorizationFilter;
+import org.springaicommunity.mcp.security.server.tool.McpToolAuthorizationManager;
+import org.springaicommunity.mcp.security.server.tool.McpToolListFilter;
+import org.springaicommunity.mcp.security.server.tool.McpToolScopeRequirements;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.util.Assert;
+
+/**
+ * An {@link AbstractHttpConfigurer} for authorizing MCP tool calls at the HTTP layer.
+ * <p>
+ * This configurer registers an {@link McpToolAuthorizationFilter}, which rejects
+ * unauthorized {@code tools/call} requests before the MCP server deserializes the tool
+ * arguments. By default, the authorization rules are read from the
+ * {@code @PreAuthorize} annotations of {@code @McpTool} methods, when they only depend on
+ * the caller's authorities; other rules are left to method security. Rules can also be
+ * declared explicitly with {@link #tool(String, String)}. OAuth2 scopes can be required
+ * per tool name pattern with {@link #requireScopes(String, String...)}.
+ *
+ * @author Daniel Garnier-Moiroux
+ * @see McpToolAuthorizationManager
+ */
+public final class ToolAuthorizationConfigurer
+		extends AbstractHttpConfigurer<ToolAuthorizationConfigurer, HttpSecurity> {
+
+	private final Map<String, String> toolExpressions = new LinkedHashMap<>();
+
+	private final Map<String, Set<String>> toolScopes = new LinkedHashMap<>();
+
+	private boolean annotatedTools = true;
+
+	private boolean filterToolsList = false;
+
+	private String endpointPath = "/mcp";
+
+	@Override
+	public void init(HttpSecurity http) {
+		Map<String, String> expressions = new LinkedHashMap<>();
+		if (this.annotatedTools) {
+			var context = http.getSharedObject(ApplicationContext.class);
+			if (context != null) {
+				expressions.putAll(McpToolAuthorizationManager.findAnnotatedToolExpressions(context));
+			}
+		}
+		expressions.putAll(this.toolExpressions);
+		var authorizationManager = new McpToolAuthorizationManager(expressions);
+		var scopeRequirements = new McpToolScopeRequirements(this.toolScopes);
+		var filter = new McpToolAuthorizationFilter(authorizationManager, scopeRequirements, this.endpointPath);
+		if (this.filterToolsList) {
+			filter.setToolListFilter(new McpToolListFilter(authorizationManager, scopeRequirements));
+		}
+		http.addFilterAfter(filter, AuthorizationFilter.class);
+	}
+
+	/**
+	 * Require the given Spring Security expression to be satisfied to call the tool, for
+	 * example {@code hasAuthority('SCOPE_weather.read')}. Overrides the expression from
+	 * the {@code @PreAuthorize} annotation of the tool, if any. Only expressions
+	 * depending on the authorities of the caller are supported, see
+	 * {@link McpToolAuthorizationManager}.
+	 * @param toolName the name of the tool
+	 * @param expression the Spring Security expression
+	 * @return The {@link ToolAuthorizationConfigurer} for further configuration.
+	 */
+	public ToolAuthorizationConfigurer tool(String toolName, String expression) {
+		Assert.hasText(toolName, "toolName cannot be empty");
+		Assert.hasText(expression, "expression cannot be empty");
+		this.toolExpressions.put(toolName, expression);
+		return this;
+	}
+
+	/**
+	 * Require OAuth2 scopes to call the tools matching {@code toolNamePattern}, for
+	 * example {@code requireScopes("admin-*", "mcp:admin")}. Patterns support simple
+	 * {@code *} wildcards; when several patterns match a tool, all their scopes are
+	 * required. Authenticated callers missing a scope get a {@code 403} with an
+	 * {@code insufficient_scope} error listing the required scopes.
+	 * @param toolNamePattern the tool name pattern
+	 * @param scopes the required scopes
+	 * @return The {@link ToolAuthorizationConfigurer} for further configuration.
+	 */
+	public ToolAuthorizationConfigurer requireScopes(String toolNamePattern, String... scopes) {
+		Assert.hasText(toolNamePattern, "toolNamePattern cannot be empty");
+		Assert.notEmpty(scopes, "scopes cannot be empty");
+		Assert.noNullElements(scopes, "scopes cannot contain null elements");
+		this.toolScopes.computeIfAbsent(toolNamePattern, (pattern) -> new LinkedHashSet<>())
+			.addAll(Arrays.asList(scopes));
+		return this;
+	}
+
+	/**
+	 * Whether to read authorization rules from {@code @PreAuthorize} annotations on
+	 * {@code @McpTool} methods of the application's beans. Defaults to {@code true}.
+	 * @param annotatedTools whether to scan annotated tools
+	 * @return The {@link ToolAuthorizationConfigurer} for further configuration.
+	 */
+	public ToolAuthorizationConfigurer annotatedTools(boolean annotatedTools) {
+		this.annotatedTools = annotatedTools;
+		return this;
+	}
+
+	/**
+	 * Whether to hide, in {@code tools/list} results, the tools that the caller may not
+	 * call. Filtered lists are cached per caller authorities and tool catalog, so that
+	 * large catalogs do not cost more to list. Defaults to {@code false}.
+	 * @param filterToolsList whether to filter {@code tools/list} results
+	 * @return The {@link ToolAuthorizationConfigurer} for further configuration.
+	 * @see McpToolListFilter
+	 */
+	public ToolAuthorizationConfigurer filterToolsList(boolean filterToolsList) {
+		this.filterToolsList = filterToolsList;
+		return this;
+	}
+
+	void endpointPath(String endpointPath) {
+		this.endpointPath = endpointPath;
+	}
+
+}
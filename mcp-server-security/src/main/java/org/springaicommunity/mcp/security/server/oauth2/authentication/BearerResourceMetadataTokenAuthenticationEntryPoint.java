@@ -16,11 +16,15 @@
 package org.springaicommunity.mcp.security.server.oauth2.authentication;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+import org.springaicommunity.mcp.security.common.cache.BoundedCache;
 import org.springaicommunity.mcp.security.server.oauth2.metadata.ResourceIdentifier;
 
 import org.springframework.http.HttpHeaders;
@@ -29,12 +33,19 @@ import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthen
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.util.UrlUtils;
 import org.springframework.util.Assert;
-import org.springframework.web.util.UriComponentsBuilder;
 
 /**
  * Entrypoint wrapping a {@link BearerTokenAuthenticationEntryPoint} and ensuring the
  * {@code resource_metadata} contains the path of the request. Should be removed after PR
  * #18542 is released.
+ * <p>
+ * The {@code resource_metadata} URL only depends on the scheme, host, port and context
+ * path of the request, so it is computed once per origin and memoized. The number of
+ * memoized URLs is bounded, since the host is provided by the client, see
+ * {@link BoundedCache}.
+ * <p>
+ * When DPoP algorithms are set, a {@code DPoP} challenge advertising them is added next
+ * to the {@code Bearer} challenge, as described in RFC 9449, section 7.1.
  *
  * @see <a href=
  * "https://github.com/spring-projects/spring-security/pull/18542">spring-security/pull/18542</a>
@@ -43,10 +54,21 @@ import org.springframework.web.util.UriComponentsBuilder;
  */
 public final class BearerResourceMetadataTokenAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
+	private static final Pattern RESOURCE_METADATA_PATTERN = Pattern.compile("resource_metadata=\".+\"");
+
+	private static final String WELL_KNOWN_PATH_SEGMENT = "/.well-known/oauth-protected-resource";
+
+	private static final int MAX_CACHED_URLS = 256;
+
+	private final BoundedCache<String, String> resourceMetadataUrls = new BoundedCache<>(MAX_CACHED_URLS,
+			(url) -> false);
+
 	private final AuthenticationEntryPoint delegate = new BearerTokenAuthenticationEntryPoint();
 
 	private final ResourceIdentifier resourceIdentifier;
 
+	private @Nullable String dpopChallenge;
+
 	public BearerResourceMetadataTokenAuthenticationEntryPoint(ResourceIdentifier resourceIdentifier) {
 		Assert.notNull(resourceIdentifier, "resourceIdentifier cannot be null");
 		this.resourceIdentifier = resourceIdentifier;
@@ -58,29 +80,53 @@ public final class BearerResourceMetadataTokenAuthenticationEntryPoint implement
 		this.delegate.commence(request, response, authException);
 
 		String wwwAuthenticateHeader = response.getHeader(HttpHeaders.WWW_AUTHENTICATE);
+		String resourceMetadataUrl = getResourceMetadataUrl(request);
 		if ("bearer".equalsIgnoreCase(wwwAuthenticateHeader)) {
-			wwwAuthenticateHeader += " resource_metadata="
-					+ buildResourceMetadataPath(request, this.resourceIdentifier);
-		}
-		else if (Pattern.compile("resource_metadata=\".+\"").matcher(wwwAuthenticateHeader).find()) {
-			// Hotfix until Spring Security 7 has context paths
-			wwwAuthenticateHeader = wwwAuthenticateHeader.replaceAll("resource_metadata=\".+\"",
-					"resource_metadata=" + buildResourceMetadataPath(request, this.resourceIdentifier));
+			wwwAuthenticateHeader += " resource_metadata=" + resourceMetadataUrl;
 		}
 		else {
-			wwwAuthenticateHeader += ", " + buildResourceMetadataPath(request, this.resourceIdentifier);
+			Matcher matcher = RESOURCE_METADATA_PATTERN.matcher(wwwAuthenticateHeader);
+			if (matcher.find()) {
+				// Hotfix until Spring Security 7 has context paths
+				wwwAuthenticateHeader = matcher
+					.replaceAll(Matcher.quoteReplacement("resource_metadata=" + resourceMetadataUrl));
+			}
+			else {
+				wwwAuthenticateHeader += ", " + resourceMetadataUrl;
+			}
 		}
 
 		response.setHeader(HttpHeaders.WWW_AUTHENTICATE, wwwAuthenticateHeader);
+		if (this.dpopChallenge != null) {
+			response.addHeader(HttpHeaders.WWW_AUTHENTICATE, this.dpopChallenge);
+		}
 	}
 
-	private String buildResourceMetadataPath(HttpServletRequest request, ResourceIdentifier resourceIdentifier) {
-		return UriComponentsBuilder.fromUriString(UrlUtils.buildFullRequestUrl(request))
-			.replacePath(
-					request.getContextPath() + "/.well-known/oauth-protected-resource" + resourceIdentifier.getPath())
-			.replaceQuery(null)
-			.fragment(null)
-			.toUriString();
+	/**
+	 * Set the signature algorithms accepted for DPoP proofs. When not empty, a
+	 * {@code DPoP} challenge listing them is sent in addition to the {@code Bearer}
+	 * challenge.
+	 * @param algorithms the names of the DPoP proof algorithms
+	 */
+	public void setDPoPAlgorithms(Collection<String> algorithms) {
+		Assert.notNull(algorithms, "algorithms cannot be null");
+		this.dpopChallenge = algorithms.isEmpty() ? null : "DPoP algs=\"" + String.join(" ", algorithms) + "\"";
+	}
+
+	private String getResourceMetadataUrl(HttpServletRequest request) {
+		String scheme = request.getScheme();
+		String serverName = request.getServerName();
+		int serverPort = request.getServerPort();
+		String contextPath = request.getContextPath();
+		String key = scheme + "://" + serverName + ":" + serverPort + contextPath;
+		String resourceMetadataUrl = this.resourceMetadataUrls.get(key);
+		if (resourceMetadataUrl != null) {
+			return resourceMetadataUrl;
+		}
+		resourceMetadataUrl = UrlUtils.buildFullRequestUrl(scheme, serverName, serverPort,
+				contextPath + WELL_KNOWN_PATH_SEGMENT + this.resourceIdentifier.getPath(), null);
+		this.resourceMetadataUrls.putIfAbsent(key, resourceMetadataUrl);
+		return resourceMetadataUrl;
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.oauth2.authentication;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.jspecify.annotations.Nullable;
+import org.springaicommunity.mcp.security.server.oauth2.metadata.ResourceIdentifier;
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.server.resource.BearerTokenError;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Reactive counterpart of {@link BearerResourceMetadataTokenAuthenticationEntryPoint}.
+ * Responds with a {@code WWW-Authenticate: Bearer} challenge, as Spring Security's
+ * {@code BearerTokenServerAuthenticationEntryPoint} does, and adds a
+ * {@code resource_metadata} parameter pointing to the protected resource metadata of the
+ * MCP server. Like the servlet entry point, the {@code resource_metadata} value is not
+ * quoted.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public final class ServerBearerResourceMetadataTokenAuthenticationEntryPoint implements ServerAuthenticationEntryPoint {
+
+	private static final String WELL_KNOWN_PATH_SEGMENT = "/.well-known/oauth-protected-resource";
+
+	private final ResourceIdentifier resourceIdentifier;
+
+	public ServerBearerResourceMetadataTokenAuthenticationEntryPoint(ResourceIdentifier resourceIdentifier) {
+		Assert.notNull(resourceIdentifier, "resourceIdentifier cannot be null");
+		this.resourceIdentifier = resourceIdentifier;
+	}
+
+	@Override
+	public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException authException) {
+		Map<String, String> parameters = new LinkedHashMap<>();
+		HttpStatus status = HttpStatus.UNAUTHORIZED;
+		if (authException instanceof OAuth2AuthenticationException oauth2Exception) {
+			var error = oauth2Exception.getError();
+			parameters.put("error", error.getErrorCode());
+			putIfHasText(parameters, "error_description", error.getDescription());
+			putIfHasText(parameters, "error_uri", error.getUri());
+			if (error instanceof BearerTokenError bearerTokenError) {
+				putIfHasText(parameters, "scope", bearerTokenError.getScope());
+				status = bearerTokenError.getHttpStatus();
+			}
+		}
+		var wwwAuthenticate = parameters.entrySet()
+			.stream()
+			.map((parameter) -> parameter.getKey() + "=\"" + parameter.getValue() + "\"")
+			.collect(Collectors.joining(", ", "Bearer ", parameters.isEmpty() ? "" : ", "));
+		// Unquoted, as in BearerResourceMetadataTokenAuthenticationEntryPoint
+		wwwAuthenticate += "resource_metadata=" + getResourceMetadataUrl(exchange.getRequest());
+
+		var response = exchange.getResponse();
+		response.setStatusCode(status);
+		response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, wwwAuthenticate);
+		return response.setComplete();
+	}
+
+	private static void putIfHasText(Map<String, String> parameters, String name, @Nullable String value) {
+		if (value != null && StringUtils.hasText(value)) {
+			parameters.put(name, value);
+		}
+	}
+
+	private String getResourceMetadataUrl(ServerHttpRequest request) {
+		return UriComponentsBuilder.fromUri(request.getURI())
+			.replacePath(request.getPath().contextPath().value() + WELL_KNOWN_PATH_SEGMENT
+					+ this.resourceIdentifier.getPath())
+			.replaceQuery(null)
+			.fragment(null)
+			.toUriString();
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@NullMarked
+package org.springaicommunity.mcp.security.server.oauth2.dpop;
+
+import java.util.regex.Pattern;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.server.resource.BearerTokenErrors;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.util.Assert;
+
+/**
+ * {@link BearerTokenResolver} that resolves access tokens sent with the {@code DPoP}
+ * authorization scheme, as described in RFC 9449, section 7.1, and delegates to another
+ * resolver for every other request. The proof itself is checked by the
+ * {@link DPoPTokenBindingFilter}, once the access token is authenticated.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public final class DPoPBearerTokenResolver implements BearerTokenResolver {
+
+	private static final String DPOP_SCHEME = "DPoP ";
+
+	private static final Pattern ACCESS_TOKEN_PATTERN = Pattern.compile("^[a-zA-Z0-9-._~+/]+=*$");
+
+	private final BearerTokenResolver delegate;
+
+	public DPoPBearerTokenResolver() {
+		this(new DefaultBearerTokenResolver());
+	}
+
+	public DPoPBearerTokenResolver(BearerTokenResolver delegate) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		this.delegate = delegate;
+	}
+
+	@Override
+	public @Nullable String resolve(HttpServletRequest request) {
+		var authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (authorization == null || !isDPoPScheme(authorization)) {
+			return this.delegate.resolve(request);
+		}
+		var token = authorization.substring(DPOP_SCHEME.length()).trim();
+		if (!ACCESS_TOKEN_PATTERN.matcher(token).matches()) {
+			throw new OAuth2AuthenticationException(BearerTokenErrors.invalidToken("DPoP access token is malformed"));
+		}
+		return token;
+	}
+
+	static boolean isDPoPScheme(@Nullable String authorization) {
+		return authorization != null && authorization.regionMatches(true, 0, DPOP_SCHEME, 0, DPOP_SCHEME.length());
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.oauth2.dpop;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * In-memory replay cache for the {@code jti} of DPoP proofs, designed for high request
+ * rates.
+ * <p>
+ * Proofs are only accepted for a limited time after they were issued, so entries are
+ * grouped in time buckets by the {@code iat} of their proof: a replayed proof carries
+ * the same {@code iat}, and therefore lands in the same bucket. Buckets live in a ring,
+ * and a bucket that falls out of the acceptance window is dropped as a whole when its
+ * slot is reused, instead of expiring entries one by one. Each bucket is split into
+ * shards, so that concurrent inserts do not contend on a single map. Checking and
+ * recording a {@code jti} is a single atomic {@code O(1)} operation.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public final class DPoPProofReplayCache {
+
+	private static final Duration DEFAULT_WINDOW = Duration.ofMinutes(2);
+
+	private static final Duration DEFAULT_BUCKET_WIDTH = Duration.ofSeconds(10);
+
+	private final long bucketWidthMillis;
+
+	private final AtomicReferenceArray<Bucket> buckets;
+
+	private final int shardMask;
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Create a new instance, holding proofs for two minutes, in ten seconds buckets.
+	 */
+	public DPoPProofReplayCache() {
+		this(DEFAULT_WINDOW, DEFAULT_BUCKET_WIDTH, Runtime.getRuntime().availableProcessors() * 2);
+	}
+
+	/**
+	 * Create a new instance.
+	 * @param window how long proofs are remembered after they were issued; must be at
+	 * least as long as proofs are accepted
+	 * @param bucketWidth the expiry granularity
+	 * @param shards the number of shards per bucket, rounded up to a power of two
+	 */
+	public DPoPProofReplayCache(Duration window, Duration bucketWidth, int shards) {
+		Assert.notNull(window, "window cannot be null");
+		Assert.notNull(bucketWidth, "bucketWidth cannot be null");
+		Assert.isTrue(bucketWidth.toMillis() > 0, "bucketWidth must be positive");
+		Assert.isTrue(window.compareTo(bucketWidth) >= 0, "window must be longer than bucketWidth");
+		Assert.isTrue(shards > 0, "shards must be positive");
+		this.bucketWidthMillis = bucketWidth.toMillis();
+		// One extra bucket for the partially elapsed current bucket, and one for proofs
+		// issued slightly in the future
+		var bucketCount = (int) ((window.toMillis() + this.bucketWidthMillis - 1) / this.bucketWidthMillis) + 2;
+		this.buckets = new AtomicReferenceArray<>(bucketCount);
+		this.shardMask = Integer.highestOneBit((shards - 1) << 1 | 1) - 1;
+	}
+
+	/**
+	 * Record the {@code jti} of a proof, unless it was already recorded.
+	 * @param jti the {@code jti} claim of the proof
+	 * @param issuedAt the {@code iat} claim of the proof
+	 * @return {@code true} if the proof was not seen before, {@code false} if it is a
+	 * replay, or if it is too old or too far in the future to be tracked
+	 */
+	public boolean markUsed(String jti, Instant issuedAt) {
+		Assert.hasText(jti, "jti cannot be empty");
+		Assert.notNull(issuedAt, "issuedAt cannot be null");
+		var epoch = Math.floorDiv(issuedAt.toEpochMilli(), this.bucketWidthMillis);
+		var currentEpoch = Math.floorDiv(this.clock.millis(), this.bucketWidthMillis);
+		var bucketCount = this.buckets.length();
+		if (epoch <= currentEpoch - (bucketCount - 1) || epoch > currentEpoch + 1) {
+			return false;
+		}
+		var bucket = getBucket(epoch);
+		if (bucket == null) {
+			return false;
+		}
+		return bucket.shards[jti.hashCode() & this.shardMask].putIfAbsent(jti, Boolean.TRUE) == null;
+	}
+
+	/**
+	 * Return the live bucket for this epoch, replacing the expired bucket that occupies
+	 * its slot if needed.
+	 */
+	private Bucket getBucket(long epoch) {
+		var slot = (int) Math.floorMod(epoch, (long) this.buckets.length());
+		while (true) {
+			var bucket = this.buckets.get(slot);
+			if (bucket != null && bucket.epoch == epoch) {
+				return bucket;
+			}
+			if (bucket != null && bucket.epoch > epoch) {
+				// Slot already reused by a more recent bucket: this epoch has expired
+				return null;
+			}
+			var fresh = new Bucket(epoch, this.shardMask + 1);
+			if (this.buckets.compareAndSet(slot, bucket, fresh)) {
+				return fresh;
+			}
+		}
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private static final class Bucket {
+
+		private final long epoch;
+
+		private final Map<String, Boolean>[] shards;
+
+		@SuppressWarnings("unchecked")
+		private Bucket(long epoch, int shardCount) {
+			this.epoch = epoch;
+			this.shards = new Map[shardCount];
+			for (int i = 0; i < shardCount; i++) {
+				this.shards[i] = new ConcurrentHashMap<>();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@NullMarked
+package org.springaicommunity.mcp.security.server.oauth2.dpop;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.SignedJWT;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Validates DPoP proofs, as described in RFC 9449, section 4.3. A proof must be a JWT of
+ * type {@code dpop+jwt}, signed with an asymmetric algorithm by the public key embedded
+ * in its {@code jwk} header. Its {@code htm} and {@code htu} claims must match the HTTP
+ * request, its {@code ath} claim must be the hash of the access token, it must have been
+ * issued recently, and its {@code jti} must not have been used before, which is tracked
+ * in a {@link DPoPProofReplayCache}.
+ * <p>
+ * Server-provided nonces are not supported.
+ *
+ * @author Daniel Garnier-Moiroux
+ * @see <a href="https://www.rfc-editor.org/rfc/rfc9449.html#section-4.3">RFC 9449</a>
+ */
+public final class DPoPProofValidator {
+
+	static final String INVALID_DPOP_PROOF = "invalid_dpop_proof";
+
+	private static final JOSEObjectType DPOP_JWT_TYPE = new JOSEObjectType("dpop+jwt");
+
+	private static final List<JWSAlgorithm> SUPPORTED_ALGORITHMS = List.of(JWSAlgorithm.ES256, JWSAlgorithm.ES384,
+			JWSAlgorithm.ES512, JWSAlgorithm.RS256, JWSAlgorithm.RS384, JWSAlgorithm.RS512, JWSAlgorithm.PS256,
+			JWSAlgorithm.PS384, JWSAlgorithm.PS512);
+
+	private final DPoPProofReplayCache replayCache;
+
+	private Duration maxAge = Duration.ofSeconds(60);
+
+	private Duration clockSkew = Duration.ofSeconds(5);
+
+	private Clock clock = Clock.systemUTC();
+
+	public DPoPProofValidator(DPoPProofReplayCache replayCache) {
+		Assert.notNull(replayCache, "replayCache cannot be null");
+		this.replayCache = replayCache;
+	}
+
+	/**
+	 * The names of the signature algorithms accepted for DPoP proofs, to be advertised
+	 * in the {@code algs} parameter of {@code DPoP} challenges.
+	 * @return the algorithm names
+	 */
+	public static List<String> getSupportedAlgorithms() {
+		return SUPPORTED_ALGORITHMS.stream().map(JWSAlgorithm::getName).toList();
+	}
+
+	/**
+	 * Validate a DPoP proof.
+	 * @param proof the value of the {@code DPoP} header
+	 * @param method the HTTP method of the request
+	 * @param targetUri the URI of the request, without query or fragment
+	 * @param accessToken the access token sent with the proof
+	 * @return the base64url-encoded SHA-256 JWK thumbprint of the proof key, to be
+	 * compared with the {@code cnf.jkt} claim of the access token
+	 * @throws OAuth2AuthenticationException with an {@code invalid_dpop_proof} error if
+	 * the proof is not valid
+	 */
+	public String validate(String proof, String method, String targetUri, String accessToken) {
+		Assert.notNull(proof, "proof cannot be null");
+		Assert.hasText(method, "method cannot be empty");
+		Assert.hasText(targetUri, "targetUri cannot be empty");
+		Assert.hasText(accessToken, "accessToken cannot be empty");
+		try {
+			var jwt = SignedJWT.parse(proof);
+			var header = jwt.getHeader();
+			if (!DPOP_JWT_TYPE.equals(header.getType())) {
+				throw invalidProof("The DPoP proof must have type dpop+jwt");
+			}
+			if (!SUPPORTED_ALGORITHMS.contains(header.getAlgorithm())) {
+				throw invalidProof("The DPoP proof algorithm is not supported");
+			}
+			var jwk = header.getJWK();
+			if (jwk == null || jwk.isPrivate()) {
+				throw invalidProof("The DPoP proof must contain a public jwk header");
+			}
+			JWSVerifier verifier;
+			if (jwk instanceof RSAKey rsaKey) {
+				verifier = new RSASSAVerifier(rsaKey);
+			}
+			else if (jwk instanceof ECKey ecKey) {
+				verifier = new ECDSAVerifier(ecKey);
+			}
+			else {
+				throw invalidProof("The DPoP proof key type is not supported");
+			}
+			if (!jwt.verify(verifier)) {
+				throw invalidProof("The DPoP proof signature is invalid");
+			}
+
+			var claims = jwt.getJWTClaimsSet();
+			if (!method.equals(claims.getStringClaim("htm"))) {
+				throw invalidProof("The DPoP proof htm claim does not match the request method");
+			}
+			var htu = normalizeUri(claims.getStringClaim("htu"));
+			if (htu == null || !htu.equals(normalizeUri(targetUri))) {
+				throw invalidProof("The DPoP proof htu claim does not match the request URI");
+			}
+			var ath = claims.getStringClaim("ath");
+			if (ath == null || !MessageDigest.isEqual(ath.getBytes(StandardCharsets.US_ASCII),
+					hash(accessToken).getBytes(StandardCharsets.US_ASCII))) {
+				throw invalidProof("The DPoP proof ath claim does not match the access token");
+			}
+			var issueTime = claims.getIssueTime();
+			var issuedAt = (issueTime != null) ? issueTime.toInstant() : null;
+			var now = this.clock.instant();
+			if (issuedAt == null || issuedAt.isAfter(now.plus(this.clockSkew))
+					|| issuedAt.isBefore(now.minus(this.maxAge).minus(this.clockSkew))) {
+				throw invalidProof("The DPoP proof is expired or not yet valid");
+			}
+			var jti = claims.getJWTID();
+			if (!StringUtils.hasText(jti)) {
+				throw invalidProof("The DPoP proof must have a jti claim");
+			}
+			if (!this.replayCache.markUsed(jti, issuedAt)) {
+				throw invalidProof("The DPoP proof has already been used");
+			}
+			return jwk.computeThumbprint().toString();
+		}
+		catch (ParseException | JOSEException ex) {
+			throw invalidProof("The DPoP proof is malformed");
+		}
+	}
+
+	/**
+	 * Set how long after being issued a proof is accepted. Must not exceed the window of
+	 * the {@link DPoPProofReplayCache}. Defaults to 60 seconds.
+	 * @param maxAge the maximum age of proofs
+	 */
+	public void setMaxAge(Duration maxAge) {
+		Assert.notNull(maxAge, "maxAge cannot be null");
+		this.maxAge = maxAge;
+	}
+
+	/**
+	 * Set the tolerated clock difference with clients. Defaults to 5 seconds.
+	 * @param clockSkew the clock skew
+	 */
+	public void setClockSkew(Duration clockSkew) {
+		Assert.notNull(clockSkew, "clockSkew cannot be null");
+		this.clockSkew = clockSkew;
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	/**
+	 * Compare URIs on scheme, host, port and path only, as recommended in RFC 9449,
+	 * section 4.3.
+	 */
+	private static @Nullable String normalizeUri(@Nullable String uri) {
+		if (uri == null) {
+			return null;
+		}
+		try {
+			var parsed = URI.create(uri).normalize();
+			if (parsed.getScheme() == null || parsed.getHost() == null) {
+				return null;
+			}
+			var scheme = parsed.getScheme().toLowerCase(Locale.ROOT);
+			var port = parsed.getPort();
+			if ((port == 80 && "http".equals(scheme)) || (port == 443 && "https".equals(scheme))) {
+				port = -1;
+			}
+			var path = StringUtils.hasLength(parsed.getRawPath()) ? parsed.getRawPath() : "/";
+			return scheme + "://" + parsed.getHost().toLowerCase(Locale.ROOT) + ((port != -1) ? ":" + port : "")
+					+ path;
+		}
+		catch (IllegalArgumentException ex) {
+			return null;
+		}
+	}
+
+	static String hash(String accessToken) {
+		try {
+			var digest = MessageDigest.getInstance("SHA-256").digest(accessToken.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static OAuth2AuthenticationException invalidProof(String description) {
+		return new OAuth2AuthenticationException(new OAuth2Error(INVALID_DPOP_PROOF, description, null));
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@NullMarked
+package org.springaicommunity.mcp.security.server.oauth2.dpop;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.server.resource.authentication.AbstractOAuth2TokenAuthenticationToken;
+import org.springframework.security.web.util.UrlUtils;
+import org.springframework.util.Assert;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Filter enforcing DPoP sender-constrained access tokens, as described in RFC 9449. It
+ * runs after the access token has been authenticated:
+ * <ul>
+ * <li>Tokens sent with the {@code DPoP} scheme must come with exactly one valid
+ * {@code DPoP} proof, signed by the key whose thumbprint is in the {@code cnf.jkt} claim
+ * of the token.</li>
+ * <li>Tokens with a {@code cnf.jkt} claim must not be sent with the {@code Bearer}
+ * scheme.</li>
+ * </ul>
+ * Other requests are not affected, so that plain bearer tokens keep working.
+ *
+ * @author Daniel Garnier-Moiroux
+ * @see DPoPProofValidator
+ */
+public final class DPoPTokenBindingFilter extends OncePerRequestFilter {
+
+	private static final String DPOP_HEADER = "DPoP";
+
+	private final DPoPProofValidator proofValidator;
+
+	private final String algorithms = String.join(" ", DPoPProofValidator.getSupportedAlgorithms());
+
+	public DPoPTokenBindingFilter(DPoPProofValidator proofValidator) {
+		Assert.notNull(proofValidator, "proofValidator cannot be null");
+		this.proofValidator = proofValidator;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		var authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (!(authentication instanceof AbstractOAuth2TokenAuthenticationToken<?> tokenAuthentication)) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		var thumbprint = getConfirmationThumbprint(tokenAuthentication);
+
+		if (!DPoPBearerTokenResolver.isDPoPScheme(request.getHeader(HttpHeaders.AUTHORIZATION))) {
+			if (thumbprint != null) {
+				logger.debug("Rejecting DPoP-bound access token sent with the Bearer scheme");
+				sendError(response, "Bearer", "invalid_token",
+						"DPoP-bound access tokens must be sent with the DPoP scheme");
+				return;
+			}
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		var proofs = Collections.list(request.getHeaders(DPOP_HEADER));
+		if (proofs.size() != 1) {
+			sendError(response, "DPoP", DPoPProofValidator.INVALID_DPOP_PROOF,
+					"Exactly one DPoP proof is required");
+			return;
+		}
+		if (thumbprint == null) {
+			sendError(response, "DPoP", "invalid_token", "The access token is not DPoP-bound");
+			return;
+		}
+		var targetUri = UrlUtils.buildFullRequestUrl(request.getScheme(), request.getServerName(),
+				request.getServerPort(), request.getRequestURI(), null);
+		try {
+			var proofThumbprint = this.proofValidator.validate(proofs.get(0), request.getMethod(), targetUri,
+					tokenAuthentication.getToken().getTokenValue());
+			if (!thumbprint.equals(proofThumbprint)) {
+				sendError(response, "DPoP", DPoPProofValidator.INVALID_DPOP_PROOF,
+						"The DPoP proof key does not match the access token");
+				return;
+			}
+		}
+		catch (OAuth2AuthenticationException ex) {
+			logger.debug("Invalid DPoP proof", ex);
+			var error = ex.getError();
+			sendError(response, "DPoP", error.getErrorCode(), String.valueOf(error.getDescription()));
+			return;
+		}
+		filterChain.doFilter(request, response);
+	}
+
+	private static @Nullable String getConfirmationThumbprint(
+			AbstractOAuth2TokenAuthenticationToken<?> authentication) {
+		if (authentication.getTokenAttributes().get("cnf") instanceof Map<?, ?> confirmation
+				&& confirmation.get("jkt") instanceof String thumbprint) {
+			return thumbprint;
+		}
+		return null;
+	}
+
+	private void sendError(HttpServletResponse response, String scheme, String errorCode, String description) {
+		SecurityContextHolder.clearContext();
+		var wwwAuthenticate = scheme + " error=\"" + errorCode + "\", error_description=\"" + description + "\"";
+		if ("DPoP".equals(scheme)) {
+			wwwAuthenticate += ", algs=\"" + this.algorithms + "\"";
+		}
+		response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+		response.setHeader(HttpHeaders.WWW_AUTHENTICATE, wwwAuthenticate);
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.oauth2.introspection;
+
+import java.util.Collection;
+
+import org.springaicommunity.mcp.security.server.oauth2.metadata.ResourceIdentifier;
+
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.security.oauth2.server.resource.introspection.BadOpaqueTokenException;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+
+/**
+ * An {@link OpaqueTokenIntrospector} that wraps a delegate introspector and adds audience
+ * validation, ensuring the {@code aud} attribute contains the resource identifier of
+ * this MCP server.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class AudienceValidationOpaqueTokenIntrospector implements OpaqueTokenIntrospector {
+
+	private final OpaqueTokenIntrospector delegate;
+
+	private final ResourceIdentifier resourceIdentifier;
+
+	public AudienceValidationOpaqueTokenIntrospector(OpaqueTokenIntrospector delegate,
+			ResourceIdentifier resourceIdentifier) {
+		this.delegate = delegate;
+		this.resourceIdentifier = resourceIdentifier;
+	}
+
+	@Override
+	public OAuth2AuthenticatedPrincipal introspect(String token) {
+		var principal = this.delegate.introspect(token);
+		var audience = principal.getAttribute(OAuth2TokenIntrospectionClaimNames.AUD);
+		var resource = this.resourceIdentifier.getResource();
+		boolean valid = (audience instanceof Collection<?> audiences) ? audiences.contains(resource)
+				: resource.equals(audience);
+		if (!valid) {
+			throw new BadOpaqueTokenException("The aud claim is not valid");
+		}
+		return principal;
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.oauth2.introspection;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springaicommunity.mcp.security.common.cache.BoundedCache;
+
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+import org.springframework.util.Assert;
+
+/**
+ * An {@link OpaqueTokenIntrospector} that wraps a delegate introspector and caches
+ * successful introspection results per token, to avoid a network round-trip to the
+ * authorization server on every MCP request.
+ * <p>
+ * Cached results live for at most {@link #setTimeToLive(Duration) the configured
+ * time-to-live}, and never beyond the token's {@code exp} claim. The cache is bounded,
+ * see {@link BoundedCache}. Concurrent introspections of the same token are coalesced
+ * into a single call to the delegate. Failed introspections are never cached.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class CachingOpaqueTokenIntrospector implements OpaqueTokenIntrospector {
+
+	private final OpaqueTokenIntrospector delegate;
+
+	private BoundedCache<String, CachedPrincipal> cache = newCache(10_000);
+
+	private final Map<String, CompletableFuture<OAuth2AuthenticatedPrincipal>> inFlight = new ConcurrentHashMap<>();
+
+	private Duration timeToLive = Duration.ofMinutes(5);
+
+	private Clock clock = Clock.systemUTC();
+
+	public CachingOpaqueTokenIntrospector(OpaqueTokenIntrospector delegate) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		this.delegate = delegate;
+	}
+
+	@Override
+	public OAuth2AuthenticatedPrincipal introspect(String token) {
+		var cached = this.cache.get(token);
+		if (cached != null) {
+			if (this.clock.instant().isBefore(cached.expiresAt())) {
+				return cached.principal();
+			}
+			this.cache.remove(token, cached);
+		}
+
+		var future = new CompletableFuture<OAuth2AuthenticatedPrincipal>();
+		var existing = this.inFlight.putIfAbsent(token, future);
+		if (existing != null) {
+			return await(existing);
+		}
+		try {
+			cached = this.cache.get(token);
+			if (cached != null && this.clock.instant().isBefore(cached.expiresAt())) {
+				future.complete(cached.principal());
+				return cached.principal();
+			}
+			var principal = this.delegate.introspect(token);
+			store(token, principal);
+			future.complete(principal);
+			return principal;
+		}
+		catch (RuntimeException ex) {
+			future.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.inFlight.remove(token, future);
+		}
+	}
+
+	/**
+	 * The maximum duration for which an introspection result is cached. The effective
+	 * duration is capped by the token's {@code exp} claim. Defaults to 5 minutes.
+	 * @param timeToLive the maximum time-to-live of cached results
+	 */
+	public void setTimeToLive(Duration timeToLive) {
+		Assert.notNull(timeToLive, "timeToLive cannot be null");
+		Assert.isTrue(!timeToLive.isNegative(), "timeToLive cannot be negative");
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * The maximum number of cached introspection results. Defaults to 10 000.
+	 * @param maximumSize the maximum number of entries
+	 */
+	public void setMaximumSize(int maximumSize) {
+		Assert.isTrue(maximumSize > 0, "maximumSize must be positive");
+		this.cache = newCache(maximumSize);
+	}
+
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private void store(String token, OAuth2AuthenticatedPrincipal principal) {
+		var now = this.clock.instant();
+		var expiresAt = now.plus(this.timeToLive);
+		if (principal.getAttribute(OAuth2TokenIntrospectionClaimNames.EXP) instanceof Instant exp
+				&& exp.isBefore(expiresAt)) {
+			expiresAt = exp;
+		}
+		if (!now.isBefore(expiresAt)) {
+			return;
+		}
+		this.cache.put(token, new CachedPrincipal(principal, expiresAt));
+	}
+
+	private BoundedCache<String, CachedPrincipal> newCache(int maximumSize) {
+		return new BoundedCache<>(maximumSize, (entry) -> !this.clock.instant().isBefore(entry.expiresAt()));
+	}
+
+	private static OAuth2AuthenticatedPrincipal await(CompletableFuture<OAuth2AuthenticatedPrincipal> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	private record CachedPrincipal(OAuth2AuthenticatedPrincipal principal, Instant expiresAt) {
+
+	}
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.oauth2.jwt;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+import org.springaicommunity.mcp.security.common.cache.BoundedCache;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link Converter} from {@link Jwt} to {@link JwtAuthenticationToken}, producing the
+ * same {@code SCOPE_}-prefixed authorities as Spring Security's default
+ * {@code JwtGrantedAuthoritiesConverter}, from the {@code scope} or {@code scp} claim.
+ * <p>
+ * Tokens carry a small number of distinct scope strings, so the authority collections
+ * are computed once per raw claim value and shared across requests. Individual
+ * {@link GrantedAuthority} instances are interned as well. Both caches are bounded, see
+ * {@link BoundedCache}.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class CachingJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+	private static final String AUTHORITY_PREFIX = "SCOPE_";
+
+	private static final List<String> SCOPE_CLAIM_NAMES = List.of("scope", "scp");
+
+	private static final int MAX_CACHED_ENTRIES = 1024;
+
+	private final BoundedCache<String, Collection<GrantedAuthority>> authoritiesByScopeClaim = new BoundedCache<>(
+			MAX_CACHED_ENTRIES, (authorities) -> false);
+
+	private final BoundedCache<String, GrantedAuthority> authoritiesByScope = new BoundedCache<>(MAX_CACHED_ENTRIES,
+			(authority) -> false);
+
+	@Override
+	public AbstractAuthenticationToken convert(Jwt jwt) {
+		return new JwtAuthenticationToken(jwt, getAuthorities(jwt));
+	}
+
+	private Collection<GrantedAuthority> getAuthorities(Jwt jwt) {
+		var scopeClaim = getScopeClaim(jwt);
+		if (scopeClaim == null || !StringUtils.hasText(scopeClaim)) {
+			return Collections.emptyList();
+		}
+		var authorities = this.authoritiesByScopeClaim.get(scopeClaim);
+		if (authorities != null) {
+			return authorities;
+		}
+		authorities = toAuthorities(scopeClaim);
+		var existing = this.authoritiesByScopeClaim.putIfAbsent(scopeClaim, authorities);
+		return (existing != null) ? existing : authorities;
+	}
+
+	private Collection<GrantedAuthority> toAuthorities(String scopeClaim) {
+		var scopes = StringUtils.tokenizeToStringArray(scopeClaim, " ");
+		var authorities = new ArrayList<GrantedAuthority>(scopes.length);
+		for (var scope : scopes) {
+			authorities.add(getAuthority(scope));
+		}
+		return Collections.unmodifiableList(authorities);
+	}
+
+	private GrantedAuthority getAuthority(String scope) {
+		var authority = this.authoritiesByScope.get(scope);
+		if (authority != null) {
+			return authority;
+		}
+		authority = new SimpleGrantedAuthority(AUTHORITY_PREFIX + scope);
+		var existing = this.authoritiesByScope.putIfAbsent(scope, authority);
+		return (existing != null) ? existing : authority;
+	}
+
+	/**
+	 * Return the scope claim as a single space-delimited string, which is the cache key.
+	 * The {@code scope} claim is usually a string, while {@code scp} is often an array.
+	 */
+	private static @Nullable String getScopeClaim(Jwt jwt) {
+		for (var claimName : SCOPE_CLAIM_NAMES) {
+			var claim = jwt.getClaims().get(claimName);
+			if (claim instanceof String scopes) {
+				return scopes;
+			}
+			if (claim instanceof Collection<?> scopes) {
+				return StringUtils.collectionToDelimitedString(scopes, " ");
+			}
+		}
+		return null;
+	}
+
+}
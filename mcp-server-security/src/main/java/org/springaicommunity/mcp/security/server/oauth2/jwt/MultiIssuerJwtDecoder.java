@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.oauth2.jwt;
+
+import java.text.ParseException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import org.jspecify.annotations.Nullable;
+import org.springaicommunity.mcp.security.common.cache.BoundedCache;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.util.Assert;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * A {@link JwtDecoder} accepting tokens from several authorization servers.
+ * <p>
+ * The issuer is read from the unverified {@code iss} claim and checked against the
+ * trusted issuers. Only the payload is decoded to read it, the token is fully parsed
+ * once, and verified, by a {@link JwtDecoder} dedicated to that issuer. Decoders are
+ * created lazily, on the first token of each issuer, and cached. Concurrent first
+ * requests for the same issuer share a single decoder construction; a failed
+ * construction is not cached, and is retried on the next request.
+ * <p>
+ * The issuer comes from the client, so the number of cached decoders is bounded, see
+ * {@link BoundedCache}. This matters when the trusted issuers are given as a broad
+ * {@link Predicate}.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class MultiIssuerJwtDecoder implements JwtDecoder {
+
+	private static final int MAX_CACHED_DECODERS = 64;
+
+	private final Predicate<String> trustedIssuer;
+
+	private final BoundedCache<String, SingletonSupplier<JwtDecoder>> decoders = new BoundedCache<>(
+			MAX_CACHED_DECODERS, (decoder) -> false);
+
+	private Function<String, JwtDecoder> jwtDecoderFactory = (issuer) -> NimbusJwtDecoder.withIssuerLocation(issuer)
+		.build();
+
+	public MultiIssuerJwtDecoder(Collection<String> trustedIssuers) {
+		Assert.notEmpty(trustedIssuers, "trustedIssuers cannot be empty");
+		this.trustedIssuer = Set.copyOf(trustedIssuers)::contains;
+	}
+
+	public MultiIssuerJwtDecoder(Predicate<String> trustedIssuer) {
+		Assert.notNull(trustedIssuer, "trustedIssuer cannot be null");
+		this.trustedIssuer = trustedIssuer;
+	}
+
+	@Override
+	public Jwt decode(String token) throws JwtException {
+		var issuer = getIssuer(token);
+		if (issuer == null || !this.trustedIssuer.test(issuer)) {
+			throw new BadJwtException("Untrusted issuer " + issuer);
+		}
+		return getDecoder(issuer).decode(token);
+	}
+
+	/**
+	 * Create the {@link JwtDecoder} for a trusted issuer. Defaults to
+	 * {@link NimbusJwtDecoder#withIssuerLocation(String)}.
+	 * @param jwtDecoderFactory the factory creating a decoder from an issuer
+	 */
+	public void setJwtDecoderFactory(Function<String, JwtDecoder> jwtDecoderFactory) {
+		Assert.notNull(jwtDecoderFactory, "jwtDecoderFactory cannot be null");
+		this.jwtDecoderFactory = jwtDecoderFactory;
+	}
+
+	private JwtDecoder getDecoder(String issuer) {
+		var decoder = this.decoders.get(issuer);
+		if (decoder == null) {
+			var created = SingletonSupplier.of(() -> this.jwtDecoderFactory.apply(issuer));
+			var existing = this.decoders.putIfAbsent(issuer, created);
+			decoder = (existing != null) ? existing : created;
+		}
+		try {
+			return decoder.obtain();
+		}
+		catch (RuntimeException ex) {
+			this.decoders.remove(issuer, decoder);
+			throw ex;
+		}
+	}
+
+	private static @Nullable String getIssuer(String token) {
+		var payloadStart = token.indexOf('.') + 1;
+		var payloadEnd = token.indexOf('.', payloadStart);
+		if (payloadStart == 0 || payloadEnd < 0) {
+			throw new BadJwtException("Malformed token");
+		}
+		try {
+			var payload = new Base64URL(token.substring(payloadStart, payloadEnd)).decodeToString();
+			return (JSONObjectUtils.parse(payload).get("iss") instanceof String issuer) ? issuer : null;
+		}
+		catch (ParseException | IllegalArgumentException ex) {
+			throw new BadJwtException("Malformed token", ex);
+		}
+	}
+
+}
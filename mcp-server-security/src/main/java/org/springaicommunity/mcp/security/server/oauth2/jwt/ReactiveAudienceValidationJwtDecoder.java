@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.oauth2.jwt;
+
+import java.util.List;
+
+import org.springaicommunity.mcp.security.server.oauth2.metadata.ResourceIdentifier;
+import reactor.core.publisher.Mono;
+
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.util.Assert;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * A {@link ReactiveJwtDecoder} that wraps a delegate decoder and adds audience
+ * validation. This is the reactive counterpart of {@link AudienceValidationJwtDecoder}.
+ * <p>
+ * The resource identifier depends on the current request, which is read from the
+ * {@link ServerWebExchange} in the Reactor context. Spring Security's
+ * {@code SecurityWebFilterChain} makes it available.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class ReactiveAudienceValidationJwtDecoder implements ReactiveJwtDecoder {
+
+	private static final OAuth2Error INVALID_AUDIENCE = new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN,
+			"The aud claim is not valid", "https://tools.ietf.org/html/rfc6750#section-3.1");
+
+	private final ReactiveJwtDecoder delegate;
+
+	private final ResourceIdentifier resourceIdentifier;
+
+	public ReactiveAudienceValidationJwtDecoder(ReactiveJwtDecoder delegate, ResourceIdentifier resourceIdentifier) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		Assert.notNull(resourceIdentifier, "resourceIdentifier cannot be null");
+		this.delegate = delegate;
+		this.resourceIdentifier = resourceIdentifier;
+	}
+
+	@Override
+	public Mono<Jwt> decode(String token) {
+		return this.delegate.decode(token).flatMap((jwt) -> getResource().flatMap((resource) -> validate(jwt, resource)));
+	}
+
+	private Mono<String> getResource() {
+		return Mono.deferContextual((context) -> {
+			if (!context.hasKey(ServerWebExchange.class)) {
+				return Mono.error(new IllegalStateException(
+						"cannot validate the aud claim without a ServerWebExchange in the Reactor context"));
+			}
+			ServerWebExchange exchange = context.get(ServerWebExchange.class);
+			return Mono.just(this.resourceIdentifier.getResource(exchange.getRequest()));
+		});
+	}
+
+	private static Mono<Jwt> validate(Jwt jwt, String resource) {
+		var audience = jwt.getAudience();
+		if (audience != null && audience.contains(resource)) {
+			return Mono.just(jwt);
+		}
+		return Mono.error(new JwtValidationException(
+				"An error occurred while attempting to decode the Jwt: " + INVALID_AUDIENCE.getDescription(),
+				List.of(INVALID_AUDIENCE)));
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.oauth2.metadata;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+import org.springaicommunity.mcp.security.common.cache.BoundedCache;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.oauth2.server.resource.OAuth2ProtectedResourceMetadata;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Filter serving the {@link OAuth2ProtectedResourceMetadata} document from a cache.
+ * <p>
+ * The first request for a given host renders the document through the rest of the filter
+ * chain, usually Spring Security's protected resource metadata filter. The resulting
+ * bytes are stored, and subsequent requests are served directly, with a strong
+ * {@code ETag} and a {@code Cache-Control: max-age} header. Requests with a matching
+ * {@code If-None-Match} header get a {@code 304 Not Modified} response, including the
+ * request that first renders the document.
+ * <p>
+ * The document contains the resource identifier, which depends on the host, so entries
+ * are stored per scheme, host, port and path. The number of entries is bounded, since
+ * the host is provided by the client, see {@link BoundedCache}.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class CachingProtectedResourceMetadataFilter extends OncePerRequestFilter {
+
+	private static final String WELL_KNOWN_PATH_SEGMENT = "/.well-known/oauth-protected-resource";
+
+	private static final int MAX_CACHED_DOCUMENTS = 256;
+
+	private final BoundedCache<String, CachedDocument> documents = new BoundedCache<>(MAX_CACHED_DOCUMENTS,
+			(document) -> false);
+
+	private final String cacheControl;
+
+	public CachingProtectedResourceMetadataFilter(Duration maxAge) {
+		Assert.notNull(maxAge, "maxAge cannot be null");
+		Assert.isTrue(!maxAge.isNegative(), "maxAge cannot be negative");
+		this.cacheControl = CacheControl.maxAge(maxAge).getHeaderValue();
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		if (!HttpMethod.GET.matches(request.getMethod())) {
+			return true;
+		}
+		var path = request.getRequestURI().substring(request.getContextPath().length());
+		return !path.startsWith(WELL_KNOWN_PATH_SEGMENT);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		var key = request.getScheme() + "://" + request.getServerName() + ":" + request.getServerPort()
+				+ request.getRequestURI();
+		var document = this.documents.get(key);
+		if (document != null) {
+			writeDocument(request, response, document);
+			return;
+		}
+
+		var responseWrapper = new ContentCachingResponseWrapper(response);
+		filterChain.doFilter(request, responseWrapper);
+		if (responseWrapper.getStatus() != HttpServletResponse.SC_OK) {
+			responseWrapper.copyBodyToResponse();
+			return;
+		}
+
+		var body = responseWrapper.getContentAsByteArray();
+		document = new CachedDocument(body, responseWrapper.getContentType(),
+				"\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+		this.documents.putIfAbsent(key, document);
+		// The buffered body is discarded, the rendered document is written exactly like
+		// a cached one, so that If-None-Match is honored on the first request too.
+		writeDocument(request, response, document);
+	}
+
+	private void writeDocument(HttpServletRequest request, HttpServletResponse response, CachedDocument document)
+			throws IOException {
+		response.setHeader(HttpHeaders.CACHE_CONTROL, this.cacheControl);
+		if (new ServletWebRequest(request, response).checkNotModified(document.etag())) {
+			return;
+		}
+		response.setStatus(HttpServletResponse.SC_OK);
+		if (document.contentType() != null) {
+			response.setContentType(document.contentType());
+		}
+		response.setContentLength(document.body().length);
+		response.getOutputStream().write(document.body());
+	}
+
+	private record CachedDocument(byte[] body, @Nullable String contentType, String etag) {
+
+	}
+
+}
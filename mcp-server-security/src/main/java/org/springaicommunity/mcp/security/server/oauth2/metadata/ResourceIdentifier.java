@@ -15,6 +15,7 @@
  */
 package org.springaicommunity.mcp.security.server.oauth2.metadata;
 
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.web.util.UrlUtils;
 import org.springframework.util.Assert;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -50,4 +51,13 @@ public final class ResourceIdentifier {
 			.toUriString();
 	}
 
+	public String getResource(ServerHttpRequest request) {
+		Assert.notNull(request, "request cannot be null");
+		return UriComponentsBuilder.fromUri(request.getURI())
+			.replacePath(request.getPath().contextPath().value() + this.getPath())
+			.replaceQuery(null)
+			.fragment(null)
+			.toUriString();
+	}
+
 }
\ No newline at end of file
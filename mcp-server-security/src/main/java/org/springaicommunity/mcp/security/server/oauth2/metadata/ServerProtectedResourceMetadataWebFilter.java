@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.oauth2.metadata;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.security.oauth2.server.resource.OAuth2ProtectedResourceMetadata;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.result.view.ViewResolver;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+/**
+ * {@link WebFilter} serving the {@link OAuth2ProtectedResourceMetadata} document of a
+ * reactive MCP server, at {@code /.well-known/oauth-protected-resource} and
+ * {@code /.well-known/oauth-protected-resource/<resource path>}. This is the reactive
+ * counterpart of Spring Security's servlet {@code OAuth2ProtectedResourceMetadataFilter}.
+ * <p>
+ * The document is written as JSON with the {@link HttpMessageWriter}s of
+ * {@link HandlerStrategies#withDefaults()}, which requires Jackson on the classpath.
+ * Other writers can be configured with {@link #setMessageWriters(List)}.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class ServerProtectedResourceMetadataWebFilter implements WebFilter {
+
+	private static final String WELL_KNOWN_PATH_SEGMENT = "/.well-known/oauth-protected-resource";
+
+	private final ResourceIdentifier resourceIdentifier;
+
+	private final Consumer<OAuth2ProtectedResourceMetadata.Builder> customizer;
+
+	private ServerResponse.Context responseContext = new ResponseContext(
+			HandlerStrategies.withDefaults().messageWriters());
+
+	public ServerProtectedResourceMetadataWebFilter(ResourceIdentifier resourceIdentifier,
+			Consumer<OAuth2ProtectedResourceMetadata.Builder> customizer) {
+		Assert.notNull(resourceIdentifier, "resourceIdentifier cannot be null");
+		Assert.notNull(customizer, "customizer cannot be null");
+		this.resourceIdentifier = resourceIdentifier;
+		this.customizer = customizer;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+		var request = exchange.getRequest();
+		var path = request.getPath().pathWithinApplication().value();
+		if (!HttpMethod.GET.equals(request.getMethod()) || !(WELL_KNOWN_PATH_SEGMENT.equals(path)
+				|| (WELL_KNOWN_PATH_SEGMENT + this.resourceIdentifier.getPath()).equals(path))) {
+			return chain.filter(exchange);
+		}
+
+		var builder = OAuth2ProtectedResourceMetadata.builder()
+			.resource(this.resourceIdentifier.getResource(request))
+			.bearerMethod("header");
+		this.customizer.accept(builder);
+		return ServerResponse.ok()
+			.contentType(MediaType.APPLICATION_JSON)
+			.bodyValue(builder.build().getClaims())
+			.flatMap((response) -> response.writeTo(exchange, this.responseContext));
+	}
+
+	/**
+	 * Set the {@link HttpMessageWriter}s used to write the metadata document as JSON.
+	 * Defaults to the writers of {@link HandlerStrategies#withDefaults()}.
+	 * @param messageWriters the message writers
+	 */
+	public void setMessageWriters(List<HttpMessageWriter<?>> messageWriters) {
+		Assert.notEmpty(messageWriters, "messageWriters cannot be empty");
+		this.responseContext = new ResponseContext(List.copyOf(messageWriters));
+	}
+
+	private record ResponseContext(List<HttpMessageWriter<?>> messageWriters) implements ServerResponse.Context {
+
+		@Override
+		public List<ViewResolver> viewResolvers() {
+			return List.of();
+		}
+
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@NullMarked
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+
+/**
+ * Minimal Bloom filter over 64-bit hashes. Sized for about 1%
+ * false positives.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+final class BloomFilter {
+
+	private static final int BITS_PER_ENTRY = 10;
+
+	private static final int HASH_COUNT = 7;
+
+	private final long[] bits;
+
+	private final int bitCount;
+
+	BloomFilter(int expectedEntries) {
+		var requiredWords = ((long) expectedEntries * BITS_PER_ENTRY + 63) / 64;
+		var words = (int) Math.max(1, Math.min(Integer.MAX_VALUE / 64, requiredWords));
+		this.bits = new long[words];
+		this.bitCount = words * 64;
+	}
+
+	void add(long hash) {
+		var h1 = (int) hash;
+		var h2 = (int) (hash >>> 32);
+		for (int i = 0; i < HASH_COUNT; i++) {
+			var index = bitIndex(h1 + i * h2);
+			this.bits[index >>> 6] |= 1L << index;
+		}
+	}
+
+	boolean mightContain(long hash) {
+		var h1 = (int) hash;
+		var h2 = (int) (hash >>> 32);
+		for (int i = 0; i < HASH_COUNT; i++) {
+			var index = bitIndex(h1 + i * h2);
+			if ((this.bits[index >>> 6] & (1L << index)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int bitIndex(int combinedHash) {
+		return (combinedHash & Integer.MAX_VALUE) % this.bitCount;
+	}
+
+	/**
+	 * Spread the (cached) {@link String#hashCode()} of {@code value} over 64 bits, with a
+	 * per-kind {@code seed}.
+	 */
+	static long hash(String value, long seed) {
+		var z = seed + value.hashCode() * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+}
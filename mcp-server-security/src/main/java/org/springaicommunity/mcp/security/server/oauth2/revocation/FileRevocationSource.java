@@ -0,0 +1,125 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@NullMarked
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link RevocationSource} reading revocations from a local file, one entry per line:
+ * {@code jti:<token id>} revokes a single token, and {@code sub:<subject>} revokes all
+ * the tokens of a subject. Blank lines and lines starting with {@code #} are ignored.
+ * <p>
+ * The file is treated as an append-only log: only the lines appended since the last call
+ * are read, and returned as an incremental update. Only complete lines, terminated by a
+ * newline, are read. When the file shrinks, for example after it has been compacted, it
+ * is read again entirely and replaces the deny-list. A missing file is an empty
+ * deny-list.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class FileRevocationSource implements RevocationSource {
+
+	private static final String TOKEN_ID_PREFIX = "jti:";
+
+	private static final String SUBJECT_PREFIX = "sub:";
+
+	private final Path path;
+
+	private long offset;
+
+	private boolean loaded;
+
+	public FileRevocationSource(Path path) {
+		Assert.notNull(path, "path cannot be null");
+		this.path = path;
+	}
+
+	@Override
+	public synchronized @Nullable RevocationUpdate fetch() throws IOException {
+		if (!Files.exists(this.path)) {
+			if (this.loaded && this.offset == 0) {
+				return null;
+			}
+			this.loaded = true;
+			this.offset = 0;
+			return RevocationUpdate.full(Set.of(), Set.of());
+		}
+
+		try (var channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+			var size = channel.size();
+			var full = !this.loaded || size < this.offset;
+			var start = full ? 0 : this.offset;
+			if (!full && size == start) {
+				return null;
+			}
+			var buffer = ByteBuffer.allocate(Math.toIntExact(size - start));
+			while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) >= 0) {
+				// read until the buffer is full, or the end of the file
+			}
+			var content = buffer.array();
+			var length = buffer.position();
+			var consumed = 0;
+			for (int i = length - 1; i >= 0; i--) {
+				if (content[i] == '\n') {
+					consumed = i + 1;
+					break;
+				}
+			}
+
+			Set<String> tokenIds = new HashSet<>();
+			Set<String> subjects = new HashSet<>();
+			parse(new String(content, 0, consumed, StandardCharsets.UTF_8), tokenIds, subjects);
+			this.loaded = true;
+			this.offset = start + consumed;
+			if (full) {
+				return RevocationUpdate.full(tokenIds, subjects);
+			}
+			return (tokenIds.isEmpty() && subjects.isEmpty()) ? null
+					: RevocationUpdate.incremental(tokenIds, subjects);
+		}
+	}
+
+	/**
+	 * Parse revocation entries, one per line.
+	 * @param content the entries
+	 * @param tokenIds the set to add revoked token IDs to
+	 * @param subjects the set to add revoked subjects to
+	 */
+	static void parse(String content, Set<String> tokenIds, Set<String> subjects) {
+		content.lines().map(String::strip).forEach((line) -> {
+			if (line.startsWith(TOKEN_ID_PREFIX) && line.length() > TOKEN_ID_PREFIX.length()) {
+				tokenIds.add(line.substring(TOKEN_ID_PREFIX.length()));
+			}
+			else if (line.startsWith(SUBJECT_PREFIX) && line.length() > SUBJECT_PREFIX.length()) {
+				subjects.add(line.substring(SUBJECT_PREFIX.length()));
+			}
+		});
+	}
+
+}
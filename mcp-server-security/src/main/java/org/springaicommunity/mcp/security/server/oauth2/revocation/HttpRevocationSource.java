@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@NullMarked
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * {@link RevocationSource} fetching the deny-list over HTTP, in the same line format as
+ * {@link FileRevocationSource}. The last {@code ETag} is sent back in an
+ * {@code If-None-Match} header, so that polling an unchanged deny-list only costs a
+ * {@code 304 Not Modified} response.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class HttpRevocationSource implements RevocationSource {
+
+	private final RestClient restClient;
+
+	private final URI uri;
+
+	private @Nullable String etag;
+
+	public HttpRevocationSource(URI uri) {
+		this(RestClient.create(), uri);
+	}
+
+	public HttpRevocationSource(RestClient restClient, URI uri) {
+		Assert.notNull(restClient, "restClient cannot be null");
+		Assert.notNull(uri, "uri cannot be null");
+		this.restClient = restClient;
+		this.uri = uri;
+	}
+
+	@Override
+	public synchronized @Nullable RevocationUpdate fetch() throws IOException {
+		try {
+			return this.restClient.get().uri(this.uri).headers((headers) -> {
+				if (this.etag != null) {
+					headers.setIfNoneMatch(this.etag);
+				}
+			}).exchange((request, response) -> {
+				if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+					return null;
+				}
+				if (!response.getStatusCode().is2xxSuccessful()) {
+					throw new IOException("Could not fetch revocations, status " + response.getStatusCode());
+				}
+				Set<String> tokenIds = new HashSet<>();
+				Set<String> subjects = new HashSet<>();
+				FileRevocationSource.parse(StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8),
+						tokenIds, subjects);
+				this.etag = response.getHeaders().getETag();
+				return RevocationUpdate.full(tokenIds, subjects);
+			});
+		}
+		catch (RestClientException ex) {
+			throw new IOException("Could not fetch revocations from " + this.uri, ex);
+		}
+	}
+
+}
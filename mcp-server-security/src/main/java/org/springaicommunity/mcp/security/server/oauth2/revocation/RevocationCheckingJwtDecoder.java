@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@NullMarked
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+
+import java.util.List;
+
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link JwtDecoder} that wraps a delegate decoder and rejects tokens listed in a
+ * {@link RevocationDenyList}, so that revoked tokens stop working before they expire.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class RevocationCheckingJwtDecoder implements JwtDecoder {
+
+	private static final OAuth2Error REVOKED = new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN,
+			"The token has been revoked", null);
+
+	private final JwtDecoder delegate;
+
+	private final RevocationDenyList denyList;
+
+	public RevocationCheckingJwtDecoder(JwtDecoder delegate, RevocationDenyList denyList) {
+		Assert.notNull(delegate, "delegate cannot be null");
+		Assert.notNull(denyList, "denyList cannot be null");
+		this.delegate = delegate;
+		this.denyList = denyList;
+	}
+
+	@Override
+	public Jwt decode(String token) throws JwtException {
+		var jwt = this.delegate.decode(token);
+		if (this.denyList.isRevoked(jwt)) {
+			throw new JwtValidationException("An error occurred while attempting to decode the Jwt: "
+					+ REVOKED.getDescription(), List.of(REVOKED));
+		}
+		return jwt;
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@NullMarked
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.util.Assert;
+
+/**
+ * Local deny-list of revoked access tokens, identified by their {@code jti} claim, or by
+ * their {@code sub} claim to revoke all the tokens of a user or client.
+ * <p>
+ * The entries are held in an immutable snapshot, with a {@link BloomFilter} in front of
+ * the exact sets. Checking a token that is not revoked, which is by far the most common
+ * case, costs one hash computation and a few bit probes, and takes no lock. Updates,
+ * usually applied by a {@link RevocationListSynchronizer}, build a new snapshot and
+ * publish it atomically.
+ *
+ * @author Daniel Garnier-Moiroux
+ * @see RevocationCheckingJwtDecoder
+ */
+public final class RevocationDenyList {
+
+	private static final long TOKEN_ID_SEED = 0x6A7469L;
+
+	private static final long SUBJECT_SEED = 0x737562L;
+
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+	/**
+	 * Whether the token has been revoked, either by its {@code jti} or its {@code sub}.
+	 * @param jwt the decoded token
+	 * @return {@code true} if the token is revoked
+	 */
+	public boolean isRevoked(Jwt jwt) {
+		Assert.notNull(jwt, "jwt cannot be null");
+		return isRevoked(jwt.getId(), jwt.getSubject());
+	}
+
+	/**
+	 * Whether a token with the given ID or subject has been revoked.
+	 * @param tokenId the {@code jti} claim of the token, may be {@code null}
+	 * @param subject the {@code sub} claim of the token, may be {@code null}
+	 * @return {@code true} if the token is revoked
+	 */
+	public boolean isRevoked(@Nullable String tokenId, @Nullable String subject) {
+		var snapshot = this.snapshot;
+		if (snapshot == Snapshot.EMPTY) {
+			return false;
+		}
+		return (tokenId != null && snapshot.contains(snapshot.tokenIds(), tokenId, TOKEN_ID_SEED))
+				|| (subject != null && snapshot.contains(snapshot.subjects(), subject, SUBJECT_SEED));
+	}
+
+	/**
+	 * Apply an update, either adding entries to the deny-list or replacing it.
+	 * @param update the update
+	 */
+	public synchronized void apply(RevocationUpdate update) {
+		Assert.notNull(update, "update cannot be null");
+		var current = this.snapshot;
+		if (update.full()) {
+			this.snapshot = Snapshot.of(update.tokenIds(), update.subjects());
+		}
+		else if (!update.tokenIds().isEmpty() || !update.subjects().isEmpty()) {
+			this.snapshot = Snapshot.of(union(current.tokenIds(), update.tokenIds()),
+					union(current.subjects(), update.subjects()));
+		}
+	}
+
+	/**
+	 * Number of entries in the deny-list.
+	 * @return the number of revoked token IDs and subjects
+	 */
+	public int size() {
+		var snapshot = this.snapshot;
+		return snapshot.tokenIds().size() + snapshot.subjects().size();
+	}
+
+	private static Set<String> union(Set<String> current, Set<String> added) {
+		if (added.isEmpty()) {
+			return current;
+		}
+		var union = new HashSet<String>(current);
+		union.addAll(added);
+		return union;
+	}
+
+	private record Snapshot(Set<String> tokenIds, Set<String> subjects, BloomFilter bloomFilter) {
+
+		private static final Snapshot EMPTY = new Snapshot(Set.of(), Set.of(), new BloomFilter(0));
+
+		static Snapshot of(Set<String> tokenIds, Set<String> subjects) {
+			if (tokenIds.isEmpty() && subjects.isEmpty()) {
+				return EMPTY;
+			}
+			var bloomFilter = new BloomFilter(tokenIds.size() + subjects.size());
+			tokenIds.forEach((tokenId) -> bloomFilter.add(BloomFilter.hash(tokenId, TOKEN_ID_SEED)));
+			subjects.forEach((subject) -> bloomFilter.add(BloomFilter.hash(subject, SUBJECT_SEED)));
+			return new Snapshot(Set.copyOf(tokenIds), Set.copyOf(subjects), bloomFilter);
+		}
+
+		boolean contains(Set<String> entries, String value, long seed) {
+			return this.bloomFilter.mightContain(BloomFilter.hash(value, seed)) && entries.contains(value);
+		}
+
+	}
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+@NullMarked
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.util.Assert;
+
+/**
+ * Keeps a {@link RevocationDenyList} in sync with a {@link RevocationSource}, by polling
+ * the source at a fixed interval on a single background thread.
+ * <p>
+ * When started, the deny-list is synchronized once before returning, so that revoked
+ * tokens are rejected as soon as the application accepts requests. When the source
+ * fails, the current deny-list is kept, and the next poll tries again. Declare it as a
+ * bean so that it is started and stopped with the application context.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class RevocationListSynchronizer implements SmartLifecycle {
+
+	private static final Log logger = LogFactory.getLog(RevocationListSynchronizer.class);
+
+	private final RevocationSource source;
+
+	private final RevocationDenyList denyList;
+
+	private final Duration pollInterval;
+
+	private @Nullable ScheduledExecutorService executor;
+
+	public RevocationListSynchronizer(RevocationSource source, RevocationDenyList denyList, Duration pollInterval) {
+		Assert.notNull(source, "source cannot be null");
+		Assert.notNull(denyList, "denyList cannot be null");
+		Assert.notNull(pollInterval, "pollInterval cannot be null");
+		Assert.isTrue(!pollInterval.isNegative() && !pollInterval.isZero(), "pollInterval must be positive");
+		this.source = source;
+		this.denyList = denyList;
+		this.pollInterval = pollInterval;
+	}
+
+	/**
+	 * Fetch the latest revocations from the source, and apply them to the deny-list.
+	 * @return {@code true} if the deny-list was updated
+	 */
+	public boolean synchronize() {
+		try {
+			var update = this.source.fetch();
+			if (update == null) {
+				return false;
+			}
+			this.denyList.apply(update);
+			return true;
+		}
+		catch (Exception ex) {
+			logger.warn("Could not synchronize token revocations, keeping the current deny-list", ex);
+			return false;
+		}
+	}
+
+	@Override
+	public synchronized void start() {
+		if (this.executor != null) {
+			return;
+		}
+		synchronize();
+		this.executor = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+			var thread = new Thread(runnable, "mcp-revocation-sync");
+			thread.setDaemon(true);
+			return thread;
+		});
+		var interval = this.pollInterval.toMillis();
+		this.executor.scheduleWithFixedDelay(this::synchronize, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public synchronized void stop() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+			this.executor = null;
+		}
+	}
+
+	@Override
+	public synchronized boolean isRunning() {
+		return this.executor != null;
+	}
+
+}
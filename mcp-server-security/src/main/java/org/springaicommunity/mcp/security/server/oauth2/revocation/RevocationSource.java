@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+
+import java.io.IOException;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Source of token revocations, polled by a {@link RevocationListSynchronizer} to keep a
+ * {@link RevocationDenyList} up to date. Implementations keep track of what they already
+ * returned, so that they can return incremental updates.
+ *
+ * @author Daniel Garnier-Moiroux
+ * @see FileRevocationSource
+ * @see HttpRevocationSource
+ */
+@FunctionalInterface
+public interface RevocationSource {
+
+	/**
+	 * Fetch the revocations that happened since the last call.
+	 * @return the update, or {@code null} if nothing changed
+	 * @throws IOException if the revocations cannot be fetched
+	 */
+	@Nullable RevocationUpdate fetch() throws IOException;
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+
+import java.util.Set;
+
+import org.springframework.util.Assert;
+
+/**
+ * A change to the revoked tokens, as returned by a {@link RevocationSource}: the
+ * revoked token IDs ({@code jti} claim) and subjects ({@code sub} claim).
+ *
+ * @param tokenIds the revoked token IDs
+ * @param subjects the subjects whose tokens are all revoked
+ * @param full {@code true} if the update replaces the whole deny-list, {@code false} if
+ * the entries are added to the current deny-list
+ * @author Daniel Garnier-Moiroux
+ */
+public record RevocationUpdate(Set<String> tokenIds, Set<String> subjects, boolean full) {
+
+	public RevocationUpdate {
+		Assert.notNull(tokenIds, "tokenIds cannot be null");
+		Assert.notNull(subjects, "subjects cannot be null");
+		tokenIds = Set.copyOf(tokenIds);
+		subjects = Set.copyOf(subjects);
+	}
+
+	/**
+	 * An update adding entries to the current deny-list.
+	 * @param tokenIds the newly revoked token IDs
+	 * @param subjects the newly revoked subjects
+	 * @return the update
+	 */
+	public static RevocationUpdate incremental(Set<String> tokenIds, Set<String> subjects) {
+		return new RevocationUpdate(tokenIds, subjects, false);
+	}
+
+	/**
+	 * An update replacing the whole deny-list.
+	 * @param tokenIds all the revoked token IDs
+	 * @param subjects all the revoked subjects
+	 * @return the update
+	 */
+	public static RevocationUpdate full(Set<String> tokenIds, Set<String> subjects) {
+		return new RevocationUpdate(tokenIds, subjects, true);
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.session;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.util.Assert;
+
+/**
+ * Limits the number of requests processed concurrently for a single MCP session, so
+ * that one session cannot flood the server and starve the others.
+ * <p>
+ * Each session has its own fair {@link Semaphore}: over-limit requests wait, in order,
+ * for at most {@code maxWait}, and are rejected if no permit becomes available. There is
+ * no global lock: semaphores are created and discarded per session ID, with atomic
+ * operations on a {@link ConcurrentHashMap}. A semaphore is only kept while requests of
+ * its session are in flight or waiting, so expired or deleted sessions do not leak.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public final class McpSessionConcurrencyLimiter {
+
+	private final Map<String, SessionPermits> permits = new ConcurrentHashMap<>();
+
+	private final int maxConcurrentRequests;
+
+	private final Duration maxWait;
+
+	/**
+	 * Create a new instance.
+	 * @param maxConcurrentRequests the maximum number of concurrent requests per session
+	 * @param maxWait how long over-limit requests wait for a permit,
+	 * {@link Duration#ZERO} to reject them immediately
+	 */
+	public McpSessionConcurrencyLimiter(int maxConcurrentRequests, Duration maxWait) {
+		Assert.isTrue(maxConcurrentRequests > 0, "maxConcurrentRequests must be greater than 0");
+		Assert.notNull(maxWait, "maxWait cannot be null");
+		Assert.isTrue(!maxWait.isNegative(), "maxWait cannot be negative");
+		this.maxConcurrentRequests = maxConcurrentRequests;
+		this.maxWait = maxWait;
+	}
+
+	/**
+	 * Acquire a permit to process a request for the given session, waiting for at most
+	 * {@code maxWait}.
+	 * @param sessionId the MCP session ID
+	 * @return the permit, to be released once the request is complete, or {@code null}
+	 * if the session has too many requests in flight
+	 * @throws InterruptedException if the current thread is interrupted while waiting
+	 */
+	public @Nullable Permit acquire(String sessionId) throws InterruptedException {
+		Assert.hasText(sessionId, "sessionId cannot be empty");
+		var sessionPermits = this.permits.compute(sessionId, (id, existing) -> {
+			var result = (existing != null) ? existing : new SessionPermits(this.maxConcurrentRequests);
+			result.references++;
+			return result;
+		});
+		var acquired = false;
+		try {
+			acquired = sessionPermits.semaphore.tryAcquire(this.maxWait.toNanos(), TimeUnit.NANOSECONDS);
+		}
+		finally {
+			if (!acquired) {
+				dereference(sessionId, sessionPermits);
+			}
+		}
+		return acquired ? new Permit(sessionId, sessionPermits) : null;
+	}
+
+	/**
+	 * Number of sessions with requests in flight or waiting.
+	 */
+	int getActiveSessionCount() {
+		return this.permits.size();
+	}
+
+	private void dereference(String sessionId, SessionPermits sessionPermits) {
+		this.permits.computeIfPresent(sessionId,
+				(id, existing) -> (existing == sessionPermits && --existing.references == 0) ? null : existing);
+	}
+
+	/**
+	 * A permit to process one request of a session. Releasing it more than once has no
+	 * effect.
+	 */
+	public final class Permit {
+
+		private final String sessionId;
+
+		private final SessionPermits sessionPermits;
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		private Permit(String sessionId, SessionPermits sessionPermits) {
+			this.sessionId = sessionId;
+			this.sessionPermits = sessionPermits;
+		}
+
+		public void release() {
+			if (this.released.compareAndSet(false, true)) {
+				this.sessionPermits.semaphore.release();
+				dereference(this.sessionId, this.sessionPermits);
+			}
+		}
+
+	}
+
+	private static final class SessionPermits {
+
+		private final Semaphore semaphore;
+
+		/**
+		 * Requests holding or waiting for a permit. Only accessed within atomic
+		 * {@link ConcurrentHashMap} operations on the session's entry.
+		 */
+		private int references;
+
+		private SessionPermits(int permits) {
+			this.semaphore = new Semaphore(permits, true);
+		}
+
+	}
+
+}
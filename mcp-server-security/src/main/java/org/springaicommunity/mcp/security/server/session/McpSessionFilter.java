@@ -17,25 +17,36 @@
 package org.springaicommunity.mcp.security.server.session;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 import io.modelcontextprotocol.spec.HttpHeaders;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.jspecify.annotations.Nullable;
 
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationTrustResolver;
 import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 /**
  * Filter for binding and validating MCP sessions.
+ * <p>
+ * Sessions are bound when the response carrying the {@code Mcp-Session-Id} header is
+ * committed, rather than when the filter chain returns, so that long-lived streamable
+ * HTTP responses served with async dispatch are bound exactly once, before the client
+ * sees the session ID.
  *
  * @author Daniel Garnier-Moiroux
  */
@@ -47,6 +58,8 @@ public class McpSessionFilter extends OncePerRequestFilter {
 
 	private Function<HttpServletRequest, String> sessionBindingIdResolver = this::defaultSessionBindingIdResolver;
 
+	private @Nullable McpSessionConcurrencyLimiter concurrencyLimiter;
+
 	public McpSessionFilter(McpSessionBindingRepository sessionBindingRepository) {
 		this.sessionBindingRepository = sessionBindingRepository;
 	}
@@ -66,18 +79,99 @@ public class McpSessionFilter extends OncePerRequestFilter {
 			}
 		}
 
-		filterChain.doFilter(request, response);
+		McpSessionConcurrencyLimiter.Permit permit = null;
+		if (this.concurrencyLimiter != null && StringUtils.hasText(requestSessionId)
+				&& HttpMethod.POST.matches(request.getMethod())) {
+			permit = acquirePermit(this.concurrencyLimiter, requestSessionId);
+			if (permit == null) {
+				logger.debug("Too many concurrent requests for session [%s]".formatted(requestSessionId));
+				response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "too many concurrent requests");
+				return;
+			}
+		}
+
+		try {
+			doFilterWithSessionBinding(request, response, filterChain, sessionBindingId);
+		}
+		finally {
+			if (permit != null) {
+				releaseOnCompletion(request, permit);
+			}
+		}
+	}
+
+	private void doFilterWithSessionBinding(HttpServletRequest request, HttpServletResponse response,
+			FilterChain filterChain, @Nullable String sessionBindingId) throws ServletException, IOException {
+		if (!StringUtils.hasText(sessionBindingId)) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		var sessionBindingResponse = new SessionBindingResponseWrapper(response, sessionBindingId);
+		filterChain.doFilter(request, sessionBindingResponse);
+
+		if (request.isAsyncStarted()) {
+			// Long-lived responses, such as SSE streams, are usually committed by their
+			// first flush; bind on completion in case nothing was ever flushed.
+			request.getAsyncContext().addListener(new SessionBindingAsyncListener(sessionBindingResponse));
+		}
+		else {
+			sessionBindingResponse.bindSession();
+		}
+	}
+
+	private static McpSessionConcurrencyLimiter.@Nullable Permit acquirePermit(
+			McpSessionConcurrencyLimiter concurrencyLimiter, String sessionId) {
+		try {
+			return concurrencyLimiter.acquire(sessionId);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	/**
+	 * Release the permit once the response is complete, which, for async requests, is
+	 * after the filter chain returns.
+	 */
+	private static void releaseOnCompletion(HttpServletRequest request, McpSessionConcurrencyLimiter.Permit permit) {
+		if (!request.isAsyncStarted()) {
+			permit.release();
+			return;
+		}
+		request.getAsyncContext().addListener(new AsyncListener() {
+
+			@Override
+			public void onComplete(AsyncEvent event) {
+				permit.release();
+			}
+
+			@Override
+			public void onTimeout(AsyncEvent event) {
+			}
 
-		var responseSessionId = response.getHeader(HttpHeaders.MCP_SESSION_ID);
-		if (StringUtils.hasText(responseSessionId) && StringUtils.hasText(sessionBindingId)) {
-			logger.debug("Binding session [%s] to user [%s]".formatted(responseSessionId, sessionBindingId));
-			try {
-				this.sessionBindingRepository.bindSession(responseSessionId, sessionBindingId);
+			@Override
+			public void onError(AsyncEvent event) {
+				permit.release();
 			}
-			catch (InvalidMcpSessionBindingException e) {
-				logger.error("Failed to bind session");
-				throw new RuntimeException(e);
+
+			@Override
+			public void onStartAsync(AsyncEvent event) {
+				event.getAsyncContext().addListener(this);
 			}
+
+		});
+	}
+
+	private void bindSession(String responseSessionId, String sessionBindingId) {
+		logger.debug("Binding session [%s] to user [%s]".formatted(responseSessionId, sessionBindingId));
+		try {
+			this.sessionBindingRepository.bindSession(responseSessionId, sessionBindingId);
+		}
+		catch (InvalidMcpSessionBindingException e) {
+			logger.error("Failed to bind session");
+			throw new RuntimeException(e);
 		}
 	}
 
@@ -98,9 +192,78 @@ public class McpSessionFilter extends OncePerRequestFilter {
 		this.sessionBindingIdResolver = sessionBindingIdResolver;
 	}
 
+	/**
+	 * Limit the number of concurrent {@code POST} requests per MCP session. Over-limit
+	 * requests wait for a permit, and are rejected with {@code 429 Too Many Requests} if
+	 * none becomes available. The limit is only applied after the session binding has
+	 * been validated, so that a caller cannot exhaust the permits of a session it does
+	 * not own. By default, there is no limit.
+	 * @param concurrencyLimiter the concurrency limiter
+	 */
+	public void setConcurrencyLimiter(McpSessionConcurrencyLimiter concurrencyLimiter) {
+		Assert.notNull(concurrencyLimiter, "concurrencyLimiter cannot be null");
+		this.concurrencyLimiter = concurrencyLimiter;
+	}
+
 	public @Nullable String defaultSessionBindingIdResolver(HttpServletRequest request) {
 		var authentication = SecurityContextHolder.getContext().getAuthentication();
 		return this.trustResolver.isAuthenticated(authentication) ? authentication.getName() : null;
 	}
 
+	/**
+	 * Binds the MCP session returned by the server when the response is committed, that
+	 * is, right before the {@code Mcp-Session-Id} header reaches the client. This does
+	 * not depend on the request thread: with async dispatch, the response is committed
+	 * by whichever thread writes to it. The session is bound at most once.
+	 */
+	private final class SessionBindingResponseWrapper extends OnCommittedResponseWrapper {
+
+		private final String sessionBindingId;
+
+		private final AtomicBoolean bound = new AtomicBoolean();
+
+		SessionBindingResponseWrapper(HttpServletResponse response, String sessionBindingId) {
+			super(response);
+			this.sessionBindingId = sessionBindingId;
+		}
+
+		@Override
+		protected void onResponseCommitted() {
+			bindSession();
+		}
+
+		void bindSession() {
+			if (!this.bound.compareAndSet(false, true)) {
+				return;
+			}
+			var responseSessionId = getHeader(HttpHeaders.MCP_SESSION_ID);
+			if (StringUtils.hasText(responseSessionId)) {
+				McpSessionFilter.this.bindSession(responseSessionId, this.sessionBindingId);
+			}
+		}
+
+	}
+
+	private record SessionBindingAsyncListener(SessionBindingResponseWrapper response) implements AsyncListener {
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			this.response.bindSession();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			event.getAsyncContext().addListener(this);
+		}
+
+	}
+
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.session;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.function.Function;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.AbstractOAuth2TokenAuthenticationToken;
+import org.springframework.util.Assert;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Filter closing long-lived MCP streams once the credentials that opened them expire.
+ * <p>
+ * Streamable HTTP responses are served with async dispatch, and may stay open much
+ * longer than the access token sent with the request. When the filter chain returns with
+ * an async request, the expiry of the caller's credentials is recorded in a
+ * {@link McpStreamExpiryScheduler}, and the stream is completed when it expires. The
+ * client is then expected to reconnect with fresh credentials, and resume the stream.
+ * Registrations are cancelled when the stream ends on its own.
+ * <p>
+ * By default, the expiry is read from OAuth2 access tokens; other authentications are
+ * not tracked.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class McpStreamExpiryFilter extends OncePerRequestFilter {
+
+	private final McpStreamExpiryScheduler scheduler;
+
+	private Function<Authentication, @Nullable Instant> expiryResolver = McpStreamExpiryFilter::getTokenExpiry;
+
+	public McpStreamExpiryFilter(McpStreamExpiryScheduler scheduler) {
+		Assert.notNull(scheduler, "scheduler cannot be null");
+		this.scheduler = scheduler;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		var authentication = SecurityContextHolder.getContext().getAuthentication();
+		filterChain.doFilter(request, response);
+		if (authentication == null || !request.isAsyncStarted()) {
+			return;
+		}
+		var expiresAt = this.expiryResolver.apply(authentication);
+		if (expiresAt == null) {
+			return;
+		}
+
+		var asyncContext = request.getAsyncContext();
+		var listener = new StreamExpiryAsyncListener();
+		asyncContext.addListener(listener);
+		listener.register(this.scheduler.schedule(expiresAt, () -> closeStream(asyncContext, authentication)));
+	}
+
+	/**
+	 * Set the function reading when the credentials of the caller expire. Streams of
+	 * callers for which it returns {@code null} are never closed. Defaults to the
+	 * {@code exp} of OAuth2 access tokens.
+	 * @param expiryResolver the expiry resolver
+	 */
+	public void setExpiryResolver(Function<Authentication, @Nullable Instant> expiryResolver) {
+		Assert.notNull(expiryResolver, "expiryResolver cannot be null");
+		this.expiryResolver = expiryResolver;
+	}
+
+	private void closeStream(AsyncContext asyncContext, Authentication authentication) {
+		logger.debug("Closing MCP stream of [%s], credentials expired".formatted(authentication.getName()));
+		asyncContext.complete();
+	}
+
+	private static @Nullable Instant getTokenExpiry(Authentication authentication) {
+		if (authentication instanceof AbstractOAuth2TokenAuthenticationToken<?> tokenAuthentication) {
+			return tokenAuthentication.getToken().getExpiresAt();
+		}
+		return null;
+	}
+
+	/**
+	 * Cancels the expiry of the stream when it ends, even if it ends before the
+	 * registration is known.
+	 */
+	private static final class StreamExpiryAsyncListener implements AsyncListener {
+
+		private McpStreamExpiryScheduler.@Nullable Registration registration;
+
+		private boolean ended;
+
+		synchronized void register(McpStreamExpiryScheduler.Registration registration) {
+			this.registration = registration;
+			if (this.ended) {
+				registration.cancel();
+			}
+		}
+
+		private synchronized void end() {
+			this.ended = true;
+			if (this.registration != null) {
+				this.registration.cancel();
+			}
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			end();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			end();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			end();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+
+	}
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.Assert;
+
+/**
+ * Runs an action when the credentials of a long-lived MCP stream expire, for example to
+ * close a streamable HTTP response opened with an access token that is no longer valid.
+ * <p>
+ * There is a single background thread for all streams, rather than a timer per stream.
+ * Streams are grouped in buckets by expiry time, rounded up to the tick interval, and on
+ * every tick the buckets that are due are expired as a whole. Scheduling and cancelling
+ * a stream are {@code O(1)} operations on concurrent collections, so that hundreds of
+ * thousands of open streams only cost one entry each. Actions may run up to one tick
+ * late, but never early.
+ * <p>
+ * The background thread is a daemon thread, started on the first call to
+ * {@link #schedule(Instant, Runnable)}. Declare a single instance as a bean to share it
+ * across filter chains.
+ *
+ * @author Daniel Garnier-Moiroux
+ * @see McpStreamExpiryFilter
+ */
+public final class McpStreamExpiryScheduler {
+
+	private static final Log logger = LogFactory.getLog(McpStreamExpiryScheduler.class);
+
+	private final ConcurrentSkipListMap<Long, Set<Registration>> buckets = new ConcurrentSkipListMap<>();
+
+	private final AtomicInteger scheduledCount = new AtomicInteger();
+
+	private final AtomicBoolean started = new AtomicBoolean();
+
+	private final long tickMillis;
+
+	private final ScheduledExecutorService executor;
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Create a new instance, checking for expired streams every second.
+	 */
+	public McpStreamExpiryScheduler() {
+		this(Duration.ofSeconds(1));
+	}
+
+	/**
+	 * Create a new instance.
+	 * @param tickInterval how often expired streams are checked
+	 */
+	public McpStreamExpiryScheduler(Duration tickInterval) {
+		this(tickInterval, Executors.newSingleThreadScheduledExecutor((runnable) -> {
+			var thread = new Thread(runnable, "mcp-stream-expiry");
+			thread.setDaemon(true);
+			return thread;
+		}));
+	}
+
+	McpStreamExpiryScheduler(Duration tickInterval, ScheduledExecutorService executor) {
+		Assert.notNull(tickInterval, "tickInterval cannot be null");
+		Assert.isTrue(tickInterval.toMillis() > 0, "tickInterval must be positive");
+		Assert.notNull(executor, "executor cannot be null");
+		this.tickMillis = tickInterval.toMillis();
+		this.executor = executor;
+	}
+
+	/**
+	 * Run {@code onExpiry} once {@code expiresAt} has passed, unless the returned
+	 * {@link Registration} is cancelled first. If {@code expiresAt} has already passed,
+	 * the action runs on the next tick.
+	 * @param expiresAt when the credentials of the stream expire
+	 * @param onExpiry the action to run, for example closing the stream
+	 * @return the registration, to cancel when the stream ends
+	 */
+	public Registration schedule(Instant expiresAt, Runnable onExpiry) {
+		Assert.notNull(expiresAt, "expiresAt cannot be null");
+		Assert.notNull(onExpiry, "onExpiry cannot be null");
+		// Round up, so that streams are never expired early
+		var bucketKey = Math.floorDiv(expiresAt.toEpochMilli() + this.tickMillis - 1, this.tickMillis);
+		var registration = new Registration(bucketKey, onExpiry);
+		this.scheduledCount.incrementAndGet();
+		var bucket = this.buckets.computeIfAbsent(bucketKey, (key) -> ConcurrentHashMap.newKeySet());
+		bucket.add(registration);
+		if (this.buckets.get(bucketKey) != bucket) {
+			// The bucket was due, and has been taken by the expiry thread concurrently
+			registration.expire();
+		}
+		if (this.started.compareAndSet(false, true)) {
+			this.executor.scheduleWithFixedDelay(this::expireDue, this.tickMillis, this.tickMillis,
+					TimeUnit.MILLISECONDS);
+		}
+		return registration;
+	}
+
+	/**
+	 * Stop the background thread. Streams that are still scheduled are not expired.
+	 */
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+	/**
+	 * Expire all the buckets that are due.
+	 */
+	void expireDue() {
+		var currentKey = Math.floorDiv(this.clock.millis(), this.tickMillis);
+		Map.Entry<Long, Set<Registration>> bucket;
+		while ((bucket = this.buckets.firstEntry()) != null && bucket.getKey() <= currentKey) {
+			if (this.buckets.remove(bucket.getKey(), bucket.getValue())) {
+				bucket.getValue().forEach(Registration::expire);
+			}
+		}
+	}
+
+	/**
+	 * The number of streams that are scheduled, and neither expired nor cancelled.
+	 */
+	int getScheduledCount() {
+		return this.scheduledCount.get();
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	/**
+	 * A stream scheduled for expiry.
+	 */
+	public final class Registration {
+
+		private final long bucketKey;
+
+		private final Runnable onExpiry;
+
+		private final AtomicBoolean done = new AtomicBoolean();
+
+		private Registration(long bucketKey, Runnable onExpiry) {
+			this.bucketKey = bucketKey;
+			this.onExpiry = onExpiry;
+		}
+
+		/**
+		 * Cancel the expiry action, typically because the stream has ended. Calling this
+		 * method more than once, or after expiry, has no effect.
+		 */
+		public void cancel() {
+			if (this.done.compareAndSet(false, true)) {
+				scheduledCount.decrementAndGet();
+				var bucket = buckets.get(this.bucketKey);
+				if (bucket != null) {
+					bucket.remove(this);
+				}
+			}
+		}
+
+		private void expire() {
+			if (this.done.compareAndSet(false, true)) {
+				scheduledCount.decrementAndGet();
+				try {
+					this.onExpiry.run();
+				}
+				catch (RuntimeException ex) {
+					logger.debug("Could not expire MCP stream", ex);
+				}
+			}
+		}
+
+	}
+
+}
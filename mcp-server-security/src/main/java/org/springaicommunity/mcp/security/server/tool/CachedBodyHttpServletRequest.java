@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.tool;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * Request wrapper replaying a body that was already read from the underlying request,
+ * so that it can be inspected by a filter and then read again by the MCP server.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+final class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+
+	private final byte[] body;
+
+	CachedBodyHttpServletRequest(HttpServletRequest request, byte[] body) {
+		super(request);
+		this.body = body;
+	}
+
+	@Override
+	public ServletInputStream getInputStream() {
+		var inputStream = new ByteArrayInputStream(this.body);
+		return new ServletInputStream() {
+
+			@Override
+			public boolean isFinished() {
+				return inputStream.available() == 0;
+			}
+
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setReadListener(ReadListener readListener) {
+				try {
+					readListener.onDataAvailable();
+					readListener.onAllDataRead();
+				}
+				catch (IOException ex) {
+					readListener.onError(ex);
+				}
+			}
+
+			@Override
+			public int read() {
+				return inputStream.read();
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) {
+				return inputStream.read(b, off, len);
+			}
+
+		};
+	}
+
+	@Override
+	public BufferedReader getReader() {
+		var encoding = getCharacterEncoding();
+		var charset = (encoding != null) ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+		return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+	}
+
+	@Override
+	public int getContentLength() {
+		return this.body.length;
+	}
+
+	@Override
+	public long getContentLengthLong() {
+		return this.body.length;
+	}
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.tool;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Streaming lookahead over the body of an MCP JSON-RPC request, extracting the methods
+ * and the names of the tools invoked through {@code tools/call}, without deserializing
+ * the request.
+ * <p>
+ * Only the {@code method} member of each message and the {@code name} member of its
+ * {@code params} are decoded; every other value, including tool arguments, is skipped.
+ * Both single messages and batches are supported.
+ * <p>
+ * The result is used for authorization decisions, so any input that the MCP server could
+ * interpret differently is rejected with an {@link IllegalArgumentException}: malformed
+ * JSON, and duplicate {@code method}, {@code params} or {@code name} members.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public final class JsonRpcRequestPeek extends JsonScanner {
+
+	private static final String TOOLS_CALL_METHOD = "tools/call";
+
+	private JsonRpcRequestPeek(byte[] body) {
+		super(body, "JSON-RPC request");
+	}
+
+	/**
+	 * Read the JSON-RPC methods and the names of the called tools of this request body,
+	 * in a single pass.
+	 * @param body the raw, UTF-8 encoded request body
+	 * @return the methods and tool names
+	 * @throws IllegalArgumentException if the body is not valid JSON, or is ambiguous
+	 */
+	public static Summary peek(byte[] body) {
+		var methods = new ArrayList<String>(1);
+		var toolNames = new ArrayList<String>(1);
+		for (var message : new JsonRpcRequestPeek(body).readMessages()) {
+			var method = message.method();
+			if (method != null) {
+				methods.add(method);
+			}
+			var toolName = message.toolName();
+			if (TOOLS_CALL_METHOD.equals(method) && toolName != null) {
+				toolNames.add(toolName);
+			}
+		}
+		return new Summary(methods, toolNames);
+	}
+
+	/**
+	 * Return the names of the tools called in this JSON-RPC request body.
+	 * @param body the raw, UTF-8 encoded request body
+	 * @return the tool names, in order; empty if the request does not call any tool
+	 * @throws IllegalArgumentException if the body is not valid JSON, or is ambiguous
+	 */
+	public static List<String> getToolCallNames(byte[] body) {
+		return peek(body).toolCallNames();
+	}
+
+	/**
+	 * Return the JSON-RPC methods of the messages in this request body, for example
+	 * {@code tools/list}.
+	 * @param body the raw, UTF-8 encoded request body
+	 * @return the methods, in order; empty if the body only contains responses
+	 * @throws IllegalArgumentException if the body is not valid JSON, or is ambiguous
+	 */
+	public static List<String> getMethods(byte[] body) {
+		return peek(body).methods();
+	}
+
+	private List<Message> readMessages() {
+		var messages = new ArrayList<Message>(1);
+		skipWhitespace();
+		if (isAtEnd()) {
+			return messages;
+		}
+		if (current() == '[') {
+			this.position++;
+			skipWhitespace();
+			if (current() == ']') {
+				this.position++;
+			}
+			else {
+				do {
+					skipWhitespace();
+					readMessage(messages);
+					skipWhitespace();
+				}
+				while (consumeSeparator(']'));
+			}
+		}
+		else {
+			readMessage(messages);
+		}
+		skipWhitespace();
+		if (!isAtEnd()) {
+			throw malformed("trailing content");
+		}
+		return messages;
+	}
+
+	private void readMessage(List<Message> messages) {
+		if (current() != '{') {
+			skipValue(1);
+			return;
+		}
+		this.position++;
+		String method = null;
+		String toolName = null;
+		boolean methodSeen = false;
+		boolean paramsSeen = false;
+		skipWhitespace();
+		if (current() == '}') {
+			this.position++;
+			return;
+		}
+		do {
+			skipWhitespace();
+			var key = readString();
+			skipWhitespace();
+			expect(':');
+			skipWhitespace();
+			switch (key) {
+				case "method" -> {
+					methodSeen = checkNotSeen(methodSeen, key);
+					method = (current() == '"') ? readString() : skipValueAndReturnNull();
+				}
+				case "params" -> {
+					paramsSeen = checkNotSeen(paramsSeen, key);
+					toolName = (current() == '{') ? readToolName() : skipValueAndReturnNull();
+				}
+				default -> skipValue(1);
+			}
+			skipWhitespace();
+		}
+		while (consumeSeparator('}'));
+
+		messages.add(new Message(method, toolName));
+	}
+
+	private @Nullable String readToolName() {
+		this.position++;
+		String toolName = null;
+		boolean nameSeen = false;
+		skipWhitespace();
+		if (current() == '}') {
+			this.position++;
+			return null;
+		}
+		do {
+			skipWhitespace();
+			var key = readString();
+			skipWhitespace();
+			expect(':');
+			skipWhitespace();
+			if ("name".equals(key)) {
+				nameSeen = checkNotSeen(nameSeen, key);
+				toolName = (current() == '"') ? readString() : skipValueAndReturnNull();
+			}
+			else {
+				skipValue(2);
+			}
+			skipWhitespace();
+		}
+		while (consumeSeparator('}'));
+		return toolName;
+	}
+
+	private record Message(@Nullable String method, @Nullable String toolName) {
+
+	}
+
+	/**
+	 * The methods and called tool names of a JSON-RPC request body.
+	 *
+	 * @param methods the methods of the messages, in order; empty if the body only
+	 * contains responses
+	 * @param toolCallNames the tool names of the {@code tools/call} messages, in order
+	 */
+	public record Summary(List<String> methods, List<String> toolCallNames) {
+
+	}
+
+}
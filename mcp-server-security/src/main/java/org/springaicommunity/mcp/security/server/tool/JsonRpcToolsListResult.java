@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.tool;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Lookahead over a serialized JSON-RPC response, locating the {@code result.tools} array
+ * of a {@code tools/list} result and the name of each tool, without deserializing the
+ * tool definitions.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+final class JsonRpcToolsListResult extends JsonScanner {
+
+	private JsonRpcToolsListResult(byte[] message) {
+		super(message, "JSON-RPC response");
+	}
+
+	/**
+	 * Locate the {@code tools} array of a {@code tools/list} result.
+	 * @param message the raw, UTF-8 encoded JSON-RPC message
+	 * @return the bounds of the array, or {@code null} if the message is not a
+	 * {@code tools/list} result
+	 * @throws IllegalArgumentException if the message is not valid JSON, or is ambiguous
+	 */
+	static @Nullable Range findTools(byte[] message) {
+		var scanner = new JsonRpcToolsListResult(message);
+		scanner.skipWhitespace();
+		if (scanner.isAtEnd() || scanner.current() != '{') {
+			return null;
+		}
+		var tools = scanner.readEnvelope();
+		scanner.skipWhitespace();
+		if (!scanner.isAtEnd()) {
+			throw scanner.malformed("trailing content");
+		}
+		return tools;
+	}
+
+	/**
+	 * Read the tools of a {@code tools} array located with {@link #findTools(byte[])}.
+	 * @param message the raw, UTF-8 encoded JSON-RPC message
+	 * @param tools the bounds of the {@code tools} array
+	 * @return the tools, in order
+	 */
+	static List<Tool> readTools(byte[] message, Range tools) {
+		var scanner = new JsonRpcToolsListResult(message);
+		scanner.position = tools.start();
+		var result = new ArrayList<Tool>();
+		scanner.expect('[');
+		scanner.skipWhitespace();
+		if (scanner.current() == ']') {
+			return result;
+		}
+		do {
+			scanner.skipWhitespace();
+			var start = scanner.position;
+			var name = (scanner.current() == '{') ? scanner.readToolName() : scanner.skipValueAndReturnNull();
+			result.add(new Tool(name, new Range(start, scanner.position)));
+			scanner.skipWhitespace();
+		}
+		while (scanner.consumeSeparator(']'));
+		return result;
+	}
+
+	private @Nullable Range readEnvelope() {
+		this.position++;
+		Range tools = null;
+		boolean resultSeen = false;
+		skipWhitespace();
+		if (current() == '}') {
+			this.position++;
+			return null;
+		}
+		do {
+			skipWhitespace();
+			var key = readString();
+			skipWhitespace();
+			expect(':');
+			skipWhitespace();
+			if ("result".equals(key)) {
+				resultSeen = checkNotSeen(resultSeen, key);
+				tools = (current() == '{') ? readResult() : skipValueAndReturnNull();
+			}
+			else {
+				skipValue(1);
+			}
+			skipWhitespace();
+		}
+		while (consumeSeparator('}'));
+		return tools;
+	}
+
+	private @Nullable Range readResult() {
+		this.position++;
+		Range tools = null;
+		boolean toolsSeen = false;
+		skipWhitespace();
+		if (current() == '}') {
+			this.position++;
+			return null;
+		}
+		do {
+			skipWhitespace();
+			var key = readString();
+			skipWhitespace();
+			expect(':');
+			skipWhitespace();
+			if ("tools".equals(key)) {
+				toolsSeen = checkNotSeen(toolsSeen, key);
+				var start = this.position;
+				var isArray = current() == '[';
+				skipValue(3);
+				tools = isArray ? new Range(start, this.position) : null;
+			}
+			else {
+				skipValue(2);
+			}
+			skipWhitespace();
+		}
+		while (consumeSeparator('}'));
+		return tools;
+	}
+
+	private @Nullable String readToolName() {
+		this.position++;
+		String name = null;
+		boolean nameSeen = false;
+		skipWhitespace();
+		if (current() == '}') {
+			this.position++;
+			return null;
+		}
+		do {
+			skipWhitespace();
+			var key = readString();
+			skipWhitespace();
+			expect(':');
+			skipWhitespace();
+			if ("name".equals(key)) {
+				nameSeen = checkNotSeen(nameSeen, key);
+				name = (current() == '"') ? readString() : skipValueAndReturnNull();
+			}
+			else {
+				skipValue(4);
+			}
+			skipWhitespace();
+		}
+		while (consumeSeparator('}'));
+		return name;
+	}
+
+	/**
+	 * Bounds of a JSON value in a message, {@code end} being exclusive.
+	 */
+	record Range(int start, int end) {
+
+	}
+
+	record Tool(@Nullable String name, Range range) {
+
+	}
+
+}
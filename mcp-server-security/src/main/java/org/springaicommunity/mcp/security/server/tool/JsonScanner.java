@@ -0,0 +1,242 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.tool;
+
+import java.nio.charset.StandardCharsets;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Minimal, allocation-free JSON scanner over a UTF-8 encoded byte array, used to look
+ * at a few members of MCP JSON-RPC messages without deserializing them. Only the strings
+ * that are explicitly read are decoded; every other value is skipped.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+class JsonScanner {
+
+	private static final int MAX_DEPTH = 64;
+
+	final byte[] body;
+
+	private final String description;
+
+	int position;
+
+	JsonScanner(byte[] body, String description) {
+		this.body = body;
+		this.description = description;
+	}
+
+	void skipValue(int depth) {
+		if (depth > MAX_DEPTH) {
+			throw malformed("maximum nesting depth exceeded");
+		}
+		switch (current()) {
+			case '"' -> skipString();
+			case '{' -> {
+				this.position++;
+				skipWhitespace();
+				if (current() == '}') {
+					this.position++;
+					return;
+				}
+				do {
+					skipWhitespace();
+					skipString();
+					skipWhitespace();
+					expect(':');
+					skipWhitespace();
+					skipValue(depth + 1);
+					skipWhitespace();
+				}
+				while (consumeSeparator('}'));
+			}
+			case '[' -> {
+				this.position++;
+				skipWhitespace();
+				if (current() == ']') {
+					this.position++;
+					return;
+				}
+				do {
+					skipWhitespace();
+					skipValue(depth + 1);
+					skipWhitespace();
+				}
+				while (consumeSeparator(']'));
+			}
+			default -> skipLiteral();
+		}
+	}
+
+	<T> @Nullable T skipValueAndReturnNull() {
+		skipValue(1);
+		return null;
+	}
+
+	String readString() {
+		expect('"');
+		var start = this.position;
+		StringBuilder decoded = null;
+		while (true) {
+			var b = current();
+			if (b == '"') {
+				var end = this.position++;
+				if (decoded == null) {
+					return new String(this.body, start, end - start, StandardCharsets.UTF_8);
+				}
+				return decoded.append(new String(this.body, start, end - start, StandardCharsets.UTF_8)).toString();
+			}
+			if (b == '\\') {
+				if (decoded == null) {
+					decoded = new StringBuilder();
+				}
+				decoded.append(new String(this.body, start, this.position - start, StandardCharsets.UTF_8));
+				this.position++;
+				decoded.append(readEscape());
+				start = this.position;
+			}
+			else if ((b & 0xFF) < 0x20) {
+				throw malformed("control character in string");
+			}
+			else {
+				this.position++;
+			}
+		}
+	}
+
+	char readEscape() {
+		var escaped = current();
+		this.position++;
+		return switch (escaped) {
+			case '"' -> '"';
+			case '\\' -> '\\';
+			case '/' -> '/';
+			case 'b' -> '\b';
+			case 'f' -> '\f';
+			case 'n' -> '\n';
+			case 'r' -> '\r';
+			case 't' -> '\t';
+			case 'u' -> {
+				if (this.position + 4 > this.body.length) {
+					throw malformed("truncated unicode escape");
+				}
+				var codeUnit = 0;
+				for (int i = 0; i < 4; i++) {
+					var digit = Character.digit(this.body[this.position++], 16);
+					if (digit < 0) {
+						throw malformed("invalid unicode escape");
+					}
+					codeUnit = (codeUnit << 4) | digit;
+				}
+				yield (char) codeUnit;
+			}
+			default -> throw malformed("invalid escape sequence");
+		};
+	}
+
+	void skipString() {
+		expect('"');
+		while (true) {
+			var b = current();
+			this.position++;
+			if (b == '"') {
+				return;
+			}
+			if (b == '\\') {
+				current();
+				this.position++;
+			}
+			else if ((b & 0xFF) < 0x20) {
+				throw malformed("control character in string");
+			}
+		}
+	}
+
+	void skipLiteral() {
+		var start = this.position;
+		while (!isAtEnd()) {
+			var b = this.body[this.position];
+			if ((b >= 'a' && b <= 'z') || (b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'E') {
+				this.position++;
+			}
+			else {
+				break;
+			}
+		}
+		if (start == this.position) {
+			throw malformed("unexpected character");
+		}
+	}
+
+	/**
+	 * Consume a {@code ,} and return {@code true}, or consume the closing character and
+	 * return {@code false}.
+	 */
+	boolean consumeSeparator(char closing) {
+		var b = current();
+		this.position++;
+		if (b == ',') {
+			return true;
+		}
+		if (b == closing) {
+			return false;
+		}
+		throw malformed("expected ',' or '" + closing + "'");
+	}
+
+	boolean checkNotSeen(boolean seen, String key) {
+		if (seen) {
+			throw malformed("duplicate member '" + key + "'");
+		}
+		return true;
+	}
+
+	void expect(char expected) {
+		if (current() != expected) {
+			throw malformed("expected '" + expected + "'");
+		}
+		this.position++;
+	}
+
+	void skipWhitespace() {
+		while (!isAtEnd()) {
+			var b = this.body[this.position];
+			if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+				return;
+			}
+			this.position++;
+		}
+	}
+
+	byte current() {
+		if (isAtEnd()) {
+			throw malformed("unexpected end of input");
+		}
+		return this.body[this.position];
+	}
+
+	boolean isAtEnd() {
+		return this.position >= this.body.length;
+	}
+
+	IllegalArgumentException malformed(String reason) {
+		return new IllegalArgumentException("Malformed " + this.description + ": " + reason);
+	}
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.tool;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.UrlUtils;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.util.Assert;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Filter authorizing MCP tool calls before they reach the MCP server, using the scopes
+ * declared in {@link McpToolScopeRequirements} and the expressions of an
+ * {@link McpToolAuthorizationManager}.
+ * <p>
+ * The body of {@code POST} requests to the MCP endpoint is buffered and inspected with
+ * {@link JsonRpcRequestPeek}, which only reads the JSON-RPC method and tool name, so
+ * that unauthorized calls are rejected before the tool arguments are deserialized. The
+ * endpoint is matched with a {@link PathPatternRequestMatcher}, like Spring MVC routes
+ * requests, so that encoded or parameterized variants of the path are inspected too.
+ * Bodies larger than {@link #setMaxBodySize(int) the maximum size} are rejected with a
+ * {@code 413 Content Too Large}.
+ * Unauthorized calls result in an {@link AccessDeniedException}, which Spring Security
+ * turns into a {@code 401} for anonymous callers and a {@code 403} otherwise. When an
+ * authenticated caller lacks a required scope, the filter responds with a {@code 403}
+ * and an {@code insufficient_scope} error in the {@code WWW-Authenticate} header, as
+ * described in RFC 6750, so that the client can request a token with more scopes.
+ * Requests that cannot be inspected get a {@code 400 Bad Request}.
+ * <p>
+ * When a {@link McpToolListFilter} is set, the results of {@code tools/list} requests
+ * are rewritten so that callers only see the tools they may call.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class McpToolAuthorizationFilter extends OncePerRequestFilter {
+
+	private static final String TOOLS_LIST_METHOD = "tools/list";
+
+	private static final String WELL_KNOWN_PATH_SEGMENT = "/.well-known/oauth-protected-resource";
+
+	private static final int DEFAULT_MAX_BODY_SIZE = 4 * 1024 * 1024;
+
+	private final McpToolAuthorizationManager authorizationManager;
+
+	private final McpToolScopeRequirements scopeRequirements;
+
+	private final String endpointPath;
+
+	private final RequestMatcher endpointMatcher;
+
+	private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+	private @Nullable McpToolListFilter toolListFilter;
+
+	private int maxBodySize = DEFAULT_MAX_BODY_SIZE;
+
+	public McpToolAuthorizationFilter(McpToolAuthorizationManager authorizationManager, String endpointPath) {
+		this(authorizationManager, McpToolScopeRequirements.empty(), endpointPath);
+	}
+
+	public McpToolAuthorizationFilter(McpToolAuthorizationManager authorizationManager,
+			McpToolScopeRequirements scopeRequirements, String endpointPath) {
+		Assert.notNull(authorizationManager, "authorizationManager cannot be null");
+		Assert.notNull(scopeRequirements, "scopeRequirements cannot be null");
+		Assert.hasText(endpointPath, "endpointPath cannot be empty");
+		this.authorizationManager = authorizationManager;
+		this.scopeRequirements = scopeRequirements;
+		this.endpointPath = endpointPath;
+		this.endpointMatcher = PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, endpointPath);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		if (this.authorizationManager.isEmpty() && this.scopeRequirements.isEmpty()) {
+			return true;
+		}
+		return !this.endpointMatcher.matches(request);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		if (request.getContentLengthLong() > this.maxBodySize) {
+			response.sendError(HttpStatus.CONTENT_TOO_LARGE.value());
+			return;
+		}
+		var body = request.getInputStream().readNBytes(this.maxBodySize + 1);
+		if (body.length > this.maxBodySize) {
+			response.sendError(HttpStatus.CONTENT_TOO_LARGE.value());
+			return;
+		}
+		var bufferedRequest = new CachedBodyHttpServletRequest(request, body);
+
+		JsonRpcRequestPeek.Summary summary;
+		try {
+			summary = JsonRpcRequestPeek.peek(body);
+		}
+		catch (IllegalArgumentException ex) {
+			logger.debug("Could not inspect MCP request", ex);
+			response.sendError(HttpServletResponse.SC_BAD_REQUEST, ex.getMessage());
+			return;
+		}
+		List<String> toolNames = summary.toolCallNames();
+		boolean toolsList = this.toolListFilter != null && summary.methods().contains(TOOLS_LIST_METHOD);
+
+		var authentication = SecurityContextHolder.getContext().getAuthentication();
+		Set<String> grantedScopes = null;
+		for (var toolName : toolNames) {
+			var requiredScopes = this.scopeRequirements.getRequiredScopes(toolName);
+			if (!requiredScopes.isEmpty()) {
+				if (grantedScopes == null) {
+					grantedScopes = McpToolScopeRequirements.getGrantedScopes(authentication);
+				}
+				if (!grantedScopes.containsAll(requiredScopes)) {
+					if (authentication == null || !this.trustResolver.isAuthenticated(authentication)) {
+						logger.debug("Access denied to tool [%s], not authenticated".formatted(toolName));
+						throw new AccessDeniedException("Access denied to tool " + toolName);
+					}
+					logger.debug("Insufficient scope for tool [%s], requires %s".formatted(toolName, requiredScopes));
+					sendInsufficientScope(request, response, requiredScopes);
+					return;
+				}
+			}
+			if (!this.authorizationManager.isAuthorized(authentication, toolName)) {
+				logger.debug("Access denied to tool [%s]".formatted(toolName));
+				throw new AccessDeniedException("Access denied to tool " + toolName);
+			}
+		}
+
+		var toolListFilter = this.toolListFilter;
+		if (toolsList && toolListFilter != null) {
+			var toolsListResponse = new ToolsListHttpServletResponse(response,
+					(message) -> toolListFilter.filterResponse(message, authentication));
+			filterChain.doFilter(bufferedRequest, toolsListResponse);
+			if (!bufferedRequest.isAsyncStarted()) {
+				toolsListResponse.finish();
+			}
+			return;
+		}
+
+		filterChain.doFilter(bufferedRequest, response);
+	}
+
+	/**
+	 * Set the {@link McpToolListFilter} used to hide, in {@code tools/list} results, the
+	 * tools the caller may not call. By default, all tools are listed.
+	 * @param toolListFilter the tool list filter
+	 */
+	public void setToolListFilter(McpToolListFilter toolListFilter) {
+		Assert.notNull(toolListFilter, "toolListFilter cannot be null");
+		this.toolListFilter = toolListFilter;
+	}
+
+	/**
+	 * Set the maximum size, in bytes, of the request bodies that are buffered and
+	 * inspected. Larger requests are rejected with a {@code 413 Content Too Large}.
+	 * Defaults to 4 MiB.
+	 * @param maxBodySize the maximum body size
+	 */
+	public void setMaxBodySize(int maxBodySize) {
+		Assert.isTrue(maxBodySize > 0 && maxBodySize < Integer.MAX_VALUE,
+				"maxBodySize must be positive and less than Integer.MAX_VALUE");
+		this.maxBodySize = maxBodySize;
+	}
+
+	private void sendInsufficientScope(HttpServletRequest request, HttpServletResponse response,
+			Set<String> requiredScopes) {
+		var resourceMetadataUrl = UrlUtils.buildFullRequestUrl(request.getScheme(), request.getServerName(),
+				request.getServerPort(), request.getContextPath() + WELL_KNOWN_PATH_SEGMENT + this.endpointPath, null);
+		var wwwAuthenticate = "Bearer error=\"insufficient_scope\", "
+				+ "error_description=\"The request requires higher privileges than provided by the access token.\", "
+				+ "scope=\"" + String.join(" ", requiredScopes) + "\", resource_metadata=\"" + resourceMetadataUrl
+				+ "\"";
+		response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+		response.setHeader(HttpHeaders.WWW_AUTHENTICATE, wwwAuthenticate);
+	}
+
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.tool;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.jspecify.annotations.Nullable;
+import org.springaicommunity.mcp.security.common.cache.BoundedCache;
+
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.BooleanLiteral;
+import org.springframework.expression.spel.ast.MethodReference;
+import org.springframework.expression.spel.ast.OpAnd;
+import org.springframework.expression.spel.ast.OpOr;
+import org.springframework.expression.spel.ast.OperatorNot;
+import org.springframework.expression.spel.ast.PropertyOrFieldReference;
+import org.springframework.expression.spel.ast.StringLiteral;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.SecurityExpressionRoot;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Authorizes MCP tool calls, based on a Spring Security expression per tool, such as
+ * {@code hasAuthority('SCOPE_weather.read')}. Tools without an expression are always
+ * authorized.
+ * <p>
+ * Tool calls are authorized before the arguments are deserialized, outside of method
+ * security, so only expressions depending on the authorities of the caller are supported,
+ * for example {@code isAuthenticated() and hasRole('ADMIN')}. They are parsed once, and
+ * decisions are cached per tool and set of authorities, in a bounded cache, see
+ * {@link BoundedCache}. Expressions using method arguments, bean references or
+ * {@code hasPermission} must be enforced by method security: they are rejected by the
+ * constructor, and skipped by {@link #findAnnotatedToolExpressions(ListableBeanFactory)}.
+ *
+ * @author Daniel Garnier-Moiroux
+ * @see #fromAnnotatedTools(ListableBeanFactory)
+ */
+public class McpToolAuthorizationManager {
+
+	private static final String MCP_TOOL_ANNOTATION = "org.springframework.ai.mcp.annotation.McpTool";
+
+	private static final Set<String> AUTHORITY_METHODS = Set.of("hasAuthority", "hasAnyAuthority", "hasRole",
+			"hasAnyRole", "isAuthenticated", "isAnonymous");
+
+	private static final Set<String> AUTHORITY_PROPERTIES = Set.of("permitAll", "denyAll");
+
+	private static final int MAX_CACHED_DECISIONS = 4096;
+
+	private static final ExpressionParser PARSER = new SpelExpressionParser();
+
+	private final Map<String, Expression> toolExpressions = new HashMap<>();
+
+	private final BoundedCache<DecisionKey, Boolean> decisions = new BoundedCache<>(MAX_CACHED_DECISIONS,
+			(decision) -> false);
+
+	private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+	/**
+	 * Create a new instance.
+	 * @param toolExpressions the Spring Security expressions, keyed by tool name
+	 * @throws IllegalArgumentException if an expression does not only depend on the
+	 * authorities of the caller
+	 */
+	public McpToolAuthorizationManager(Map<String, String> toolExpressions) {
+		Assert.notNull(toolExpressions, "toolExpressions cannot be null");
+		toolExpressions.forEach((toolName, expressionString) -> {
+			var expression = PARSER.parseExpression(expressionString);
+			Assert.isTrue(isAuthorityOnly(expression), () -> "Expression [" + expressionString + "] of tool ["
+					+ toolName + "] does not only depend on authorities, enforce it with method security instead");
+			this.toolExpressions.put(toolName, expression);
+		});
+	}
+
+	/**
+	 * Whether no tool requires authorization, in which case there is nothing to check.
+	 * @return {@code true} if there are no tool expressions
+	 */
+	public boolean isEmpty() {
+		return this.toolExpressions.isEmpty();
+	}
+
+	/**
+	 * Decide whether the {@code authentication} may call the tool.
+	 * @param authentication the current authentication, may be {@code null}
+	 * @param toolName the name of the tool being called
+	 * @return {@code true} if the call is authorized
+	 */
+	public boolean isAuthorized(@Nullable Authentication authentication, String toolName) {
+		var expression = this.toolExpressions.get(toolName);
+		if (expression == null) {
+			return true;
+		}
+		if (authentication == null) {
+			return false;
+		}
+
+		var key = new DecisionKey(toolName, fingerprint(authentication));
+		var decision = this.decisions.get(key);
+		if (decision != null) {
+			return decision;
+		}
+		decision = evaluate(expression, authentication);
+		this.decisions.put(key, decision);
+		return decision;
+	}
+
+	private boolean evaluate(Expression expression, Authentication authentication) {
+		var root = new SecurityExpressionRoot(authentication) {
+		};
+		root.setTrustResolver(this.trustResolver);
+		return Boolean.TRUE.equals(expression.getValue(new StandardEvaluationContext(root), Boolean.class));
+	}
+
+	/**
+	 * Everything an authority-only expression can observe: whether the caller is
+	 * anonymous or authenticated, and its authorities, in a stable order.
+	 */
+	String fingerprint(Authentication authentication) {
+		var authorities = new TreeSet<String>();
+		for (GrantedAuthority authority : authentication.getAuthorities()) {
+			authorities.add(String.valueOf(authority.getAuthority()));
+		}
+		var status = this.trustResolver.isAnonymous(authentication) ? "anonymous"
+				: this.trustResolver.isAuthenticated(authentication) ? "authenticated" : "unauthenticated";
+		return status + ":" + String.join(" ", authorities);
+	}
+
+	private static boolean isAuthorityOnly(String expression) {
+		return isAuthorityOnly(PARSER.parseExpression(expression));
+	}
+
+	private static boolean isAuthorityOnly(Expression expression) {
+		return (expression instanceof SpelExpression spelExpression) && isAuthorityOnly(spelExpression.getAST());
+	}
+
+	private static boolean isAuthorityOnly(SpelNode node) {
+		if (node instanceof MethodReference methodReference) {
+			if (!AUTHORITY_METHODS.contains(methodReference.getName())) {
+				return false;
+			}
+		}
+		else if (node instanceof PropertyOrFieldReference property) {
+			if (!AUTHORITY_PROPERTIES.contains(property.getName())) {
+				return false;
+			}
+		}
+		else if (!(node instanceof OpAnd || node instanceof OpOr || node instanceof OperatorNot
+				|| node instanceof StringLiteral || node instanceof BooleanLiteral)) {
+			return false;
+		}
+		for (int i = 0; i < node.getChildCount(); i++) {
+			if (!isAuthorityOnly(node.getChild(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Create an {@link McpToolAuthorizationManager} from the MCP tools declared in the
+	 * bean factory, that is, methods annotated with Spring AI's {@code @McpTool} and
+	 * Spring Security's {@link PreAuthorize}, on the method or on the class. The tool
+	 * name is the {@code name} attribute of {@code @McpTool}, or the method name.
+	 * @param beanFactory the bean factory to scan
+	 * @return the authorization manager
+	 */
+	public static McpToolAuthorizationManager fromAnnotatedTools(ListableBeanFactory beanFactory) {
+		Assert.notNull(beanFactory, "beanFactory cannot be null");
+		return new McpToolAuthorizationManager(findAnnotatedToolExpressions(beanFactory));
+	}
+
+	/**
+	 * Find the authorization expressions of the MCP tools declared in the bean factory.
+	 * Expressions that do not only depend on the authorities of the caller, for example
+	 * {@code #city == 'Paris'}, are skipped: they are enforced by method security when
+	 * the tool is invoked.
+	 * @param beanFactory the bean factory to scan
+	 * @return the Spring Security expressions, keyed by tool name
+	 * @see #fromAnnotatedTools(ListableBeanFactory)
+	 */
+	public static Map<String, String> findAnnotatedToolExpressions(ListableBeanFactory beanFactory) {
+		Assert.notNull(beanFactory, "beanFactory cannot be null");
+		Map<String, String> expressions = new LinkedHashMap<>();
+		for (String beanName : beanFactory.getBeanDefinitionNames()) {
+			var beanType = beanFactory.getType(beanName, false);
+			if (beanType == null) {
+				continue;
+			}
+			var userType = ClassUtils.getUserClass(beanType);
+			var typeAnnotation = MergedAnnotations.from(userType, SearchStrategy.TYPE_HIERARCHY)
+				.get(PreAuthorize.class);
+			ReflectionUtils.doWithMethods(userType, (method) -> {
+				var tool = MergedAnnotations.from(method, SearchStrategy.TYPE_HIERARCHY).get(MCP_TOOL_ANNOTATION);
+				if (!tool.isPresent()) {
+					return;
+				}
+				var preAuthorize = MergedAnnotations.from(method, SearchStrategy.TYPE_HIERARCHY)
+					.get(PreAuthorize.class);
+				var annotation = preAuthorize.isPresent() ? preAuthorize : typeAnnotation;
+				if (annotation.isPresent()) {
+					var expression = annotation.getString("value");
+					if (isAuthorityOnly(expression)) {
+						expressions.putIfAbsent(getToolName(tool, method), expression);
+					}
+				}
+			}, ReflectionUtils.USER_DECLARED_METHODS);
+		}
+		return expressions;
+	}
+
+	private static String getToolName(MergedAnnotation<?> tool, Method method) {
+		var name = tool.getValue("name", String.class).orElse("");
+		return StringUtils.hasText(name) ? name : method.getName();
+	}
+
+	private record DecisionKey(String toolName, String fingerprint) {
+
+	}
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.tool;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jspecify.annotations.Nullable;
+import org.springaicommunity.mcp.security.common.cache.BoundedCache;
+import org.springaicommunity.mcp.security.server.tool.JsonRpcToolsListResult.Range;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.util.Assert;
+
+/**
+ * Filters the result of MCP {@code tools/list} requests, so that callers only see the
+ * tools they are allowed to call, according to an {@link McpToolAuthorizationManager}
+ * and {@link McpToolScopeRequirements}.
+ * <p>
+ * Responses are rewritten at the byte level: the {@code tools} array is located with a
+ * streaming lookahead, and only the definitions of the visible tools are copied, without
+ * deserializing them. Decisions only depend on the caller's authorities, so the filtered
+ * array is cached per tool catalog and authority fingerprint, and listing a large
+ * catalog costs a lookup instead of a rewrite. The cache is keyed by the content of
+ * the catalog, so that any change to the tool registry is picked up on the next
+ * {@code tools/list} call, and stale filtered lists are never served. The number of
+ * fingerprints per catalog is bounded, see {@link BoundedCache}.
+ * <p>
+ * Responses that cannot be inspected are returned unchanged: listing tools is only a
+ * hint for the client, tool calls are still authorized by
+ * {@link McpToolAuthorizationFilter}.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class McpToolListFilter {
+
+	private static final String ANONYMOUS_FINGERPRINT = "none";
+
+	private static final int MAX_CACHED_CATALOGS = 16;
+
+	private static final int MAX_CACHED_FINGERPRINTS = 1024;
+
+	private final McpToolAuthorizationManager authorizationManager;
+
+	private final McpToolScopeRequirements scopeRequirements;
+
+	private final Map<Catalog, BoundedCache<String, byte[]>> filteredTools = new ConcurrentHashMap<>();
+
+	public McpToolListFilter(McpToolAuthorizationManager authorizationManager,
+			McpToolScopeRequirements scopeRequirements) {
+		Assert.notNull(authorizationManager, "authorizationManager cannot be null");
+		Assert.notNull(scopeRequirements, "scopeRequirements cannot be null");
+		this.authorizationManager = authorizationManager;
+		this.scopeRequirements = scopeRequirements;
+	}
+
+	/**
+	 * Decide whether the {@code authentication} may see the tool.
+	 * @param authentication the current authentication, may be {@code null}
+	 * @param toolName the name of the tool
+	 * @return {@code true} if the tool is visible
+	 */
+	public boolean isVisible(@Nullable Authentication authentication, String toolName) {
+		return isVisible(authentication, McpToolScopeRequirements.getGrantedScopes(authentication), toolName);
+	}
+
+	/**
+	 * Remove the tools that the {@code authentication} may not see from a serialized
+	 * JSON-RPC message, if it is a {@code tools/list} result.
+	 * @param message the raw, UTF-8 encoded JSON-RPC message
+	 * @param authentication the current authentication, may be {@code null}
+	 * @return the filtered message, or {@code message} itself if there is nothing to
+	 * filter
+	 */
+	public byte[] filterResponse(byte[] message, @Nullable Authentication authentication) {
+		Assert.notNull(message, "message cannot be null");
+		Range tools;
+		try {
+			tools = JsonRpcToolsListResult.findTools(message);
+		}
+		catch (IllegalArgumentException ex) {
+			return message;
+		}
+		if (tools == null) {
+			return message;
+		}
+
+		var filtered = getFilteredTools(message, tools, authentication);
+		var result = new byte[message.length - (tools.end() - tools.start()) + filtered.length];
+		System.arraycopy(message, 0, result, 0, tools.start());
+		System.arraycopy(filtered, 0, result, tools.start(), filtered.length);
+		System.arraycopy(message, tools.end(), result, tools.start() + filtered.length, message.length - tools.end());
+		return result;
+	}
+
+	private byte[] getFilteredTools(byte[] message, Range tools, @Nullable Authentication authentication) {
+		var fingerprint = (authentication != null) ? this.authorizationManager.fingerprint(authentication)
+				: ANONYMOUS_FINGERPRINT;
+		var catalog = new Catalog(message, tools.start(), tools.end());
+		var filteredByFingerprint = this.filteredTools.get(catalog);
+		if (filteredByFingerprint == null) {
+			if (this.filteredTools.size() >= MAX_CACHED_CATALOGS) {
+				// Most likely the tool registry changed, and older catalogs are obsolete
+				this.filteredTools.clear();
+			}
+			filteredByFingerprint = this.filteredTools.computeIfAbsent(catalog.copy(),
+					(key) -> new BoundedCache<>(MAX_CACHED_FINGERPRINTS, (toolList) -> false));
+		}
+		var filtered = filteredByFingerprint.get(fingerprint);
+		if (filtered != null) {
+			return filtered;
+		}
+		filtered = filterTools(message, tools, authentication);
+		filteredByFingerprint.put(fingerprint, filtered);
+		return filtered;
+	}
+
+	private byte[] filterTools(byte[] message, Range tools, @Nullable Authentication authentication) {
+		var grantedScopes = McpToolScopeRequirements.getGrantedScopes(authentication);
+		var filtered = new ByteArrayOutputStream(tools.end() - tools.start());
+		filtered.write('[');
+		var first = true;
+		for (var tool : JsonRpcToolsListResult.readTools(message, tools)) {
+			var name = tool.name();
+			if (name == null || !isVisible(authentication, grantedScopes, name)) {
+				continue;
+			}
+			if (!first) {
+				filtered.write(',');
+			}
+			filtered.write(message, tool.range().start(), tool.range().end() - tool.range().start());
+			first = false;
+		}
+		filtered.write(']');
+		return filtered.toByteArray();
+	}
+
+	private boolean isVisible(@Nullable Authentication authentication, Set<String> grantedScopes, String toolName) {
+		var requiredScopes = this.scopeRequirements.getRequiredScopes(toolName);
+		if (!grantedScopes.containsAll(requiredScopes)) {
+			return false;
+		}
+		return this.authorizationManager.isAuthorized(authentication, toolName);
+	}
+
+	/**
+	 * The serialized {@code tools} array of a {@code tools/list} result, compared by
+	 * content. Lookups use a view over the response, only entries stored in the cache
+	 * are copied.
+	 */
+	private static final class Catalog {
+
+		private final byte[] bytes;
+
+		private final int start;
+
+		private final int end;
+
+		private final int hash;
+
+		Catalog(byte[] bytes, int start, int end) {
+			this.bytes = bytes;
+			this.start = start;
+			this.end = end;
+			var hash = 1;
+			for (int i = start; i < end; i++) {
+				hash = 31 * hash + bytes[i];
+			}
+			this.hash = hash;
+		}
+
+		Catalog copy() {
+			return new Catalog(Arrays.copyOfRange(this.bytes, this.start, this.end), 0, this.end - this.start);
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (other instanceof Catalog catalog) && this.hash == catalog.hash
+					&& Arrays.equals(this.bytes, this.start, this.end, catalog.bytes, catalog.start, catalog.end);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.tool;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+import org.springaicommunity.mcp.security.common.cache.BoundedCache;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.Assert;
+import org.springframework.util.PatternMatchUtils;
+
+/**
+ * OAuth2 scopes required to call MCP tools, declared per tool name pattern. Patterns
+ * support simple {@code *} wildcards, for example {@code admin-*}. When several patterns
+ * match a tool, all their scopes are required.
+ * <p>
+ * The scopes required by a given tool name are resolved once, and then cached. Tool names
+ * come from requests, so the cache is bounded, see {@link BoundedCache}.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public final class McpToolScopeRequirements {
+
+	private static final String SCOPE_AUTHORITY_PREFIX = "SCOPE_";
+
+	private static final int MAX_CACHED_TOOL_NAMES = 1024;
+
+	private static final McpToolScopeRequirements EMPTY = new McpToolScopeRequirements(Map.of());
+
+	private final Map<String, Set<String>> scopesByPattern = new LinkedHashMap<>();
+
+	private final BoundedCache<String, Set<String>> scopesByToolName = new BoundedCache<>(MAX_CACHED_TOOL_NAMES,
+			(scopes) -> false);
+
+	/**
+	 * Create a new instance.
+	 * @param scopesByPattern the required scopes, keyed by tool name pattern
+	 */
+	public McpToolScopeRequirements(Map<String, ? extends Collection<String>> scopesByPattern) {
+		Assert.notNull(scopesByPattern, "scopesByPattern cannot be null");
+		scopesByPattern.forEach((pattern, scopes) -> {
+			Assert.hasText(pattern, "pattern cannot be empty");
+			Assert.notEmpty(scopes, "scopes cannot be empty");
+			this.scopesByPattern.put(pattern, new LinkedHashSet<>(scopes));
+		});
+	}
+
+	public static McpToolScopeRequirements empty() {
+		return EMPTY;
+	}
+
+	public boolean isEmpty() {
+		return this.scopesByPattern.isEmpty();
+	}
+
+	/**
+	 * Return the scopes required to call the given tool.
+	 * @param toolName the name of the tool
+	 * @return the required scopes, empty if the tool does not require any scope
+	 */
+	public Set<String> getRequiredScopes(String toolName) {
+		var scopes = this.scopesByToolName.get(toolName);
+		if (scopes != null) {
+			return scopes;
+		}
+		scopes = resolveRequiredScopes(toolName);
+		this.scopesByToolName.put(toolName, scopes);
+		return scopes;
+	}
+
+	/**
+	 * Return the scopes granted to the caller, from its {@code SCOPE_} authorities.
+	 */
+	static Set<String> getGrantedScopes(@Nullable Authentication authentication) {
+		Set<String> scopes = new HashSet<>();
+		if (authentication == null) {
+			return scopes;
+		}
+		for (GrantedAuthority authority : authentication.getAuthorities()) {
+			var value = authority.getAuthority();
+			if (value != null && value.startsWith(SCOPE_AUTHORITY_PREFIX)) {
+				scopes.add(value.substring(SCOPE_AUTHORITY_PREFIX.length()));
+			}
+		}
+		return scopes;
+	}
+
+	private Set<String> resolveRequiredScopes(String toolName) {
+		Set<String> scopes = new LinkedHashSet<>();
+		this.scopesByPattern.forEach((pattern, patternScopes) -> {
+			if (PatternMatchUtils.simpleMatch(pattern, toolName)) {
+				scopes.addAll(patternScopes);
+			}
+		});
+		return Collections.unmodifiableSet(scopes);
+	}
+
+}
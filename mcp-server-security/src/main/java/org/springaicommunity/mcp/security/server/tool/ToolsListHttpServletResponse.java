@@ -0,0 +1,334 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.tool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.UnaryOperator;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Response wrapper rewriting the JSON-RPC messages written by the MCP server in response
+ * to a {@code tools/list} request.
+ * <p>
+ * {@code application/json} bodies are buffered until the server flushes or completes the
+ * response, and {@code text/event-stream} bodies are rewritten one event at a time, so
+ * that streaming is preserved. Other bodies are written through unchanged. Since the
+ * length of the body may change, {@code Content-Length} is not propagated.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+final class ToolsListHttpServletResponse extends HttpServletResponseWrapper {
+
+	private static final byte[] DATA_FIELD = "data:".getBytes(StandardCharsets.US_ASCII);
+
+	private final UnaryOperator<byte[]> messageRewriter;
+
+	private @Nullable RewritingOutputStream outputStream;
+
+	private @Nullable PrintWriter writer;
+
+	ToolsListHttpServletResponse(HttpServletResponse response, UnaryOperator<byte[]> messageRewriter) {
+		super(response);
+		this.messageRewriter = messageRewriter;
+	}
+
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+		if (this.writer != null) {
+			throw new IllegalStateException("getWriter() has already been called for this response");
+		}
+		return getRewritingOutputStream();
+	}
+
+	@Override
+	public PrintWriter getWriter() throws IOException {
+		if (this.writer == null) {
+			if (this.outputStream != null) {
+				throw new IllegalStateException("getOutputStream() has already been called for this response");
+			}
+			var encoding = getCharacterEncoding();
+			var charset = (encoding != null) ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+			this.writer = new PrintWriter(new OutputStreamWriter(getRewritingOutputStream(), charset));
+		}
+		return this.writer;
+	}
+
+	private RewritingOutputStream getRewritingOutputStream() throws IOException {
+		if (this.outputStream == null) {
+			this.outputStream = new RewritingOutputStream(super.getOutputStream());
+		}
+		return this.outputStream;
+	}
+
+	@Override
+	public void flushBuffer() throws IOException {
+		if (this.writer != null) {
+			this.writer.flush();
+		}
+		else if (this.outputStream != null) {
+			this.outputStream.flush();
+		}
+		super.flushBuffer();
+	}
+
+	@Override
+	public void resetBuffer() {
+		super.resetBuffer();
+		if (this.outputStream != null) {
+			this.outputStream.buffer.reset();
+		}
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		if (this.outputStream != null) {
+			this.outputStream.buffer.reset();
+		}
+	}
+
+	@Override
+	public void setContentLength(int length) {
+	}
+
+	@Override
+	public void setContentLengthLong(long length) {
+	}
+
+	@Override
+	public void setHeader(String name, @Nullable String value) {
+		if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+			super.setHeader(name, value);
+		}
+	}
+
+	@Override
+	public void addHeader(String name, @Nullable String value) {
+		if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+			super.addHeader(name, value);
+		}
+	}
+
+	@Override
+	public void setIntHeader(String name, int value) {
+		if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+			super.setIntHeader(name, value);
+		}
+	}
+
+	@Override
+	public void addIntHeader(String name, int value) {
+		if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+			super.addIntHeader(name, value);
+		}
+	}
+
+	/**
+	 * Write any buffered content to the wrapped response. Called once the MCP server is
+	 * done with a synchronous response.
+	 */
+	void finish() throws IOException {
+		if (this.writer != null) {
+			this.writer.flush();
+		}
+		if (this.outputStream != null) {
+			this.outputStream.finish();
+		}
+	}
+
+	private enum Mode {
+
+		UNKNOWN, JSON, EVENT_STREAM, PASS_THROUGH
+
+	}
+
+	private final class RewritingOutputStream extends ServletOutputStream {
+
+		private final ServletOutputStream delegate;
+
+		private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+		private Mode mode = Mode.UNKNOWN;
+
+		private int scanned;
+
+		RewritingOutputStream(ServletOutputStream delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			switch (resolveMode()) {
+				case PASS_THROUGH -> this.delegate.write(b, off, len);
+				case EVENT_STREAM -> {
+					this.buffer.write(b, off, len);
+					writeCompleteEvents();
+				}
+				default -> this.buffer.write(b, off, len);
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (this.mode == Mode.JSON) {
+				// The server flushes once the message is written: rewrite it now, since
+				// an asynchronous response would not be finished by the filter
+				finish();
+			}
+			this.delegate.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			finish();
+			this.delegate.close();
+		}
+
+		@Override
+		public boolean isReady() {
+			return this.delegate.isReady();
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			this.delegate.setWriteListener(writeListener);
+		}
+
+		void finish() throws IOException {
+			if (this.buffer.size() == 0) {
+				return;
+			}
+			var content = this.buffer.toByteArray();
+			this.buffer.reset();
+			this.scanned = 0;
+			if (this.mode == Mode.JSON) {
+				this.mode = Mode.PASS_THROUGH;
+				content = ToolsListHttpServletResponse.this.messageRewriter.apply(content);
+			}
+			this.delegate.write(content);
+		}
+
+		private Mode resolveMode() {
+			if (this.mode == Mode.UNKNOWN) {
+				var contentType = getContentType();
+				MediaType mediaType = null;
+				try {
+					mediaType = (contentType != null) ? MediaType.parseMediaType(contentType) : null;
+				}
+				catch (IllegalArgumentException ex) {
+					// Unknown content, pass through
+				}
+				if (mediaType != null && MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)) {
+					this.mode = Mode.JSON;
+				}
+				else if (mediaType != null && MediaType.TEXT_EVENT_STREAM.isCompatibleWith(mediaType)) {
+					this.mode = Mode.EVENT_STREAM;
+				}
+				else {
+					this.mode = Mode.PASS_THROUGH;
+				}
+			}
+			return this.mode;
+		}
+
+		/**
+		 * Write the server-sent events that are completely buffered, that is, terminated
+		 * by a blank line, and keep the rest.
+		 */
+		private void writeCompleteEvents() throws IOException {
+			var content = this.buffer.toByteArray();
+			var eventStart = 0;
+			for (int i = Math.max(this.scanned, 1); i < content.length; i++) {
+				if (content[i] != '\n') {
+					continue;
+				}
+				var previous = content[i - 1];
+				var blankLine = previous == '\n' || (previous == '\r' && i >= 2 && content[i - 2] == '\n');
+				if (blankLine) {
+					this.delegate.write(rewriteEvent(Arrays.copyOfRange(content, eventStart, i + 1)));
+					eventStart = i + 1;
+				}
+			}
+			if (eventStart > 0) {
+				this.buffer.reset();
+				this.buffer.write(content, eventStart, content.length - eventStart);
+			}
+			this.scanned = content.length - eventStart;
+		}
+
+		/**
+		 * Rewrite the {@code data} of an event, when it is carried by a single line, as
+		 * the MCP server does.
+		 */
+		private byte[] rewriteEvent(byte[] event) {
+			int dataStart = -1;
+			int dataEnd = -1;
+			int lineStart = 0;
+			while (lineStart < event.length) {
+				var lineEnd = lineStart;
+				while (lineEnd < event.length && event[lineEnd] != '\n' && event[lineEnd] != '\r') {
+					lineEnd++;
+				}
+				if (lineEnd - lineStart >= DATA_FIELD.length && Arrays.equals(event, lineStart,
+						lineStart + DATA_FIELD.length, DATA_FIELD, 0, DATA_FIELD.length)) {
+					if (dataStart != -1) {
+						return event;
+					}
+					dataStart = lineStart + DATA_FIELD.length;
+					if (dataStart < lineEnd && event[dataStart] == ' ') {
+						dataStart++;
+					}
+					dataEnd = lineEnd;
+				}
+				lineStart = lineEnd + 1;
+			}
+			if (dataStart == -1) {
+				return event;
+			}
+			var data = Arrays.copyOfRange(event, dataStart, dataEnd);
+			var rewritten = ToolsListHttpServletResponse.this.messageRewriter.apply(data);
+			if (rewritten == data) {
+				return event;
+			}
+			var result = new byte[event.length - data.length + rewritten.length];
+			System.arraycopy(event, 0, result, 0, dataStart);
+			System.arraycopy(rewritten, 0, result, dataStart, rewritten.length);
+			System.arraycopy(event, dataEnd, result, dataStart + rewritten.length, event.length - dataEnd);
+			return result;
+		}
+
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.x509;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.util.Assert;
+
+/**
+ * The identity of an MCP client authenticated with a client certificate.
+ *
+ * @param name the name of the client, used as the principal name, for example to bind
+ * MCP sessions
+ * @param authorities the authorities granted to the client
+ * @author Daniel Garnier-Moiroux
+ * @see X509PrincipalResolver
+ */
+public record X509Identity(String name, Collection<? extends GrantedAuthority> authorities) {
+
+	public X509Identity {
+		Assert.hasText(name, "name cannot be empty");
+		Assert.notNull(authorities, "authorities cannot be null");
+		authorities = List.copyOf(authorities);
+	}
+
+	public X509Identity(String name) {
+		this(name, List.of());
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.x509;
+
+import java.security.cert.X509Certificate;
+
+import javax.naming.InvalidNameException;
+import javax.naming.ldap.LdapName;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Maps the certificate presented by an MCP client to its {@link X509Identity}. This is
+ * where policies are applied, for example accepting only some issuers, or granting
+ * authorities based on the organization of the subject.
+ * <p>
+ * Results are cached by certificate fingerprint, so implementations may be expensive,
+ * for example calling a directory.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+@FunctionalInterface
+public interface X509PrincipalResolver {
+
+	/**
+	 * Resolve the identity of the client.
+	 * @param certificate the client certificate, already verified by the TLS layer
+	 * @return the identity, or {@code null} if the certificate is not accepted
+	 */
+	@Nullable X509Identity resolve(X509Certificate certificate);
+
+	/**
+	 * Resolver using the common name ({@code CN}) of the certificate subject as the
+	 * principal name, without authorities. Certificates without a common name are not
+	 * accepted.
+	 * @return the resolver
+	 */
+	static X509PrincipalResolver subjectCommonName() {
+		return (certificate) -> {
+			try {
+				var subject = new LdapName(certificate.getSubjectX500Principal().getName());
+				for (int i = subject.size() - 1; i >= 0; i--) {
+					var rdn = subject.getRdn(i);
+					if ("CN".equalsIgnoreCase(rdn.getType())) {
+						var name = rdn.getValue().toString();
+						return StringUtils.hasText(name) ? new X509Identity(name) : null;
+					}
+				}
+				return null;
+			}
+			catch (InvalidNameException ex) {
+				return null;
+			}
+		};
+	}
+
+}
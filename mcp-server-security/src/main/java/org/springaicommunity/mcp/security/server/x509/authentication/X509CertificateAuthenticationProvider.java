@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.x509.authentication;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HexFormat;
+
+import org.jspecify.annotations.Nullable;
+import org.springaicommunity.mcp.security.common.cache.BoundedCache;
+import org.springaicommunity.mcp.security.server.x509.X509Identity;
+import org.springaicommunity.mcp.security.server.x509.X509PrincipalResolver;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.util.Assert;
+
+/**
+ * Authenticates MCP clients from their client certificate, through an
+ * {@link X509PrincipalResolver}.
+ * <p>
+ * Clients usually present the same certificate on every request of a keep-alive
+ * connection, so resolved identities, and rejections, are cached by the SHA-256
+ * fingerprint of the certificate. Entries expire after a time-to-live, so that policy
+ * changes are eventually applied, and never outlive the certificate itself. The number
+ * of cached certificates is bounded.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class X509CertificateAuthenticationProvider implements AuthenticationProvider {
+
+	private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+	private static final int MAX_CACHED_CERTIFICATES = 10_000;
+
+	private final X509PrincipalResolver principalResolver;
+
+	private final BoundedCache<String, CachedIdentity> identities = new BoundedCache<>(MAX_CACHED_CERTIFICATES,
+			(entry) -> entry.isExpired(this.clock.instant()));
+
+	private Duration timeToLive = DEFAULT_TIME_TO_LIVE;
+
+	private Clock clock = Clock.systemUTC();
+
+	public X509CertificateAuthenticationProvider(X509PrincipalResolver principalResolver) {
+		Assert.notNull(principalResolver, "principalResolver cannot be null");
+		this.principalResolver = principalResolver;
+	}
+
+	@Override
+	public @Nullable Authentication authenticate(Authentication authentication) throws AuthenticationException {
+		if (!supports(authentication.getClass())) {
+			return null;
+		}
+
+		var certificate = ((X509CertificateAuthenticationToken) authentication).getCredentials();
+		var now = this.clock.instant();
+		try {
+			certificate.checkValidity(Date.from(now));
+		}
+		catch (CertificateException ex) {
+			throw new CredentialsExpiredException("Client certificate is not valid at this time");
+		}
+
+		var fingerprint = fingerprint(certificate);
+		var cached = this.identities.get(fingerprint);
+		if (cached == null || cached.isExpired(now)) {
+			cached = new CachedIdentity(this.principalResolver.resolve(certificate), expiresAt(certificate, now));
+			this.identities.put(fingerprint, cached);
+		}
+
+		var identity = cached.identity();
+		if (identity == null) {
+			throw new BadCredentialsException("Client certificate is not accepted");
+		}
+		return X509CertificateAuthenticationToken.authenticated(identity, certificate);
+	}
+
+	@Override
+	public boolean supports(Class<?> authentication) {
+		return X509CertificateAuthenticationToken.class.isAssignableFrom(authentication);
+	}
+
+	/**
+	 * Set how long resolved identities are cached. Defaults to 5 minutes.
+	 * @param timeToLive the time-to-live of cache entries
+	 */
+	public void setTimeToLive(Duration timeToLive) {
+		Assert.notNull(timeToLive, "timeToLive cannot be null");
+		Assert.isTrue(!timeToLive.isNegative(), "timeToLive cannot be negative");
+		this.timeToLive = timeToLive;
+	}
+
+	void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private Instant expiresAt(X509Certificate certificate, Instant now) {
+		var expiresAt = now.plus(this.timeToLive);
+		var notAfter = certificate.getNotAfter().toInstant();
+		return notAfter.isBefore(expiresAt) ? notAfter : expiresAt;
+	}
+
+	private static String fingerprint(X509Certificate certificate) {
+		try {
+			var digest = MessageDigest.getInstance("SHA-256").digest(certificate.getEncoded());
+			return HexFormat.of().formatHex(digest);
+		}
+		catch (CertificateEncodingException ex) {
+			throw new BadCredentialsException("Client certificate cannot be encoded", ex);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private record CachedIdentity(@Nullable X509Identity identity, Instant expiresAt) {
+
+		boolean isExpired(Instant now) {
+			return !now.isBefore(this.expiresAt);
+		}
+
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.x509.authentication;
+
+import java.security.cert.X509Certificate;
+import java.util.Collection;
+
+import org.jspecify.annotations.Nullable;
+import org.springaicommunity.mcp.security.server.x509.X509Identity;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.Transient;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+@Transient
+public class X509CertificateAuthenticationToken extends AbstractAuthenticationToken {
+
+	private final @Nullable X509Identity principal;
+
+	private final X509Certificate credentials;
+
+	private X509CertificateAuthenticationToken(X509Certificate certificate) {
+		super(AuthorityUtils.NO_AUTHORITIES);
+		this.principal = null;
+		this.credentials = certificate;
+		setAuthenticated(false);
+	}
+
+	private X509CertificateAuthenticationToken(X509Identity principal, X509Certificate certificate,
+			Collection<? extends GrantedAuthority> authorities) {
+		super(authorities);
+		this.principal = principal;
+		this.credentials = certificate;
+		setAuthenticated(true);
+	}
+
+	public static X509CertificateAuthenticationToken unauthenticated(X509Certificate certificate) {
+		return new X509CertificateAuthenticationToken(certificate);
+	}
+
+	public static X509CertificateAuthenticationToken authenticated(X509Identity principal,
+			X509Certificate certificate) {
+		return new X509CertificateAuthenticationToken(principal, certificate, principal.authorities());
+	}
+
+	@Override
+	public X509Certificate getCredentials() {
+		return this.credentials;
+	}
+
+	@Override
+	public @Nullable X509Identity getPrincipal() {
+		return this.principal;
+	}
+
+	@Override
+	public String getName() {
+		if (this.principal != null) {
+			return this.principal.name();
+		}
+		return this.credentials.getSubjectX500Principal().getName();
+	}
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.x509.web;
+
+import java.security.cert.X509Certificate;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.jspecify.annotations.Nullable;
+import org.springaicommunity.mcp.security.server.x509.authentication.X509CertificateAuthenticationToken;
+
+import org.springframework.security.web.authentication.AuthenticationConverter;
+
+/**
+ * Reads the client certificate that the servlet container exposes for mutual TLS
+ * connections, in the {@code jakarta.servlet.request.X509Certificate} request attribute.
+ *
+ * @author Daniel Garnier-Moiroux
+ */
+public class X509CertificateAuthenticationConverter implements AuthenticationConverter {
+
+	public static final String X509_CERTIFICATE_ATTRIBUTE = "jakarta.servlet.request.X509Certificate";
+
+	@Override
+	public @Nullable X509CertificateAuthenticationToken convert(HttpServletRequest request) {
+		if (!(request.getAttribute(X509_CERTIFICATE_ATTRIBUTE) instanceof X509Certificate[] certificates)
+				|| certificates.length == 0) {
+			return null;
+		}
+		// The client certificate comes first, followed by its chain
+		return X509CertificateAuthenticationToken.unauthenticated(certificates[0]);
+	}
+
+}
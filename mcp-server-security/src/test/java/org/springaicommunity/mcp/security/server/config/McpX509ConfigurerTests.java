@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.config;
+
+import java.util.UUID;
+
+import io.modelcontextprotocol.spec.HttpHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springaicommunity.mcp.security.server.x509.X509Identity;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.assertj.MockMvcTester;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springaicommunity.mcp.security.server.config.McpX509Configurer.mcpServerX509;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.x509;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration
+@WebAppConfiguration
+class McpX509ConfigurerTests {
+
+	@Autowired
+	WebApplicationContext wac;
+
+	private MockMvcTester mvc;
+
+	@BeforeEach
+	void setUp() {
+		this.mvc = MockMvcTester.from(this.wac, (builder) -> builder.apply(springSecurity()).build());
+	}
+
+	@Test
+	void clientCertificateThenAuthenticated() throws Exception {
+		var resp = this.mvc.get().uri("/default").with(x509("x509/client-a.pem"));
+
+		assertThat(resp).hasStatus2xxSuccessful().bodyText().isEqualTo("Hello client-a");
+	}
+
+	@Test
+	void clientCertificateSupportsCsrf() throws Exception {
+		var resp = this.mvc.post().uri("/default").with(x509("x509/client-a.pem"));
+
+		assertThat(resp).hasStatus2xxSuccessful().bodyText().isEqualTo("Hello client-a");
+	}
+
+	@Test
+	void noClientCertificateForbidden() {
+		assertThat(this.mvc.get().uri("/default")).hasStatus(HttpStatus.FORBIDDEN);
+	}
+
+	@Test
+	void rejectedClientCertificateUnauthorized() throws Exception {
+		var resp = this.mvc.get().uri("/resolver").with(x509("x509/client-b.pem"));
+
+		assertThat(resp).hasStatus(HttpStatus.UNAUTHORIZED);
+	}
+
+	@Test
+	void customResolver() throws Exception {
+		var resp = this.mvc.get().uri("/resolver").with(x509("x509/client-a.pem"));
+
+		assertThat(resp).hasStatus2xxSuccessful().bodyText().isEqualTo("Hello machine:client-a");
+	}
+
+	@Test
+	void sessionBoundToCertificateIdentity() throws Exception {
+		var sessionId = UUID.randomUUID().toString();
+		var initializeRequest = this.mvc.get()
+			.uri("/default/session")
+			.with(x509("x509/client-a.pem"))
+			.header("X-Set-Session-Id", sessionId);
+		assertThat(initializeRequest).hasStatus2xxSuccessful();
+
+		var validRequest = this.mvc.get()
+			.uri("/default")
+			.with(x509("x509/client-a.pem"))
+			.header(HttpHeaders.MCP_SESSION_ID, sessionId);
+		assertThat(validRequest).hasStatus(HttpStatus.OK);
+
+		var invalidRequest = this.mvc.get()
+			.uri("/default")
+			.with(x509("x509/client-b.pem"))
+			.header(HttpHeaders.MCP_SESSION_ID, sessionId);
+		assertThat(invalidRequest).hasStatus(HttpStatus.FORBIDDEN);
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@EnableWebMvc
+	@EnableWebSecurity
+	static class TestConfig {
+
+		@Bean
+		SecurityFilterChain defaultSecurityFilterChain(HttpSecurity http) {
+			return http.securityMatcher("/default/**")
+				.authorizeHttpRequests((authz) -> authz.anyRequest().authenticated())
+				.with(mcpServerX509(), (x509) -> x509.sessionBinding(Customizer.withDefaults()))
+				.build();
+		}
+
+		@Bean
+		SecurityFilterChain customResolverSecurityFilterChain(HttpSecurity http) {
+			return http.securityMatcher("/resolver/**")
+				.authorizeHttpRequests((authz) -> authz.anyRequest().authenticated())
+				.with(mcpServerX509(), (x509) -> x509.principalResolver((certificate) -> {
+					var subject = certificate.getSubjectX500Principal().getName();
+					return subject.contains("CN=client-a") ? new X509Identity("machine:client-a") : null;
+				}))
+				.build();
+		}
+
+		@Bean
+		RouterFunction<?> routerFunction() {
+			return RouterFunctions.route((req) -> true, (req) -> {
+				var authentication = SecurityContextHolder.getContext().getAuthentication();
+				var name = authentication != null ? authentication.getName() : "";
+				var builder = ServerResponse.ok();
+				var sessionId = req.headers().firstHeader("X-Set-Session-Id");
+				if (sessionId != null) {
+					builder.header(HttpHeaders.MCP_SESSION_ID, sessionId);
+				}
+				return builder.body("Hello " + name);
+			});
+		}
+
+	}
+
+}
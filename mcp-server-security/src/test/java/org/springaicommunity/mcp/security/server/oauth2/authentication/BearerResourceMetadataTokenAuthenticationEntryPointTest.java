@@ -1,6 +1,7 @@
 package org.springaicommunity.mcp.security.server.oauth2.authentication;
 
 import java.io.IOException;
+import java.util.List;
 
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.Test;
@@ -95,4 +96,57 @@ class BearerResourceMetadataTokenAuthenticationEntryPointTest {
 			.contains("Bearer resource_metadata=https://example.com/.well-known/oauth-protected-resource/mcp");
 	}
 
+	@Test
+	void commenceWithContextPathThenResourceMetadataReplaced() throws Exception {
+		request.setContextPath("/foo");
+		request.setScheme("https");
+		request.setServerName("example.com");
+		request.setServerPort(443);
+
+		entryPoint.commence(request, response, mock(AuthenticationException.class));
+
+		assertThat(response.getHeader(HttpHeaders.WWW_AUTHENTICATE)).doesNotContain("\"")
+			.contains("Bearer resource_metadata=https://example.com/foo/.well-known/oauth-protected-resource/mcp");
+	}
+
+	@Test
+	void commenceWithDifferentHostsThenResourceMetadataPerHost() throws Exception {
+		request.setScheme("https");
+		request.setServerName("example.com");
+		request.setServerPort(443);
+		entryPoint.commence(request, response, mock(AuthenticationException.class));
+
+		var otherRequest = new MockHttpServletRequest();
+		otherRequest.setScheme("http");
+		otherRequest.setServerName("other.example.com");
+		otherRequest.setServerPort(8080);
+		otherRequest.setContextPath("/bar");
+		var otherResponse = new MockHttpServletResponse();
+		entryPoint.commence(otherRequest, otherResponse, mock(AuthenticationException.class));
+
+		var repeatedResponse = new MockHttpServletResponse();
+		entryPoint.commence(request, repeatedResponse, mock(AuthenticationException.class));
+
+		assertThat(response.getHeader(HttpHeaders.WWW_AUTHENTICATE))
+			.contains("resource_metadata=https://example.com/.well-known/oauth-protected-resource/mcp");
+		assertThat(otherResponse.getHeader(HttpHeaders.WWW_AUTHENTICATE)).contains(
+				"resource_metadata=http://other.example.com:8080/bar/.well-known/oauth-protected-resource/mcp");
+		assertThat(repeatedResponse.getHeader(HttpHeaders.WWW_AUTHENTICATE))
+			.isEqualTo(response.getHeader(HttpHeaders.WWW_AUTHENTICATE));
+	}
+
+	@Test
+	void commenceWithDPoPAlgorithmsThenDPoPChallenge() throws Exception {
+		request.setScheme("https");
+		request.setServerName("example.com");
+		request.setServerPort(443);
+		entryPoint.setDPoPAlgorithms(List.of("ES256", "RS256"));
+
+		entryPoint.commence(request, response, mock(AuthenticationException.class));
+
+		assertThat(response.getHeaders(HttpHeaders.WWW_AUTHENTICATE)).containsExactly(
+				"Bearer resource_metadata=https://example.com/.well-known/oauth-protected-resource/mcp",
+				"DPoP algs=\"ES256 RS256\"");
+	}
+
 }
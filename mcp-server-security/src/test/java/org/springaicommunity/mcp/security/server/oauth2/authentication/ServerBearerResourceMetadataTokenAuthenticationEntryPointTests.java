@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.oauth2.authentication;
+
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.mcp.security.server.oauth2.metadata.ResourceIdentifier;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.server.resource.BearerTokenErrors;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class ServerBearerResourceMetadataTokenAuthenticationEntryPointTests {
+
+	private final ServerBearerResourceMetadataTokenAuthenticationEntryPoint entryPoint = new ServerBearerResourceMetadataTokenAuthenticationEntryPoint(
+			new ResourceIdentifier("/mcp"));
+
+	@Test
+	void commenceWithoutTokenThenResourceMetadata() {
+		var exchange = MockServerWebExchange.from(MockServerHttpRequest.post("https://example.com/mcp?foo=bar"));
+
+		this.entryPoint.commence(exchange, new InsufficientAuthenticationException("no token")).block();
+
+		assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+		assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo(
+				"Bearer resource_metadata=https://example.com/.well-known/oauth-protected-resource/mcp");
+	}
+
+	@Test
+	void commenceWithContextPathThenResourceMetadata() {
+		var exchange = MockServerWebExchange
+			.from(MockServerHttpRequest.post("https://example.com:8443/foo/mcp").contextPath("/foo"));
+
+		this.entryPoint.commence(exchange, new InsufficientAuthenticationException("no token")).block();
+
+		assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo(
+				"Bearer resource_metadata=https://example.com:8443/foo/.well-known/oauth-protected-resource/mcp");
+	}
+
+	@Test
+	void commenceWithInvalidTokenThenErrorAndResourceMetadata() {
+		var exchange = MockServerWebExchange.from(MockServerHttpRequest.post("https://example.com/mcp"));
+
+		this.entryPoint.commence(exchange, new InvalidBearerTokenException("expired")).block();
+
+		assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+		assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE))
+			.startsWith("Bearer error=\"invalid_token\", error_description=\"expired\"")
+			.endsWith(", resource_metadata=https://example.com/.well-known/oauth-protected-resource/mcp");
+	}
+
+	@Test
+	void commenceWithInsufficientScopeThenForbidden() {
+		var exchange = MockServerWebExchange.from(MockServerHttpRequest.post("https://example.com/mcp"));
+
+		this.entryPoint
+			.commence(exchange,
+					new OAuth2AuthenticationException(BearerTokenErrors.insufficientScope("missing scope", "mcp.write")))
+			.block();
+
+		assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+		assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE))
+			.contains("error=\"insufficient_scope\"")
+			.contains("scope=\"mcp.write\"");
+	}
+
+}
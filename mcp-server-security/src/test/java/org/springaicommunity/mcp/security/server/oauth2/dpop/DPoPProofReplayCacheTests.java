@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+package org.springaicommunity.mcp.security.server.oauth2.dpop;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class DPoPProofReplayCacheTests {
+
+	private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+	private final DPoPProofReplayCache cache = new DPoPProofReplayCache(Duration.ofSeconds(30),
+			Duration.ofSeconds(10), 4);
+
+	@BeforeEach
+	void setUp() {
+		setNow(NOW);
+	}
+
+	@Test
+	void firstUseAccepted() {
+		assertThat(this.cache.markUsed("jti-1", NOW)).isTrue();
+		assertThat(this.cache.markUsed("jti-2", NOW)).isTrue();
+	}
+
+	@Test
+	void replayRejected() {
+		this.cache.markUsed("jti-1", NOW.minusSeconds(5));
+
+		assertThat(this.cache.markUsed("jti-1", NOW.minusSeconds(5))).isFalse();
+	}
+
+	@Test
+	void replayRejectedUntilBucketExpires() {
+		this.cache.markUsed("jti-1", NOW);
+
+		setNow(NOW.plusSeconds(30));
+		assertThat(this.cache.markUsed("jti-1", NOW)).isFalse();
+	}
+
+	@Test
+	void tooOldRejected() {
+		assertThat(this.cache.markUsed("jti-1", NOW.minusSeconds(60))).isFalse();
+	}
+
+	@Test
+	void tooFarInTheFutureRejected() {
+		assertThat(this.cache.markUsed("jti-1", NOW.plusSeconds(60))).isFalse();
+	}
+
+	@Test
+	void expiredBucketReplacedAsAWhole() {
+		this.cache.markUsed("jti-1", NOW);
+
+		// Same slot in the ring, five buckets later
+		var later = NOW.plusSeconds(50);
+		setNow(later);
+		assertThat(this.cache.markUsed("jti-1", later)).isTrue();
+		assertThat(this.cache.markUsed("jti-1", later)).isFalse();
+		assertThat(this.cache.markUsed("jti-2", NOW)).isFalse();
+	}
+
+	@Test
+	void concurrentUsesOfTheSameProofThenOnlyOneAccepted() throws Exception {
+		var threads = 8;
+		var executor = Executors.newFixedThreadPool(threads);
+		try {
+			var start = new CountDownLatch(1);
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					return this.cache.markUsed("jti-1", NOW);
+				}));
+			}
+			start.countDown();
+			var accepted = 0;
+			for (var result : results) {
+				if (result.get(5, TimeUnit.SECONDS)) {
+					accepted++;
+				}
+			}
+			assertThat(accepted).isEqualTo(1);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void windowShorterThanBucketThenRejected() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new DPoPProofReplayCache(Duration.ofSeconds(1), Duration.ofSeconds(10), 4));
+	}
+
+	private void setNow(Instant now) {
+		this.cache.setClock(Clock.fixed(now, ZoneOffset.UTC));
+	}
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+package org.springaicommunity.mcp.security.server.oauth2.dpop;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class DPoPProofValidatorTests {
+
+	private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+	private static final String TARGET_URI = "https://example.com/mcp";
+
+	private static final String ACCESS_TOKEN = "access-token";
+
+	private final DPoPProofReplayCache replayCache = new DPoPProofReplayCache();
+
+	private final DPoPProofValidator validator = new DPoPProofValidator(this.replayCache);
+
+	private ECKey key;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		this.key = new ECKeyGenerator(Curve.P_256).generate();
+		var clock = Clock.fixed(NOW, ZoneOffset.UTC);
+		this.replayCache.setClock(clock);
+		this.validator.setClock(clock);
+	}
+
+	@Test
+	void validProofThenThumbprint() throws Exception {
+		var proof = proof(claims().build());
+
+		assertThat(this.validator.validate(proof, "POST", TARGET_URI, ACCESS_TOKEN))
+			.isEqualTo(this.key.computeThumbprint().toString());
+	}
+
+	@Test
+	void replayedProofThenRejected() throws Exception {
+		var proof = proof(claims().build());
+		this.validator.validate(proof, "POST", TARGET_URI, ACCESS_TOKEN);
+
+		assertInvalid(proof, "The DPoP proof has already been used");
+	}
+
+	@Test
+	void htuComparedWithoutQueryAndDefaultPort() throws Exception {
+		var proof = proof(claims().claim("htu", "HTTPS://Example.com:443/mcp?session=1").build());
+
+		assertThat(this.validator.validate(proof, "POST", TARGET_URI, ACCESS_TOKEN)).isNotEmpty();
+	}
+
+	@Test
+	void otherUriThenRejected() throws Exception {
+		var proof = proof(claims().claim("htu", "https://example.com/other").build());
+
+		assertInvalid(proof, "The DPoP proof htu claim does not match the request URI");
+	}
+
+	@Test
+	void otherMethodThenRejected() throws Exception {
+		var proof = proof(claims().claim("htm", "GET").build());
+
+		assertInvalid(proof, "The DPoP proof htm claim does not match the request method");
+	}
+
+	@Test
+	void otherAccessTokenThenRejected() throws Exception {
+		var proof = proof(claims().claim("ath", DPoPProofValidator.hash("other-token")).build());
+
+		assertInvalid(proof, "The DPoP proof ath claim does not match the access token");
+	}
+
+	@Test
+	void expiredProofThenRejected() throws Exception {
+		var proof = proof(claims().issueTime(Date.from(NOW.minusSeconds(120))).build());
+
+		assertInvalid(proof, "The DPoP proof is expired or not yet valid");
+	}
+
+	@Test
+	void missingJtiThenRejected() throws Exception {
+		var proof = proof(claims().jwtID(null).build());
+
+		assertInvalid(proof, "The DPoP proof must have a jti claim");
+	}
+
+	@Test
+	void wrongTypeThenRejected() throws Exception {
+		var proof = sign(new JWSHeader.Builder(JWSAlgorithm.ES256).type(JOSEObjectType.JWT)
+			.jwk(this.key.toPublicJWK())
+			.build(), claims().build());
+
+		assertInvalid(proof, "The DPoP proof must have type dpop+jwt");
+	}
+
+	@Test
+	void missingKeyThenRejected() throws Exception {
+		var proof = sign(new JWSHeader.Builder(JWSAlgorithm.ES256).type(new JOSEObjectType("dpop+jwt")).build(),
+				claims().build());
+
+		assertInvalid(proof, "The DPoP proof must contain a public jwk header");
+	}
+
+	@Test
+	void signedByAnotherKeyThenRejected() throws Exception {
+		var otherKey = new ECKeyGenerator(Curve.P_256).generate();
+		var proof = sign(header(otherKey.toPublicJWK()), claims().build());
+
+		assertInvalid(proof, "The DPoP proof signature is invalid");
+	}
+
+	@Test
+	void malformedProofThenRejected() {
+		assertInvalid("not-a-jwt", "The DPoP proof is malformed");
+	}
+
+	private void assertInvalid(String proof, String description) {
+		assertThatExceptionOfType(OAuth2AuthenticationException.class)
+			.isThrownBy(() -> this.validator.validate(proof, "POST", TARGET_URI, ACCESS_TOKEN))
+			.satisfies((ex) -> {
+				assertThat(ex.getError().getErrorCode()).isEqualTo("invalid_dpop_proof");
+				assertThat(ex.getError().getDescription()).isEqualTo(description);
+			});
+	}
+
+	private JWTClaimsSet.Builder claims() {
+		return new JWTClaimsSet.Builder().jwtID("proof-1")
+			.claim("htm", "POST")
+			.claim("htu", TARGET_URI)
+			.claim("ath", DPoPProofValidator.hash(ACCESS_TOKEN))
+			.issueTime(Date.from(NOW));
+	}
+
+	private String proof(JWTClaimsSet claims) throws Exception {
+		return sign(header(this.key.toPublicJWK()), claims);
+	}
+
+	private static JWSHeader header(JWK jwk) {
+		return new JWSHeader.Builder(JWSAlgorithm.ES256).type(new JOSEObjectType("dpop+jwt")).jwk(jwk).build();
+	}
+
+	private String sign(JWSHeader header, JWTClaimsSet claims) throws Exception {
+		var jwt = new SignedJWT(header, claims);
+		jwt.sign(new ECDSASigner(this.key));
+		return jwt.serialize();
+	}
+
+}
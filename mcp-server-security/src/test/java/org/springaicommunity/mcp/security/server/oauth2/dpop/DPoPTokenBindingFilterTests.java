@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+package org.springaicommunity.mcp.security.server.oauth2.dpop;
+
+import java.util.Date;
+import java.util.Map;
+
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class DPoPTokenBindingFilterTests {
+
+	private static final String ACCESS_TOKEN = "access-token";
+
+	private final DPoPTokenBindingFilter filter = new DPoPTokenBindingFilter(
+			new DPoPProofValidator(new DPoPProofReplayCache()));
+
+	private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mcp");
+
+	private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+	private final FilterChain chain = mock(FilterChain.class);
+
+	private ECKey key;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		this.key = new ECKeyGenerator(Curve.P_256).generate();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void validProofThenContinue() throws Exception {
+		authenticate(Map.of("jkt", this.key.computeThumbprint().toString()));
+		this.request.addHeader(HttpHeaders.AUTHORIZATION, "DPoP " + ACCESS_TOKEN);
+		this.request.addHeader("DPoP", proof(this.key));
+
+		this.filter.doFilter(this.request, this.response, this.chain);
+
+		verify(this.chain).doFilter(this.request, this.response);
+		assertThat(this.response.getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void proofFromAnotherKeyThenUnauthorized() throws Exception {
+		authenticate(Map.of("jkt", this.key.computeThumbprint().toString()));
+		this.request.addHeader(HttpHeaders.AUTHORIZATION, "DPoP " + ACCESS_TOKEN);
+		this.request.addHeader("DPoP", proof(new ECKeyGenerator(Curve.P_256).generate()));
+
+		this.filter.doFilter(this.request, this.response, this.chain);
+
+		verifyNoInteractions(this.chain);
+		assertThat(this.response.getStatus()).isEqualTo(401);
+		assertThat(this.response.getHeader(HttpHeaders.WWW_AUTHENTICATE))
+			.startsWith("DPoP error=\"invalid_dpop_proof\"")
+			.contains("algs=\"ES256");
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+	}
+
+	@Test
+	void missingProofThenUnauthorized() throws Exception {
+		authenticate(Map.of("jkt", this.key.computeThumbprint().toString()));
+		this.request.addHeader(HttpHeaders.AUTHORIZATION, "DPoP " + ACCESS_TOKEN);
+
+		this.filter.doFilter(this.request, this.response, this.chain);
+
+		verifyNoInteractions(this.chain);
+		assertThat(this.response.getStatus()).isEqualTo(401);
+		assertThat(this.response.getHeader(HttpHeaders.WWW_AUTHENTICATE))
+			.contains("error_description=\"Exactly one DPoP proof is required\"");
+	}
+
+	@Test
+	void boundTokenWithBearerSchemeThenUnauthorized() throws Exception {
+		authenticate(Map.of("jkt", this.key.computeThumbprint().toString()));
+		this.request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + ACCESS_TOKEN);
+
+		this.filter.doFilter(this.request, this.response, this.chain);
+
+		verifyNoInteractions(this.chain);
+		assertThat(this.response.getStatus()).isEqualTo(401);
+		assertThat(this.response.getHeader(HttpHeaders.WWW_AUTHENTICATE)).startsWith("Bearer error=\"invalid_token\"");
+	}
+
+	@Test
+	void unboundTokenWithDPoPSchemeThenUnauthorized() throws Exception {
+		authenticate(null);
+		this.request.addHeader(HttpHeaders.AUTHORIZATION, "DPoP " + ACCESS_TOKEN);
+		this.request.addHeader("DPoP", proof(this.key));
+
+		this.filter.doFilter(this.request, this.response, this.chain);
+
+		verifyNoInteractions(this.chain);
+		assertThat(this.response.getStatus()).isEqualTo(401);
+	}
+
+	@Test
+	void unboundBearerTokenThenContinue() throws Exception {
+		authenticate(null);
+		this.request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + ACCESS_TOKEN);
+
+		this.filter.doFilter(this.request, this.response, this.chain);
+
+		verify(this.chain).doFilter(this.request, this.response);
+	}
+
+	@Test
+	void unauthenticatedThenContinue() throws Exception {
+		this.filter.doFilter(this.request, this.response, this.chain);
+
+		verify(this.chain).doFilter(this.request, this.response);
+	}
+
+	@Test
+	void resolverReadsDPoPScheme() {
+		var resolver = new DPoPBearerTokenResolver();
+		var dpopRequest = new MockHttpServletRequest();
+		dpopRequest.addHeader(HttpHeaders.AUTHORIZATION, "DPoP " + ACCESS_TOKEN);
+		var bearerRequest = new MockHttpServletRequest();
+		bearerRequest.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + ACCESS_TOKEN);
+		var malformedRequest = new MockHttpServletRequest();
+		malformedRequest.addHeader(HttpHeaders.AUTHORIZATION, "DPoP not a token");
+
+		assertThat(resolver.resolve(dpopRequest)).isEqualTo(ACCESS_TOKEN);
+		assertThat(resolver.resolve(bearerRequest)).isEqualTo(ACCESS_TOKEN);
+		assertThat(resolver.resolve(new MockHttpServletRequest())).isNull();
+		assertThatExceptionOfType(OAuth2AuthenticationException.class)
+			.isThrownBy(() -> resolver.resolve(malformedRequest));
+	}
+
+	private void authenticate(Map<String, Object> confirmation) {
+		var jwt = Jwt.withTokenValue(ACCESS_TOKEN).header("alg", "RS256").subject("alice");
+		if (confirmation != null) {
+			jwt.claim("cnf", confirmation);
+		}
+		SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt.build()));
+	}
+
+	private String proof(ECKey signingKey) throws Exception {
+		var header = new JWSHeader.Builder(JWSAlgorithm.ES256).type(new JOSEObjectType("dpop+jwt"))
+			.jwk(signingKey.toPublicJWK())
+			.build();
+		var claims = new JWTClaimsSet.Builder().jwtID("proof-1")
+			.claim("htm", "POST")
+			.claim("htu", "http://localhost/mcp")
+			.claim("ath", DPoPProofValidator.hash(ACCESS_TOKEN))
+			.issueTime(new Date())
+			.build();
+		var jwt = new SignedJWT(header, claims);
+		jwt.sign(new ECDSASigner(signingKey));
+		return jwt.serialize();
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.oauth2.introspection;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.core.DefaultOAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.security.oauth2.server.resource.introspection.BadOpaqueTokenException;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class CachingOpaqueTokenIntrospectorTests {
+
+	private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+	private final OpaqueTokenIntrospector delegate = mock();
+
+	private final CachingOpaqueTokenIntrospector introspector = new CachingOpaqueTokenIntrospector(this.delegate);
+
+	@Test
+	void cachesResult() {
+		when(this.delegate.introspect(anyString())).thenReturn(principal(NOW.plusSeconds(3600)));
+		this.introspector.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+
+		var first = this.introspector.introspect("token");
+		var second = this.introspector.introspect("token");
+
+		assertThat(second).isSameAs(first);
+		verify(this.delegate, times(1)).introspect("token");
+	}
+
+	@Test
+	void timeToLiveExpires() {
+		when(this.delegate.introspect(anyString())).thenReturn(principal(NOW.plusSeconds(3600)));
+		this.introspector.setTimeToLive(Duration.ofMinutes(1));
+		this.introspector.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		this.introspector.introspect("token");
+
+		this.introspector.setClock(Clock.fixed(NOW.plusSeconds(61), ZoneOffset.UTC));
+		this.introspector.introspect("token");
+
+		verify(this.delegate, times(2)).introspect("token");
+	}
+
+	@Test
+	void timeToLiveCappedAtExpiry() {
+		when(this.delegate.introspect(anyString())).thenReturn(principal(NOW.plusSeconds(10)));
+		this.introspector.setTimeToLive(Duration.ofMinutes(5));
+		this.introspector.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+		this.introspector.introspect("token");
+
+		this.introspector.setClock(Clock.fixed(NOW.plusSeconds(11), ZoneOffset.UTC));
+		this.introspector.introspect("token");
+
+		verify(this.delegate, times(2)).introspect("token");
+	}
+
+	@Test
+	void boundedSize() {
+		when(this.delegate.introspect(anyString())).thenReturn(principal(NOW.plusSeconds(3600)));
+		this.introspector.setMaximumSize(1);
+		this.introspector.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+
+		this.introspector.introspect("token-1");
+		this.introspector.introspect("token-2");
+		this.introspector.introspect("token-2");
+		this.introspector.introspect("token-1");
+
+		verify(this.delegate, times(2)).introspect("token-1");
+		verify(this.delegate, times(1)).introspect("token-2");
+	}
+
+	@Test
+	void failuresNotCached() {
+		when(this.delegate.introspect(anyString())).thenThrow(new BadOpaqueTokenException("inactive"));
+
+		assertThatExceptionOfType(BadOpaqueTokenException.class)
+			.isThrownBy(() -> this.introspector.introspect("token"));
+		assertThatExceptionOfType(BadOpaqueTokenException.class)
+			.isThrownBy(() -> this.introspector.introspect("token"));
+
+		verify(this.delegate, times(2)).introspect("token");
+	}
+
+	@Test
+	void concurrentIntrospectionsCoalesced() throws Exception {
+		var calls = new AtomicInteger();
+		var started = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		OpaqueTokenIntrospector slowDelegate = token -> {
+			calls.incrementAndGet();
+			started.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return principal(Instant.now().plusSeconds(3600));
+		};
+		var coalescing = new CachingOpaqueTokenIntrospector(slowDelegate);
+		var leader = new FutureTask<>(() -> coalescing.introspect("token"));
+		new Thread(leader).start();
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		List<FutureTask<OAuth2AuthenticatedPrincipal>> followers = new ArrayList<>();
+		List<Thread> followerThreads = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			var follower = new FutureTask<>(() -> coalescing.introspect("token"));
+			var thread = new Thread(follower);
+			thread.start();
+			followers.add(follower);
+			followerThreads.add(thread);
+		}
+
+		// Only release the leader once every follower is parked on its future
+		Awaitility.await()
+			.atMost(Duration.ofSeconds(5))
+			.until(() -> followerThreads.stream().allMatch((thread) -> thread.getState() == Thread.State.WAITING));
+		release.countDown();
+
+		assertThat(leader.get(5, TimeUnit.SECONDS).getName()).isEqualTo("user");
+		for (var follower : followers) {
+			assertThat(follower.get(5, TimeUnit.SECONDS).getName()).isEqualTo("user");
+		}
+		assertThat(calls).hasValue(1);
+	}
+
+	private static OAuth2AuthenticatedPrincipal principal(Instant expiresAt) {
+		return new DefaultOAuth2AuthenticatedPrincipal("user",
+				Map.of(OAuth2TokenIntrospectionClaimNames.SUB, "user", OAuth2TokenIntrospectionClaimNames.EXP,
+						expiresAt),
+				AuthorityUtils.NO_AUTHORITIES);
+	}
+
+}
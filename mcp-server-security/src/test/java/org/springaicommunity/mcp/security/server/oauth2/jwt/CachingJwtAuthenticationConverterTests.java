@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.oauth2.jwt;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class CachingJwtAuthenticationConverterTests {
+
+	private final CachingJwtAuthenticationConverter converter = new CachingJwtAuthenticationConverter();
+
+	@Test
+	void scopeClaim() {
+		var authentication = this.converter.convert(jwt("scope", "mcp.read  mcp.write"));
+
+		assertThat(authentication).isInstanceOf(JwtAuthenticationToken.class);
+		assertThat(authentication.getName()).isEqualTo("user");
+		assertThat(AuthorityUtils.authorityListToSet(authentication.getAuthorities()))
+			.containsExactlyInAnyOrder("SCOPE_mcp.read", "SCOPE_mcp.write");
+	}
+
+	@Test
+	void scpClaim() {
+		var authentication = this.converter.convert(jwt("scp", List.of("mcp.read", "mcp.write")));
+
+		assertThat(AuthorityUtils.authorityListToSet(authentication.getAuthorities()))
+			.containsExactlyInAnyOrder("SCOPE_mcp.read", "SCOPE_mcp.write");
+	}
+
+	@Test
+	void noScope() {
+		var jwt = Jwt.withTokenValue("token").header("alg", "none").subject("user").build();
+
+		assertThat(this.converter.convert(jwt).getAuthorities()).isEmpty();
+	}
+
+	@Test
+	void authoritiesInterned() {
+		var first = List.copyOf(this.converter.convert(jwt("scope", "mcp.read mcp.write")).getAuthorities());
+		var second = List.copyOf(this.converter.convert(jwt("scope", "mcp.write mcp.read")).getAuthorities());
+
+		assertThat(second.get(0)).isSameAs(first.get(1));
+		assertThat(second.get(1)).isSameAs(first.get(0));
+	}
+
+	private static Jwt jwt(String claimName, Object scopes) {
+		return Jwt.withTokenValue("token").header("alg", "none").subject("user").claim(claimName, scopes).build();
+	}
+
+}
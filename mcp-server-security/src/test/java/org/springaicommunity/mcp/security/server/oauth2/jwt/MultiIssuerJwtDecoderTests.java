@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.oauth2.jwt;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.PlainJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class MultiIssuerJwtDecoderTests {
+
+	private static final String TENANT_A = "https://tenant-a.example.com";
+
+	private static final String TENANT_B = "https://tenant-b.example.com";
+
+	private final Map<String, JwtDecoder> issuerDecoders = new ConcurrentHashMap<>();
+
+	private final AtomicInteger factoryCalls = new AtomicInteger();
+
+	private final MultiIssuerJwtDecoder decoder = new MultiIssuerJwtDecoder(List.of(TENANT_A, TENANT_B));
+
+	@BeforeEach
+	void setUp() {
+		this.decoder.setJwtDecoderFactory((issuer) -> {
+			this.factoryCalls.incrementAndGet();
+			return this.issuerDecoders.computeIfAbsent(issuer, (iss) -> mock());
+		});
+	}
+
+	@Test
+	void decodesWithIssuerDecoder() {
+		var tokenA = token(TENANT_A);
+		var tokenB = token(TENANT_B);
+		var jwtA = jwt(TENANT_A);
+		var jwtB = jwt(TENANT_B);
+		when(issuerDecoder(TENANT_A).decode(tokenA)).thenReturn(jwtA);
+		when(issuerDecoder(TENANT_B).decode(tokenB)).thenReturn(jwtB);
+
+		assertThat(this.decoder.decode(tokenA)).isSameAs(jwtA);
+		assertThat(this.decoder.decode(tokenB)).isSameAs(jwtB);
+	}
+
+	@Test
+	void issuerDecoderCreatedOnce() {
+		var token = token(TENANT_A);
+		when(issuerDecoder(TENANT_A).decode(token)).thenReturn(jwt(TENANT_A));
+		this.factoryCalls.set(0);
+
+		this.decoder.decode(token);
+		this.decoder.decode(token);
+		this.decoder.decode(token);
+
+		assertThat(this.factoryCalls).hasValue(1);
+	}
+
+	@Test
+	void untrustedIssuerRejected() {
+		assertThatExceptionOfType(BadJwtException.class)
+			.isThrownBy(() -> this.decoder.decode(token("https://evil.example.com")))
+			.withMessageContaining("Untrusted issuer");
+		assertThat(this.factoryCalls).hasValue(0);
+	}
+
+	@Test
+	void missingIssuerRejected() {
+		var token = new PlainJWT(new JWTClaimsSet.Builder().subject("user").build()).serialize();
+
+		assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> this.decoder.decode(token));
+	}
+
+	@Test
+	void malformedTokenRejected() {
+		assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> this.decoder.decode("not-a-jwt"))
+			.withMessage("Malformed token");
+	}
+
+	@Test
+	void issuerPredicate() {
+		var decoder = new MultiIssuerJwtDecoder((issuer) -> issuer.endsWith(".example.com"));
+		JwtDecoder issuerDecoder = mock();
+		decoder.setJwtDecoderFactory((issuer) -> issuerDecoder);
+		var token = token("https://tenant-c.example.com");
+		var jwt = jwt("https://tenant-c.example.com");
+		when(issuerDecoder.decode(token)).thenReturn(jwt);
+
+		assertThat(decoder.decode(token)).isSameAs(jwt);
+		assertThatExceptionOfType(BadJwtException.class)
+			.isThrownBy(() -> decoder.decode(token("https://example.org")));
+	}
+
+	@Test
+	void failedDecoderCreationRetried() {
+		var attempts = new AtomicInteger();
+		JwtDecoder issuerDecoder = mock();
+		this.decoder.setJwtDecoderFactory((issuer) -> {
+			if (attempts.incrementAndGet() == 1) {
+				throw new IllegalStateException("authorization server unavailable");
+			}
+			return issuerDecoder;
+		});
+		var token = token(TENANT_A);
+		var jwt = jwt(TENANT_A);
+		when(issuerDecoder.decode(token)).thenReturn(jwt);
+
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> this.decoder.decode(token));
+		assertThat(this.decoder.decode(token)).isSameAs(jwt);
+		assertThat(attempts).hasValue(2);
+	}
+
+	@Test
+	void numberOfCachedDecodersBounded() {
+		var decoder = new MultiIssuerJwtDecoder((issuer) -> issuer.endsWith(".example.com"));
+		decoder.setJwtDecoderFactory((issuer) -> {
+			this.factoryCalls.incrementAndGet();
+			JwtDecoder issuerDecoder = mock();
+			when(issuerDecoder.decode(anyString())).thenReturn(jwt(issuer));
+			return issuerDecoder;
+		});
+		var tokens = IntStream.range(0, 200).mapToObj((i) -> token("https://tenant-" + i + ".example.com")).toList();
+
+		tokens.forEach(decoder::decode);
+		tokens.forEach(decoder::decode);
+
+		assertThat(this.factoryCalls).hasValueGreaterThan(200);
+	}
+
+	private JwtDecoder issuerDecoder(String issuer) {
+		return this.issuerDecoders.computeIfAbsent(issuer, (iss) -> mock());
+	}
+
+	private static String token(String issuer) {
+		return new PlainJWT(new JWTClaimsSet.Builder().issuer(issuer).subject("user").build()).serialize();
+	}
+
+	private static Jwt jwt(String issuer) {
+		return Jwt.withTokenValue("token").header("alg", "none").issuer(issuer).subject("user").build();
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.oauth2.jwt;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.mcp.security.server.oauth2.metadata.ResourceIdentifier;
+import reactor.core.publisher.Mono;
+
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.server.ServerWebExchange;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class ReactiveAudienceValidationJwtDecoderTests {
+
+	private final ServerWebExchange exchange = MockServerWebExchange
+		.from(MockServerHttpRequest.post("https://example.com/mcp"));
+
+	@Test
+	void validAudience() {
+		var jwt = jwt(List.of("https://other.example.com", "https://example.com/mcp"));
+		var decoder = new ReactiveAudienceValidationJwtDecoder(token -> Mono.just(jwt), new ResourceIdentifier("/mcp"));
+
+		var decoded = decoder.decode("token")
+			.contextWrite((ctx) -> ctx.put(ServerWebExchange.class, this.exchange))
+			.block();
+
+		assertThat(decoded).isSameAs(jwt);
+	}
+
+	@Test
+	void invalidAudience() {
+		ReactiveJwtDecoder delegate = token -> Mono.just(jwt(List.of("https://example.com/other")));
+		var decoder = new ReactiveAudienceValidationJwtDecoder(delegate, new ResourceIdentifier("/mcp"));
+
+		assertThatExceptionOfType(JwtValidationException.class)
+			.isThrownBy(() -> decoder.decode("token")
+				.contextWrite((ctx) -> ctx.put(ServerWebExchange.class, this.exchange))
+				.block())
+			.withMessageContaining("The aud claim is not valid");
+	}
+
+	@Test
+	void missingExchange() {
+		ReactiveJwtDecoder delegate = token -> Mono.just(jwt(List.of("https://example.com/mcp")));
+		var decoder = new ReactiveAudienceValidationJwtDecoder(delegate, new ResourceIdentifier("/mcp"));
+
+		assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> decoder.decode("token").block());
+	}
+
+	private static Jwt jwt(List<String> audience) {
+		return Jwt.withTokenValue("token").header("alg", "none").subject("user").audience(audience).build();
+	}
+
+}
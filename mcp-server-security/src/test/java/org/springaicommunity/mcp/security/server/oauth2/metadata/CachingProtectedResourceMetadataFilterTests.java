@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.oauth2.metadata;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.DigestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class CachingProtectedResourceMetadataFilterTests {
+
+	private static final String METADATA = """
+			{"resource":"http://localhost/mcp","authorization_servers":["http://localhost:9000"]}""";
+
+	private final CachingProtectedResourceMetadataFilter filter = new CachingProtectedResourceMetadataFilter(
+			Duration.ofMinutes(5));
+
+	private final AtomicInteger renderCount = new AtomicInteger();
+
+	private final FilterChain metadataChain = (req, res) -> {
+		this.renderCount.incrementAndGet();
+		res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		res.getWriter().write(METADATA);
+		res.getWriter().flush();
+	};
+
+	@Test
+	void firstRequestRendersAndCaches() throws ServletException, IOException {
+		var response = new MockHttpServletResponse();
+
+		this.filter.doFilter(metadataRequest(), response, this.metadataChain);
+
+		assertThat(response.getContentAsString()).isEqualTo(METADATA);
+		assertThat(response.getHeader(HttpHeaders.ETAG)).startsWith("\"").endsWith("\"");
+		assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("max-age=300");
+		assertThat(this.renderCount).hasValue(1);
+	}
+
+	@Test
+	void subsequentRequestsServedFromCache() throws ServletException, IOException {
+		var first = new MockHttpServletResponse();
+		this.filter.doFilter(metadataRequest(), first, this.metadataChain);
+
+		var second = new MockHttpServletResponse();
+		this.filter.doFilter(metadataRequest(), second, this.metadataChain);
+
+		assertThat(second.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+		assertThat(second.getContentAsString()).isEqualTo(METADATA);
+		assertThat(second.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+		assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo(first.getHeader(HttpHeaders.ETAG));
+		assertThat(this.renderCount).hasValue(1);
+	}
+
+	@Test
+	void ifNoneMatchThenNotModified() throws ServletException, IOException {
+		var first = new MockHttpServletResponse();
+		this.filter.doFilter(metadataRequest(), first, this.metadataChain);
+
+		var request = metadataRequest();
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+		var response = new MockHttpServletResponse();
+		this.filter.doFilter(request, response, this.metadataChain);
+
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+		assertThat(response.getContentAsByteArray()).isEmpty();
+		assertThat(this.renderCount).hasValue(1);
+	}
+
+	@Test
+	void ifNoneMatchOnFirstRequestThenNotModified() throws ServletException, IOException {
+		var request = metadataRequest();
+		request.addHeader(HttpHeaders.IF_NONE_MATCH,
+				"\"" + DigestUtils.md5DigestAsHex(METADATA.getBytes(StandardCharsets.UTF_8)) + "\"");
+		var response = new MockHttpServletResponse();
+
+		this.filter.doFilter(request, response, this.metadataChain);
+
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+		assertThat(response.getContentAsByteArray()).isEmpty();
+		assertThat(this.renderCount).hasValue(1);
+	}
+
+	@Test
+	void differentHostsCachedSeparately() throws ServletException, IOException {
+		this.filter.doFilter(metadataRequest(), new MockHttpServletResponse(), this.metadataChain);
+
+		var otherHost = metadataRequest();
+		otherHost.setServerName("mcp.example.com");
+		this.filter.doFilter(otherHost, new MockHttpServletResponse(), this.metadataChain);
+
+		assertThat(this.renderCount).hasValue(2);
+	}
+
+	@Test
+	void errorResponsesNotCached() throws ServletException, IOException {
+		FilterChain notFoundChain = (req, res) -> {
+			this.renderCount.incrementAndGet();
+			((HttpServletResponse) res).setStatus(HttpServletResponse.SC_NOT_FOUND);
+		};
+
+		this.filter.doFilter(metadataRequest(), new MockHttpServletResponse(), notFoundChain);
+		var response = new MockHttpServletResponse();
+		this.filter.doFilter(metadataRequest(), response, notFoundChain);
+
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_FOUND);
+		assertThat(this.renderCount).hasValue(2);
+	}
+
+	@Test
+	void otherPathsIgnored() throws ServletException, IOException {
+		var request = new MockHttpServletRequest("GET", "/mcp");
+		var response = new MockHttpServletResponse();
+
+		this.filter.doFilter(request, response, this.metadataChain);
+		this.filter.doFilter(request, new MockHttpServletResponse(), this.metadataChain);
+
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+		assertThat(this.renderCount).hasValue(2);
+	}
+
+	private static MockHttpServletRequest metadataRequest() {
+		return new MockHttpServletRequest("GET", "/.well-known/oauth-protected-resource/mcp");
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.oauth2.metadata;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class ServerProtectedResourceMetadataWebFilterTests {
+
+	private final ServerProtectedResourceMetadataWebFilter filter = new ServerProtectedResourceMetadataWebFilter(
+			new ResourceIdentifier("/mcp"),
+			(metadata) -> metadata.authorizationServer("https://auth.example.com").resourceName("Test \"MCP\" server"));
+
+	private boolean chainCalled = false;
+
+	private final WebFilterChain chain = (exchange) -> {
+		this.chainCalled = true;
+		return Mono.empty();
+	};
+
+	@Test
+	void servesMetadata() {
+		var exchange = MockServerWebExchange
+			.from(MockServerHttpRequest.get("https://example.com/.well-known/oauth-protected-resource/mcp"));
+
+		this.filter.filter(exchange, this.chain).block();
+
+		assertThat(this.chainCalled).isFalse();
+		assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+		assertThat(exchange.getResponse().getBodyAsString().block()).contains("\"resource\":\"https://example.com/mcp\"")
+			.contains("\"authorization_servers\":[\"https://auth.example.com\"]")
+			.contains("\"bearer_methods_supported\":[\"header\"]")
+			.contains("\"resource_name\":\"Test \\\"MCP\\\" server\"");
+	}
+
+	@Test
+	void servesNestedClaimsAsJson() {
+		var filter = new ServerProtectedResourceMetadataWebFilter(new ResourceIdentifier("/mcp"),
+				(metadata) -> metadata.claim("mcp_extension", Map.of("tools", List.of("weather"))));
+		var exchange = MockServerWebExchange
+			.from(MockServerHttpRequest.get("https://example.com/.well-known/oauth-protected-resource/mcp"));
+
+		filter.filter(exchange, this.chain).block();
+
+		assertThat(exchange.getResponse().getBodyAsString().block())
+			.contains("\"mcp_extension\":{\"tools\":[\"weather\"]}");
+	}
+
+	@Test
+	void servesMetadataAtRootWithContextPath() {
+		var exchange = MockServerWebExchange.from(MockServerHttpRequest
+			.get("https://example.com/foo/.well-known/oauth-protected-resource")
+			.contextPath("/foo"));
+
+		this.filter.filter(exchange, this.chain).block();
+
+		assertThat(this.chainCalled).isFalse();
+		assertThat(exchange.getResponse().getBodyAsString().block())
+			.contains("\"resource\":\"https://example.com/foo/mcp\"");
+	}
+
+	@Test
+	void otherRequestsIgnored() {
+		var exchange = MockServerWebExchange.from(MockServerHttpRequest.post("https://example.com/mcp"));
+
+		this.filter.filter(exchange, this.chain).block();
+
+		assertThat(this.chainCalled).isTrue();
+		assertThat(exchange.getResponse().getStatusCode()).isNull();
+	}
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class BloomFilterTests {
+
+	@Test
+	void noFalseNegatives() {
+		var bloomFilter = new BloomFilter(1000);
+		for (int i = 0; i < 1000; i++) {
+			bloomFilter.add(BloomFilter.hash("entry-" + i, 1));
+		}
+
+		for (int i = 0; i < 1000; i++) {
+			assertThat(bloomFilter.mightContain(BloomFilter.hash("entry-" + i, 1))).isTrue();
+		}
+	}
+
+	@Test
+	void fewFalsePositives() {
+		var bloomFilter = new BloomFilter(1000);
+		for (int i = 0; i < 1000; i++) {
+			bloomFilter.add(BloomFilter.hash("entry-" + i, 1));
+		}
+
+		var falsePositives = 0;
+		for (int i = 0; i < 10_000; i++) {
+			if (bloomFilter.mightContain(BloomFilter.hash("other-" + i, 1))) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives).isLessThan(300);
+	}
+
+}
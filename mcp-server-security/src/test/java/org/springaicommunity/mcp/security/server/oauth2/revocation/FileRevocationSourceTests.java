@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class FileRevocationSourceTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void initialLoadThenFull() throws IOException {
+		var file = Files.writeString(this.directory.resolve("revoked.txt"), """
+				# revoked tokens
+				jti:token-1
+
+				sub:alice
+				unknown:entry
+				""");
+
+		var update = new FileRevocationSource(file).fetch();
+
+		assertThat(update).isNotNull();
+		assertThat(update.full()).isTrue();
+		assertThat(update.tokenIds()).containsExactly("token-1");
+		assertThat(update.subjects()).containsExactly("alice");
+	}
+
+	@Test
+	void appendedLinesThenIncremental() throws IOException {
+		var file = Files.writeString(this.directory.resolve("revoked.txt"), "jti:token-1\n");
+		var source = new FileRevocationSource(file);
+		source.fetch();
+
+		assertThat(source.fetch()).isNull();
+
+		Files.writeString(file, "jti:token-2\nsub:bo", StandardOpenOption.APPEND);
+		var update = source.fetch();
+
+		assertThat(update).isNotNull();
+		assertThat(update.full()).isFalse();
+		assertThat(update.tokenIds()).containsExactly("token-2");
+		assertThat(update.subjects()).isEmpty();
+
+		Files.writeString(file, "b\n", StandardOpenOption.APPEND);
+		update = source.fetch();
+
+		assertThat(update).isNotNull();
+		assertThat(update.subjects()).containsExactly("bob");
+	}
+
+	@Test
+	void truncatedThenFull() throws IOException {
+		var file = Files.writeString(this.directory.resolve("revoked.txt"), "jti:token-1\njti:token-2\n");
+		var source = new FileRevocationSource(file);
+		source.fetch();
+
+		Files.writeString(file, "jti:token-3\n");
+		var update = source.fetch();
+
+		assertThat(update).isNotNull();
+		assertThat(update.full()).isTrue();
+		assertThat(update.tokenIds()).containsExactly("token-3");
+	}
+
+	@Test
+	void missingFileThenEmpty() throws IOException {
+		var source = new FileRevocationSource(this.directory.resolve("missing.txt"));
+
+		var update = source.fetch();
+
+		assertThat(update).isNotNull();
+		assertThat(update.full()).isTrue();
+		assertThat(update.tokenIds()).isEmpty();
+		assertThat(source.fetch()).isNull();
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class HttpRevocationSourceTests {
+
+	private static final String URL = "https://revocations.example.com/revoked";
+
+	private final RestClient.Builder restClientBuilder = RestClient.builder();
+
+	private final MockRestServiceServer server = MockRestServiceServer.bindTo(this.restClientBuilder).build();
+
+	private final HttpRevocationSource source = new HttpRevocationSource(this.restClientBuilder.build(),
+			URI.create(URL));
+
+	@Test
+	void fetchThenConditionalFetch() throws IOException {
+		this.server.expect(requestTo(URL))
+			.andRespond(withSuccess("jti:token-1\nsub:alice\n", MediaType.TEXT_PLAIN).header(HttpHeaders.ETAG,
+					"\"v1\""));
+		this.server.expect(requestTo(URL))
+			.andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+			.andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+		var update = this.source.fetch();
+
+		assertThat(update).isNotNull();
+		assertThat(update.full()).isTrue();
+		assertThat(update.tokenIds()).containsExactly("token-1");
+		assertThat(update.subjects()).containsExactly("alice");
+		assertThat(this.source.fetch()).isNull();
+		this.server.verify();
+	}
+
+	@Test
+	void errorThenIOException() {
+		this.server.expect(requestTo(URL)).andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+		assertThatIOException().isThrownBy(this.source::fetch);
+	}
+
+}
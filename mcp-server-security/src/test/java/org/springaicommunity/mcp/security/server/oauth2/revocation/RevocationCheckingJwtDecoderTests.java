@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class RevocationCheckingJwtDecoderTests {
+
+	private final JwtDecoder delegate = mock(JwtDecoder.class);
+
+	private final RevocationDenyList denyList = new RevocationDenyList();
+
+	private final RevocationCheckingJwtDecoder decoder = new RevocationCheckingJwtDecoder(this.delegate,
+			this.denyList);
+
+	@Test
+	void notRevokedThenDecoded() {
+		var jwt = jwt("token-1", "alice");
+		given(this.delegate.decode("token")).willReturn(jwt);
+
+		assertThat(this.decoder.decode("token")).isSameAs(jwt);
+	}
+
+	@Test
+	void revokedThenRejected() {
+		given(this.delegate.decode("token")).willReturn(jwt("token-1", "alice"));
+		this.denyList.apply(RevocationUpdate.incremental(Set.of(), Set.of("alice")));
+
+		assertThatExceptionOfType(JwtValidationException.class).isThrownBy(() -> this.decoder.decode("token"))
+			.satisfies((ex) -> assertThat(ex.getErrors()).singleElement()
+				.satisfies((error) -> assertThat(error.getErrorCode()).isEqualTo("invalid_token")));
+	}
+
+	@Test
+	void synchronizerAppliesUpdates() {
+		given(this.delegate.decode("token")).willReturn(jwt("token-1", "alice"));
+		var synchronizer = new RevocationListSynchronizer(
+				() -> RevocationUpdate.incremental(Set.of("token-1"), Set.of()), this.denyList, Duration.ofMinutes(1));
+
+		assertThat(synchronizer.synchronize()).isTrue();
+
+		assertThatExceptionOfType(JwtValidationException.class).isThrownBy(() -> this.decoder.decode("token"));
+	}
+
+	@Test
+	void synchronizerFailureThenDenyListKept() {
+		this.denyList.apply(RevocationUpdate.full(Set.of("token-1"), Set.of()));
+		var synchronizer = new RevocationListSynchronizer(() -> {
+			throw new IOException("unavailable");
+		}, this.denyList, Duration.ofMinutes(1));
+
+		assertThat(synchronizer.synchronize()).isFalse();
+
+		assertThat(this.denyList.isRevoked("token-1", null)).isTrue();
+	}
+
+	private static Jwt jwt(String tokenId, String subject) {
+		return Jwt.withTokenValue("token").header("alg", "none").jti(tokenId).subject(subject).build();
+	}
+
+}
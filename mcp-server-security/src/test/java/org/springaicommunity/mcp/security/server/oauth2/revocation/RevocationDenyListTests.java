@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.oauth2.revocation;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class RevocationDenyListTests {
+
+	private final RevocationDenyList denyList = new RevocationDenyList();
+
+	@Test
+	void emptyThenNothingRevoked() {
+		assertThat(this.denyList.isRevoked("token-1", "user")).isFalse();
+		assertThat(this.denyList.isRevoked(null, null)).isFalse();
+		assertThat(this.denyList.size()).isZero();
+	}
+
+	@Test
+	void revokedByTokenIdOrSubject() {
+		this.denyList.apply(RevocationUpdate.full(Set.of("token-1"), Set.of("alice")));
+
+		assertThat(this.denyList.isRevoked("token-1", "bob")).isTrue();
+		assertThat(this.denyList.isRevoked("token-2", "alice")).isTrue();
+		assertThat(this.denyList.isRevoked("token-2", "bob")).isFalse();
+		assertThat(this.denyList.isRevoked(jwt("token-1", "bob"))).isTrue();
+		assertThat(this.denyList.isRevoked(jwt("token-2", "bob"))).isFalse();
+	}
+
+	@Test
+	void tokenIdsAndSubjectsAreDistinct() {
+		this.denyList.apply(RevocationUpdate.full(Set.of("alice"), Set.of()));
+
+		assertThat(this.denyList.isRevoked(null, "alice")).isFalse();
+		assertThat(this.denyList.isRevoked("alice", null)).isTrue();
+	}
+
+	@Test
+	void incrementalUpdatesAdded() {
+		this.denyList.apply(RevocationUpdate.full(Set.of("token-1"), Set.of()));
+
+		this.denyList.apply(RevocationUpdate.incremental(Set.of("token-2"), Set.of("alice")));
+
+		assertThat(this.denyList.isRevoked("token-1", null)).isTrue();
+		assertThat(this.denyList.isRevoked("token-2", null)).isTrue();
+		assertThat(this.denyList.isRevoked(null, "alice")).isTrue();
+		assertThat(this.denyList.size()).isEqualTo(3);
+	}
+
+	@Test
+	void fullUpdatesReplace() {
+		this.denyList.apply(RevocationUpdate.full(Set.of("token-1"), Set.of("alice")));
+
+		this.denyList.apply(RevocationUpdate.full(Set.of("token-2"), Set.of()));
+
+		assertThat(this.denyList.isRevoked("token-1", "alice")).isFalse();
+		assertThat(this.denyList.isRevoked("token-2", null)).isTrue();
+	}
+
+	@Test
+	void largeDenyListThenNoFalsePositives() {
+		Set<String> tokenIds = new HashSet<>();
+		for (int i = 0; i < 10_000; i++) {
+			tokenIds.add("revoked-" + i);
+		}
+		this.denyList.apply(RevocationUpdate.full(tokenIds, Set.of()));
+
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(this.denyList.isRevoked("revoked-" + i, null)).isTrue();
+			assertThat(this.denyList.isRevoked("valid-" + i, null)).isFalse();
+		}
+	}
+
+	private static Jwt jwt(String tokenId, String subject) {
+		return Jwt.withTokenValue("token").header("alg", "none").jti(tokenId).subject(subject).build();
+	}
+
+}
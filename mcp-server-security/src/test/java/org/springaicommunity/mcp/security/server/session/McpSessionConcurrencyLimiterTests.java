@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.session;
+
+import java.time.Duration;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class McpSessionConcurrencyLimiterTests {
+
+	@Test
+	void limitPerSession() throws InterruptedException {
+		var limiter = new McpSessionConcurrencyLimiter(2, Duration.ZERO);
+
+		assertThat(limiter.acquire("session1")).isNotNull();
+		assertThat(limiter.acquire("session1")).isNotNull();
+		assertThat(limiter.acquire("session1")).isNull();
+		assertThat(limiter.acquire("session2")).isNotNull();
+	}
+
+	@Test
+	void releaseThenAvailable() throws InterruptedException {
+		var limiter = new McpSessionConcurrencyLimiter(1, Duration.ZERO);
+		var permit = limiter.acquire("session1");
+		assertThat(limiter.acquire("session1")).isNull();
+
+		permit.release();
+
+		assertThat(limiter.acquire("session1")).isNotNull();
+	}
+
+	@Test
+	void releaseTwiceThenReleasedOnce() throws InterruptedException {
+		var limiter = new McpSessionConcurrencyLimiter(1, Duration.ZERO);
+		var first = limiter.acquire("session1");
+		first.release();
+		var second = limiter.acquire("session1");
+
+		first.release();
+
+		assertThat(second).isNotNull();
+		assertThat(limiter.acquire("session1")).isNull();
+	}
+
+	@Test
+	void idleSessionsCleanedUp() throws InterruptedException {
+		var limiter = new McpSessionConcurrencyLimiter(1, Duration.ZERO);
+		var permit = limiter.acquire("session1");
+		limiter.acquire("session1");
+		assertThat(limiter.getActiveSessionCount()).isEqualTo(1);
+
+		permit.release();
+
+		assertThat(limiter.getActiveSessionCount()).isZero();
+	}
+
+	@Test
+	void overLimitRequestsWait() throws Exception {
+		var limiter = new McpSessionConcurrencyLimiter(1, Duration.ofSeconds(5));
+		var permit = limiter.acquire("session1");
+
+		var waiting = new FutureTask<>(() -> limiter.acquire("session1"));
+		var thread = new Thread(waiting);
+		thread.start();
+
+		// Only release once the second caller is parked on the semaphore
+		Awaitility.await()
+			.atMost(Duration.ofSeconds(5))
+			.until(() -> thread.getState() == Thread.State.TIMED_WAITING);
+		assertThat(waiting).isNotDone();
+
+		permit.release();
+
+		assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+	}
+
+	@Test
+	void invalidLimit() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new McpSessionConcurrencyLimiter(0, Duration.ZERO));
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new McpSessionConcurrencyLimiter(1, Duration.ofSeconds(-1)));
+	}
+
+}
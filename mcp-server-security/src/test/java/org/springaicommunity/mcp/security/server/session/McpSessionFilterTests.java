@@ -17,6 +17,8 @@
 package org.springaicommunity.mcp.security.server.session;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.modelcontextprotocol.spec.HttpHeaders;
 import jakarta.servlet.FilterChain;
@@ -32,11 +34,14 @@ import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -82,7 +87,7 @@ class McpSessionFilterTests {
 
 		this.filter.doFilterInternal(request, response, filterChain);
 
-		verify(filterChain).doFilter(request, response);
+		verify(filterChain).doFilter(eq(request), any(HttpServletResponse.class));
 		verify(this.sessionBindingRepository, never()).bindSession(anyString(), anyString());
 	}
 
@@ -148,7 +153,7 @@ class McpSessionFilterTests {
 
 		this.filter.doFilterInternal(request, response, filterChain);
 
-		verify(filterChain).doFilter(request, response);
+		verify(filterChain).doFilter(eq(request), any(HttpServletResponse.class));
 		verify(this.sessionBindingRepository, never()).bindSession(anyString(), anyString());
 	}
 
@@ -169,7 +174,133 @@ class McpSessionFilterTests {
 
 		verify(this.sessionBindingRepository).findSessionBindingId("session1");
 		verify(this.sessionBindingRepository).bindSession("session2", "user1");
+		verify(filterChain).doFilter(eq(request), any(HttpServletResponse.class));
+	}
+
+	@Test
+	void bindsWhenResponseCommitted() throws ServletException, IOException, InvalidMcpSessionBindingException {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain filterChain = (req, res) -> {
+			var httpResponse = (HttpServletResponse) res;
+			httpResponse.setHeader(HttpHeaders.MCP_SESSION_ID, "session1");
+			httpResponse.flushBuffer();
+			verify(this.sessionBindingRepository).bindSession("session1", "user1");
+			httpResponse.getWriter().write("event: message");
+			httpResponse.flushBuffer();
+		};
+
+		SecurityContextHolder.getContext().setAuthentication(USER);
+
+		this.filter.doFilterInternal(request, response, filterChain);
+
+		verify(this.sessionBindingRepository, times(1)).bindSession("session1", "user1");
+	}
+
+	@Test
+	void asyncDispatchBindsOnCommit() throws ServletException, IOException, InvalidMcpSessionBindingException {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setAsyncSupported(true);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		AtomicReference<HttpServletResponse> asyncResponse = new AtomicReference<>();
+		FilterChain filterChain = (req, res) -> {
+			req.startAsync(req, res);
+			asyncResponse.set((HttpServletResponse) res);
+		};
+
+		SecurityContextHolder.getContext().setAuthentication(USER);
+
+		this.filter.doFilterInternal(request, response, filterChain);
+
+		verify(this.sessionBindingRepository, never()).bindSession(anyString(), anyString());
+
+		// Later, from another thread
+		asyncResponse.get().setHeader(HttpHeaders.MCP_SESSION_ID, "session1");
+		asyncResponse.get().flushBuffer();
+		verify(this.sessionBindingRepository).bindSession("session1", "user1");
+
+		request.getAsyncContext().complete();
+		verify(this.sessionBindingRepository, times(1)).bindSession("session1", "user1");
+	}
+
+	@Test
+	void asyncDispatchBindsOnCompleteWhenNeverCommitted() throws InvalidMcpSessionBindingException, ServletException,
+			IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setAsyncSupported(true);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain filterChain = (req, res) -> {
+			req.startAsync(req, res);
+			((HttpServletResponse) res).setHeader(HttpHeaders.MCP_SESSION_ID, "session1");
+		};
+
+		SecurityContextHolder.getContext().setAuthentication(USER);
+
+		this.filter.doFilterInternal(request, response, filterChain);
+		verify(this.sessionBindingRepository, never()).bindSession(anyString(), anyString());
+
+		request.getAsyncContext().complete();
+
+		verify(this.sessionBindingRepository).bindSession("session1", "user1");
+	}
+
+	@Test
+	void concurrencyLimitThen429() throws ServletException, IOException, InterruptedException {
+		var limiter = new McpSessionConcurrencyLimiter(1, Duration.ZERO);
+		this.filter.setConcurrencyLimiter(limiter);
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mcp");
+		request.addHeader(HttpHeaders.MCP_SESSION_ID, "session1");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain filterChain = mock(FilterChain.class);
+		var inFlight = limiter.acquire("session1");
+
+		this.filter.doFilterInternal(request, response, filterChain);
+
+		assertThat(response.getStatus()).isEqualTo(429);
+		verifyNoInteractions(filterChain);
+
+		inFlight.release();
+		response = new MockHttpServletResponse();
+
+		this.filter.doFilterInternal(request, response, filterChain);
+
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+		verify(filterChain).doFilter(request, response);
+		assertThat(limiter.acquire("session1")).isNotNull();
+	}
+
+	@Test
+	void concurrencyLimitReleasedWhenAsyncCompletes() throws ServletException, IOException, InterruptedException {
+		var limiter = new McpSessionConcurrencyLimiter(1, Duration.ZERO);
+		this.filter.setConcurrencyLimiter(limiter);
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mcp");
+		request.setAsyncSupported(true);
+		request.addHeader(HttpHeaders.MCP_SESSION_ID, "session1");
+		FilterChain filterChain = (req, res) -> req.startAsync(req, res);
+
+		this.filter.doFilterInternal(request, new MockHttpServletResponse(), filterChain);
+
+		assertThat(limiter.acquire("session1")).isNull();
+
+		request.getAsyncContext().complete();
+
+		assertThat(limiter.acquire("session1")).isNotNull();
+	}
+
+	@Test
+	void concurrencyLimitIgnoresGet() throws ServletException, IOException, InterruptedException {
+		var limiter = new McpSessionConcurrencyLimiter(1, Duration.ZERO);
+		this.filter.setConcurrencyLimiter(limiter);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/mcp");
+		request.addHeader(HttpHeaders.MCP_SESSION_ID, "session1");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain filterChain = mock(FilterChain.class);
+		var inFlight = limiter.acquire("session1");
+
+		this.filter.doFilterInternal(request, response, filterChain);
+
 		verify(filterChain).doFilter(request, response);
+		inFlight.release();
 	}
 
 }
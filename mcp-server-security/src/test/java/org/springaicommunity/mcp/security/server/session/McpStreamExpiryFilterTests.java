@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.ScheduledExecutorService;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class McpStreamExpiryFilterTests {
+
+	private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+	private final McpStreamExpiryScheduler scheduler = new McpStreamExpiryScheduler(Duration.ofSeconds(1),
+			mock(ScheduledExecutorService.class));
+
+	private final McpStreamExpiryFilter filter = new McpStreamExpiryFilter(this.scheduler);
+
+	private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/mcp");
+
+	private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+	private final FilterChain streamingChain = (req, res) -> req.startAsync(req, res);
+
+	@BeforeEach
+	void setUp() {
+		this.request.setAsyncSupported(true);
+		this.scheduler.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void streamClosedWhenTokenExpires() throws Exception {
+		authenticate(NOW.plusSeconds(60));
+
+		this.filter.doFilter(this.request, this.response, this.streamingChain);
+		assertThat(this.scheduler.getScheduledCount()).isEqualTo(1);
+
+		this.scheduler.expireDue();
+		assertThat(this.request.isAsyncStarted()).isTrue();
+
+		this.scheduler.setClock(Clock.fixed(NOW.plusSeconds(60), ZoneOffset.UTC));
+		this.scheduler.expireDue();
+		assertThat(this.request.isAsyncStarted()).isFalse();
+		assertThat(this.scheduler.getScheduledCount()).isZero();
+	}
+
+	@Test
+	void streamEndedThenRegistrationCancelled() throws Exception {
+		authenticate(NOW.plusSeconds(60));
+
+		this.filter.doFilter(this.request, this.response, this.streamingChain);
+		this.request.getAsyncContext().complete();
+
+		assertThat(this.scheduler.getScheduledCount()).isZero();
+	}
+
+	@Test
+	void notStreamingThenNotTracked() throws Exception {
+		authenticate(NOW.plusSeconds(60));
+
+		this.filter.doFilter(this.request, this.response, (req, res) -> {
+		});
+
+		assertThat(this.scheduler.getScheduledCount()).isZero();
+	}
+
+	@Test
+	void credentialsWithoutExpiryThenNotTracked() throws Exception {
+		SecurityContextHolder.getContext()
+			.setAuthentication(new TestingAuthenticationToken("alice", "password", "ROLE_USER"));
+
+		this.filter.doFilter(this.request, this.response, this.streamingChain);
+
+		assertThat(this.scheduler.getScheduledCount()).isZero();
+	}
+
+	@Test
+	void customExpiryResolver() throws Exception {
+		SecurityContextHolder.getContext()
+			.setAuthentication(new TestingAuthenticationToken("alice", "password", "ROLE_USER"));
+		this.filter.setExpiryResolver((authentication) -> NOW.plusSeconds(30));
+
+		this.filter.doFilter(this.request, this.response, this.streamingChain);
+
+		assertThat(this.scheduler.getScheduledCount()).isEqualTo(1);
+	}
+
+	private void authenticate(Instant expiresAt) {
+		var jwt = Jwt.withTokenValue("token")
+			.header("alg", "RS256")
+			.subject("alice")
+			.issuedAt(NOW.minusSeconds(60))
+			.expiresAt(expiresAt)
+			.build();
+		SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+	}
+
+}
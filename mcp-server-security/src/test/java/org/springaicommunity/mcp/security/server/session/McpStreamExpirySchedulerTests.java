@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class McpStreamExpirySchedulerTests {
+
+	private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+	private final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+
+	private final McpStreamExpiryScheduler scheduler = new McpStreamExpiryScheduler(Duration.ofSeconds(1),
+			this.executor);
+
+	private final AtomicInteger expired = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		setNow(NOW);
+	}
+
+	@Test
+	void expiredWhenDue() {
+		this.scheduler.schedule(NOW.plusSeconds(10), this.expired::incrementAndGet);
+
+		this.scheduler.expireDue();
+		assertThat(this.expired).hasValue(0);
+		assertThat(this.scheduler.getScheduledCount()).isEqualTo(1);
+
+		setNow(NOW.plusSeconds(10));
+		this.scheduler.expireDue();
+		this.scheduler.expireDue();
+		assertThat(this.expired).hasValue(1);
+		assertThat(this.scheduler.getScheduledCount()).isZero();
+	}
+
+	@Test
+	void singleTimerForAllStreams() {
+		this.scheduler.schedule(NOW.plusSeconds(10), this.expired::incrementAndGet);
+		this.scheduler.schedule(NOW.plusSeconds(20), this.expired::incrementAndGet);
+
+		verify(this.executor, times(1)).scheduleWithFixedDelay(any(), eq(1000L), eq(1000L), eq(TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void neverExpiredEarly() {
+		this.scheduler.schedule(NOW.plusMillis(1), this.expired::incrementAndGet);
+
+		setNow(NOW.plusMillis(999));
+		this.scheduler.expireDue();
+		assertThat(this.expired).hasValue(0);
+
+		setNow(NOW.plusHours(1));
+		this.scheduler.expireDue();
+		assertThat(this.expired).hasValue(1);
+	}
+
+	@Test
+	void alreadyExpiredThenExpiredOnNextTick() {
+		this.scheduler.schedule(NOW.minusSeconds(30), this.expired::incrementAndGet);
+
+		this.scheduler.expireDue();
+
+		assertThat(this.expired).hasValue(1);
+	}
+
+	@Test
+	void cancelledThenNotExpired() {
+		var registration = this.scheduler.schedule(NOW.plusSeconds(10), this.expired::incrementAndGet);
+
+		registration.cancel();
+		registration.cancel();
+		setNow(NOW.plusSeconds(10));
+		this.scheduler.expireDue();
+
+		assertThat(this.expired).hasValue(0);
+		assertThat(this.scheduler.getScheduledCount()).isZero();
+	}
+
+	@Test
+	void failingActionThenOthersExpired() {
+		this.scheduler.schedule(NOW, () -> {
+			throw new IllegalStateException("already completed");
+		});
+		this.scheduler.schedule(NOW, this.expired::incrementAndGet);
+
+		this.scheduler.expireDue();
+
+		assertThat(this.expired).hasValue(1);
+	}
+
+	@Test
+	void manyStreams() {
+		List<McpStreamExpiryScheduler.Registration> registrations = new ArrayList<>();
+		for (int i = 0; i < 100_000; i++) {
+			registrations.add(this.scheduler.schedule(NOW.plusSeconds(i % 600), this.expired::incrementAndGet));
+		}
+		for (int i = 0; i < registrations.size(); i += 2) {
+			registrations.get(i).cancel();
+		}
+		assertThat(this.scheduler.getScheduledCount()).isEqualTo(50_000);
+
+		setNow(NOW.plusSeconds(300));
+		this.scheduler.expireDue();
+		assertThat(this.expired).hasValue(25_050);
+
+		setNow(NOW.plusSeconds(600));
+		this.scheduler.expireDue();
+		assertThat(this.expired).hasValue(50_000);
+		assertThat(this.scheduler.getScheduledCount()).isZero();
+	}
+
+	private void setNow(Instant now) {
+		this.scheduler.setClock(Clock.fixed(now, ZoneOffset.UTC));
+	}
+
+}
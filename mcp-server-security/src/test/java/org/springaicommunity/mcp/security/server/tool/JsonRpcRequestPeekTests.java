@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.tool;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class JsonRpcRequestPeekTests {
+
+	@Test
+	void toolCall() {
+		var body = """
+				{
+				  "jsonrpc": "2.0",
+				  "id": 1,
+				  "method": "tools/call",
+				  "params": {
+				    "arguments": { "latitude": 48.85, "nested": [ { "name": "not-the-tool" }, true, null ] },
+				    "name": "temperature-history"
+				  }
+				}
+				""";
+
+		assertThat(toolCallNames(body)).containsExactly("temperature-history");
+	}
+
+	@Test
+	void paramsBeforeMethod() {
+		var body = """
+				{"params":{"name":"greet","arguments":{}},"id":"abc","method":"tools/call","jsonrpc":"2.0"}""";
+
+		assertThat(toolCallNames(body)).containsExactly("greet");
+	}
+
+	@Test
+	void otherMethods() {
+		assertThat(toolCallNames("""
+				{"jsonrpc":"2.0","id":1,"method":"tools/list","params":{"name":"greet"}}""")).isEmpty();
+		assertThat(toolCallNames("""
+				{"jsonrpc":"2.0","method":"notifications/initialized"}""")).isEmpty();
+		assertThat(toolCallNames("""
+				{"jsonrpc":"2.0","id":1,"result":{}}""")).isEmpty();
+		assertThat(toolCallNames("")).isEmpty();
+	}
+
+	@Test
+	void batch() {
+		var body = """
+				[
+				  {"jsonrpc":"2.0","id":1,"method":"tools/call","params":{"name":"first"}},
+				  {"jsonrpc":"2.0","id":2,"method":"ping"},
+				  {"jsonrpc":"2.0","id":3,"method":"tools/call","params":{"name":"second"}}
+				]""";
+
+		assertThat(toolCallNames(body)).containsExactly("first", "second");
+	}
+
+	@Test
+	void escapedStrings() {
+		var body = """
+				{"\\u006dethod":"tools\\/call","params":{"name":"caf\\u00e9 \\"tool\\"","x":"\\\\"}}""";
+
+		assertThat(toolCallNames(body)).containsExactly("café \"tool\"");
+	}
+
+	@Test
+	void unicodeToolName() {
+		assertThat(toolCallNames("""
+				{"method":"tools/call","params":{"name":"météo"}}""")).containsExactly("météo");
+	}
+
+	@Test
+	void duplicateMembersRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() -> toolCallNames("""
+				{"method":"ping","method":"tools/call","params":{"name":"greet"}}"""));
+		assertThatIllegalArgumentException().isThrownBy(() -> toolCallNames("""
+				{"method":"tools/call","params":{"name":"greet","name":"admin"}}"""));
+		assertThatIllegalArgumentException().isThrownBy(() -> toolCallNames("""
+				{"method":"tools/call","params":{"name":"greet"},"params":{"name":"admin"}}"""));
+	}
+
+	@Test
+	void malformedRejected() {
+		for (var body : List.of("{", "{\"method\":\"tools/call\"", "{\"method\" \"tools/call\"}",
+				"{\"method\":\"tools/call\"} trailing", "[{\"method\":\"ping\"},]", "{\"a\":}", "\"unterminated",
+				"{\"\\x\":1}")) {
+			assertThatIllegalArgumentException().as(body).isThrownBy(() -> toolCallNames(body));
+		}
+	}
+
+	@Test
+	void deeplyNestedRejected() {
+		var body = "{\"method\":\"tools/call\",\"params\":{\"name\":\"greet\",\"arguments\":" + "[".repeat(100)
+				+ "]".repeat(100) + "}}";
+
+		assertThatIllegalArgumentException().isThrownBy(() -> toolCallNames(body))
+			.withMessageContaining("nesting depth");
+	}
+
+	@Test
+	void methods() {
+		assertThat(JsonRpcRequestPeek.getMethods("""
+				{"jsonrpc":"2.0","id":1,"method":"tools/list","params":{"cursor":"abc"}}"""
+			.getBytes(StandardCharsets.UTF_8))).containsExactly("tools/list");
+		assertThat(JsonRpcRequestPeek.getMethods("""
+				[{"jsonrpc":"2.0","method":"notifications/initialized"},{"jsonrpc":"2.0","id":1,"result":{}}]"""
+			.getBytes(StandardCharsets.UTF_8))).containsExactly("notifications/initialized");
+	}
+
+	private static List<String> toolCallNames(String body) {
+		return JsonRpcRequestPeek.getToolCallNames(body.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.tool;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StreamUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class McpToolAuthorizationFilterTests {
+
+	private static final String ADMIN_TOOL_CALL = """
+			{"jsonrpc":"2.0","id":1,"method":"tools/call","params":{"name":"admin","arguments":{"a":1}}}""";
+
+	private static final String ADMIN_DELETE_TOOL_CALL = """
+			{"jsonrpc":"2.0","id":1,"method":"tools/call","params":{"name":"admin-delete"}}""";
+
+	private final McpToolAuthorizationFilter filter = new McpToolAuthorizationFilter(
+			new McpToolAuthorizationManager(Map.of("admin", "hasAuthority('SCOPE_admin')")), "/mcp");
+
+	private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void authorizedThenBodyReplayed() throws ServletException, IOException {
+		authenticate("SCOPE_admin");
+		var chain = new MockFilterChain();
+
+		this.filter.doFilter(mcpRequest(ADMIN_TOOL_CALL), this.response, chain);
+
+		assertThat(chain.getRequest()).isNotNull();
+		var replayed = StreamUtils.copyToString(chain.getRequest().getInputStream(), StandardCharsets.UTF_8);
+		assertThat(replayed).isEqualTo(ADMIN_TOOL_CALL);
+	}
+
+	@Test
+	void unauthorizedThenAccessDenied() {
+		authenticate("SCOPE_read");
+		var chain = new MockFilterChain();
+
+		assertThatExceptionOfType(AccessDeniedException.class)
+			.isThrownBy(() -> this.filter.doFilter(mcpRequest(ADMIN_TOOL_CALL), this.response, chain));
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "/m%63p", "/mcp;jsessionid=abc" })
+	void equivalentPathsThenAccessDenied(String path) {
+		authenticate("SCOPE_read");
+		var chain = new MockFilterChain();
+
+		assertThatExceptionOfType(AccessDeniedException.class)
+			.isThrownBy(() -> this.filter.doFilter(mcpRequest(path, ADMIN_TOOL_CALL), this.response, chain));
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	@Test
+	void oversizedBodyThenContentTooLarge() throws ServletException, IOException {
+		authenticate("SCOPE_admin");
+		this.filter.setMaxBodySize(16);
+		var chain = new MockFilterChain();
+
+		this.filter.doFilter(mcpRequest(ADMIN_TOOL_CALL), this.response, chain);
+
+		assertThat(this.response.getStatus()).isEqualTo(413);
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	@Test
+	void oversizedBodyWithoutContentLengthThenContentTooLarge() throws ServletException, IOException {
+		authenticate("SCOPE_admin");
+		this.filter.setMaxBodySize(16);
+		var request = new MockHttpServletRequest("POST", "/mcp") {
+			@Override
+			public long getContentLengthLong() {
+				return -1;
+			}
+		};
+		request.setContent(ADMIN_TOOL_CALL.getBytes(StandardCharsets.UTF_8));
+		var chain = new MockFilterChain();
+
+		this.filter.doFilter(request, this.response, chain);
+
+		assertThat(this.response.getStatus()).isEqualTo(413);
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	@Test
+	void otherToolsAllowed() throws ServletException, IOException {
+		authenticate("SCOPE_read");
+		var chain = new MockFilterChain();
+
+		this.filter.doFilter(mcpRequest("""
+				{"jsonrpc":"2.0","id":1,"method":"tools/call","params":{"name":"greet"}}"""), this.response, chain);
+
+		assertThat(chain.getRequest()).isNotNull();
+	}
+
+	@Test
+	void malformedThenBadRequest() throws ServletException, IOException {
+		authenticate("SCOPE_admin");
+		var chain = new MockFilterChain();
+
+		this.filter.doFilter(mcpRequest("{\"method\":"), this.response, chain);
+
+		assertThat(this.response.getStatus()).isEqualTo(HttpServletResponse.SC_BAD_REQUEST);
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	@Test
+	void otherEndpointsIgnored() throws ServletException, IOException {
+		authenticate("SCOPE_read");
+		var request = new MockHttpServletRequest("POST", "/other");
+		request.setContent(ADMIN_TOOL_CALL.getBytes(StandardCharsets.UTF_8));
+		var chain = new MockFilterChain();
+
+		this.filter.doFilter(request, this.response, chain);
+
+		assertThat(chain.getRequest()).isSameAs(request);
+	}
+
+	@Test
+	void missingScopeThenInsufficientScope() throws ServletException, IOException {
+		authenticate("SCOPE_read");
+		var chain = new MockFilterChain();
+
+		scopedFilter().doFilter(mcpRequest(ADMIN_DELETE_TOOL_CALL), this.response, chain);
+
+		assertThat(this.response.getStatus()).isEqualTo(HttpServletResponse.SC_FORBIDDEN);
+		assertThat(this.response.getHeader(HttpHeaders.WWW_AUTHENTICATE)).startsWith("Bearer ")
+			.contains("error=\"insufficient_scope\"")
+			.contains("scope=\"mcp:admin mcp:write\"")
+			.contains("resource_metadata=\"http://localhost/.well-known/oauth-protected-resource/mcp\"");
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	@Test
+	void requiredScopesGrantedThenAllowed() throws ServletException, IOException {
+		authenticate("SCOPE_mcp:admin", "SCOPE_mcp:write");
+		var chain = new MockFilterChain();
+
+		scopedFilter().doFilter(mcpRequest(ADMIN_DELETE_TOOL_CALL), this.response, chain);
+
+		assertThat(chain.getRequest()).isNotNull();
+	}
+
+	@Test
+	void missingScopeAndAnonymousThenAccessDenied() {
+		var chain = new MockFilterChain();
+
+		assertThatExceptionOfType(AccessDeniedException.class)
+			.isThrownBy(() -> scopedFilter().doFilter(mcpRequest(ADMIN_DELETE_TOOL_CALL), this.response, chain));
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	@Test
+	void scopesOnlyThenToolsWithoutRequirementsAllowed() throws ServletException, IOException {
+		authenticate("SCOPE_read");
+		var chain = new MockFilterChain();
+
+		scopedFilter().doFilter(mcpRequest("""
+				{"jsonrpc":"2.0","id":1,"method":"tools/call","params":{"name":"greet"}}"""), this.response, chain);
+
+		assertThat(chain.getRequest()).isNotNull();
+	}
+
+	@Test
+	void toolsListFiltered() throws ServletException, IOException {
+		authenticate("SCOPE_read");
+		this.filter.setToolListFilter(new McpToolListFilter(
+				new McpToolAuthorizationManager(Map.of("admin", "hasAuthority('SCOPE_admin')")),
+				McpToolScopeRequirements.empty()));
+		var chain = new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+				response.setContentType("application/json");
+				response.getOutputStream().write("""
+						{"jsonrpc":"2.0","id":1,"result":{"tools":[{"name":"admin"},{"name":"greet"}]}}"""
+					.getBytes(StandardCharsets.UTF_8));
+			}
+		});
+
+		this.filter.doFilter(mcpRequest("""
+				{"jsonrpc":"2.0","id":1,"method":"tools/list"}"""), this.response, chain);
+
+		assertThat(this.response.getContentAsString()).isEqualTo("""
+				{"jsonrpc":"2.0","id":1,"result":{"tools":[{"name":"greet"}]}}""");
+	}
+
+	private static McpToolAuthorizationFilter scopedFilter() {
+		Map<String, List<String>> scopes = new LinkedHashMap<>();
+		scopes.put("admin-*", List.of("mcp:admin"));
+		scopes.put("*-delete", List.of("mcp:write"));
+		var scopeRequirements = new McpToolScopeRequirements(scopes);
+		return new McpToolAuthorizationFilter(new McpToolAuthorizationManager(Map.of()), scopeRequirements, "/mcp");
+	}
+
+	private static MockHttpServletRequest mcpRequest(String body) {
+		return mcpRequest("/mcp", body);
+	}
+
+	private static MockHttpServletRequest mcpRequest(String path, String body) {
+		var request = new MockHttpServletRequest("POST", path);
+		request.setContentType("application/json");
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		return request;
+	}
+
+	private static void authenticate(String... authorities) {
+		SecurityContextHolder.getContext()
+			.setAuthentication(new TestingAuthenticationToken("user", "password", authorities));
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.tool;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.ai.mcp.annotation.McpTool;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class McpToolAuthorizationManagerTests {
+
+	private final McpToolAuthorizationManager manager = new McpToolAuthorizationManager(
+			Map.of("authenticated", "isAuthenticated()", "admin", "hasAuthority('SCOPE_admin')"));
+
+	@Test
+	void toolWithoutExpression() {
+		assertThat(this.manager.isAuthorized(anonymous(), "unknown")).isTrue();
+		assertThat(this.manager.isAuthorized(null, "unknown")).isTrue();
+	}
+
+	@Test
+	void isAuthenticated() {
+		assertThat(this.manager.isAuthorized(user("alice"), "authenticated")).isTrue();
+		assertThat(this.manager.isAuthorized(anonymous(), "authenticated")).isFalse();
+		assertThat(this.manager.isAuthorized(null, "authenticated")).isFalse();
+	}
+
+	@Test
+	void hasAuthority() {
+		assertThat(this.manager.isAuthorized(user("alice", "SCOPE_admin"), "admin")).isTrue();
+		assertThat(this.manager.isAuthorized(user("bob", "SCOPE_read"), "admin")).isFalse();
+	}
+
+	@Test
+	void authorityOnlyDecisionsCached() {
+		var first = spy(user("alice", "SCOPE_admin", "SCOPE_read"));
+		var second = spy(user("bob", "SCOPE_read", "SCOPE_admin"));
+
+		assertThat(this.manager.isAuthorized(first, "admin")).isTrue();
+		assertThat(this.manager.isAuthorized(second, "admin")).isTrue();
+
+		// The decision is cached: only the authorities are read for the fingerprint, the
+		// expression does not run again for the second caller.
+		verify(second, times(1)).getAuthorities();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "authentication.name == 'alice'", "#city == 'Paris'", "@weatherPolicy.canRead()",
+			"hasPermission(#city, 'read')" })
+	void nonAuthorityExpressionsRejected(String expression) {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new McpToolAuthorizationManager(Map.of("weather", expression)))
+			.withMessageContaining("method security");
+	}
+
+	@Test
+	void fromAnnotatedTools() {
+		var beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerBeanDefinition("tools", new RootBeanDefinition(SecuredTools.class));
+
+		var expressions = McpToolAuthorizationManager.findAnnotatedToolExpressions(beanFactory);
+
+		assertThat(expressions).containsExactlyInAnyOrderEntriesOf(
+				Map.of("named-tool", "hasAuthority('SCOPE_weather')", "defaultName", "isAuthenticated()"));
+	}
+
+	@Test
+	void fromAnnotatedToolsLeavesArgumentExpressionsToMethodSecurity() {
+		var beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerBeanDefinition("tools", new RootBeanDefinition(SecuredTools.class));
+
+		var manager = McpToolAuthorizationManager.fromAnnotatedTools(beanFactory);
+
+		// Evaluated without the tool arguments, #city would be null and deny the call
+		assertThat(manager.isAuthorized(user("alice"), "city-weather")).isTrue();
+		assertThat(manager.isAuthorized(user("alice"), "named-tool")).isFalse();
+	}
+
+	private static Authentication user(String name, String... authorities) {
+		return new TestingAuthenticationToken(name, "password", authorities);
+	}
+
+	private static Authentication anonymous() {
+		return new AnonymousAuthenticationToken("key", "anonymous",
+				AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+	}
+
+	static class SecuredTools {
+
+		@PreAuthorize("hasAuthority('SCOPE_weather')")
+		@McpTool(name = "named-tool")
+		public String namedTool() {
+			return "named";
+		}
+
+		@PreAuthorize("isAuthenticated()")
+		@McpTool
+		public String defaultName() {
+			return "default";
+		}
+
+		@PreAuthorize("#city == 'Paris'")
+		@McpTool(name = "city-weather")
+		public String cityWeather(String city) {
+			return "sunny in " + city;
+		}
+
+		@McpTool(name = "public-tool")
+		public String publicTool() {
+			return "public";
+		}
+
+		@PreAuthorize("isAuthenticated()")
+		public String notATool() {
+			return "not a tool";
+		}
+
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.tool;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class McpToolListFilterTests {
+
+	private static final String TOOLS_LIST_RESULT = """
+			{"jsonrpc":"2.0","id":1,"result":{"tools":[\
+			{"name":"greet","inputSchema":{"type":"object"}},\
+			{"description":"Delete things","name":"admin-delete","inputSchema":{"properties":{"name":{}}}},\
+			{"name":"report","annotations":{"title":"Report"}}\
+			],"nextCursor":"next"}}""";
+
+	private final McpToolListFilter filter = new McpToolListFilter(
+			new McpToolAuthorizationManager(Map.of("report", "hasAuthority('SCOPE_reports')")),
+			new McpToolScopeRequirements(Map.of("admin-*", List.of("mcp:admin"))));
+
+	@Test
+	void hidesToolsTheCallerMayNotCall() {
+		var filtered = filter(TOOLS_LIST_RESULT, user("SCOPE_read"));
+
+		assertThat(filtered).isEqualTo("""
+				{"jsonrpc":"2.0","id":1,"result":{"tools":[\
+				{"name":"greet","inputSchema":{"type":"object"}}\
+				],"nextCursor":"next"}}""");
+	}
+
+	@Test
+	void showsToolsTheCallerMayCall() {
+		var filtered = filter(TOOLS_LIST_RESULT, user("SCOPE_mcp:admin", "SCOPE_reports"));
+
+		assertThat(filtered).isEqualTo(TOOLS_LIST_RESULT);
+	}
+
+	@Test
+	void anonymousCallerSeesUnprotectedTools() {
+		var filtered = filter(TOOLS_LIST_RESULT, null);
+
+		assertThat(filtered).contains("\"greet\"").doesNotContain("admin-delete").doesNotContain("report\"");
+	}
+
+	@Test
+	void cachedPerFingerprint() {
+		var authorizationManager = spy(
+				new McpToolAuthorizationManager(Map.of("report", "hasAuthority('SCOPE_reports')")));
+		var filter = new McpToolListFilter(authorizationManager, McpToolScopeRequirements.empty());
+		var message = TOOLS_LIST_RESULT.getBytes(StandardCharsets.UTF_8);
+
+		var first = filter.filterResponse(message, user("SCOPE_read"));
+		var second = filter.filterResponse(message.clone(), user("SCOPE_read"));
+		filter.filterResponse(message, user("SCOPE_reports"));
+
+		assertThat(second).isEqualTo(first);
+		verify(authorizationManager, times(2)).isAuthorized(any(), eq("report"));
+	}
+
+	@Test
+	void catalogChangeThenNotServedFromCache() {
+		filter(TOOLS_LIST_RESULT, user("SCOPE_read"));
+
+		var changed = filter(TOOLS_LIST_RESULT.replace("\"greet\"", "\"hello\""), user("SCOPE_read"));
+
+		assertThat(changed).contains("\"hello\"").doesNotContain("\"greet\"");
+	}
+
+	@Test
+	void otherMessagesUnchanged() {
+		var message = """
+				{"jsonrpc":"2.0","id":1,"result":{"content":[{"type":"text","text":"hello"}]}}"""
+			.getBytes(StandardCharsets.UTF_8);
+
+		assertThat(this.filter.filterResponse(message, user())).isSameAs(message);
+	}
+
+	@Test
+	void malformedMessagesUnchanged() {
+		var message = "{\"result\":{\"tools\":[".getBytes(StandardCharsets.UTF_8);
+
+		assertThat(this.filter.filterResponse(message, user())).isSameAs(message);
+	}
+
+	@Test
+	void isVisible() {
+		assertThat(this.filter.isVisible(user("SCOPE_mcp:admin"), "admin-delete")).isTrue();
+		assertThat(this.filter.isVisible(user("SCOPE_read"), "admin-delete")).isFalse();
+		assertThat(this.filter.isVisible(user(), "greet")).isTrue();
+	}
+
+	private String filter(String message, Authentication authentication) {
+		return new String(this.filter.filterResponse(message.getBytes(StandardCharsets.UTF_8), authentication),
+				StandardCharsets.UTF_8);
+	}
+
+	private static Authentication user(String... authorities) {
+		return new TestingAuthenticationToken("user", "password", authorities);
+	}
+
+}
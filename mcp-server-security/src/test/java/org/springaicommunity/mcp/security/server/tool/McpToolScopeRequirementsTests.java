@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.mcp.security.server.tool;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class McpToolScopeRequirementsTests {
+
+	@Test
+	void exactName() {
+		var requirements = new McpToolScopeRequirements(Map.of("weather", List.of("weather.read")));
+
+		assertThat(requirements.getRequiredScopes("weather")).containsExactly("weather.read");
+		assertThat(requirements.getRequiredScopes("weather-forecast")).isEmpty();
+	}
+
+	@Test
+	void wildcardPattern() {
+		var requirements = new McpToolScopeRequirements(Map.of("admin-*", List.of("mcp:admin")));
+
+		assertThat(requirements.getRequiredScopes("admin-delete")).containsExactly("mcp:admin");
+		assertThat(requirements.getRequiredScopes("admin-")).containsExactly("mcp:admin");
+		assertThat(requirements.getRequiredScopes("greet")).isEmpty();
+	}
+
+	@Test
+	void multiplePatternsThenUnion() {
+		Map<String, List<String>> scopes = new LinkedHashMap<>();
+		scopes.put("admin-*", List.of("mcp:admin"));
+		scopes.put("*-delete", List.of("mcp:write", "mcp:admin"));
+		var requirements = new McpToolScopeRequirements(scopes);
+
+		assertThat(requirements.getRequiredScopes("admin-delete")).containsExactly("mcp:admin", "mcp:write");
+	}
+
+	@Test
+	void resolvedOnce() {
+		var requirements = new McpToolScopeRequirements(Map.of("admin-*", List.of("mcp:admin")));
+
+		assertThat(requirements.getRequiredScopes("admin-delete"))
+			.isSameAs(requirements.getRequiredScopes("admin-delete"));
+	}
+
+	@Test
+	void empty() {
+		assertThat(McpToolScopeRequirements.empty().isEmpty()).isTrue();
+		assertThat(McpToolScopeRequirements.empty().getRequiredScopes("anything")).isEmpty();
+		assertThat(new McpToolScopeRequirements(Map.of("a", List.of("b"))).isEmpty()).isFalse();
+	}
+
+	@Test
+	void emptyScopesThenRejected() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new McpToolScopeRequirements(Map.of("admin-*", List.of())));
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.tool;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class ToolsListHttpServletResponseTests {
+
+	private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+	private final ToolsListHttpServletResponse toolsListResponse = new ToolsListHttpServletResponse(this.response,
+			(message) -> new String(message, StandardCharsets.UTF_8).replace("secret", "public")
+				.getBytes(StandardCharsets.UTF_8));
+
+	@Test
+	void jsonRewrittenWhenFinished() throws IOException {
+		this.toolsListResponse.setContentType("application/json");
+		this.toolsListResponse.setContentLength(100);
+		var outputStream = this.toolsListResponse.getOutputStream();
+		outputStream.write("{\"tools\":[\"sec".getBytes(StandardCharsets.UTF_8));
+		outputStream.write("ret\"]}".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(this.response.getContentAsString()).isEmpty();
+
+		this.toolsListResponse.finish();
+
+		assertThat(this.response.getContentAsString()).isEqualTo("{\"tools\":[\"public\"]}");
+		assertThat(this.response.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+	}
+
+	@Test
+	void jsonRewrittenWhenFlushed() throws IOException {
+		this.toolsListResponse.setContentType("application/json");
+		var writer = this.toolsListResponse.getWriter();
+		writer.write("{\"tools\":[\"secret\"]}");
+		writer.flush();
+
+		assertThat(this.response.getContentAsString()).isEqualTo("{\"tools\":[\"public\"]}");
+	}
+
+	@Test
+	void eventStreamRewrittenPerEvent() throws IOException {
+		this.toolsListResponse.setContentType("text/event-stream");
+		var outputStream = this.toolsListResponse.getOutputStream();
+		outputStream.write("id: 1\nevent: message\ndata: {\"tools\":[\"secret\"]}\n".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(this.response.getContentAsString()).isEmpty();
+
+		outputStream.write("\nevent: message\ndata:".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(this.response.getContentAsString())
+			.isEqualTo("id: 1\nevent: message\ndata: {\"tools\":[\"public\"]}\n\n");
+
+		outputStream.write("{\"secret\":true}\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(this.response.getContentAsString()).endsWith("event: message\ndata:{\"public\":true}\r\n\r\n");
+	}
+
+	@Test
+	void otherContentPassedThrough() throws IOException {
+		this.toolsListResponse.setContentType("text/plain");
+		this.toolsListResponse.getOutputStream().write("secret".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(this.response.getContentAsString()).isEqualTo("secret");
+	}
+
+}
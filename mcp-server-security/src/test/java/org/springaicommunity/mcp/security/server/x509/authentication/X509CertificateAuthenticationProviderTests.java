@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springaicommunity.mcp.security.server.x509.authentication;
+
+import java.io.InputStream;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.mcp.security.server.x509.X509Identity;
+import org.springaicommunity.mcp.security.server.x509.X509PrincipalResolver;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author Daniel Garnier-Moiroux
+ */
+class X509CertificateAuthenticationProviderTests {
+
+	private static final Instant NOW = Instant.parse("2026-06-01T00:00:00Z");
+
+	private final AtomicInteger resolverCalls = new AtomicInteger();
+
+	private final X509PrincipalResolver principalResolver = (certificate) -> {
+		this.resolverCalls.incrementAndGet();
+		var identity = X509PrincipalResolver.subjectCommonName().resolve(certificate);
+		if (identity == null || !identity.name().equals("client-a")) {
+			return null;
+		}
+		return new X509Identity(identity.name(), List.of(new SimpleGrantedAuthority("ROLE_MCP_CLIENT")));
+	};
+
+	private final X509CertificateAuthenticationProvider provider = new X509CertificateAuthenticationProvider(
+			this.principalResolver);
+
+	private X509Certificate clientA;
+
+	private X509Certificate clientB;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		this.clientA = certificate("client-a");
+		this.clientB = certificate("client-b");
+		setNow(NOW);
+	}
+
+	@Test
+	void acceptedCertificateThenAuthenticated() {
+		var authentication = this.provider
+			.authenticate(X509CertificateAuthenticationToken.unauthenticated(this.clientA));
+
+		assertThat(authentication).isNotNull();
+		assertThat(authentication.isAuthenticated()).isTrue();
+		assertThat(authentication.getName()).isEqualTo("client-a");
+		assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_MCP_CLIENT");
+		assertThat(authentication.getCredentials()).isSameAs(this.clientA);
+	}
+
+	@Test
+	void sameCertificateThenResolvedOnce() {
+		this.provider.authenticate(X509CertificateAuthenticationToken.unauthenticated(this.clientA));
+		this.provider.authenticate(X509CertificateAuthenticationToken.unauthenticated(this.clientA));
+
+		assertThat(this.resolverCalls).hasValue(1);
+	}
+
+	@Test
+	void rejectedCertificateThenRejectionCached() {
+		for (int i = 0; i < 2; i++) {
+			assertThatExceptionOfType(BadCredentialsException.class).isThrownBy(() -> this.provider
+				.authenticate(X509CertificateAuthenticationToken.unauthenticated(this.clientB)));
+		}
+
+		assertThat(this.resolverCalls).hasValue(1);
+	}
+
+	@Test
+	void cacheEntryExpiredThenResolvedAgain() {
+		this.provider.setTimeToLive(Duration.ofMinutes(1));
+		this.provider.authenticate(X509CertificateAuthenticationToken.unauthenticated(this.clientA));
+
+		setNow(NOW.plus(Duration.ofMinutes(2)));
+		this.provider.authenticate(X509CertificateAuthenticationToken.unauthenticated(this.clientA));
+
+		assertThat(this.resolverCalls).hasValue(2);
+	}
+
+	@Test
+	void expiredCertificateThenRejected() {
+		this.provider.authenticate(X509CertificateAuthenticationToken.unauthenticated(this.clientA));
+
+		setNow(this.clientA.getNotAfter().toInstant().plusSeconds(1));
+
+		assertThatExceptionOfType(CredentialsExpiredException.class).isThrownBy(
+				() -> this.provider.authenticate(X509CertificateAuthenticationToken.unauthenticated(this.clientA)));
+	}
+
+	@Test
+	void otherAuthenticationThenIgnored() {
+		assertThat(this.provider.authenticate(new TestingAuthenticationToken("user", "password"))).isNull();
+	}
+
+	private void setNow(Instant now) {
+		this.provider.setClock(Clock.fixed(now, ZoneOffset.UTC));
+	}
+
+	private static X509Certificate certificate(String name) throws Exception {
+		try (InputStream pem = new ClassPathResource("x509/" + name + ".pem").getInputStream()) {
+			return (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(pem);
+		}
+	}
+
+}